@@ -0,0 +1,238 @@
+-- Outbound notification emails waiting to be delivered by the email outbox
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id VARCHAR(36) NOT NULL,
+    recipient VARCHAR(256) NOT NULL,
+    subject VARCHAR(1024) NOT NULL,
+    content MEDIUMTEXT NOT NULL,
+    createdAt BIGINT UNSIGNED NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    nextAttemptAt BIGINT UNSIGNED NOT NULL,
+    claimId VARCHAR(36), -- Dispatch run of the server that claimed the email for its current attempt
+    PRIMARY KEY (id),
+    INDEX email_outbox_next_attempt_index (nextAttemptAt),
+    INDEX email_outbox_recipient_index (recipient)
+);
+
+-- Daily rollups of the data insight report data, materialized as report data is ingested
+CREATE TABLE IF NOT EXISTS data_insight_daily_rollup (
+    reportDataType VARCHAR(64) NOT NULL,
+    rollupDate BIGINT UNSIGNED NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (reportDataType, rollupDate)
+);
+
+-- Checkpoints of the key range partitions of a search reindex job, used to resume an interrupted job
+CREATE TABLE IF NOT EXISTS search_index_checkpoint (
+    jobId VARCHAR(36) NOT NULL,
+    entityType VARCHAR(256) NOT NULL,
+    partitionKey VARCHAR(16) NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (jobId, entityType, partitionKey)
+);
+
+-- Number of entities labeled with each tag or any of the tags under it, maintained as tag labels are applied and
+-- removed by updating the count of the tag and of each of its parents. The usage count of a classification, a glossary
+-- or a parent tag is read from its own row
+CREATE TABLE IF NOT EXISTS tag_usage_count (
+    source TINYINT NOT NULL,
+    tagFQN VARCHAR(256) NOT NULL,
+    usageCount BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (source, tagFQN)
+);
+
+INSERT IGNORE INTO tag_usage_count (source, tagFQN, usageCount)
+SELECT p.source, p.tagFQN, COUNT(*)
+FROM (SELECT 0 AS source, fullyQualifiedName AS tagFQN FROM tag
+    UNION SELECT 0, name FROM classification
+    UNION SELECT 1, fullyQualifiedName FROM glossary_term_entity
+    UNION SELECT 1, name FROM glossary_entity) p
+JOIN tag_usage u ON u.source = p.source AND (u.tagFQN = p.tagFQN OR u.tagFQN LIKE CONCAT(p.tagFQN, '.%'))
+GROUP BY p.source, p.tagFQN;
+
+-- Progress of the FQN prefix renames of entity hierarchies, run in chunks by the server owning the job. A job that
+-- failed or stopped making progress is claimed and resumed by the next server starting up
+CREATE TABLE IF NOT EXISTS fqn_rename_job (
+    id VARCHAR(36) NOT NULL,
+    owner VARCHAR(36) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    updatedAt BIGINT UNSIGNED NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (id),
+    INDEX fqn_rename_job_status_index (status),
+    INDEX fqn_rename_job_updated_at_index (updatedAt)
+);
+
+-- Indexed parent columns holding the ids of the parents of an entity, maintained when the entity is stored, used to
+-- list the entities of a service, the schemas and tables of a database and the tables of a schema with equality
+-- conditions instead of prefix matches on the fully qualified name. Ids are not changed by renames.
+ALTER TABLE database_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX database_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE database_schema_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX database_schema_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE dashboard_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX dashboard_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE chart_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX chart_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE topic_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX topic_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE pipeline_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX pipeline_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE ml_model_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX ml_model_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE location_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX location_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE ingestion_pipeline_entity ADD COLUMN serviceId VARCHAR(36), ADD INDEX ingestion_pipeline_entity_service_index (serviceId, fullyQualifiedName);
+ALTER TABLE database_schema_entity ADD COLUMN databaseId VARCHAR(36), ADD INDEX database_schema_entity_database_index (databaseId, fullyQualifiedName);
+ALTER TABLE table_entity ADD COLUMN databaseId VARCHAR(36), ADD COLUMN databaseSchemaId VARCHAR(36),
+ADD INDEX table_entity_database_index (databaseId, fullyQualifiedName), ADD INDEX table_entity_schema_index (databaseSchemaId, fullyQualifiedName);
+
+UPDATE database_entity e JOIN entity_relationship r ON r.toId = e.id AND r.relation = 0 AND r.fromEntity = 'databaseService'
+SET e.serviceId = r.fromId;
+UPDATE dashboard_entity e JOIN entity_relationship r ON r.toId = e.id AND r.relation = 0 AND r.fromEntity = 'dashboardService'
+SET e.serviceId = r.fromId;
+UPDATE chart_entity e JOIN entity_relationship r ON r.toId = e.id AND r.relation = 0 AND r.fromEntity = 'dashboardService'
+SET e.serviceId = r.fromId;
+UPDATE topic_entity e JOIN entity_relationship r ON r.toId = e.id AND r.relation = 0 AND r.fromEntity = 'messagingService'
+SET e.serviceId = r.fromId;
+UPDATE pipeline_entity e JOIN entity_relationship r ON r.toId = e.id AND r.relation = 0 AND r.fromEntity = 'pipelineService'
+SET e.serviceId = r.fromId;
+UPDATE ml_model_entity e JOIN entity_relationship r ON r.toId = e.id AND r.relation = 0 AND r.fromEntity = 'mlmodelService'
+SET e.serviceId = r.fromId;
+UPDATE location_entity e JOIN entity_relationship r ON r.toId = e.id AND r.relation = 0 AND r.fromEntity = 'storageService'
+SET e.serviceId = r.fromId;
+UPDATE ingestion_pipeline_entity e JOIN entity_relationship r ON r.toId = e.id AND r.relation = 0
+AND r.fromEntity IN ('databaseService', 'messagingService', 'dashboardService', 'pipelineService', 'mlmodelService', 'storageService', 'metadataService')
+SET e.serviceId = r.fromId;
+UPDATE database_schema_entity e JOIN database_entity d ON d.id = e.json ->> '$.database.id' SET e.databaseId = d.id, e.serviceId = d.serviceId;
+UPDATE table_entity SET databaseId = json ->> '$.database.id', databaseSchemaId = json ->> '$.databaseSchema.id';
+
+-- Entity documents encoded with a binary storage codec, the json column then keeps only the fields of the generated columns
+ALTER TABLE table_entity ADD COLUMN jsonBlob LONGBLOB;
+ALTER TABLE dashboard_entity ADD COLUMN jsonBlob LONGBLOB;
+-- Codec the documents of each table with a jsonBlob column were last converted to, so that the tables already stored
+-- with the configured codec are not scanned again at startup
+CREATE TABLE IF NOT EXISTS entity_storage_conversion (
+    tableName VARCHAR(256) NOT NULL,
+    codec VARCHAR(32) NOT NULL,
+    updatedAt BIGINT NOT NULL,
+    PRIMARY KEY (tableName)
+);
+
+-- Activity feed of each user and team, with the reasons a thread is in the feed as a bit mask: 1 created, 2 replied,
+-- 4 owner of the entity, 8 follower of the entity, 16 mentioned, 32 task assignee
+CREATE TABLE IF NOT EXISTS activity_inbox (
+    recipientId VARCHAR(36) NOT NULL,
+    threadId VARCHAR(36) NOT NULL,
+    reasons INT NOT NULL,
+    updatedAt BIGINT UNSIGNED NOT NULL,
+    type VARCHAR(64) NOT NULL,
+    resolved BOOLEAN NOT NULL,
+    taskStatus VARCHAR(64),
+    PRIMARY KEY (recipientId, threadId),
+    INDEX activity_inbox_recipient_index (recipientId, updatedAt),
+    INDEX activity_inbox_thread_index (threadId)
+);
+ALTER TABLE thread_entity ADD INDEX thread_entity_entity_index (entityId);
+
+INSERT INTO activity_inbox (recipientId, threadId, reasons, updatedAt, type, resolved, taskStatus)
+SELECT i.recipientId, t.id, BIT_OR(i.reason), t.updatedAt, t.type, COALESCE(t.resolved, FALSE), t.taskStatus
+FROM (
+    SELECT r.fromId AS recipientId, r.toId AS threadId, IF(r.relation = 1, 1, 2) AS reason
+    FROM entity_relationship r WHERE r.fromEntity = 'user' AND r.toEntity = 'THREAD' AND r.relation IN (1, 2)
+    UNION ALL
+    SELECT r.fromId, t.id, IF(r.relation = 8, 4, 8)
+    FROM entity_relationship r JOIN thread_entity t ON t.entityId = r.toId
+    WHERE r.fromEntity IN ('user', 'team') AND r.relation IN (8, 11)
+    UNION ALL
+    SELECT u.id, f.toFQN, 16
+    FROM field_relationship f JOIN user_entity u ON u.name = f.fromFQN
+    WHERE f.fromType = 'user' AND f.toType = 'THREAD' AND f.relation = 5
+    UNION ALL
+    SELECT tm.id, f.toFQN, 16
+    FROM field_relationship f JOIN team_entity tm ON tm.name = f.fromFQN
+    WHERE f.fromType = 'team' AND f.toType = 'THREAD' AND f.relation = 5
+    UNION ALL
+    SELECT a.id, t.id, 32
+    FROM thread_entity t, JSON_TABLE(t.taskAssignees, '$[*]' COLUMNS (id VARCHAR(36) PATH '$.id')) a
+    WHERE t.type = 'Task'
+) i JOIN thread_entity t ON t.id = i.threadId
+GROUP BY i.recipientId, t.id, t.updatedAt, t.type, t.resolved, t.taskStatus;
+
+-- Posts of the threads, the json of a thread keeps only its latest 3 posts
+CREATE TABLE IF NOT EXISTS thread_post (
+    id VARCHAR(36) NOT NULL,
+    threadId VARCHAR(36) NOT NULL,
+    postTs BIGINT UNSIGNED NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (id),
+    INDEX thread_post_thread_index (threadId, postTs, id)
+);
+
+INSERT INTO thread_post (id, threadId, postTs, json)
+SELECT p.id, t.id, p.postTs, p.post
+FROM thread_entity t, JSON_TABLE(t.json, '$.posts[*]' COLUMNS (
+    id VARCHAR(36) PATH '$.id', postTs BIGINT PATH '$.postTs', post JSON PATH '$')) p;
+UPDATE thread_entity SET json = JSON_SET(json, '$.posts', JSON_EXTRACT(json, '$.posts[last-2 to last]'))
+WHERE JSON_LENGTH(json, '$.posts') > 3;
+
+-- Count of the threads about each entity link by thread type, task status (empty when not a task) and resolution,
+-- maintained as threads are created, resolved, closed and deleted
+CREATE TABLE IF NOT EXISTS thread_count (
+    entityLink VARCHAR(256) NOT NULL,
+    type VARCHAR(64) NOT NULL,
+    taskStatus VARCHAR(64) NOT NULL,
+    resolved BOOLEAN NOT NULL,
+    entityType VARCHAR(64) NOT NULL,
+    entityFQN VARCHAR(256) NOT NULL,
+    fieldType VARCHAR(256) NOT NULL,
+    fieldFQN VARCHAR(256) NOT NULL,
+    count INT NOT NULL,
+    PRIMARY KEY (entityLink, type, taskStatus, resolved),
+    INDEX thread_count_entity_index (entityFQN),
+    INDEX thread_count_field_index (fieldFQN)
+);
+
+INSERT INTO thread_count (entityLink, type, taskStatus, resolved, entityType, entityFQN, fieldType, fieldFQN, count)
+SELECT te.entityLink, te.type, COALESCE(te.taskStatus, ''), COALESCE(te.resolved, FALSE),
+    SUBSTRING_INDEX(fr.toType, '.', 1),
+    TRIM(TRAILING '>' FROM SUBSTRING_INDEX(SUBSTRING_INDEX(te.entityLink, '::', 3), '::', -1)),
+    fr.toType, fr.toFQN, COUNT(*)
+FROM thread_entity te JOIN field_relationship fr ON fr.fromFQN = te.id AND fr.fromType = 'THREAD' AND fr.relation = 3
+GROUP BY te.entityLink, te.type, COALESCE(te.taskStatus, ''), COALESCE(te.resolved, FALSE), fr.toType, fr.toFQN;
+
+-- Latest result of each test case with the test suite and the entity it belongs to, maintained as results are added
+-- and deleted, used to get the status of all the tests of a test suite or a table in one query
+CREATE TABLE IF NOT EXISTS test_case_latest_result (
+    testCaseId VARCHAR(36) NOT NULL,
+    testSuiteId VARCHAR(36) NOT NULL,
+    entityFQN VARCHAR(768) NOT NULL,
+    timestamp BIGINT UNSIGNED NOT NULL,
+    testCaseStatus VARCHAR(16),
+    json JSON NOT NULL,
+    PRIMARY KEY (testCaseId),
+    INDEX test_case_latest_result_suite_index (testSuiteId),
+    INDEX test_case_latest_result_entity_index (entityFQN)
+);
+ALTER TABLE test_case ADD INDEX test_case_id_index (id);
+
+INSERT INTO test_case_latest_result (testCaseId, testSuiteId, entityFQN, timestamp, testCaseStatus, json)
+SELECT tc.id, er.fromId,
+    TRIM(TRAILING '>' FROM SUBSTRING_INDEX(SUBSTRING_INDEX(tc.json ->> '$.entityLink', '::', 3), '::', -1)),
+    ts.timestamp, ts.json ->> '$.testCaseStatus', ts.json
+FROM test_case tc
+JOIN entity_relationship er ON er.toId = tc.id AND er.fromEntity = 'testSuite' AND er.toEntity = 'testCase'
+    AND er.relation = 0
+JOIN (SELECT entityFQN, timestamp, json,
+        ROW_NUMBER() OVER (PARTITION BY entityFQN ORDER BY timestamp DESC) AS rowNumber
+    FROM entity_extension_time_series WHERE extension = 'testCase.testCaseResult') ts
+    ON ts.entityFQN = tc.fullyQualifiedName AND ts.rowNumber = 1
+ON DUPLICATE KEY UPDATE testCaseId = testCaseId;
+
+-- Status of the latest run of each ingestion pipeline, maintained as pipeline statuses are added
+CREATE TABLE IF NOT EXISTS ingestion_pipeline_latest_status (
+    pipelineId VARCHAR(36) NOT NULL,
+    timestamp BIGINT UNSIGNED NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (pipelineId)
+);
+
+INSERT INTO ingestion_pipeline_latest_status (pipelineId, timestamp, json)
+SELECT ip.id, ts.timestamp, ts.json
+FROM ingestion_pipeline_entity ip
+JOIN (SELECT entityFQN, timestamp, json,
+        ROW_NUMBER() OVER (PARTITION BY entityFQN ORDER BY timestamp DESC) AS rowNumber
+    FROM entity_extension_time_series WHERE jsonSchema = 'pipelineStatus') ts
+    ON ts.entityFQN = ip.fullyQualifiedName AND ts.rowNumber = 1
+ON DUPLICATE KEY UPDATE pipelineId = pipelineId;
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.annotations.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Static index of annotated elements generated at compile time by {@link AnnotationIndexProcessor}. Each index is a
+ * classpath resource with one entry per line. Types are recorded by binary name and methods as {@code
+ * binaryName#methodName}.
+ */
+public final class AnnotationIndex {
+  public static final String COLLECTION_ANNOTATION = "org.openmetadata.service.resources.Collection";
+  public static final String FUNCTION_ANNOTATION = "org.openmetadata.schema.Function";
+
+  public static final String COLLECTIONS = "META-INF/openmetadata/collections.idx";
+  public static final String FUNCTIONS = "META-INF/openmetadata/functions.idx";
+
+  public static final String METHOD_SEPARATOR = "#";
+
+  private AnnotationIndex() {}
+
+  /**
+   * Read the index at {@code resource}, merging the entries of all modules on the classpath that have one. Returns
+   * empty when the index was not generated for this build.
+   */
+  public static Optional<List<String>> read(ClassLoader classLoader, String resource) {
+    List<String> entries = new ArrayList<>();
+    boolean found = false;
+    try {
+      Enumeration<URL> urls = classLoader.getResources(resource);
+      while (urls.hasMoreElements()) {
+        found = true;
+        readEntries(urls.nextElement(), entries);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read annotation index " + resource, e);
+    }
+    return found ? Optional.of(entries) : Optional.empty();
+  }
+
+  /**
+   * Returns true when all the copies of the index at {@code resource} are read from jars. Indexes read from class
+   * directories may have been written by an IDE or an incremental build, which only index the sources they compiled,
+   * and should be checked against the classpath.
+   */
+  public static boolean isPackaged(ClassLoader classLoader, String resource) {
+    try {
+      Enumeration<URL> urls = classLoader.getResources(resource);
+      boolean found = false;
+      while (urls.hasMoreElements()) {
+        found = true;
+        if (!"jar".equals(urls.nextElement().getProtocol())) {
+          return false;
+        }
+      }
+      return found;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read annotation index " + resource, e);
+    }
+  }
+
+  private static void readEntries(URL url, List<String> entries) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (!line.isEmpty() && !entries.contains(line)) {
+          entries.add(line);
+        }
+      }
+    }
+  }
+}
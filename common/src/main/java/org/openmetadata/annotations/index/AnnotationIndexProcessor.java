@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.annotations.index;
+
+import static org.openmetadata.annotations.index.AnnotationIndex.COLLECTIONS;
+import static org.openmetadata.annotations.index.AnnotationIndex.COLLECTION_ANNOTATION;
+import static org.openmetadata.annotations.index.AnnotationIndex.FUNCTIONS;
+import static org.openmetadata.annotations.index.AnnotationIndex.FUNCTION_ANNOTATION;
+import static org.openmetadata.annotations.index.AnnotationIndex.METHOD_SEPARATOR;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that records REST collections marked with {@code @Collection} and SpEL functions marked with
+ * {@code @Function} into the static {@link AnnotationIndex}, so that the server does not have to scan the classpath at
+ * startup. Annotations are matched by name as they are declared in modules that depend on this one.
+ */
+@SupportedAnnotationTypes({COLLECTION_ANNOTATION, FUNCTION_ANNOTATION})
+public class AnnotationIndexProcessor extends AbstractProcessor {
+  private final SortedSet<String> collections = new TreeSet<>();
+  private final SortedSet<String> functions = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      String annotationName = annotation.getQualifiedName().toString();
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (COLLECTION_ANNOTATION.equals(annotationName) && element.getKind() == ElementKind.CLASS) {
+          collections.add(binaryName(element));
+        } else if (FUNCTION_ANNOTATION.equals(annotationName) && element.getKind() == ElementKind.METHOD) {
+          functions.add(binaryName(element.getEnclosingElement()) + METHOD_SEPARATOR + element.getSimpleName());
+        }
+      }
+    }
+    if (roundEnv.processingOver()) {
+      write(COLLECTIONS, collections);
+      write(FUNCTIONS, functions);
+    }
+    // Do not claim the annotations, other processors may handle them as well
+    return false;
+  }
+
+  private String binaryName(Element element) {
+    return processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+  }
+
+  private void write(String resource, SortedSet<String> entries) {
+    if (entries.isEmpty()) {
+      // Modules without annotated elements must not shadow the index of the module that has them
+      return;
+    }
+    try (Writer writer =
+        processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resource).openWriter()) {
+      for (String entry : entries) {
+        writer.write(entry);
+        writer.write('\n');
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + resource + ": " + e);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package org.openmetadata.annotations.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AnnotationIndexProcessorTest {
+  @TempDir Path output;
+
+  @Test
+  void testCollectionsAndFunctionsAreIndexed() throws IOException {
+    compile(
+        source(
+            "org.openmetadata.service.resources.Collection",
+            "package org.openmetadata.service.resources;" + "public @interface Collection { String name(); }"),
+        source("org.openmetadata.schema.Function", "package org.openmetadata.schema; public @interface Function {}"),
+        source(
+            "org.openmetadata.service.resources.TableResource",
+            "package org.openmetadata.service.resources;"
+                + "@Collection(name = \"tables\") public class TableResource {"
+                + "  @org.openmetadata.schema.Function public boolean matchAnyTag() { return true; }"
+                + "  public static class Nested { @org.openmetadata.schema.Function public void isOwner() {} }"
+                + "}"));
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, null)) {
+      assertEquals(
+          List.of("org.openmetadata.service.resources.TableResource"),
+          AnnotationIndex.read(loader, AnnotationIndex.COLLECTIONS).orElseThrow());
+      assertEquals(
+          List.of(
+              "org.openmetadata.service.resources.TableResource#matchAnyTag",
+              "org.openmetadata.service.resources.TableResource$Nested#isOwner"),
+          AnnotationIndex.read(loader, AnnotationIndex.FUNCTIONS).orElseThrow());
+      // An index in a class directory may be partial, only an index in a jar is trusted as is
+      assertFalse(AnnotationIndex.isPackaged(loader, AnnotationIndex.COLLECTIONS));
+    }
+  }
+
+  @Test
+  void testIndexIsNotWrittenWithoutAnnotatedElements() throws IOException {
+    compile(source("org.openmetadata.Plain", "package org.openmetadata; public class Plain {}"));
+
+    assertFalse(Files.exists(output.resolve(AnnotationIndex.COLLECTIONS)));
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, null)) {
+      assertTrue(AnnotationIndex.read(loader, AnnotationIndex.FUNCTIONS).isEmpty());
+    }
+  }
+
+  @Test
+  void testIndexInJarIsPackaged() throws IOException {
+    Path jar = output.resolve("index.jar");
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+      out.putNextEntry(new JarEntry(AnnotationIndex.COLLECTIONS));
+      out.write("org.openmetadata.service.resources.TableResource\n".getBytes(StandardCharsets.UTF_8));
+      out.closeEntry();
+    }
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+      assertTrue(AnnotationIndex.isPackaged(loader, AnnotationIndex.COLLECTIONS));
+      assertFalse(AnnotationIndex.isPackaged(loader, AnnotationIndex.FUNCTIONS));
+    }
+  }
+
+  private void compile(JavaFileObject... sources) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    JavaCompiler.CompilationTask task =
+        compiler.getTask(null, null, null, List.of("-proc:only", "-d", output.toString()), null, List.of(sources));
+    task.setProcessors(List.of(new AnnotationIndexProcessor()));
+    assertTrue(task.call());
+  }
+
+  private static JavaFileObject source(String className, String code) {
+    return new SimpleJavaFileObject(
+        Path.of(className.replace('.', '/') + ".java").toUri(), JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return code;
+      }
+    };
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.bulk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies a write request, such as a create or update call of a generated API, to every item of an iterator with a
+ * bounded number of requests in flight. Items are pulled from the iterator only when a request slot is free, so a lazy
+ * source like {@link org.openmetadata.client.listUtils.PagedIterator} is never read ahead of the writes. Only the
+ * failed items are kept in the result.
+ */
+@Slf4j
+public class BulkWriter {
+  private BulkWriter() {}
+
+  public static <T> Result<T> write(Iterator<T> items, Consumer<T> request, int maxConcurrency, Executor executor)
+      throws InterruptedException {
+    Semaphore permits = new Semaphore(maxConcurrency);
+    AtomicLong succeeded = new AtomicLong();
+    List<Failure<T>> failures = Collections.synchronizedList(new ArrayList<>());
+    while (items.hasNext()) {
+      T item = items.next();
+      permits.acquire();
+      try {
+        CompletableFuture.runAsync(() -> request.accept(item), executor)
+            .whenComplete(
+                (ignored, error) -> {
+                  if (error == null) {
+                    succeeded.incrementAndGet();
+                  } else {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    LOG.debug("[BulkWriter] Request failed for {} : {}", item, cause.getMessage());
+                    failures.add(new Failure<>(item, cause));
+                  }
+                  permits.release();
+                });
+      } catch (RuntimeException e) {
+        // The executor rejected the request, which then never releases its permit
+        LOG.debug("[BulkWriter] Request rejected for {} : {}", item, e.getMessage());
+        failures.add(new Failure<>(item, e));
+        permits.release();
+      }
+    }
+    // Wait for the requests still in flight
+    permits.acquire(maxConcurrency);
+    permits.release(maxConcurrency);
+    return new Result<>(succeeded.get(), new ArrayList<>(failures));
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class Result<T> {
+    private final long succeeded;
+    private final List<Failure<T>> failures;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class Failure<T> {
+    private final T item;
+    private final Throwable error;
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.gateway;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * HTTP settings of the {@link OpenMetadata} client. Responses are always decompressed transparently by OkHttp, request
+ * bodies are gzip compressed only when {@code gzipRequests} is enabled.
+ */
+@Getter
+@Builder
+public class ClientOptions {
+  /** Idle connections kept open in the pool */
+  @Builder.Default private final int maxIdleConnections = 20;
+
+  @Builder.Default private final Duration keepAlive = Duration.ofMinutes(5);
+
+  @Builder.Default private final Duration connectTimeout = Duration.ofSeconds(10);
+
+  @Builder.Default private final Duration readTimeout = Duration.ofSeconds(60);
+
+  /** Requests sent concurrently by the async and bulk APIs, across all hosts */
+  @Builder.Default private final int maxConcurrentRequests = 16;
+
+  @Builder.Default private final boolean gzipRequests = false;
+
+  public static ClientOptions defaults() {
+    return ClientOptions.builder().build();
+  }
+}
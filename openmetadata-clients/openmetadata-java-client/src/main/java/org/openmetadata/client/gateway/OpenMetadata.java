@@ -15,15 +15,32 @@ package org.openmetadata.client.gateway;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import feign.Feign;
+import feign.Request;
 import feign.form.FormEncoder;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
 import feign.okhttp.OkHttpClient;
 import feign.slf4j.Slf4jLogger;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
 import org.openmetadata.client.ApiClient;
 import org.openmetadata.client.api.CatalogApi;
+import org.openmetadata.client.bulk.BulkWriter;
 import org.openmetadata.client.interceptors.CustomRequestInterceptor;
+import org.openmetadata.client.interceptors.GzipRequestInterceptor;
+import org.openmetadata.client.listUtils.ListUtils;
+import org.openmetadata.client.model.Paging;
 import org.openmetadata.client.security.factory.AuthenticationProviderFactory;
 import org.openmetadata.schema.api.OpenMetadataServerVersion;
 import org.openmetadata.schema.services.connections.metadata.OpenMetadataConnection;
@@ -38,6 +55,9 @@ public class OpenMetadata {
   }
 
   private ApiClient apiClient;
+  private okhttp3.OkHttpClient httpClient;
+  private ExecutorService executor;
+  @Getter private ClientOptions options;
   private static final String REQUEST_INTERCEPTOR_KEY = "custom";
 
   public OpenMetadata(OpenMetadataConnection config) {
@@ -50,14 +70,50 @@ public class OpenMetadata {
     if (validateVersion) validateVersion();
   }
 
+  public OpenMetadata(OpenMetadataConnection config, ClientOptions options, boolean validateVersion) {
+    initClient(config, options);
+    if (validateVersion) validateVersion();
+  }
+
   public void initClient(OpenMetadataConnection config) {
+    initClient(config, ClientOptions.defaults());
+  }
+
+  public void initClient(OpenMetadataConnection config, ClientOptions options) {
+    close();
+    this.options = options;
+    // One pooled OkHttp client is shared by all the APIs built from this instance
+    okhttp3.OkHttpClient.Builder httpClientBuilder =
+        new okhttp3.OkHttpClient.Builder()
+            .connectionPool(
+                new ConnectionPool(
+                    options.getMaxIdleConnections(), options.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+            .connectTimeout(options.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(options.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    if (options.isGzipRequests()) {
+      httpClientBuilder.addInterceptor(new GzipRequestInterceptor());
+    }
+    httpClient = httpClientBuilder.build();
+    executor =
+        Executors.newFixedThreadPool(
+            options.getMaxConcurrentRequests(),
+            runnable -> {
+              // Daemon threads, so that a client that is not closed does not keep the JVM alive
+              Thread thread = new Thread(runnable, "openmetadata-client");
+              thread.setDaemon(true);
+              return thread;
+            });
+
     apiClient = new ApiClient();
     Feign.Builder builder =
         Feign.builder()
             .encoder(new FormEncoder(new JacksonEncoder(apiClient.getObjectMapper())))
             .decoder(new JacksonDecoder(apiClient.getObjectMapper()))
             .logger(new Slf4jLogger())
-            .client(new OkHttpClient());
+            .options(
+                new Request.Options(
+                    (int) options.getConnectTimeout().toMillis(), (int) options.getReadTimeout().toMillis()))
+            .client(new OkHttpClient(httpClient));
     apiClient.setFeignBuilder(builder);
     AuthenticationProviderFactory factory = new AuthenticationProviderFactory();
     apiClient.addAuthorization("oauth", factory.getAuthProvider(config));
@@ -82,6 +138,37 @@ public class OpenMetadata {
     apiClient.addAuthorization(REQUEST_INTERCEPTOR_KEY, newInterceptor);
   }
 
+  /**
+   * Run an API call asynchronously. Calls submitted together are sent concurrently over the pooled connections, up to
+   * {@link ClientOptions#getMaxConcurrentRequests()} at a time.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> request) {
+    return CompletableFuture.supplyAsync(request, executor);
+  }
+
+  /** Lazily iterate over a paginated list API, prefetching the next page while the current one is consumed. */
+  public <T, R> Iterator<T> iterate(
+      Function<Map<String, Object>, R> listMethod, Function<R, List<T>> getData, Function<R, Paging> getPaging) {
+    return ListUtils.iterate(listMethod, getData, getPaging, executor);
+  }
+
+  /** Apply a write request to every item, with at most {@code maxConcurrency} requests in flight. */
+  public <T> BulkWriter.Result<T> bulkWrite(Iterator<T> items, Consumer<T> request, int maxConcurrency)
+      throws InterruptedException {
+    return BulkWriter.write(items, request, Math.min(maxConcurrency, options.getMaxConcurrentRequests()), executor);
+  }
+
+  /** Release the threads and the pooled connections of the client. */
+  public void close() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+    if (httpClient != null) {
+      httpClient.dispatcher().executorService().shutdown();
+      httpClient.connectionPool().evictAll();
+    }
+  }
+
   public void validateVersion() {
     String[] clientVersion = getClientVersion();
     String[] serverVersion = getServerVersion();
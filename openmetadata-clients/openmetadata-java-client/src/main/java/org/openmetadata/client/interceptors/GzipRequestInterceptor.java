@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.interceptors;
+
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/** Compresses request bodies, which keeps large create and update payloads small on the wire. */
+public class GzipRequestInterceptor implements Interceptor {
+  private static final String CONTENT_ENCODING = "Content-Encoding";
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    if (request.body() == null || request.header(CONTENT_ENCODING) != null) {
+      return chain.proceed(request);
+    }
+    Request compressed =
+        request.newBuilder().header(CONTENT_ENCODING, "gzip").method(request.method(), gzip(request.body())).build();
+    return chain.proceed(compressed);
+  }
+
+  private static RequestBody gzip(RequestBody body) {
+    return new RequestBody() {
+      @Override
+      public MediaType contentType() {
+        return body.contentType();
+      }
+
+      @Override
+      public long contentLength() {
+        // Unknown until compressed
+        return -1;
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        try (BufferedSink gzipSink = Okio.buffer(new GzipSink(sink))) {
+          body.writeTo(gzipSink);
+        }
+      }
+    };
+  }
+}
@@ -3,9 +3,13 @@ package org.openmetadata.client.listUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.openmetadata.client.model.Paging;
 
 public class ListUtils {
@@ -14,21 +18,78 @@ public class ListUtils {
 
   public static ArrayList<Object> listResults(Object client, String methodName, Class<?> className)
       throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, InstantiationException {
-    Map<String, Object> data = new HashMap<>();
-    Object classInstance = className.getDeclaredConstructor().newInstance();
     ArrayList<Object> arrayList = new ArrayList<>();
-    Paging paging;
-    String after;
-    Method method = client.getClass().getMethod(methodName, Map.class);
-    Method getData = classInstance.getClass().getMethod("getData");
-    Method getPaging = classInstance.getClass().getMethod("getPaging");
+    Function<String, Page<Object>> fetchPage = pageFetcher(client, methodName, className);
+    String after = null;
     do {
-      classInstance = method.invoke(client, data);
-      arrayList.addAll((Collection<?>) getData.invoke(classInstance));
-      paging = (Paging) getPaging.invoke(classInstance);
-      after = paging.getAfter();
-      data.put("after", after);
+      Page<Object> page = fetchPage.apply(after);
+      arrayList.addAll(page.getData());
+      after = page.getAfter();
     } while (after != null);
     return arrayList;
   }
+
+  /**
+   * Iterate lazily over all the results of a list method of a generated API client, for example {@code
+   * ListUtils.iterate(tablesApi, "listTables", TableList.class, executor)}. The next page is prefetched on the executor
+   * while the current page is consumed.
+   */
+  public static Iterator<Object> iterate(Object client, String methodName, Class<?> className, Executor executor)
+      throws NoSuchMethodException {
+    return new PagedIterator<>(pageFetcher(client, methodName, className), executor);
+  }
+
+  public static Stream<Object> stream(Object client, String methodName, Class<?> className, Executor executor)
+      throws NoSuchMethodException {
+    return new PagedIterator<>(pageFetcher(client, methodName, className), executor).stream();
+  }
+
+  /**
+   * Type safe variant of {@link #iterate(Object, String, Class, Executor)}, for example {@code ListUtils.iterate(params
+   * -> tablesApi.listTables(params), TableList::getData, TableList::getPaging, executor)}.
+   */
+  public static <T, R> Iterator<T> iterate(
+      Function<Map<String, Object>, R> listMethod,
+      Function<R, List<T>> getData,
+      Function<R, Paging> getPaging,
+      Executor executor) {
+    return new PagedIterator<>(
+        after -> {
+          R result = listMethod.apply(queryParams(after));
+          Paging paging = getPaging.apply(result);
+          return new Page<>(getData.apply(result), paging == null ? null : paging.getAfter());
+        },
+        executor);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<String, Page<Object>> pageFetcher(Object client, String methodName, Class<?> className)
+      throws NoSuchMethodException {
+    // Resolve the methods once, they are invoked for every page
+    Method method = client.getClass().getMethod(methodName, Map.class);
+    Method getData = className.getMethod("getData");
+    Method getPaging = className.getMethod("getPaging");
+    return after -> {
+      try {
+        Object result = method.invoke(client, queryParams(after));
+        Paging paging = (Paging) getPaging.invoke(result);
+        return new Page<>((List<Object>) getData.invoke(result), paging == null ? null : paging.getAfter());
+      } catch (InvocationTargetException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException(e.getCause());
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  private static Map<String, Object> queryParams(String after) {
+    Map<String, Object> data = new HashMap<>();
+    if (after != null) {
+      data.put("after", after);
+    }
+    return data;
+  }
 }
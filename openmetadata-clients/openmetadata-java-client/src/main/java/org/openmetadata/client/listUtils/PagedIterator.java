@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.listUtils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily iterates over a cursor paginated endpoint. The next page is requested in the background as soon as a page is
+ * handed out, so the network round trip overlaps with processing the current page. At most two pages are held in memory
+ * at any time, whatever the size of the result.
+ */
+public class PagedIterator<T> implements Iterator<T> {
+  private final Function<String, Page<T>> fetchPage;
+  private final Executor executor;
+  private Iterator<T> current = Collections.emptyIterator();
+  private CompletableFuture<Page<T>> next;
+
+  /**
+   * @param fetchPage returns the page after the given cursor, the cursor is null for the first page
+   * @param executor runs the read-ahead requests
+   */
+  public PagedIterator(Function<String, Page<T>> fetchPage, Executor executor) {
+    this.fetchPage = fetchPage;
+    this.executor = executor;
+    this.next = fetchAsync(null);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!current.hasNext()) {
+      if (next == null) {
+        return false;
+      }
+      Page<T> page = await(next);
+      next = page.getAfter() == null ? null : fetchAsync(page.getAfter());
+      current = page.getData() == null ? Collections.emptyIterator() : page.getData().iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  public Stream<T> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false);
+  }
+
+  private CompletableFuture<Page<T>> fetchAsync(String after) {
+    return CompletableFuture.supplyAsync(() -> fetchPage.apply(after), executor);
+  }
+
+  private static <T> Page<T> await(CompletableFuture<Page<T>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
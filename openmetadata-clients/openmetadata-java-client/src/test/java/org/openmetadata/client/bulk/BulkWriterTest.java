@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Test;
+
+public class BulkWriterTest {
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testRequestsAreSentInOrder() throws InterruptedException {
+    List<Integer> sent = Collections.synchronizedList(new ArrayList<>());
+    BulkWriter.Result<Integer> result = BulkWriter.write(items(50).iterator(), sent::add, 1, executor);
+
+    assertEquals(items(50), sent);
+    assertEquals(50, result.getSucceeded());
+    assertTrue(result.getFailures().isEmpty());
+  }
+
+  @Test(timeout = 10_000)
+  public void testConcurrencyIsBounded() throws InterruptedException {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    AtomicInteger pulled = new AtomicInteger();
+    AtomicInteger completed = new AtomicInteger();
+    AtomicInteger maxReadAhead = new AtomicInteger();
+    Iterator<Integer> source = items(100).iterator();
+    Iterator<Integer> items =
+        new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return source.hasNext();
+          }
+
+          @Override
+          public Integer next() {
+            maxReadAhead.accumulateAndGet(pulled.incrementAndGet() - completed.get(), Math::max);
+            return source.next();
+          }
+        };
+
+    BulkWriter.Result<Integer> result =
+        BulkWriter.write(
+            items,
+            item -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              pause();
+              inFlight.decrementAndGet();
+              completed.incrementAndGet();
+            },
+            3,
+            executor);
+
+    assertEquals(100, result.getSucceeded());
+    assertTrue("At most 3 requests in flight, got " + maxInFlight.get(), maxInFlight.get() <= 3);
+    // An item is pulled once a slot is free, so it is at most one ahead of the requests in flight
+    assertTrue("Iterator read ahead by " + maxReadAhead.get(), maxReadAhead.get() <= 4);
+  }
+
+  @Test
+  public void testFailuresAreReported() throws InterruptedException {
+    IllegalStateException error = new IllegalStateException("conflict");
+    BulkWriter.Result<Integer> result =
+        BulkWriter.write(
+            items(10).iterator(),
+            item -> {
+              if (item % 3 == 0) {
+                throw error;
+              }
+            },
+            4,
+            executor);
+
+    assertEquals(6, result.getSucceeded());
+    List<Integer> failed =
+        result.getFailures().stream().map(BulkWriter.Failure::getItem).sorted().collect(Collectors.toList());
+    assertEquals(List.of(0, 3, 6, 9), failed);
+    result.getFailures().forEach(failure -> assertSame(error, failure.getError()));
+  }
+
+  @Test(timeout = 10_000)
+  public void testWriteReturnsAfterRequestsInFlight() throws InterruptedException {
+    AtomicInteger completed = new AtomicInteger();
+    BulkWriter.Result<Integer> result =
+        BulkWriter.write(
+            items(20).iterator(),
+            item -> {
+              pause();
+              completed.incrementAndGet();
+            },
+            5,
+            executor);
+
+    assertEquals(20, completed.get());
+    assertEquals(20, result.getSucceeded());
+  }
+
+  @Test(timeout = 10_000)
+  public void testRejectedRequestsReleaseTheirSlot() throws InterruptedException {
+    executor.shutdown();
+    BulkWriter.Result<Integer> result = BulkWriter.write(items(10).iterator(), item -> {}, 2, executor);
+
+    assertEquals(0, result.getSucceeded());
+    assertEquals(10, result.getFailures().size());
+    result.getFailures().forEach(failure -> assertTrue(failure.getError() instanceof RejectedExecutionException));
+  }
+
+  private static List<Integer> items(int count) {
+    return IntStream.range(0, count).boxed().collect(Collectors.toList());
+  }
+
+  private static void pause() {
+    try {
+      Thread.sleep(5);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -57,9 +57,13 @@ import org.glassfish.jersey.server.ServerProperties;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.statement.SqlLogger;
 import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.HandlerDecorators;
 import org.jdbi.v3.sqlobject.SqlObjects;
 import org.openmetadata.schema.api.security.AuthenticationConfiguration;
 import org.openmetadata.schema.api.security.AuthorizerConfiguration;
+import org.openmetadata.service.alerts.AlertDeliveryEngine;
+import org.openmetadata.service.analytics.WebAnalyticEventBuffer;
+import org.openmetadata.service.dataInsight.DataInsightRollupEngine;
 import org.openmetadata.service.elasticsearch.ElasticSearchEventPublisher;
 import org.openmetadata.service.events.EventFilter;
 import org.openmetadata.service.events.EventPubSub;
@@ -68,13 +72,19 @@ import org.openmetadata.service.exception.ConstraintViolationExceptionMapper;
 import org.openmetadata.service.exception.JsonMappingExceptionMapper;
 import org.openmetadata.service.fernet.Fernet;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.EntityStorageConverter;
+import org.openmetadata.service.jdbi3.FqnRenameEngine;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
 import org.openmetadata.service.migration.Migration;
 import org.openmetadata.service.migration.MigrationConfiguration;
 import org.openmetadata.service.monitoring.EventMonitor;
 import org.openmetadata.service.monitoring.EventMonitorFactory;
 import org.openmetadata.service.monitoring.EventMonitorPublisher;
+import org.openmetadata.service.monitoring.RequestQueryCounter;
+import org.openmetadata.service.monitoring.SqlObjectMetricsDecorator;
 import org.openmetadata.service.resources.CollectionRegistry;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.secrets.SecretsManager;
 import org.openmetadata.service.secrets.SecretsManagerFactory;
 import org.openmetadata.service.secrets.SecretsManagerUpdateService;
@@ -90,6 +100,7 @@ import org.openmetadata.service.socket.FeedServlet;
 import org.openmetadata.service.socket.OpenMetadataAssetServlet;
 import org.openmetadata.service.socket.SocketAddressFilter;
 import org.openmetadata.service.socket.WebSocketManager;
+import org.openmetadata.service.util.EmailOutbox;
 import org.openmetadata.service.util.EmailUtil;
 import org.openmetadata.service.util.MicrometerBundleSingleton;
 
@@ -126,6 +137,11 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     // Validate flyway Migrations
     validateMigrations(jdbi, catalogConfig.getMigrationConfiguration());
 
+    // Start delivering the queued notification emails
+    EmailOutbox.initialize(jdbi.onDemand(CollectionDAO.class), catalogConfig.getSmtpSettings());
+    AlertDeliveryEngine.initialize(catalogConfig.getAlertDelivery());
+    DataInsightRollupEngine.initialize(jdbi.onDemand(CollectionDAO.class));
+
     // Register Authorizer
     registerAuthorizer(catalogConfig, environment);
 
@@ -151,6 +167,10 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     EventPubSub.start();
 
     registerResources(catalogConfig, environment, jdbi);
+    // Resume the renames left running, after the entity repositories are registered
+    FqnRenameEngine.initialize(jdbi.onDemand(CollectionDAO.class));
+    // Convert the documents of the entity tables stored in another format than the configured one
+    EntityStorageConverter.initialize(jdbi.onDemand(CollectionDAO.class), catalogConfig.getEntityStorageCodec());
 
     // Register Event Handler
     registerEventFilter(catalogConfig, environment, jdbi);
@@ -204,6 +224,13 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     // Set the Database type for choosing correct queries from annotations
     jdbi.getConfig(SqlObjects.class).setSqlLocator(new ConnectionAwareAnnotationSqlLocator(dbFactory.getDriverClass()));
 
+    // Time every DAO method and count the queries issued per request
+    jdbi.getConfig(HandlerDecorators.class)
+        .register(
+            new SqlObjectMetricsDecorator(
+                MicrometerBundleSingleton.prometheusMeterRegistry, ConnectionType.from(dbFactory.getDriverClass())));
+    environment.jersey().register(new RequestQueryCounter(MicrometerBundleSingleton.prometheusMeterRegistry));
+
     return jdbi;
   }
 
@@ -383,6 +410,14 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     @Override
     public void stop() throws InterruptedException {
       EventPubSub.shutdown();
+      // After the publishers are stopped, as they share the delivery engine
+      AlertDeliveryEngine.shutdown();
+      EmailOutbox.shutdown();
+      WebAnalyticEventBuffer.shutdown();
+      DataInsightRollupEngine.shutdown();
+      FqnRenameEngine.shutdown();
+      EntityStorageConverter.shutdown();
+      TagLabelCache.shutdown();
       LOG.info("Stopping the application");
     }
   }
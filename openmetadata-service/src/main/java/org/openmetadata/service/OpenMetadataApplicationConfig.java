@@ -32,9 +32,13 @@ import org.openmetadata.schema.api.security.jwt.JWTTokenConfiguration;
 import org.openmetadata.schema.api.slackChat.SlackChatConfiguration;
 import org.openmetadata.schema.email.SmtpSettings;
 import org.openmetadata.schema.service.configuration.elasticsearch.ElasticSearchConfiguration;
+import org.openmetadata.service.alerts.AlertDeliveryConfiguration;
+import org.openmetadata.service.analytics.WebAnalyticEventBufferConfiguration;
+import org.openmetadata.service.jdbi3.EntityStorageCodec;
 import org.openmetadata.service.migration.MigrationConfiguration;
 import org.openmetadata.service.monitoring.EventMonitorConfiguration;
 import org.openmetadata.service.secrets.SecretsManagerConfiguration;
+import org.openmetadata.service.security.policyevaluator.SubjectCacheConfiguration;
 
 @Getter
 @Setter
@@ -100,6 +104,25 @@ public class OpenMetadataApplicationConfig extends Configuration {
   @JsonProperty("login")
   private LoginConfiguration loginSettings;
 
+  @JsonProperty("entityStorageCodec")
+  private EntityStorageCodec entityStorageCodec = EntityStorageCodec.JSON;
+
+  @JsonProperty("webAnalyticEventBuffer")
+  @Valid
+  private WebAnalyticEventBufferConfiguration webAnalyticEventBuffer = new WebAnalyticEventBufferConfiguration();
+
+  /** Number of days the status of ingestion pipeline runs is kept for. Zero keeps the statuses of all the runs. */
+  @JsonProperty("pipelineStatusRetentionDays")
+  private int pipelineStatusRetentionDays;
+
+  @JsonProperty("subjectCache")
+  @Valid
+  private SubjectCacheConfiguration subjectCache = new SubjectCacheConfiguration();
+
+  @JsonProperty("alertDelivery")
+  @Valid
+  private AlertDeliveryConfiguration alertDelivery = new AlertDeliveryConfiguration();
+
   @Override
   public String toString() {
     return "catalogConfig{"
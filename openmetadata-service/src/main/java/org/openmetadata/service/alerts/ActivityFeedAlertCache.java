@@ -13,6 +13,7 @@ import org.openmetadata.schema.entity.alerts.Alert;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.AlertRepository;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.util.CacheRegistry;
 
 @Slf4j
 public class ActivityFeedAlertCache {
@@ -28,7 +29,9 @@ public class ActivityFeedAlertCache {
           CacheBuilder.newBuilder()
               .maximumSize(1000)
               .expireAfterWrite(3, TimeUnit.MINUTES)
+              .recordStats()
               .build(new ActivityFeedAlertLoader());
+      CacheRegistry.getInstance().register("activityFeedAlerts", ALERTS_CACHE);
       ALERT_REPOSITORY = new AlertRepository(dao);
       INITIALIZED = true;
       activityFeedAlertName = alertName;
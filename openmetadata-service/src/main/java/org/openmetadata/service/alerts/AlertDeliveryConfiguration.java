@@ -0,0 +1,34 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.alerts;
+
+import javax.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Configuration of the HTTP delivery of the webhook based alert actions */
+@Getter
+@Setter
+public class AlertDeliveryConfiguration {
+  /** Threads sending the requests to the endpoints of all the alert actions */
+  @Min(1)
+  private int threads = 8;
+
+  /** Requests to a single endpoint that can be in flight at the same time */
+  @Min(1)
+  private int maxInFlightPerEndpoint = 8;
+
+  @Min(1)
+  private long connectTimeoutSeconds = 10;
+}
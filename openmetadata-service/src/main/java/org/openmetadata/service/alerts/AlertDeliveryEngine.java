@@ -0,0 +1,225 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.alerts;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.UnresolvedAddressException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Shared HTTP delivery engine for webhook based alert actions (generic webhook, Slack and MS Teams). All publishers
+ * share one HTTP client, so connections to an endpoint are pooled and kept alive across batches instead of being
+ * created by a client per alert action. Requests are sent asynchronously on a small shared executor, and the number of
+ * in-flight requests to a single endpoint is bounded so that one slow endpoint can not take over the executor. The
+ * payloads of a batch are delivered to their endpoint one after the other, so that they arrive in order, while batches
+ * for different endpoints are delivered in parallel.
+ */
+@Slf4j
+public final class AlertDeliveryEngine {
+  public static final String DELIVERY_TIMER_NAME = "alerts.delivery.duration";
+  private static AlertDeliveryConfiguration configuration = new AlertDeliveryConfiguration();
+  private static AlertDeliveryEngine instance;
+
+  private final HttpClient client;
+  private final ExecutorService executor;
+  private final int maxInFlightPerEndpoint;
+  private final Map<String, Semaphore> endpointPermits = new ConcurrentHashMap<>();
+  private final Map<String, Timer> deliveryTimers = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  AlertDeliveryEngine(AlertDeliveryConfiguration config, MeterRegistry meterRegistry) {
+    // Daemon threads, so that requests still in flight do not keep the server from stopping
+    this.executor =
+        Executors.newFixedThreadPool(
+            config.getThreads(), new ThreadFactoryBuilder().setNameFormat("alert-delivery-%d").setDaemon(true).build());
+    this.maxInFlightPerEndpoint = config.getMaxInFlightPerEndpoint();
+    this.meterRegistry = meterRegistry;
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(config.getConnectTimeoutSeconds()))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(executor)
+            .build();
+  }
+
+  /** Configure the engine, expected to be called before the alert publishers are started */
+  public static synchronized void initialize(AlertDeliveryConfiguration config) {
+    if (config != null) {
+      configuration = config;
+    }
+  }
+
+  public static synchronized AlertDeliveryEngine getInstance() {
+    if (instance == null) {
+      MeterRegistry registry =
+          MicrometerBundleSingleton.prometheusMeterRegistry != null
+              ? MicrometerBundleSingleton.prometheusMeterRegistry
+              : Metrics.globalRegistry;
+      instance = new AlertDeliveryEngine(configuration, registry);
+    }
+    return instance;
+  }
+
+  /**
+   * POST a JSON payload to the endpoint. The returned future completes with the delivery result, or exceptionally when
+   * the endpoint could not be reached. The caller blocks only while the endpoint already has the maximum number of
+   * requests in flight.
+   */
+  public CompletableFuture<DeliveryResult> post(
+      URI endpoint, String json, Map<String, String> headers, Duration timeout, String actionType) {
+    Semaphore permits =
+        endpointPermits.computeIfAbsent(endpointKey(endpoint), k -> new Semaphore(maxInFlightPerEndpoint));
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(e);
+    }
+    long start = System.nanoTime();
+    CompletableFuture<HttpResponse<Void>> sent;
+    try {
+      HttpRequest.Builder request =
+          HttpRequest.newBuilder(endpoint)
+              .timeout(timeout)
+              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+              .POST(HttpRequest.BodyPublishers.ofString(json));
+      headers.forEach(request::header);
+      sent = client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding());
+    } catch (RuntimeException e) {
+      // Invalid headers, or the executor is shut down
+      permits.release();
+      return CompletableFuture.failedFuture(e);
+    }
+    return sent.handle(
+        (response, error) -> {
+          permits.release();
+          String outcome = error != null ? "error" : (response.statusCode() / 100) + "xx";
+          getDeliveryTimer(actionType, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+          if (error != null) {
+            throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+          }
+          return new DeliveryResult(response.statusCode());
+        });
+  }
+
+  /**
+   * POST several payloads to the same endpoint one after the other, so that they arrive in the order given. Delivery
+   * stops at the first payload that is not delivered, the returned results cover the payloads sent up to and including
+   * that one. The payloads after it are not sent, so that the caller can retry them without sending the delivered
+   * payloads again.
+   */
+  public List<DeliveryResult> postAll(
+      URI endpoint, List<String> payloads, Map<String, String> headers, Duration timeout, String actionType) {
+    List<DeliveryResult> results = new ArrayList<>(payloads.size());
+    for (String payload : payloads) {
+      DeliveryResult result;
+      try {
+        result = post(endpoint, payload, headers, timeout, actionType).join();
+      } catch (CompletionException e) {
+        result = new DeliveryResult(e.getCause() != null ? e.getCause() : e);
+      }
+      results.add(result);
+      if (!result.isDelivered()) {
+        break;
+      }
+    }
+    return results;
+  }
+
+  /** Check if delivery failed because the host name of the endpoint could not be resolved */
+  public static boolean isUnknownHost(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof UnknownHostException || cause instanceof UnresolvedAddressException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public void close() {
+    executor.shutdown();
+  }
+
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      instance.close();
+      instance = null;
+    }
+  }
+
+  private Timer getDeliveryTimer(String actionType, String outcome) {
+    return deliveryTimers.computeIfAbsent(
+        actionType + "|" + outcome,
+        k ->
+            Timer.builder(DELIVERY_TIMER_NAME)
+                .tags("alertActionType", actionType, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+  }
+
+  private static String endpointKey(URI endpoint) {
+    return endpoint.getScheme() + "://" + endpoint.getAuthority();
+  }
+
+  /** Outcome of delivering one payload to an endpoint. */
+  public static class DeliveryResult {
+    @Getter private final int status;
+    /** Error when the endpoint could not be reached, in which case there is no status */
+    @Getter private final Throwable error;
+
+    DeliveryResult(int status) {
+      this.status = status;
+      this.error = null;
+    }
+
+    DeliveryResult(Throwable error) {
+      this.status = 0;
+      this.error = error;
+    }
+
+    public boolean isDelivered() {
+      return error == null && status >= 200 && status < 300;
+    }
+
+    public String getReasonPhrase() {
+      Response.Status status = Response.Status.fromStatusCode(this.status);
+      return status != null ? status.getReasonPhrase() : "HTTP " + this.status;
+    }
+  }
+}
@@ -14,6 +14,9 @@
 package org.openmetadata.service.alerts;
 
 import com.lmax.disruptor.BatchEventProcessor;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import lombok.Getter;
@@ -22,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.entity.alerts.Alert;
 import org.openmetadata.schema.entity.alerts.AlertAction;
 import org.openmetadata.schema.entity.alerts.AlertActionStatus;
+import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.FailureDetails;
 import org.openmetadata.service.events.EventPubSub;
 import org.openmetadata.service.events.errors.EventPublisherException;
@@ -119,6 +123,54 @@ public class AlertsActionPublisher extends AbstractAlertPublisher {
     setStatus(status);
   }
 
+  /**
+   * Update the alert action status from the response of a webhook endpoint. 3xx responses mark the action as failed,
+   * 4xx and 5xx responses mark it as awaiting retry and wait for the next backoff.
+   */
+  protected void handleDeliveryResult(long attemptTime, AlertDeliveryEngine.DeliveryResult result)
+      throws InterruptedException {
+    int status = result.getStatus();
+    if (status >= 300 && status < 400) {
+      // 3xx response/redirection is not allowed for callback. Set the webhook state as in error
+      setErrorStatus(attemptTime, status, result.getReasonPhrase());
+    } else if (status >= 300 && status < 600) {
+      // 4xx, 5xx response retry delivering events after timeout
+      setNextBackOff();
+      setAwaitingRetry(attemptTime, status, result.getReasonPhrase());
+      Thread.sleep(currentBackoffTime);
+    } else if (status == 200) {
+      setSuccessStatus(System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Update the alert action status from the results of delivering one message per event, in the order of the events.
+   * The delivered events are removed from the list, so that a retry of the batch does not send them again.
+   */
+  protected void handleDeliveryResults(
+      long attemptTime, List<ChangeEvent> events, List<AlertDeliveryEngine.DeliveryResult> results)
+      throws InterruptedException {
+    int delivered = 0;
+    try {
+      for (AlertDeliveryEngine.DeliveryResult result : results) {
+        if (result.getError() != null) {
+          throw new CompletionException(result.getError());
+        }
+        handleDeliveryResult(attemptTime, result);
+        if (result.isDelivered()) {
+          delivered++;
+        }
+      }
+    } finally {
+      events.subList(0, delivered).clear();
+    }
+  }
+
+  /** Request timeout for a webhook delivery, covering both connecting and waiting for the response */
+  protected Duration getDeliveryTimeout() {
+    return Duration.ofSeconds((long) alertAction.getTimeout() + alertAction.getReadTimeout());
+  }
+
   protected void setStatus(AlertActionStatus status) {
     alertAction.setStatusDetails(status);
   }
@@ -0,0 +1,232 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.analytics.WebAnalyticEventData;
+import org.openmetadata.service.analytics.WebAnalyticEventBufferConfiguration.OverflowPolicy;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Bounded in-memory buffer of the web analytic events posted by the UI. Events are acknowledged as soon as they are
+ * buffered, and written in the background by a single thread that groups them into multi-row inserts of up to {@link
+ * WebAnalyticEventBufferConfiguration#getBatchSize()} events, waiting at most the flush interval for a batch to fill
+ * up. When the buffer is full, events are handled according to the configured {@link OverflowPolicy}.
+ *
+ * <p>Events still buffered when the server stops are written before the writer thread exits. Events buffered when the
+ * server crashes are lost, which is acceptable for page view telemetry.
+ */
+@Slf4j
+public class WebAnalyticEventBuffer {
+  public static final String BUFFERED_COUNTER_NAME = "analytics.webEvents.buffered";
+  public static final String WRITTEN_COUNTER_NAME = "analytics.webEvents.written";
+  public static final String DROPPED_COUNTER_NAME = "analytics.webEvents.dropped";
+  public static final String FAILED_COUNTER_NAME = "analytics.webEvents.failed";
+  public static final String FLUSH_TIMER_NAME = "analytics.webEvents.flush";
+  public static final String QUEUE_SIZE_GAUGE_NAME = "analytics.webEvents.queue.size";
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+  private static WebAnalyticEventBuffer instance;
+
+  private final Writer writer;
+  private final BlockingQueue<WebAnalyticEventData> queue;
+  private final int batchSize;
+  private final long flushIntervalMillis;
+  private final OverflowPolicy overflowPolicy;
+  private final Counter buffered;
+  private final Counter written;
+  private final Counter dropped;
+  private final Counter failed;
+  private final Timer flushTimer;
+  private volatile boolean running;
+  private Thread worker;
+
+  /** Writes a batch of events in a single statement */
+  public interface Writer {
+    void write(List<WebAnalyticEventData> events) throws IOException;
+  }
+
+  WebAnalyticEventBuffer(Writer writer, WebAnalyticEventBufferConfiguration config, MeterRegistry meterRegistry) {
+    this.writer = writer;
+    this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+    this.batchSize = config.getBatchSize();
+    this.flushIntervalMillis = config.getFlushIntervalMillis();
+    this.overflowPolicy = config.getOverflowPolicy();
+    this.buffered = Counter.builder(BUFFERED_COUNTER_NAME).register(meterRegistry);
+    this.written = Counter.builder(WRITTEN_COUNTER_NAME).register(meterRegistry);
+    this.dropped = Counter.builder(DROPPED_COUNTER_NAME).register(meterRegistry);
+    this.failed = Counter.builder(FAILED_COUNTER_NAME).register(meterRegistry);
+    this.flushTimer = Timer.builder(FLUSH_TIMER_NAME).publishPercentileHistogram().register(meterRegistry);
+    Gauge.builder(QUEUE_SIZE_GAUGE_NAME, queue, BlockingQueue::size).register(meterRegistry);
+  }
+
+  public static synchronized void initialize(Writer writer, WebAnalyticEventBufferConfiguration config) {
+    if (instance != null || config == null || !config.isEnabled()) {
+      return;
+    }
+    MeterRegistry registry =
+        MicrometerBundleSingleton.prometheusMeterRegistry != null
+            ? MicrometerBundleSingleton.prometheusMeterRegistry
+            : Metrics.globalRegistry;
+    instance = new WebAnalyticEventBuffer(writer, config, registry);
+    instance.start();
+    LOG.info(
+        "Web analytic event buffer is initialized with capacity {}, batch size {} and flush interval {} ms",
+        config.getQueueCapacity(),
+        config.getBatchSize(),
+        config.getFlushIntervalMillis());
+  }
+
+  /** Returns the buffer, or null when events are written synchronously */
+  public static WebAnalyticEventBuffer getInstance() {
+    return instance;
+  }
+
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      instance.stop();
+      instance = null;
+    }
+  }
+
+  private void start() {
+    running = true;
+    worker = new Thread(this::run, "web-analytic-event-writer");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  private void stop() {
+    running = false;
+    worker.interrupt();
+    try {
+      worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Buffer an event to be written in the background */
+  public void add(WebAnalyticEventData event) {
+    if (queue.offer(event)) {
+      buffered.increment();
+      return;
+    }
+    switch (overflowPolicy) {
+      case DROP_OLDEST:
+        // Another request may take the freed slot, in which case the new event is dropped instead
+        if (queue.poll() != null) {
+          dropped.increment();
+        }
+        if (queue.offer(event)) {
+          buffered.increment();
+        } else {
+          dropped.increment();
+        }
+        break;
+      case WRITE_THROUGH:
+        write(List.of(event));
+        break;
+      case DROP_NEWEST:
+      default:
+        dropped.increment();
+        break;
+    }
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        List<WebAnalyticEventData> batch = nextBatch();
+        if (!batch.isEmpty()) {
+          write(batch);
+        }
+      } catch (InterruptedException e) {
+        // Stopping, the remaining events are written below
+      } catch (Exception e) {
+        LOG.error("[WebAnalyticEventBuffer] Unexpected failure of the writer", e);
+      }
+    }
+    flush();
+  }
+
+  /**
+   * Wait for the first event, then for the batch to fill up for at most the flush interval, so that the latency of an
+   * event is bounded while writes are grouped under load.
+   */
+  List<WebAnalyticEventData> nextBatch() throws InterruptedException {
+    List<WebAnalyticEventData> batch = new ArrayList<>(batchSize);
+    WebAnalyticEventData first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return batch;
+    }
+    batch.add(first);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    while (batch.size() < batchSize) {
+      queue.drainTo(batch, batchSize - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= batchSize || remaining <= 0) {
+        break;
+      }
+      WebAnalyticEventData next;
+      try {
+        next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        // Stopping, write the events already taken from the queue
+        break;
+      }
+      if (next == null) {
+        break;
+      }
+      batch.add(next);
+    }
+    return batch;
+  }
+
+  /** Write all the buffered events */
+  void flush() {
+    List<WebAnalyticEventData> batch = new ArrayList<>(batchSize);
+    while (queue.drainTo(batch, batchSize) > 0) {
+      write(batch);
+      batch = new ArrayList<>(batchSize);
+    }
+  }
+
+  private void write(List<WebAnalyticEventData> batch) {
+    long start = System.nanoTime();
+    try {
+      writer.write(batch);
+      written.increment(batch.size());
+    } catch (Exception e) {
+      LOG.warn("[WebAnalyticEventBuffer] Failed to write {} events. Reason : {}", batch.size(), e.getMessage());
+      failed.increment(batch.size());
+    } finally {
+      flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  int size() {
+    return queue.size();
+  }
+}
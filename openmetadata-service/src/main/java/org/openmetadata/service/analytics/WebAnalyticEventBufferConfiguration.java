@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.analytics;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class WebAnalyticEventBufferConfiguration {
+  /** What to do with a new event when the buffer is full */
+  public enum OverflowPolicy {
+    /** Drop the new event */
+    DROP_NEWEST,
+    /** Drop the oldest buffered event to make room for the new one */
+    DROP_OLDEST,
+    /** Write the new event synchronously on the request thread */
+    WRITE_THROUGH
+  }
+
+  /** When disabled, every event is written synchronously on the request thread */
+  private boolean enabled = true;
+
+  @Min(1)
+  private int queueCapacity = 10_000;
+
+  @Min(1)
+  private int batchSize = 500;
+
+  @Min(1)
+  private long flushIntervalMillis = 1_000;
+
+  @NotNull private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+}
@@ -26,8 +26,7 @@ public class DailyActiveUsersAggregator extends DataInsightAggregatorInterface {
     Histogram timestampBuckets = this.aggregations.get(TIMESTAMP);
     List<Object> data = new ArrayList<>();
     for (Histogram.Bucket timestampBucket : timestampBuckets.getBuckets()) {
-      String dateTimeString = timestampBucket.getKeyAsString();
-      Long timestamp = this.convertDatTimeStringToTimestamp(dateTimeString);
+      Long timestamp = this.getTimestamp(timestampBucket);
       long activeUsers = timestampBucket.getDocCount();
 
       data.add(new DailyActiveUsers().withTimestamp(timestamp).withActiveUsers((int) activeUsers));
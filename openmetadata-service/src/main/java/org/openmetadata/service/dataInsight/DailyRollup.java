@@ -0,0 +1,168 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.dataInsight;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Report data of one report data type for one day, with the records merged by their dimensions. A data insight run
+ * replaces the report data of the day it runs on, so the rollup only holds the records of the latest run of the day.
+ *
+ * <p>The latest run is found from the maximum timestamp of the day rather than by matching it exactly: records stamped
+ * less than {@link #RUN_GAP_MILLIS} apart belong to the same run, so that a run stamping its records one by one is kept
+ * whole.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyRollup {
+  public static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+  static final long RUN_GAP_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final Map<ReportDataType, List<String>> DIMENSIONS =
+      Map.of(
+          ReportDataType.ENTITY_REPORT_DATA,
+          List.of("entityType", "entityTier", "team", "organization"),
+          ReportDataType.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA,
+          List.of("entityFqn", "entityType", "entityTier", "entityHref", "owner"),
+          ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA,
+          List.of("userName", "team"));
+  private static final Map<ReportDataType, List<String>> SUMS =
+      Map.of(
+          ReportDataType.ENTITY_REPORT_DATA,
+          List.of("completedDescriptions", "missingDescriptions", "hasOwner", "missingOwner", "entityCount"),
+          ReportDataType.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA,
+          List.of("views"),
+          ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA,
+          List.of("totalSessions", "totalSessionDuration", "totalPageView"));
+  private static final Map<ReportDataType, List<String>> MAXIMUMS =
+      Map.of(
+          ReportDataType.ENTITY_REPORT_DATA,
+          List.of(),
+          ReportDataType.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA,
+          List.of(),
+          ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA,
+          List.of("lastSession"));
+
+  private ReportDataType reportDataType;
+  /** Start of the day in UTC */
+  private long day;
+  /** Timestamp of the data insight run the rollup holds. Set to 0 when there is no report data for the day. */
+  private long timestamp;
+
+  private int sourceCount;
+  private List<Row> rows = new ArrayList<>();
+
+  /** Report data records sharing the same dimensions, with their metrics summed up. */
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  public static class Row {
+    private Map<String, String> dimensions = new HashMap<>();
+    private Map<String, Double> metrics = new HashMap<>();
+    /** Number of report data records merged into the row */
+    private long count;
+
+    public String getDimension(String name) {
+      return dimensions.get(name);
+    }
+
+    public double getMetric(String name) {
+      return metrics.getOrDefault(name, 0.0);
+    }
+  }
+
+  public static long getDay(long timestamp) {
+    return Math.floorDiv(timestamp, DAY_MILLIS) * DAY_MILLIS;
+  }
+
+  @JsonIgnore
+  public boolean isEmpty() {
+    return sourceCount == 0;
+  }
+
+  /** Build the rollup of a day from the report data of that day. */
+  public static DailyRollup build(ReportDataType reportDataType, long day, List<ReportData> reportData) {
+    DailyRollup rollup = new DailyRollup();
+    rollup.setReportDataType(reportDataType);
+    rollup.setDay(day);
+    TreeSet<Long> timestamps = new TreeSet<>();
+    for (ReportData data : reportData) {
+      timestamps.add(data.getTimestamp());
+    }
+    long latestRun = timestamps.isEmpty() ? 0 : timestamps.last();
+    long latestRunStart = latestRun;
+    for (Long timestamp : timestamps.descendingSet()) {
+      if (latestRunStart - timestamp > RUN_GAP_MILLIS) {
+        break;
+      }
+      latestRunStart = timestamp;
+    }
+
+    List<String> dimensionNames = DIMENSIONS.get(reportDataType);
+    Map<List<String>, Row> rows = new LinkedHashMap<>();
+    for (ReportData data : reportData) {
+      if (data.getTimestamp() < latestRunStart) {
+        continue;
+      }
+      Map<String, Object> values = JsonUtils.getMap(data.getData());
+      List<String> key = new ArrayList<>(dimensionNames.size());
+      for (String dimension : dimensionNames) {
+        Object value = values.get(dimension);
+        key.add(value == null ? null : value.toString());
+      }
+      Row row =
+          rows.computeIfAbsent(
+              key,
+              k -> {
+                Row newRow = new Row();
+                for (int i = 0; i < dimensionNames.size(); i++) {
+                  if (k.get(i) != null) {
+                    newRow.dimensions.put(dimensionNames.get(i), k.get(i));
+                  }
+                }
+                return newRow;
+              });
+      row.count++;
+      for (String metric : SUMS.get(reportDataType)) {
+        Object value = values.get(metric);
+        if (value instanceof Number) {
+          row.metrics.merge(metric, ((Number) value).doubleValue(), Double::sum);
+        }
+      }
+      for (String metric : MAXIMUMS.get(reportDataType)) {
+        Object value = values.get(metric);
+        if (value instanceof Number) {
+          row.metrics.merge(metric, ((Number) value).doubleValue(), Math::max);
+        }
+      }
+      rollup.sourceCount++;
+    }
+    rollup.setTimestamp(latestRun);
+    rollup.setRows(new ArrayList<>(rows.values()));
+    return rollup;
+  }
+}
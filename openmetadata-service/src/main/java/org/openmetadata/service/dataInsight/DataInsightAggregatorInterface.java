@@ -1,9 +1,13 @@
 package org.openmetadata.service.dataInsight;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
 import org.openmetadata.schema.dataInsight.DataInsightChartResult;
 
 public abstract class DataInsightAggregatorInterface {
@@ -13,6 +17,8 @@ public abstract class DataInsightAggregatorInterface {
   protected static final String ENTITY_COUNT = "entityCount";
   protected static final String TIMESTAMP = "timestamp";
   protected static final String ENTITY_TIER = "entityTier";
+  private static final DateTimeFormatter DATE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX");
   protected final Aggregations aggregations;
   protected final DataInsightChartResult.DataInsightChartType dataInsightChartType;
 
@@ -27,7 +33,18 @@ public abstract class DataInsightAggregatorInterface {
   abstract List<Object> aggregate() throws ParseException;
 
   public Long convertDatTimeStringToTimestamp(String dateTimeString) throws ParseException {
-    SimpleDateFormat dateTimeFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-    return dateTimeFormat.parse(dateTimeString).getTime();
+    try {
+      return Instant.from(DATE_TIME_FORMATTER.parse(dateTimeString)).toEpochMilli();
+    } catch (DateTimeParseException e) {
+      throw new ParseException(e.getMessage(), e.getErrorIndex());
+    }
+  }
+
+  /** Get the timestamp of a date histogram bucket from its key, without formatting and parsing it back. */
+  protected Long getTimestamp(Histogram.Bucket bucket) throws ParseException {
+    if (bucket.getKey() instanceof ZonedDateTime) {
+      return ((ZonedDateTime) bucket.getKey()).toInstant().toEpochMilli();
+    }
+    return convertDatTimeStringToTimestamp(bucket.getKeyAsString());
   }
 }
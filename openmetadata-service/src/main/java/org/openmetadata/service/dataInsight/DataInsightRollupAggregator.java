@@ -0,0 +1,320 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.dataInsight;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult.DataInsightChartType;
+import org.openmetadata.schema.dataInsight.type.DailyActiveUsers;
+import org.openmetadata.schema.dataInsight.type.MostActiveUsers;
+import org.openmetadata.schema.dataInsight.type.MostViewedEntities;
+import org.openmetadata.schema.dataInsight.type.PageViewsByEntities;
+import org.openmetadata.schema.dataInsight.type.PercentageOfEntitiesWithDescriptionByType;
+import org.openmetadata.schema.dataInsight.type.PercentageOfEntitiesWithOwnerByType;
+import org.openmetadata.schema.dataInsight.type.TotalEntitiesByTier;
+import org.openmetadata.schema.dataInsight.type.TotalEntitiesByType;
+import org.openmetadata.service.jdbi3.DataInsightChartRepository;
+
+/**
+ * Computes data insight charts from {@link DailyRollup}s. The results match the ones of the Elasticsearch aggregations
+ * built by {@link DataInsightChartRepository#buildQueryAggregation} and processed by the aggregators of this package.
+ */
+public final class DataInsightRollupAggregator {
+  private static final String ENTITY_TYPE = "entityType";
+  private static final String ENTITY_TIER = "entityTier";
+  private static final String ENTITY_FQN = "entityFqn";
+  private static final String TEAM = "team";
+  private static final String NO_TIER = "NoTier";
+  private static final int TOP_SIZE = 10;
+
+  private DataInsightRollupAggregator() {}
+
+  public static ReportDataType getReportDataType(DataInsightChartType chartType) {
+    switch (chartType) {
+      case DAILY_ACTIVE_USERS:
+      case MOST_ACTIVE_USERS:
+        return ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA;
+      case PAGE_VIEWS_BY_ENTITIES:
+      case MOST_VIEWED_ENTITIES:
+        return ReportDataType.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA;
+      default:
+        return ReportDataType.ENTITY_REPORT_DATA;
+    }
+  }
+
+  /**
+   * Compute a chart from the rollups of the days in the requested range, ordered by day.
+   *
+   * @param tiers tier filter, null when not filtering by tier
+   * @param teams team filter, null when not filtering by team
+   */
+  public static DataInsightChartResult aggregate(
+      DataInsightChartType chartType, List<DailyRollup> rollups, List<String> tiers, List<String> teams) {
+    Predicate<DailyRollup.Row> filter = row -> true;
+    if (tiers != null && DataInsightChartRepository.supportsTierFilter(chartType.value())) {
+      filter = filter.and(row -> tiers.contains(row.getDimension(ENTITY_TIER)));
+    }
+    if (teams != null && DataInsightChartRepository.supportsTeamFilter(chartType.value())) {
+      filter = filter.and(row -> teams.contains(row.getDimension(TEAM)));
+    }
+
+    List<Object> data;
+    switch (chartType) {
+      case PERCENTAGE_OF_ENTITIES_WITH_DESCRIPTION_BY_TYPE:
+        data = entitiesWithDescription(rollups, filter);
+        break;
+      case PERCENTAGE_OF_ENTITIES_WITH_OWNER_BY_TYPE:
+        data = entitiesWithOwner(rollups, filter);
+        break;
+      case TOTAL_ENTITIES_BY_TYPE:
+        data = totalEntitiesByType(rollups, filter);
+        break;
+      case TOTAL_ENTITIES_BY_TIER:
+        data = totalEntitiesByTier(rollups, filter);
+        break;
+      case DAILY_ACTIVE_USERS:
+        data = dailyActiveUsers(rollups, filter);
+        break;
+      case PAGE_VIEWS_BY_ENTITIES:
+        data = pageViewsByEntities(rollups, filter);
+        break;
+      case MOST_VIEWED_ENTITIES:
+        data = mostViewedEntities(rollups, filter);
+        break;
+      case MOST_ACTIVE_USERS:
+        data = mostActiveUsers(rollups, filter);
+        break;
+      default:
+        throw new IllegalArgumentException(String.format("No processor found for chart Type %s ", chartType));
+    }
+    return new DataInsightChartResult().withData(data).withChartType(chartType);
+  }
+
+  private static List<Object> entitiesWithDescription(List<DailyRollup> rollups, Predicate<DailyRollup.Row> filter) {
+    List<Object> data = new ArrayList<>();
+    for (DailyRollup rollup : rollups) {
+      for (Group group : groupBy(rollup.getRows(), filter, ENTITY_TYPE, null)) {
+        double completed = group.sum("completedDescriptions");
+        double entityCount = group.sum("entityCount");
+        data.add(
+            new PercentageOfEntitiesWithDescriptionByType()
+                .withTimestamp(rollup.getDay())
+                .withEntityType(group.key)
+                .withEntityCount(entityCount)
+                .withCompletedDescription(completed)
+                .withCompletedDescriptionFraction(completed / entityCount));
+      }
+    }
+    return data;
+  }
+
+  private static List<Object> entitiesWithOwner(List<DailyRollup> rollups, Predicate<DailyRollup.Row> filter) {
+    List<Object> data = new ArrayList<>();
+    for (DailyRollup rollup : rollups) {
+      for (Group group : groupBy(rollup.getRows(), filter, ENTITY_TYPE, null)) {
+        double hasOwner = group.sum("hasOwner");
+        double entityCount = group.sum("entityCount");
+        data.add(
+            new PercentageOfEntitiesWithOwnerByType()
+                .withTimestamp(rollup.getDay())
+                .withEntityType(group.key)
+                .withEntityCount(entityCount)
+                .withHasOwner(hasOwner)
+                .withHasOwnerFraction(hasOwner / entityCount));
+      }
+    }
+    return data;
+  }
+
+  private static List<Object> totalEntitiesByType(List<DailyRollup> rollups, Predicate<DailyRollup.Row> filter) {
+    List<TotalEntitiesByType> totals = new ArrayList<>();
+    double totalEntities = 0;
+    for (DailyRollup rollup : rollups) {
+      for (Group group : groupBy(rollup.getRows(), filter, ENTITY_TYPE, null)) {
+        double entityCount = group.sum("entityCount");
+        totals.add(
+            new TotalEntitiesByType()
+                .withTimestamp(rollup.getDay())
+                .withEntityType(group.key)
+                .withEntityCount(entityCount));
+        totalEntities += entityCount;
+      }
+    }
+    // Same as the search based aggregation, the fraction is over the entities of the whole range
+    List<Object> data = new ArrayList<>(totals.size());
+    for (TotalEntitiesByType total : totals) {
+      data.add(total.withEntityCountFraction(total.getEntityCount() / totalEntities));
+    }
+    return data;
+  }
+
+  private static List<Object> totalEntitiesByTier(List<DailyRollup> rollups, Predicate<DailyRollup.Row> filter) {
+    List<Object> data = new ArrayList<>();
+    for (DailyRollup rollup : rollups) {
+      List<Group> groups = groupBy(rollup.getRows(), filter, ENTITY_TIER, NO_TIER);
+      double totalEntityCount = groups.stream().mapToDouble(group -> group.sum("entityCount")).sum();
+      for (Group group : groups) {
+        double entityCount = group.sum("entityCount");
+        data.add(
+            new TotalEntitiesByTier()
+                .withTimestamp(rollup.getDay())
+                .withEntityTier(group.key)
+                .withEntityCount(entityCount)
+                .withEntityCountFraction(entityCount / totalEntityCount));
+      }
+    }
+    return data;
+  }
+
+  private static List<Object> dailyActiveUsers(List<DailyRollup> rollups, Predicate<DailyRollup.Row> filter) {
+    Map<Long, Long> activeUsers = new HashMap<>();
+    for (DailyRollup rollup : rollups) {
+      long count = rollup.getRows().stream().filter(filter).mapToLong(DailyRollup.Row::getCount).sum();
+      if (count > 0) {
+        activeUsers.merge(rollup.getDay(), count, Long::sum);
+      }
+    }
+    List<Object> data = new ArrayList<>();
+    if (activeUsers.isEmpty()) {
+      return data;
+    }
+    // A date histogram has a bucket for every day between the first and the last day with data
+    long first = activeUsers.keySet().stream().min(Long::compare).orElseThrow();
+    long last = activeUsers.keySet().stream().max(Long::compare).orElseThrow();
+    for (long day = first; day <= last; day += DailyRollup.DAY_MILLIS) {
+      data.add(new DailyActiveUsers().withTimestamp(day).withActiveUsers(activeUsers.getOrDefault(day, 0L).intValue()));
+    }
+    return data;
+  }
+
+  private static List<Object> pageViewsByEntities(List<DailyRollup> rollups, Predicate<DailyRollup.Row> filter) {
+    List<Object> data = new ArrayList<>();
+    for (DailyRollup rollup : rollups) {
+      for (Group group : groupBy(rollup.getRows(), filter, ENTITY_TYPE, null)) {
+        data.add(
+            new PageViewsByEntities()
+                .withTimestamp(rollup.getDay())
+                .withEntityType(group.key)
+                .withPageViews(group.sum("views")));
+      }
+    }
+    return data;
+  }
+
+  private static List<Object> mostViewedEntities(List<DailyRollup> rollups, Predicate<DailyRollup.Row> filter) {
+    List<Group> groups = groupBy(allRows(rollups), filter, ENTITY_FQN, null);
+    return top(groups, "views").stream()
+        .map(
+            group ->
+                new MostViewedEntities()
+                    .withEntityFqn(group.key)
+                    .withOwner(group.topTerm("owner"))
+                    .withEntityType(group.topTerm(ENTITY_TYPE))
+                    .withEntityHref(group.topTerm("entityHref"))
+                    .withPageViews(group.sum("views")))
+        .collect(Collectors.toList());
+  }
+
+  private static List<Object> mostActiveUsers(List<DailyRollup> rollups, Predicate<DailyRollup.Row> filter) {
+    List<Group> groups = groupBy(allRows(rollups), filter, "userName", null);
+    return top(groups, "totalSessions").stream()
+        .map(
+            group -> {
+              double sessions = group.sum("totalSessions");
+              double sessionDuration = group.sum("totalSessionDuration");
+              return new MostActiveUsers()
+                  .withUserName(group.key)
+                  .withTeam(group.topTerm(TEAM))
+                  .withLastSession((long) group.max("lastSession"))
+                  .withPageViews(group.sum("totalPageView"))
+                  .withSessionDuration(sessionDuration)
+                  .withSessions(sessions)
+                  .withAvgSessionDuration(sessionDuration / sessions);
+            })
+        .collect(Collectors.toList());
+  }
+
+  private static List<DailyRollup.Row> allRows(List<DailyRollup> rollups) {
+    List<DailyRollup.Row> rows = new ArrayList<>();
+    rollups.forEach(rollup -> rows.addAll(rollup.getRows()));
+    return rows;
+  }
+
+  /** Top groups by a summed metric, ties broken by key, like a terms aggregation ordered by a sub aggregation. */
+  private static List<Group> top(List<Group> groups, String metric) {
+    return groups.stream()
+        .sorted(
+            Comparator.comparingDouble((Group group) -> group.sum(metric)).reversed().thenComparing(group -> group.key))
+        .limit(TOP_SIZE)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Group rows by a dimension, ordered like the buckets of a terms aggregation: by number of records, then by key. Rows
+   * without the dimension are grouped under the missing key, or left out when it is null.
+   */
+  private static List<Group> groupBy(
+      List<DailyRollup.Row> rows, Predicate<DailyRollup.Row> filter, String dimension, String missing) {
+    Map<String, Group> groups = new HashMap<>();
+    for (DailyRollup.Row row : rows) {
+      if (!filter.test(row)) {
+        continue;
+      }
+      String key = row.getDimension(dimension) != null ? row.getDimension(dimension) : missing;
+      if (key != null) {
+        groups.computeIfAbsent(key, Group::new).rows.add(row);
+      }
+    }
+    return groups.values().stream()
+        .sorted(Comparator.comparingLong(Group::count).reversed().thenComparing(group -> group.key))
+        .collect(Collectors.toList());
+  }
+
+  private static class Group {
+    private final String key;
+    private final List<DailyRollup.Row> rows = new ArrayList<>();
+
+    Group(String key) {
+      this.key = key;
+    }
+
+    long count() {
+      return rows.stream().mapToLong(DailyRollup.Row::getCount).sum();
+    }
+
+    double sum(String metric) {
+      return rows.stream().mapToDouble(row -> row.getMetric(metric)).sum();
+    }
+
+    double max(String metric) {
+      return rows.stream()
+          .filter(row -> row.getMetrics().containsKey(metric))
+          .mapToDouble(row -> row.getMetric(metric))
+          .max()
+          .orElse(Double.NEGATIVE_INFINITY);
+    }
+
+    /** Most frequent value of a dimension in the group, like the first bucket of a terms sub aggregation */
+    String topTerm(String dimension) {
+      return groupBy(rows, row -> true, dimension, null).stream().findFirst().map(group -> group.key).orElse(null);
+    }
+  }
+}
@@ -0,0 +1,304 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.dataInsight;
+
+import static org.openmetadata.service.jdbi3.ReportDataRepository.REPORT_DATA_EXTENSION;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult.DataInsightChartType;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.util.CacheRegistry;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Serves data insight charts from daily rollups of the report data instead of running the aggregations on Elasticsearch
+ * for every request.
+ *
+ * <p>Ingesting report data drops the rollup of its day and schedules the rollup to be built again once the ingestion of
+ * the day settles. Rollups missing when a chart is requested are built on the spot from the report data stored in the
+ * database. Chart results are cached until new report data is ingested. Charts over a range without report data in the
+ * database are still served from Elasticsearch.
+ *
+ * <p>Ingesting report data only drops the cached results of the charts of its report data type whose range includes its
+ * day.
+ */
+@Slf4j
+public class DataInsightRollupEngine {
+  public static final String REQUESTS_COUNTER_NAME = "dataInsight.chart.requests";
+  private static final long REBUILD_DELAY_SECONDS = 30;
+  private static final long RESULT_CACHE_SIZE = 500;
+  private static final long RESULT_CACHE_EXPIRY_MINUTES = 10;
+  private static DataInsightRollupEngine instance;
+
+  private final CollectionDAO.DataInsightRollupDAO rollupDAO;
+  private final CollectionDAO.EntityExtensionTimeSeriesDAO timeSeriesDAO;
+  private final ScheduledExecutorService scheduler;
+  private final Cache<ResultKey, DataInsightChartResult> resultCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(RESULT_CACHE_SIZE)
+          .expireAfterWrite(RESULT_CACHE_EXPIRY_MINUTES, TimeUnit.MINUTES)
+          .recordStats()
+          .build();
+  /** Advanced on every ingestion of a report data type, so that results computed meanwhile are not cached */
+  private final Map<ReportDataType, AtomicLong> generations = new ConcurrentHashMap<>();
+
+  private final Map<ReportDataType, Long> firstDays = new ConcurrentHashMap<>();
+  private final Map<String, ScheduledFuture<?>> pendingRebuilds = new ConcurrentHashMap<>();
+  private final Counter cacheReads;
+  private final Counter rollupReads;
+  private final Counter searchReads;
+
+  /** Computes a chart with an Elasticsearch aggregation. */
+  public interface ChartLoader {
+    DataInsightChartResult load() throws IOException, ParseException;
+  }
+
+  DataInsightRollupEngine(CollectionDAO dao, ScheduledExecutorService scheduler, MeterRegistry meterRegistry) {
+    this.rollupDAO = dao.dataInsightRollupDAO();
+    this.timeSeriesDAO = dao.entityExtensionTimeSeriesDao();
+    this.scheduler = scheduler;
+    this.cacheReads = Counter.builder(REQUESTS_COUNTER_NAME).tag("source", "cache").register(meterRegistry);
+    this.rollupReads = Counter.builder(REQUESTS_COUNTER_NAME).tag("source", "rollup").register(meterRegistry);
+    this.searchReads = Counter.builder(REQUESTS_COUNTER_NAME).tag("source", "search").register(meterRegistry);
+  }
+
+  public static synchronized void initialize(CollectionDAO dao) {
+    if (instance == null) {
+      MeterRegistry registry =
+          MicrometerBundleSingleton.prometheusMeterRegistry != null
+              ? MicrometerBundleSingleton.prometheusMeterRegistry
+              : Metrics.globalRegistry;
+      instance =
+          new DataInsightRollupEngine(
+              dao, Executors.newSingleThreadScheduledExecutor(Executors.defaultThreadFactory()), registry);
+      CacheRegistry.getInstance().register("dataInsightResults", instance.resultCache, ResultKey::parse);
+    }
+  }
+
+  public static DataInsightRollupEngine getInstance() {
+    return instance;
+  }
+
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      instance.scheduler.shutdown();
+      instance = null;
+    }
+  }
+
+  /** Drop the rollup of the day of the report data and schedule it to be built again. */
+  public void onReportDataAdded(ReportData reportData) {
+    ReportDataType reportDataType = reportData.getReportDataType();
+    long day = DailyRollup.getDay(reportData.getTimestamp());
+    rollupDAO.delete(reportDataType.value(), day);
+    firstDays.computeIfPresent(reportDataType, (type, firstDay) -> Math.min(firstDay, day));
+    getGeneration(reportDataType).incrementAndGet();
+    resultCache
+        .asMap()
+        .keySet()
+        .removeIf(
+            key ->
+                key.reportDataType == reportDataType
+                    && DailyRollup.getDay(key.startTs) <= day
+                    && day <= DailyRollup.getDay(key.endTs));
+
+    // Report data is ingested in bursts, build the rollup once the burst is over
+    pendingRebuilds.compute(
+        reportDataType.value() + ":" + day,
+        (key, pending) -> {
+          if (pending != null) {
+            pending.cancel(false);
+          }
+          return scheduler.schedule(
+              () -> {
+                pendingRebuilds.remove(key);
+                rebuild(reportDataType, day);
+              },
+              REBUILD_DELAY_SECONDS,
+              TimeUnit.SECONDS);
+        });
+  }
+
+  public DataInsightChartResult getChartResult(
+      DataInsightChartType chartType,
+      String dataReportIndex,
+      String tier,
+      String team,
+      long startTs,
+      long endTs,
+      ChartLoader searchLoader)
+      throws IOException, ParseException {
+    ReportDataType reportDataType = DataInsightRollupAggregator.getReportDataType(chartType);
+    ResultKey key = new ResultKey(chartType, reportDataType, dataReportIndex, tier, team, startTs, endTs);
+    DataInsightChartResult result = resultCache.getIfPresent(key);
+    if (result != null) {
+      cacheReads.increment();
+      return result;
+    }
+
+    AtomicLong generation = getGeneration(reportDataType);
+    long currentGeneration = generation.get();
+    List<DailyRollup> rollups = getRollups(reportDataType, startTs, endTs);
+    if (rollups.isEmpty()) {
+      searchReads.increment();
+      result = searchLoader.load();
+    } else {
+      rollupReads.increment();
+      result = DataInsightRollupAggregator.aggregate(chartType, rollups, split(tier), split(team));
+    }
+    if (generation.get() == currentGeneration) {
+      resultCache.put(key, result);
+    }
+    return result;
+  }
+
+  /** Get the rollups with report data in the range, building the missing ones. */
+  List<DailyRollup> getRollups(ReportDataType reportDataType, long startTs, long endTs) throws IOException {
+    Long firstDay = getFirstDay(reportDataType);
+    if (firstDay == null) {
+      return List.of();
+    }
+    long startDay = Math.max(DailyRollup.getDay(startTs), firstDay);
+    long endDay = Math.min(DailyRollup.getDay(endTs), DailyRollup.getDay(System.currentTimeMillis()));
+    if (startDay > endDay) {
+      return List.of();
+    }
+
+    Map<Long, DailyRollup> rollups = new TreeMap<>();
+    for (String json : rollupDAO.listBetween(reportDataType.value(), startDay, endDay)) {
+      DailyRollup rollup = JsonUtils.readValue(json, DailyRollup.class);
+      rollups.put(rollup.getDay(), rollup);
+    }
+    List<Long> missingDays = new ArrayList<>();
+    for (long day = startDay; day <= endDay; day += DailyRollup.DAY_MILLIS) {
+      if (!rollups.containsKey(day)) {
+        missingDays.add(day);
+      }
+    }
+    if (!missingDays.isEmpty()) {
+      rollups.putAll(build(reportDataType, missingDays));
+    }
+
+    // A day is in the range when its latest run is, same as the report data left on Elasticsearch for the day
+    return rollups.values().stream()
+        .filter(rollup -> !rollup.isEmpty() && rollup.getTimestamp() >= startTs && rollup.getTimestamp() <= endTs)
+        .collect(Collectors.toList());
+  }
+
+  /** Build and store the rollups of the days with a single read of their report data. */
+  private Map<Long, DailyRollup> build(ReportDataType reportDataType, List<Long> days) throws IOException {
+    long from = days.get(0);
+    long to = days.get(days.size() - 1) + DailyRollup.DAY_MILLIS - 1;
+    List<ReportData> reportData =
+        JsonUtils.readObjects(
+            timeSeriesDAO.listBetweenTimestamps(reportDataType.value(), REPORT_DATA_EXTENSION, from, to),
+            ReportData.class);
+    Map<Long, List<ReportData>> byDay = new HashMap<>();
+    for (ReportData data : reportData) {
+      byDay.computeIfAbsent(DailyRollup.getDay(data.getTimestamp()), day -> new ArrayList<>()).add(data);
+    }
+
+    Map<Long, DailyRollup> rollups = new HashMap<>();
+    for (Long day : days) {
+      DailyRollup rollup = DailyRollup.build(reportDataType, day, byDay.getOrDefault(day, List.of()));
+      // Days without report data are stored as well, ingesting report data for them drops the rollup again
+      rollupDAO.upsert(reportDataType.value(), day, JsonUtils.pojoToJson(rollup));
+      rollups.put(day, rollup);
+    }
+    LOG.debug("Built {} data insight rollups of {}", rollups.size(), reportDataType);
+    return rollups;
+  }
+
+  private void rebuild(ReportDataType reportDataType, long day) {
+    try {
+      build(reportDataType, List.of(day));
+    } catch (Exception ex) {
+      LOG.warn("Failed to build the data insight rollup of {} for {}", reportDataType, day, ex);
+    }
+  }
+
+  private Long getFirstDay(ReportDataType reportDataType) {
+    Long firstDay = firstDays.get(reportDataType);
+    if (firstDay == null) {
+      Long firstTimestamp = timeSeriesDAO.getFirstTimestamp(reportDataType.value(), REPORT_DATA_EXTENSION);
+      if (firstTimestamp == null) {
+        return null;
+      }
+      firstDay = DailyRollup.getDay(firstTimestamp);
+      firstDays.put(reportDataType, firstDay);
+    }
+    return firstDay;
+  }
+
+  private AtomicLong getGeneration(ReportDataType reportDataType) {
+    return generations.computeIfAbsent(reportDataType, type -> new AtomicLong());
+  }
+
+  private static List<String> split(String filter) {
+    return filter == null ? null : Arrays.asList(filter.split("\\s*,\\s*"));
+  }
+
+  /** A chart request, with the report data type the chart is computed from */
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  private static class ResultKey {
+    private final DataInsightChartType chartType;
+    private final ReportDataType reportDataType;
+    private final String dataReportIndex;
+    private final String tier;
+    private final String team;
+    private final long startTs;
+    private final long endTs;
+
+    /** Parse a key written as chartType|dataReportIndex|tier|team|startTs|endTs, with empty filters left out */
+    static ResultKey parse(String key) {
+      String[] parts = key.split("\\|", -1);
+      DataInsightChartType chartType = DataInsightChartType.fromValue(parts[0]);
+      return new ResultKey(
+          chartType,
+          DataInsightRollupAggregator.getReportDataType(chartType),
+          parts[1],
+          parts[2].isEmpty() ? null : parts[2],
+          parts[3].isEmpty() ? null : parts[3],
+          Long.parseLong(parts[4]),
+          Long.parseLong(parts[5]));
+    }
+  }
+}
@@ -28,8 +28,7 @@ public class EntitiesDescriptionAggregator extends DataInsightAggregatorInterfac
     Histogram timestampBuckets = this.aggregations.get(TIMESTAMP);
     List<Object> data = new ArrayList<>();
     for (Histogram.Bucket timestampBucket : timestampBuckets.getBuckets()) {
-      String dateTimeString = timestampBucket.getKeyAsString();
-      Long timestamp = this.convertDatTimeStringToTimestamp(dateTimeString);
+      Long timestamp = this.getTimestamp(timestampBucket);
       MultiBucketsAggregation entityTypeBuckets = timestampBucket.getAggregations().get(ENTITY_TYPE);
       for (MultiBucketsAggregation.Bucket entityTypeBucket : entityTypeBuckets.getBuckets()) {
         String entityType = entityTypeBucket.getKeyAsString();
@@ -27,8 +27,7 @@ public class PageViewsByEntitiesAggregator extends DataInsightAggregatorInterfac
     Histogram timestampBuckets = this.aggregations.get(TIMESTAMP);
     List<Object> data = new ArrayList<>();
     for (Histogram.Bucket timestampBucket : timestampBuckets.getBuckets()) {
-      String dateTimeString = timestampBucket.getKeyAsString();
-      Long timestamp = this.convertDatTimeStringToTimestamp(dateTimeString);
+      Long timestamp = this.getTimestamp(timestampBucket);
       MultiBucketsAggregation entityTypeBuckets = timestampBucket.getAggregations().get(ENTITY_TYPE);
       for (MultiBucketsAggregation.Bucket entityTypeBucket : entityTypeBuckets.getBuckets()) {
         String entityType = entityTypeBucket.getKeyAsString();
@@ -31,8 +31,7 @@ public class TotalEntitiesByTierAggregator extends DataInsightAggregatorInterfac
       List<TotalEntitiesByTier> timestampData = new ArrayList<>();
       double totalEntityCount = 0.0;
 
-      String dateTimeString = timestampBucket.getKeyAsString();
-      Long timestamp = this.convertDatTimeStringToTimestamp(dateTimeString);
+      Long timestamp = this.getTimestamp(timestampBucket);
       MultiBucketsAggregation entityTypeBuckets = timestampBucket.getAggregations().get(ENTITY_TIER);
       for (MultiBucketsAggregation.Bucket entityTierBucket : entityTypeBuckets.getBuckets()) {
         String entityTier = entityTierBucket.getKeyAsString();
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.elasticsearch;
+
+/**
+ * Limit on the number of concurrent bulk requests, tuned from the feedback of Elasticsearch. The limit grows by one
+ * after a round of fast bulk requests, shrinks by one when bulk requests get slower than the latency target, and is
+ * halved when Elasticsearch rejects requests because its write queue is full.
+ */
+public class AdaptiveConcurrencyLimit {
+  private final int minLimit;
+  private final int maxLimit;
+  private final long latencyTargetMillis;
+  private int limit;
+  private int inFlight;
+  /** Number of fast bulk requests since the limit last changed */
+  private int fastRequests;
+
+  public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyTargetMillis) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyTargetMillis = latencyTargetMillis;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  /** Wait until a bulk request is allowed to run. */
+  public synchronized void acquire() throws InterruptedException {
+    while (inFlight >= limit) {
+      wait();
+    }
+    inFlight++;
+  }
+
+  /** Release the permit of a bulk request that completed within the given latency. */
+  public synchronized void onSuccess(long latencyMillis) {
+    if (latencyMillis > latencyTargetMillis) {
+      setLimit(limit - 1);
+    } else if (++fastRequests >= limit) {
+      setLimit(limit + 1);
+    }
+    release();
+  }
+
+  /** Release the permit of a bulk request that Elasticsearch rejected, fully or partially. */
+  public synchronized void onRejected() {
+    setLimit(limit / 2);
+    release();
+  }
+
+  /** Release the permit of a bulk request that failed for another reason. */
+  public synchronized void onFailure() {
+    release();
+  }
+
+  public synchronized int getLimit() {
+    return limit;
+  }
+
+  private void setLimit(int newLimit) {
+    limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    fastRequests = 0;
+  }
+
+  private void release() {
+    inFlight--;
+    notifyAll();
+  }
+}
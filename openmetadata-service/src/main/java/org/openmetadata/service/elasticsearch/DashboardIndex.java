@@ -1,12 +1,12 @@
 package org.openmetadata.service.elasticsearch;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.openmetadata.schema.entity.data.Dashboard;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.service.Entity;
-import org.openmetadata.service.util.JsonUtils;
 
 public class DashboardIndex implements ElasticSearchIndex {
   final Dashboard dashboard;
@@ -16,9 +16,19 @@ public class DashboardIndex implements ElasticSearchIndex {
     this.dashboard = dashboard;
   }
 
-  public Map<String, Object> buildESDoc() {
-    Map<String, Object> doc = JsonUtils.getMap(dashboard);
-    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
+  @Override
+  public Object getSource() {
+    return dashboard;
+  }
+
+  @Override
+  public List<String> getExcludedFields() {
+    return excludeFields;
+  }
+
+  @Override
+  public Map<String, Object> buildESFields() {
+    Map<String, Object> fields = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
     List<ElasticSearchSuggest> serviceSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> chartSuggest = new ArrayList<>();
@@ -31,16 +41,16 @@ public class DashboardIndex implements ElasticSearchIndex {
         chartSuggest.add(ElasticSearchSuggest.builder().input(chart.getDisplayName()).weight(5).build());
       }
     }
-    doc.put("name", dashboard.getDisplayName());
-    doc.put("displayName", dashboard.getDisplayName() != null ? dashboard.getDisplayName() : dashboard.getName());
-    doc.put("tags", parseTags.tags);
-    doc.put("followers", ElasticSearchIndexUtils.parseFollowers(dashboard.getFollowers()));
-    doc.put("tier", parseTags.tierTag);
-    doc.put("suggest", suggest);
-    doc.put("chart_suggest", chartSuggest);
-    doc.put("service_suggest", serviceSuggest);
-    doc.put("entityType", Entity.DASHBOARD);
-    doc.put("serviceType", dashboard.getServiceType());
-    return doc;
+    fields.put("name", dashboard.getDisplayName());
+    fields.put("displayName", dashboard.getDisplayName() != null ? dashboard.getDisplayName() : dashboard.getName());
+    fields.put("tags", parseTags.tags);
+    fields.put("followers", ElasticSearchIndexUtils.parseFollowers(dashboard.getFollowers()));
+    fields.put("tier", parseTags.tierTag);
+    fields.put("suggest", suggest);
+    fields.put("chart_suggest", chartSuggest);
+    fields.put("service_suggest", serviceSuggest);
+    fields.put("entityType", Entity.DASHBOARD);
+    fields.put("serviceType", dashboard.getServiceType());
+    return fields;
   }
 }
@@ -0,0 +1,179 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.elasticsearch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Writes Elasticsearch documents in a single pass. The source of the document is serialized straight through the
+ * generator, leaving out the excluded top level fields and writing the index fields in place of the source fields of
+ * the same name. Index fields missing from the source, or excluded from it, are written at the end.
+ *
+ * <p>The output is the same as serializing the map built by {@link ElasticSearchIndex#buildESDoc()}, without converting
+ * the source to a map first.
+ */
+public final class ElasticSearchDocWriter {
+  private static final int INITIAL_BUFFER_SIZE = 4096;
+
+  private ElasticSearchDocWriter() {}
+
+  public static byte[] toBytes(ElasticSearchIndex index) throws IOException {
+    try (ByteArrayBuilder buffer = new ByteArrayBuilder(INITIAL_BUFFER_SIZE);
+        JsonGenerator generator = JsonUtils.createGenerator(buffer)) {
+      index.writeESDoc(generator);
+      generator.flush();
+      return buffer.toByteArray();
+    }
+  }
+
+  public static void write(
+      JsonGenerator generator, Object source, Collection<String> excludedFields, Map<String, Object> fields)
+      throws IOException {
+    try (JsonGenerator sink = JsonUtils.createGenerator(OutputStream.nullOutputStream())) {
+      DocumentGenerator document = new DocumentGenerator(generator, sink, excludedFields, fields);
+      generator.getCodec().writeValue(document, source);
+    }
+  }
+
+  /**
+   * Generator filtering the top level fields of the document. The values of the fields left out, or replaced by index
+   * fields, are written to a sink that discards them.
+   */
+  private static class DocumentGenerator extends JsonGeneratorDelegate {
+    private final JsonGenerator output;
+    private final JsonGenerator sink;
+    private final Collection<String> excludedFields;
+    private final Map<String, Object> fields;
+    private final Set<String> writtenFields = new HashSet<>();
+    private int depth;
+
+    DocumentGenerator(
+        JsonGenerator output, JsonGenerator sink, Collection<String> excludedFields, Map<String, Object> fields) {
+      super(output, false);
+      this.output = output;
+      this.sink = sink;
+      this.excludedFields = excludedFields;
+      this.fields = fields;
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+      if (depth == 1) {
+        writeTopLevelFieldName(name);
+      } else {
+        delegate.writeFieldName(name);
+      }
+    }
+
+    @Override
+    public void writeFieldName(SerializableString name) throws IOException {
+      if (depth == 1) {
+        writeTopLevelFieldName(name.getValue());
+      } else {
+        delegate.writeFieldName(name);
+      }
+    }
+
+    private void writeTopLevelFieldName(String name) throws IOException {
+      delegate = output;
+      if (excludedFields.contains(name)) {
+        delegate = sink;
+      } else if (fields.containsKey(name)) {
+        writeField(name);
+        delegate = sink;
+      } else {
+        output.writeFieldName(name);
+      }
+    }
+
+    private void writeField(String name) throws IOException {
+      output.writeFieldName(name);
+      output.writeObject(fields.get(name));
+      writtenFields.add(name);
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+      depth++;
+      delegate.writeStartObject();
+    }
+
+    @Override
+    public void writeStartObject(Object forValue) throws IOException {
+      depth++;
+      delegate.writeStartObject(forValue);
+    }
+
+    @Override
+    public void writeStartObject(Object forValue, int size) throws IOException {
+      depth++;
+      delegate.writeStartObject(forValue, size);
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+      if (depth == 1) {
+        delegate = output;
+        for (String name : fields.keySet()) {
+          if (!writtenFields.contains(name)) {
+            writeField(name);
+          }
+        }
+      }
+      depth--;
+      delegate.writeEndObject();
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+      depth++;
+      delegate.writeStartArray();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void writeStartArray(int size) throws IOException {
+      depth++;
+      delegate.writeStartArray(size);
+    }
+
+    @Override
+    public void writeStartArray(Object forValue) throws IOException {
+      depth++;
+      delegate.writeStartArray(forValue);
+    }
+
+    @Override
+    public void writeStartArray(Object forValue, int size) throws IOException {
+      depth++;
+      delegate.writeStartArray(forValue, size);
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+      depth--;
+      delegate.writeEndArray();
+    }
+  }
+}
@@ -285,7 +285,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         tableIndex = new TableIndex((Table) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(tableIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(tableIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -318,7 +318,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         topicIndex = new TopicIndex((Topic) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(topicIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(topicIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -351,7 +351,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         dashboardIndex = new DashboardIndex((Dashboard) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(dashboardIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(dashboardIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -383,7 +383,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         pipelineIndex = new PipelineIndex((Pipeline) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(pipelineIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(pipelineIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -416,7 +416,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         userIndex = new UserIndex((User) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(userIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(userIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -444,7 +444,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         teamIndex = new TeamIndex((Team) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(teamIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(teamIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -473,7 +473,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         glossaryTermIndex = new GlossaryTermIndex((GlossaryTerm) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(glossaryTermIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(glossaryTermIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -517,7 +517,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         mlModelIndex = new MlModelIndex((MlModel) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(mlModelIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(mlModelIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -550,7 +550,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         tagIndex = new TagIndex((Tag) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(tagIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(tagIndex.buildESDocBytes(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -688,6 +688,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     if (updateRequest != null) {
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, updateRequest);
       client.update(updateRequest, RequestOptions.DEFAULT);
+      SearchResponseCache.getInstance().invalidate(updateRequest.index());
     }
   }
 
@@ -696,6 +697,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
       deleteRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
       client.delete(deleteRequest, RequestOptions.DEFAULT);
+      SearchResponseCache.getInstance().invalidate(deleteRequest.index());
     }
   }
 
@@ -704,6 +706,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
       deleteRequest.setRefresh(true);
       client.deleteByQuery(deleteRequest, RequestOptions.DEFAULT);
+      SearchResponseCache.getInstance().invalidate(deleteRequest.indices());
     }
   }
 
@@ -1,7 +1,41 @@
 package org.openmetadata.service.elasticsearch;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import org.openmetadata.service.util.JsonUtils;
 
+/**
+ * Builds the Elasticsearch document of an entity. A document is the serialized source object, usually the entity,
+ * without the excluded fields and with the index fields set on it.
+ */
 public interface ElasticSearchIndex {
-  Map<String, Object> buildESDoc();
+  /** Object serialized as the base of the document */
+  Object getSource();
+
+  /** Top level fields of the source that are not indexed */
+  default List<String> getExcludedFields() {
+    return List.of();
+  }
+
+  /** Fields set on the document, in order, replacing the fields of the source with the same name */
+  Map<String, Object> buildESFields();
+
+  default Map<String, Object> buildESDoc() {
+    Map<String, Object> doc = JsonUtils.getMap(getSource());
+    ElasticSearchIndexUtils.removeNonIndexableFields(doc, getExcludedFields());
+    doc.putAll(buildESFields());
+    return doc;
+  }
+
+  /** Write the document in a single pass, without building it as a map first. */
+  default void writeESDoc(JsonGenerator generator) throws IOException {
+    ElasticSearchDocWriter.write(generator, getSource(), getExcludedFields(), buildESFields());
+  }
+
+  /** The document as UTF-8 JSON, same as serializing {@link #buildESDoc()}. */
+  default byte[] buildESDocBytes() throws IOException {
+    return ElasticSearchDocWriter.toBytes(this);
+  }
 }
@@ -1,11 +1,11 @@
 package org.openmetadata.service.elasticsearch;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.openmetadata.schema.entity.data.GlossaryTerm;
 import org.openmetadata.service.Entity;
-import org.openmetadata.service.util.JsonUtils;
 
 public class GlossaryTermIndex implements ElasticSearchIndex {
   final GlossaryTerm glossaryTerm;
@@ -15,14 +15,24 @@ public class GlossaryTermIndex implements ElasticSearchIndex {
     this.glossaryTerm = glossaryTerm;
   }
 
-  public Map<String, Object> buildESDoc() {
-    Map<String, Object> doc = JsonUtils.getMap(glossaryTerm);
-    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
+  @Override
+  public Object getSource() {
+    return glossaryTerm;
+  }
+
+  @Override
+  public List<String> getExcludedFields() {
+    return excludeFields;
+  }
+
+  @Override
+  public Map<String, Object> buildESFields() {
+    Map<String, Object> fields = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
     suggest.add(ElasticSearchSuggest.builder().input(glossaryTerm.getName()).weight(5).build());
     suggest.add(ElasticSearchSuggest.builder().input(glossaryTerm.getDisplayName()).weight(10).build());
-    doc.put("suggest", suggest);
-    doc.put("entityType", Entity.GLOSSARY_TERM);
-    return doc;
+    fields.put("suggest", suggest);
+    fields.put("entityType", Entity.GLOSSARY_TERM);
+    return fields;
   }
 }
@@ -1,11 +1,11 @@
 package org.openmetadata.service.elasticsearch;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.openmetadata.schema.entity.data.MlModel;
 import org.openmetadata.service.Entity;
-import org.openmetadata.service.util.JsonUtils;
 
 public class MlModelIndex implements ElasticSearchIndex {
   final MlModel mlModel;
@@ -15,21 +15,31 @@ public class MlModelIndex implements ElasticSearchIndex {
     this.mlModel = mlModel;
   }
 
-  public Map<String, Object> buildESDoc() {
-    Map<String, Object> doc = JsonUtils.getMap(mlModel);
+  @Override
+  public Object getSource() {
+    return mlModel;
+  }
+
+  @Override
+  public List<String> getExcludedFields() {
+    return excludeFields;
+  }
+
+  @Override
+  public Map<String, Object> buildESFields() {
+    Map<String, Object> fields = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
-    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
     suggest.add(ElasticSearchSuggest.builder().input(mlModel.getFullyQualifiedName()).weight(5).build());
     suggest.add(ElasticSearchSuggest.builder().input(mlModel.getName()).weight(10).build());
 
     ParseTags parseTags = new ParseTags(ElasticSearchIndexUtils.parseTags(mlModel.getTags()));
-    doc.put("displayName", mlModel.getDisplayName() != null ? mlModel.getDisplayName() : mlModel.getName());
-    doc.put("tags", parseTags.tags);
-    doc.put("tier", parseTags.tierTag);
-    doc.put("followers", ElasticSearchIndexUtils.parseFollowers(mlModel.getFollowers()));
-    doc.put("suggest", suggest);
-    doc.put("entityType", Entity.MLMODEL);
-    doc.put("serviceType", mlModel.getServiceType());
-    return doc;
+    fields.put("displayName", mlModel.getDisplayName() != null ? mlModel.getDisplayName() : mlModel.getName());
+    fields.put("tags", parseTags.tags);
+    fields.put("tier", parseTags.tierTag);
+    fields.put("followers", ElasticSearchIndexUtils.parseFollowers(mlModel.getFollowers()));
+    fields.put("suggest", suggest);
+    fields.put("entityType", Entity.MLMODEL);
+    fields.put("serviceType", mlModel.getServiceType());
+    return fields;
   }
 }
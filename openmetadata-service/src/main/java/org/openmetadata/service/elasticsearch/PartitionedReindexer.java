@@ -0,0 +1,490 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.elasticsearch;
+
+import static org.openmetadata.service.Entity.TABLE;
+import static org.openmetadata.service.Entity.TEAM;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.ws.rs.core.UriInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.schema.api.CreateEventPublisherJob;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.settings.EventPublisherJob;
+import org.openmetadata.schema.settings.FailureDetails;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.jdbi3.ListFilter;
+import org.openmetadata.service.resources.elasticsearch.BulkProcessorListener;
+import org.openmetadata.service.util.EntityUtil;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Reindexes entities into Elasticsearch by splitting each entity table into key range partitions that are read, built
+ * and written by parallel workers.
+ *
+ * <p>Entity ids are random UUIDs, so ranges on the first hex digit of the id split a table into even partitions that
+ * are stable across jobs. The report data of a data insight index is read as a single partition. The number of
+ * concurrent bulk requests is tuned with an {@link AdaptiveConcurrencyLimit}, and documents rejected by Elasticsearch
+ * are sent again with a backoff. Soft deleted entities are not reindexed.
+ *
+ * <p>The progress of each partition is checkpointed after every bulk request under the id of the job, which is derived
+ * from its entities, batch size and recreate index option. A job interrupted by a restart or a failure is resumed from
+ * its checkpoints only when the same job is requested again with the resume option, any other run of the job starts
+ * over. Checkpoints are dropped once all the partitions of a job are reindexed.
+ */
+@Slf4j
+public class PartitionedReindexer {
+  public static final String CONCURRENCY_GAUGE_NAME = "search.reindex.bulk.concurrency";
+  public static final String REJECTIONS_COUNTER_NAME = "search.reindex.bulk.rejections";
+  static final String PARTITION_KEYS = "0123456789abcdef";
+  static final String REPORT_DATA_PARTITION = "*";
+  private static final int WORKERS = Math.min(8, Math.max(2, Runtime.getRuntime().availableProcessors()));
+  private static final int INITIAL_CONCURRENT_BULKS = 2;
+  private static final long BULK_LATENCY_TARGET_MILLIS = 5000;
+  private static final int MAX_REJECTION_RETRIES = 5;
+  private static final long REJECTION_BACKOFF_MILLIS = 500;
+
+  private final CollectionDAO dao;
+  private final RestHighLevelClient client;
+  private final ElasticSearchIndexDefinition elasticSearchIndexDefinition;
+  private final String lang;
+  private final AdaptiveConcurrencyLimit concurrencyLimit =
+      new AdaptiveConcurrencyLimit(INITIAL_CONCURRENT_BULKS, 1, WORKERS, BULK_LATENCY_TARGET_MILLIS);
+  private final AtomicLong executionIds = new AtomicLong();
+  private final Counter rejections;
+
+  public PartitionedReindexer(
+      CollectionDAO dao,
+      RestHighLevelClient client,
+      ElasticSearchIndexDefinition elasticSearchIndexDefinition,
+      String lang,
+      MeterRegistry meterRegistry) {
+    this.dao = dao;
+    this.client = client;
+    this.elasticSearchIndexDefinition = elasticSearchIndexDefinition;
+    this.lang = lang;
+    this.rejections = Counter.builder(REJECTIONS_COUNTER_NAME).register(meterRegistry);
+    Gauge.builder(CONCURRENCY_GAUGE_NAME, concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+        .strongReference(true)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Key range [lowerBound, upperBound) of the ids of a partition. Bounds are hex digits or letters, which sort the same
+   * way in the collations of MySQL and Postgres.
+   */
+  static String[] getIdRange(String partitionKey) {
+    int next = PARTITION_KEYS.indexOf(partitionKey) + 1;
+    return new String[] {partitionKey, next < PARTITION_KEYS.length() ? PARTITION_KEYS.substring(next, next + 1) : "g"};
+  }
+
+  /** Id of the checkpoints of a job, the same for the jobs reindexing the same entities with the same options */
+  static String getJobId(CreateEventPublisherJob createRequest) {
+    String config =
+        String.format(
+            "%s|%s|%s",
+            createRequest.getEntities().stream().sorted().collect(Collectors.joining(",")),
+            createRequest.getBatchSize(),
+            Boolean.TRUE.equals(createRequest.getRecreateIndex()));
+    return UUID.nameUUIDFromBytes(config.getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  /** Run a reindex job, reporting its progress to the listener. Jobs are expected to run one at a time. */
+  public void run(UriInfo uriInfo, CreateEventPublisherJob createRequest, BulkProcessorListener listener)
+      throws InterruptedException {
+    String jobId = getJobId(createRequest);
+    Map<String, ReindexCheckpoint> checkpoints;
+    if (Boolean.TRUE.equals(createRequest.getResume())) {
+      checkpoints = loadCheckpoints(jobId);
+    } else {
+      // Progress left by an earlier run of the job is stale once the job starts over
+      dao.searchIndexCheckpointDAO().deleteJob(jobId);
+      checkpoints = new HashMap<>();
+    }
+    ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+    List<Future<Boolean>> partitions = new ArrayList<>();
+    boolean completed = true;
+    try {
+      for (String entityType : createRequest.getEntities()) {
+        try {
+          partitions.addAll(
+              submitEntityType(workers, uriInfo, jobId, entityType, createRequest, checkpoints, listener));
+        } catch (Exception ex) {
+          LOG.error("Reindexing intermittent failure for entityType : {}", entityType, ex);
+          completed = false;
+        }
+      }
+      for (Future<Boolean> partition : partitions) {
+        try {
+          completed &= partition.get();
+        } catch (ExecutionException ex) {
+          LOG.error("Reindexing partition failed", ex.getCause());
+          completed = false;
+        }
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+
+    if (completed) {
+      dao.searchIndexCheckpointDAO().deleteJob(jobId);
+    }
+    for (String entityType : createRequest.getEntities()) {
+      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType =
+          ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
+      if (indexType != null) {
+        SearchResponseCache.getInstance().invalidate(indexType.indexName);
+      }
+    }
+    listener.updateElasticSearchStatus(EventPublisherJob.Status.IDLE, null, listener.getStats());
+  }
+
+  private List<Future<Boolean>> submitEntityType(
+      ExecutorService workers,
+      UriInfo uriInfo,
+      String jobId,
+      String entityType,
+      CreateEventPublisherJob createRequest,
+      Map<String, ReindexCheckpoint> checkpoints,
+      BulkProcessorListener listener)
+      throws IOException {
+    ElasticSearchIndexDefinition.ElasticSearchIndexType indexType =
+        ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
+    // An index recreated by the interrupted run holds the documents its checkpoints account for
+    boolean resumed = checkpoints.keySet().stream().anyMatch(key -> key.startsWith(entityType + ":"));
+    if (Boolean.TRUE.equals(createRequest.getRecreateIndex()) && !resumed) {
+      elasticSearchIndexDefinition.deleteIndex(indexType);
+      elasticSearchIndexDefinition.createIndex(indexType, lang);
+    }
+
+    String reportDataType = getReportDataType(entityType);
+    List<String> partitionKeys =
+        reportDataType != null
+            ? List.of(REPORT_DATA_PARTITION)
+            : PARTITION_KEYS.chars().mapToObj(c -> String.valueOf((char) c)).collect(Collectors.toList());
+    int total =
+        reportDataType != null
+            ? dao.entityExtensionTimeSeriesDao().listCount(reportDataType)
+            : Entity.getEntityRepository(entityType).dao.listCount(new ListFilter(Include.NON_DELETED));
+    listener.allowTotalRequestUpdate();
+    listener.addRequests(total);
+
+    List<Future<Boolean>> futures = new ArrayList<>();
+    for (String partitionKey : partitionKeys) {
+      ReindexCheckpoint checkpoint =
+          checkpoints.getOrDefault(
+              entityType + ":" + partitionKey, new ReindexCheckpoint(jobId, entityType, partitionKey));
+      // Records reindexed before the job was interrupted count as reindexed by this job
+      listener.updateFailedAndSuccess(0, checkpoint.getProcessed());
+      if (checkpoint.isCompleted()) {
+        continue;
+      }
+      futures.add(
+          workers.submit(
+              () ->
+                  reportDataType != null
+                      ? reindexReportData(indexType, entityType, reportDataType, checkpoint, createRequest, listener)
+                      : reindexEntities(uriInfo, indexType, entityType, checkpoint, createRequest, listener)));
+    }
+    return futures;
+  }
+
+  private boolean reindexEntities(
+      UriInfo uriInfo,
+      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType,
+      String entityType,
+      ReindexCheckpoint checkpoint,
+      CreateEventPublisherJob createRequest,
+      BulkProcessorListener listener) {
+    EntityRepository<EntityInterface> entityRepository = Entity.getEntityRepository(entityType);
+    List<String> allowedFields = entityRepository.getAllowedFields();
+    // For teams, just name and display name are needed
+    String fields = entityType.equals(TEAM) ? "name,displayName" : String.join(",", allowedFields);
+    String[] idRange = getIdRange(checkpoint.getPartitionKey());
+    try {
+      List<EntityInterface> entities;
+      do {
+        entities =
+            entityRepository.listAfterInIdRange(
+                uriInfo,
+                new EntityUtil.Fields(allowedFields, fields),
+                idRange[0],
+                idRange[1],
+                checkpoint.getAfter(),
+                Include.NON_DELETED,
+                createRequest.getBatchSize());
+        List<DocWriteRequest<?>> requests = new ArrayList<>();
+        for (EntityInterface entity : entities) {
+          if (entityType.equals(TABLE)) {
+            ((Table) entity).getColumns().forEach(column -> column.setProfile(null));
+          }
+          UpdateRequest request = getUpdateRequest(indexType, entityType, entity);
+          if (request != null) {
+            requests.add(request);
+          }
+        }
+        if (!entities.isEmpty()) {
+          write(requests, listener);
+          saveCheckpoint(checkpoint, entities.get(entities.size() - 1).getId().toString(), entities.size());
+        }
+      } while (entities.size() == createRequest.getBatchSize());
+      checkpoint.setCompleted(true);
+      saveCheckpoint(checkpoint, checkpoint.getAfter(), 0);
+      return true;
+    } catch (Exception ex) {
+      onPartitionFailure(entityType, checkpoint, ex, listener);
+      return false;
+    }
+  }
+
+  private boolean reindexReportData(
+      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType,
+      String entityType,
+      String reportDataType,
+      ReindexCheckpoint checkpoint,
+      CreateEventPublisherJob createRequest,
+      BulkProcessorListener listener) {
+    try {
+      List<CollectionDAO.ReportDataRow> rows;
+      do {
+        rows =
+            dao.entityExtensionTimeSeriesDao()
+                .getAfterExtension(
+                    reportDataType,
+                    createRequest.getBatchSize(),
+                    checkpoint.getAfter() == null ? "0" : checkpoint.getAfter());
+        List<DocWriteRequest<?>> requests = new ArrayList<>();
+        for (CollectionDAO.ReportDataRow row : rows) {
+          UpdateRequest request = getUpdateRequest(indexType, entityType, row.getReportData());
+          if (request != null) {
+            requests.add(request);
+          }
+        }
+        if (!rows.isEmpty()) {
+          write(requests, listener);
+          saveCheckpoint(checkpoint, rows.get(rows.size() - 1).getRowNum(), rows.size());
+        }
+      } while (rows.size() == createRequest.getBatchSize());
+      checkpoint.setCompleted(true);
+      saveCheckpoint(checkpoint, checkpoint.getAfter(), 0);
+      return true;
+    } catch (Exception ex) {
+      onPartitionFailure(entityType, checkpoint, ex, listener);
+      return false;
+    }
+  }
+
+  /** Send the requests in a bulk request, sending the documents rejected by Elasticsearch again with a backoff. */
+  private void write(List<DocWriteRequest<?>> requests, BulkProcessorListener listener)
+      throws IOException, InterruptedException {
+    if (requests.isEmpty()) {
+      return;
+    }
+    BulkRequest bulkRequest = new BulkRequest();
+    requests.forEach(bulkRequest::add);
+    long executionId = executionIds.incrementAndGet();
+    try {
+      BulkResponse response = execute(requests);
+      synchronized (listener) {
+        listener.afterBulk(executionId, bulkRequest, response);
+      }
+    } catch (IOException | RuntimeException ex) {
+      synchronized (listener) {
+        listener.afterBulk(executionId, bulkRequest, ex);
+      }
+      throw ex;
+    }
+  }
+
+  private BulkResponse execute(List<DocWriteRequest<?>> requests) throws IOException, InterruptedException {
+    BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+    List<Integer> pending = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      pending.add(i);
+    }
+    long tookMillis = 0;
+    for (int attempt = 0; !pending.isEmpty(); attempt++) {
+      if (attempt > 0) {
+        Thread.sleep(REJECTION_BACKOFF_MILLIS << (attempt - 1));
+      }
+      boolean canRetry = attempt < MAX_REJECTION_RETRIES;
+      BulkRequest bulkRequest = new BulkRequest();
+      pending.forEach(i -> bulkRequest.add(requests.get(i)));
+
+      concurrencyLimit.acquire();
+      long start = System.currentTimeMillis();
+      BulkResponse response;
+      try {
+        response = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+      } catch (ElasticsearchStatusException ex) {
+        if (ex.status() == RestStatus.TOO_MANY_REQUESTS) {
+          concurrencyLimit.onRejected();
+          rejections.increment();
+          if (canRetry) {
+            continue;
+          }
+        } else {
+          concurrencyLimit.onFailure();
+        }
+        throw ex;
+      } catch (IOException | RuntimeException ex) {
+        concurrencyLimit.onFailure();
+        throw ex;
+      }
+
+      List<Integer> rejected = new ArrayList<>();
+      BulkItemResponse[] responses = response.getItems();
+      for (int j = 0; j < responses.length; j++) {
+        int i = pending.get(j);
+        items[i] = responses[j];
+        if (canRetry && responses[j].isFailed() && responses[j].status() == RestStatus.TOO_MANY_REQUESTS) {
+          rejected.add(i);
+        }
+      }
+      if (rejected.isEmpty()) {
+        concurrencyLimit.onSuccess(System.currentTimeMillis() - start);
+      } else {
+        concurrencyLimit.onRejected();
+        rejections.increment();
+        LOG.debug("Elasticsearch rejected {} of {} documents, sending them again", rejected.size(), pending.size());
+      }
+      tookMillis += response.getTook().millis();
+      pending = rejected;
+    }
+    return new BulkResponse(items, tookMillis);
+  }
+
+  private void saveCheckpoint(ReindexCheckpoint checkpoint, String after, int processed) throws IOException {
+    checkpoint.setAfter(after);
+    checkpoint.setProcessed(checkpoint.getProcessed() + processed);
+    checkpoint.setUpdatedAt(System.currentTimeMillis());
+    dao.searchIndexCheckpointDAO()
+        .upsert(
+            checkpoint.getJobId(),
+            checkpoint.getEntityType(),
+            checkpoint.getPartitionKey(),
+            JsonUtils.pojoToJson(checkpoint));
+  }
+
+  private void onPartitionFailure(
+      String entityType, ReindexCheckpoint checkpoint, Exception ex, BulkProcessorListener listener) {
+    if (ex instanceof InterruptedException) {
+      Thread.currentThread().interrupt();
+    }
+    LOG.error(
+        "Failed in reindexing partition {} of Entities of type : {}, Reason : ",
+        checkpoint.getPartitionKey(),
+        entityType,
+        ex);
+    FailureDetails failureDetails =
+        new FailureDetails()
+            .withContext(String.format("%s:Failure in fetching Data", entityType))
+            .withLastFailedReason(
+                String.format(
+                    "Failed in reindexing partition %s, a resumed job continues after [%s] \n Reason : %s",
+                    checkpoint.getPartitionKey(), checkpoint.getAfter(), ExceptionUtils.getStackTrace(ex)));
+    synchronized (listener) {
+      listener.updateElasticSearchStatus(
+          EventPublisherJob.Status.ACTIVE_WITH_ERROR, failureDetails, listener.getStats());
+    }
+  }
+
+  private Map<String, ReindexCheckpoint> loadCheckpoints(String jobId) {
+    Map<String, ReindexCheckpoint> checkpoints = new HashMap<>();
+    for (String json : dao.searchIndexCheckpointDAO().list(jobId)) {
+      try {
+        ReindexCheckpoint checkpoint = JsonUtils.readValue(json, ReindexCheckpoint.class);
+        checkpoints.put(checkpoint.getEntityType() + ":" + checkpoint.getPartitionKey(), checkpoint);
+      } catch (IOException ex) {
+        LOG.warn("Ignoring unreadable reindex checkpoint {}", json, ex);
+      }
+    }
+    if (!checkpoints.isEmpty()) {
+      LOG.info("Resuming reindexing job {} from {} partition checkpoints", jobId, checkpoints.size());
+    }
+    return checkpoints;
+  }
+
+  private static String getReportDataType(String entityType) {
+    if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.ENTITY_REPORT_DATA)) {
+      return ReportDataType.ENTITY_REPORT_DATA.value();
+    } else if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA)) {
+      return ReportDataType.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA.value();
+    } else if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA)) {
+      return ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA.value();
+    }
+    return null;
+  }
+
+  private static UpdateRequest getUpdateRequest(
+      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType, String entityType, EntityInterface entity) {
+    try {
+      UpdateRequest updateRequest = new UpdateRequest(indexType.indexName, entity.getId().toString());
+      updateRequest.doc(
+          Objects.requireNonNull(ElasticSearchIndexFactory.buildIndex(entityType, entity)).buildESDocBytes(),
+          XContentType.JSON);
+      updateRequest.docAsUpsert(true);
+      return updateRequest;
+    } catch (Exception ex) {
+      LOG.error("Failed in creating update Request for indexType : {}, entityType: {}", indexType, entityType, ex);
+    }
+    return null;
+  }
+
+  private static UpdateRequest getUpdateRequest(
+      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType, String entityType, ReportData reportData) {
+    try {
+      UpdateRequest updateRequest = new UpdateRequest(indexType.indexName, reportData.getId().toString());
+      updateRequest.doc(new ReportDataIndexes(reportData).buildESDocBytes(), XContentType.JSON);
+      updateRequest.docAsUpsert(true);
+      return updateRequest;
+    } catch (Exception ex) {
+      LOG.error("Failed in creating update Request for indexType : {}, entityType: {}", indexType, entityType, ex);
+    }
+    return null;
+  }
+}
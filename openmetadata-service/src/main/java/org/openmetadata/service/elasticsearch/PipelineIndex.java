@@ -1,12 +1,12 @@
 package org.openmetadata.service.elasticsearch;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.openmetadata.schema.entity.data.Pipeline;
 import org.openmetadata.schema.type.Task;
 import org.openmetadata.service.Entity;
-import org.openmetadata.service.util.JsonUtils;
 
 public class PipelineIndex implements ElasticSearchIndex {
   final Pipeline pipeline;
@@ -16,9 +16,19 @@ public class PipelineIndex implements ElasticSearchIndex {
     this.pipeline = pipeline;
   }
 
-  public Map<String, Object> buildESDoc() {
-    Map<String, Object> doc = JsonUtils.getMap(pipeline);
-    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
+  @Override
+  public Object getSource() {
+    return pipeline;
+  }
+
+  @Override
+  public List<String> getExcludedFields() {
+    return excludeFields;
+  }
+
+  @Override
+  public Map<String, Object> buildESFields() {
+    Map<String, Object> fields = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
     List<ElasticSearchSuggest> serviceSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> taskSuggest = new ArrayList<>();
@@ -31,16 +41,16 @@ public class PipelineIndex implements ElasticSearchIndex {
         taskSuggest.add(ElasticSearchSuggest.builder().input(task.getName()).weight(5).build());
       }
     }
-    doc.put("name", pipeline.getName() != null ? pipeline.getName() : pipeline.getDisplayName());
-    doc.put("displayName", pipeline.getDisplayName() != null ? pipeline.getDisplayName() : pipeline.getName());
-    doc.put("followers", ElasticSearchIndexUtils.parseFollowers(pipeline.getFollowers()));
-    doc.put("tags", parseTags.tags);
-    doc.put("tier", parseTags.tierTag);
-    doc.put("suggest", suggest);
-    doc.put("task_suggest", taskSuggest);
-    doc.put("service_suggest", serviceSuggest);
-    doc.put("entityType", Entity.PIPELINE);
-    doc.put("serviceType", pipeline.getServiceType());
-    return doc;
+    fields.put("name", pipeline.getName() != null ? pipeline.getName() : pipeline.getDisplayName());
+    fields.put("displayName", pipeline.getDisplayName() != null ? pipeline.getDisplayName() : pipeline.getName());
+    fields.put("followers", ElasticSearchIndexUtils.parseFollowers(pipeline.getFollowers()));
+    fields.put("tags", parseTags.tags);
+    fields.put("tier", parseTags.tierTag);
+    fields.put("suggest", suggest);
+    fields.put("task_suggest", taskSuggest);
+    fields.put("service_suggest", serviceSuggest);
+    fields.put("entityType", Entity.PIPELINE);
+    fields.put("serviceType", pipeline.getServiceType());
+    return fields;
   }
 }
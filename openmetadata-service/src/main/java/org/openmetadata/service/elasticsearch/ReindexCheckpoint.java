@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.elasticsearch;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Progress of a reindex job over one partition of an entity type, saved after each bulk request. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReindexCheckpoint {
+  /** Job the checkpoint belongs to, derived from the entities, batch size and recreate index option of the job */
+  private String jobId;
+
+  private String entityType;
+  private String partitionKey;
+  /** Key of the last record sent to Elasticsearch, the partition is resumed after it */
+  private String after;
+  /** Number of records of the partition sent to Elasticsearch */
+  private int processed;
+
+  private boolean completed;
+  private long updatedAt;
+
+  public ReindexCheckpoint(String jobId, String entityType, String partitionKey) {
+    this.jobId = jobId;
+    this.entityType = entityType;
+    this.partitionKey = partitionKey;
+  }
+}
@@ -1,8 +1,8 @@
 package org.openmetadata.service.elasticsearch;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.openmetadata.schema.analytics.ReportData;
-import org.openmetadata.service.util.JsonUtils;
 
 public class ReportDataIndexes implements ElasticSearchIndex {
 
@@ -13,12 +13,17 @@ public class ReportDataIndexes implements ElasticSearchIndex {
   }
 
   @Override
-  public Map<String, Object> buildESDoc() {
-    Map<String, Object> doc = JsonUtils.getMap(reportData);
-    doc.put("id", null);
-    doc.put("timestamp", reportData.getTimestamp());
-    doc.put("reportDataType", reportData.getReportDataType());
-    doc.put("data", reportData.getData());
-    return doc;
+  public Object getSource() {
+    return reportData;
+  }
+
+  @Override
+  public Map<String, Object> buildESFields() {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put("id", null);
+    fields.put("timestamp", reportData.getTimestamp());
+    fields.put("reportDataType", reportData.getReportDataType());
+    fields.put("data", reportData.getData());
+    return fields;
   }
 }
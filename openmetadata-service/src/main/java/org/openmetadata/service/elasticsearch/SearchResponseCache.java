@@ -0,0 +1,227 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.elasticsearch;
+
+import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.service.util.CacheRegistry;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Cache of the responses of the search, suggest and aggregate APIs. Responses are keyed by the normalized request and
+ * tagged with the generation of the indexes they were read from. {@link ElasticSearchEventPublisher} advances the
+ * generation of an index on every write to it, which turns the cached responses of that index stale.
+ *
+ * <p>Writes become visible to searches only after Elasticsearch refreshes the index, so responses are not cached while
+ * an index they read from was written to within the refresh grace period.
+ *
+ * <p>Generations are kept by each server for the writes it publishes. Writes published by other servers do not advance
+ * them, so entries expire {@link #EXPIRY_SECONDS} after they are cached, which bounds how long a response can miss a
+ * write made through another server.
+ */
+@Slf4j
+public class SearchResponseCache {
+  public static final String REQUESTS_COUNTER_NAME = "search.cache.requests";
+  public static final String HIT_AGE_TIMER_NAME = "search.cache.hit.age";
+  public static final String SIZE_GAUGE_NAME = "search.cache.size";
+  private static final long MAX_ENTRIES = 1000;
+  static final long EXPIRY_SECONDS = 30;
+  private static final long REFRESH_GRACE_MILLIS = 2000;
+  private static final char KEY_SEPARATOR = '\u0000';
+  private static final Set<String> CONCRETE_INDEXES =
+      Arrays.stream(ElasticSearchIndexType.values()).map(type -> type.indexName).collect(Collectors.toSet());
+  private static SearchResponseCache instance;
+
+  private final Cache<String, CachedResponse> cache;
+  private final long refreshGraceMillis;
+  private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+  /** Advanced on every write. Requests on aliases, patterns or unknown indexes are tagged with this generation. */
+  private final Generation globalGeneration = new Generation();
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter stale;
+  private final Timer hitAge;
+
+  /** Loads the response from Elasticsearch on a cache miss. */
+  public interface Loader {
+    String load() throws IOException;
+  }
+
+  SearchResponseCache(long maxEntries, long expirySeconds, long refreshGraceMillis, MeterRegistry meterRegistry) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(expirySeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    this.refreshGraceMillis = refreshGraceMillis;
+    this.hits = Counter.builder(REQUESTS_COUNTER_NAME).tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder(REQUESTS_COUNTER_NAME).tag("result", "miss").register(meterRegistry);
+    this.stale = Counter.builder(REQUESTS_COUNTER_NAME).tag("result", "stale").register(meterRegistry);
+    this.hitAge = Timer.builder(HIT_AGE_TIMER_NAME).register(meterRegistry);
+    Gauge.builder(SIZE_GAUGE_NAME, cache, Cache::size).register(meterRegistry);
+  }
+
+  public static synchronized SearchResponseCache getInstance() {
+    if (instance == null) {
+      MeterRegistry registry =
+          MicrometerBundleSingleton.prometheusMeterRegistry != null
+              ? MicrometerBundleSingleton.prometheusMeterRegistry
+              : Metrics.globalRegistry;
+      instance = new SearchResponseCache(MAX_ENTRIES, EXPIRY_SECONDS, REFRESH_GRACE_MILLIS, registry);
+      CacheRegistry.getInstance().register("searchResponses", instance.cache);
+    }
+    return instance;
+  }
+
+  /** Build a cache key from the API name and its request parameters. */
+  public static String key(String api, Object... params) {
+    StringBuilder key = new StringBuilder(api);
+    for (Object param : params) {
+      key.append(KEY_SEPARATOR).append(param);
+    }
+    return key.toString();
+  }
+
+  /** Normalize a free text query so that requests differing only in surrounding whitespace share an entry. */
+  public static String normalizeQuery(String query) {
+    return query == null ? "" : query.trim();
+  }
+
+  /** Normalize a JSON filter so that requests differing only in formatting share an entry. */
+  public static String normalizeJson(String json) {
+    if (nullOrEmpty(json)) {
+      return "";
+    }
+    try {
+      return JsonUtils.readTree(json).toString();
+    } catch (IOException e) {
+      // Invalid filters are ignored by the search API, keep them as they are
+      return json;
+    }
+  }
+
+  /** Normalize a list of fields where the order does not change the response. */
+  public static String normalizeFields(List<String> fields) {
+    return nullOrEmpty(fields) ? "" : fields.stream().sorted().distinct().collect(Collectors.joining(","));
+  }
+
+  /**
+   * Return the cached response for the key when it is still current for the indexes, or load and cache it otherwise.
+   */
+  public String get(String index, String key, Loader loader) throws IOException {
+    long now = System.currentTimeMillis();
+    long generation = currentGeneration(index);
+    CachedResponse cached = cache.getIfPresent(key);
+    if (cached != null && cached.generation == generation) {
+      hits.increment();
+      hitAge.record(now - cached.createdAt, TimeUnit.MILLISECONDS);
+      return cached.response;
+    }
+    if (cached != null) {
+      stale.increment();
+    } else {
+      misses.increment();
+    }
+
+    // The generation is read before loading, so a write during the load leaves the new entry stale
+    String response = loader.load();
+    if (now - lastWrittenAt(index) >= refreshGraceMillis) {
+      cache.put(key, new CachedResponse(response, generation, now));
+    } else if (cached != null) {
+      cache.invalidate(key);
+    }
+    return response;
+  }
+
+  /** Record a write to the indexes, turning the cached responses read from them stale. */
+  public void invalidate(String... indexes) {
+    long now = System.currentTimeMillis();
+    for (String index : indexes) {
+      generations.computeIfAbsent(index, k -> new Generation()).advance(now);
+    }
+    globalGeneration.advance(now);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private long currentGeneration(String index) {
+    long generation = 0;
+    for (String name : index.split(",")) {
+      // Generations only grow, so the sum changes whenever any of the indexes is written to
+      generation += generation(name).value.get();
+    }
+    return generation;
+  }
+
+  private long lastWrittenAt(String index) {
+    long lastWrittenAt = 0;
+    for (String name : index.split(",")) {
+      lastWrittenAt = Math.max(lastWrittenAt, generation(name).lastWrittenAt);
+    }
+    return lastWrittenAt;
+  }
+
+  private Generation generation(String index) {
+    String name = index.trim();
+    if (!CONCRETE_INDEXES.contains(name)) {
+      return globalGeneration;
+    }
+    return generations.computeIfAbsent(name, k -> new Generation());
+  }
+
+  private static class Generation {
+    private final AtomicLong value = new AtomicLong();
+    private volatile long lastWrittenAt;
+
+    void advance(long now) {
+      lastWrittenAt = now;
+      value.incrementAndGet();
+    }
+  }
+
+  private static class CachedResponse {
+    private final String response;
+    private final long generation;
+    private final long createdAt;
+
+    CachedResponse(String response, long generation, long createdAt) {
+      this.response = response;
+      this.generation = generation;
+      this.createdAt = createdAt;
+    }
+  }
+}
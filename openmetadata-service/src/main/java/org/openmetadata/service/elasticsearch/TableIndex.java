@@ -1,6 +1,7 @@
 package org.openmetadata.service.elasticsearch;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -11,7 +12,6 @@ import org.openmetadata.schema.type.Column;
 import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.util.FullyQualifiedName;
-import org.openmetadata.service.util.JsonUtils;
 
 public class TableIndex implements ElasticSearchIndex {
   private static final List<String> excludeFields =
@@ -28,15 +28,25 @@ public class TableIndex implements ElasticSearchIndex {
     this.table = table;
   }
 
-  public Map<String, Object> buildESDoc() {
-    Map<String, Object> doc = JsonUtils.getMap(table);
+  @Override
+  public Object getSource() {
+    return table;
+  }
+
+  @Override
+  public List<String> getExcludedFields() {
+    return excludeFields;
+  }
+
+  @Override
+  public Map<String, Object> buildESFields() {
+    Map<String, Object> fields = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
     List<ElasticSearchSuggest> columnSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> schemaSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> databaseSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> serviceSuggest = new ArrayList<>();
     List<TagLabel> tags = new ArrayList<>();
-    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
 
     if (table.getColumns() != null) {
       List<FlattenColumn> cols = new ArrayList<>();
@@ -56,18 +66,18 @@ public class TableIndex implements ElasticSearchIndex {
     schemaSuggest.add(ElasticSearchSuggest.builder().input(table.getDatabaseSchema().getName()).weight(5).build());
     ParseTags parseTags = new ParseTags(tags);
 
-    doc.put("displayName", table.getDisplayName() != null ? table.getDisplayName() : table.getName());
-    doc.put("tags", parseTags.tags);
-    doc.put("tier", parseTags.tierTag);
-    doc.put("followers", ElasticSearchIndexUtils.parseFollowers(table.getFollowers()));
-    doc.put("suggest", suggest);
-    doc.put("service_suggest", serviceSuggest);
-    doc.put("column_suggest", columnSuggest);
-    doc.put("schema_suggest", schemaSuggest);
-    doc.put("database_suggest", databaseSuggest);
-    doc.put("entityType", Entity.TABLE);
-    doc.put("serviceType", table.getServiceType());
-    return doc;
+    fields.put("displayName", table.getDisplayName() != null ? table.getDisplayName() : table.getName());
+    fields.put("tags", parseTags.tags);
+    fields.put("tier", parseTags.tierTag);
+    fields.put("followers", ElasticSearchIndexUtils.parseFollowers(table.getFollowers()));
+    fields.put("suggest", suggest);
+    fields.put("service_suggest", serviceSuggest);
+    fields.put("column_suggest", columnSuggest);
+    fields.put("schema_suggest", schemaSuggest);
+    fields.put("database_suggest", databaseSuggest);
+    fields.put("entityType", Entity.TABLE);
+    fields.put("serviceType", table.getServiceType());
+    return fields;
   }
 
   private void parseTableSuggest(List<ElasticSearchSuggest> suggest) {
@@ -1,11 +1,11 @@
 package org.openmetadata.service.elasticsearch;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.openmetadata.schema.entity.classification.Tag;
 import org.openmetadata.service.Entity;
-import org.openmetadata.service.util.JsonUtils;
 
 public class TagIndex implements ElasticSearchIndex {
   final Tag tag;
@@ -14,13 +14,19 @@ public class TagIndex implements ElasticSearchIndex {
     this.tag = tag;
   }
 
-  public Map<String, Object> buildESDoc() {
-    Map<String, Object> doc = JsonUtils.getMap(tag);
+  @Override
+  public Object getSource() {
+    return tag;
+  }
+
+  @Override
+  public Map<String, Object> buildESFields() {
+    Map<String, Object> fields = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
     suggest.add(ElasticSearchSuggest.builder().input(tag.getFullyQualifiedName()).weight(5).build());
     suggest.add(ElasticSearchSuggest.builder().input(tag.getName()).weight(10).build());
-    doc.put("suggest", suggest);
-    doc.put("entityType", Entity.TAG);
-    return doc;
+    fields.put("suggest", suggest);
+    fields.put("entityType", Entity.TAG);
+    return fields;
   }
 }
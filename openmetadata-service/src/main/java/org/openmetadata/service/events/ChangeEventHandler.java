@@ -214,6 +214,7 @@ public class ChangeEventHandler implements EventHandler {
         .withEventType(changeEvent.getEventType())
         .withEntityId(changeEvent.getEntityId())
         .withEntityType(changeEvent.getEntityType())
+        .withEntityFullyQualifiedName(changeEvent.getEntityFullyQualifiedName())
         .withUserName(changeEvent.getUserName())
         .withTimestamp(changeEvent.getTimestamp())
         .withChangeDescription(changeEvent.getChangeDescription())
@@ -18,16 +18,6 @@ import static org.openmetadata.service.exception.CatalogExceptionMessage.FIELD_A
 import static org.openmetadata.service.exception.CatalogExceptionMessage.FIELD_NOT_TOKENIZED;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.macasaet.fernet.Key;
-import com.macasaet.fernet.StringValidator;
-import com.macasaet.fernet.Token;
-import com.macasaet.fernet.Validator;
-import java.time.Duration;
-import java.time.Instant;
-import java.time.temporal.TemporalAmount;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.openmetadata.schema.api.fernet.FernetConfiguration;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
@@ -35,15 +25,9 @@ import org.openmetadata.service.OpenMetadataApplicationConfig;
 public class Fernet {
   private static Fernet instance;
   private String fernetKey;
+  private volatile FernetCipher cipher;
   public static final String FERNET_PREFIX = "fernet:";
   public static final String FERNET_NO_ENCRYPTION = "no_encryption_at_rest";
-  private final Validator<String> validator =
-      new StringValidator() {
-        @Override
-        public TemporalAmount getTimeToLive() {
-          return Duration.ofSeconds(Instant.MAX.getEpochSecond());
-        }
-      };
 
   private Fernet() {}
 
@@ -65,9 +49,12 @@ public class Fernet {
   public void setFernetKey(String fernetKey) {
     if (fernetKey != null) {
       // convert base64 to base64url
-      this.fernetKey = fernetKey.replace("/", "_").replace("+", "-").replace("=", "");
+      String base64UrlKey = fernetKey.replace("/", "_").replace("+", "-").replace("=", "");
+      this.cipher = new FernetCipher(base64UrlKey);
+      this.fernetKey = base64UrlKey;
     } else {
       this.fernetKey = null;
+      this.cipher = null;
     }
   }
 
@@ -79,9 +66,9 @@ public class Fernet {
     if (secret.startsWith(FERNET_PREFIX)) {
       throw new IllegalArgumentException(FIELD_ALREADY_TOKENIZED);
     }
-    if (isKeyDefined()) {
-      Key key = new Key(fernetKey.split(",")[0]);
-      return FERNET_PREFIX + Token.generate(key, secret).serialise();
+    FernetCipher currentCipher = cipher;
+    if (currentCipher != null) {
+      return FERNET_PREFIX + currentCipher.encrypt(secret);
     }
     throw new IllegalArgumentException(FERNET_KEY_NULL);
   }
@@ -91,14 +78,12 @@ public class Fernet {
   }
 
   public String decrypt(String tokenized) {
-    if (!isKeyDefined()) {
+    FernetCipher currentCipher = cipher;
+    if (currentCipher == null) {
       throw new IllegalArgumentException(FERNET_KEY_NULL);
     }
     if (tokenized != null && tokenized.startsWith(FERNET_PREFIX)) {
-      String str = tokenized.split(FERNET_PREFIX, 2)[1];
-      Token token = Token.fromString(str);
-      List<Key> keys = Arrays.stream(fernetKey.split(",")).map(Key::new).collect(Collectors.toList());
-      return token.validateAndDecrypt(keys, validator);
+      return currentCipher.decrypt(tokenized.substring(FERNET_PREFIX.length()));
     }
     throw new IllegalArgumentException(FIELD_NOT_TOKENIZED);
   }
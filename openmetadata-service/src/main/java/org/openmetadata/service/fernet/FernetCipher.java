@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.fernet;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Fernet token engine (https://github.com/fernet/spec). The keys are decoded once, and each thread reuses its own
+ * {@link Cipher} and one {@link Mac} per key, so that encrypting or decrypting a field costs the cryptographic
+ * operations only.
+ *
+ * <p>The first key encrypts. Tokens are decrypted with the first key whose signature matches, which lets keys be
+ * rotated by prepending the new key to the list. Tokens never expire, as secrets are stored for the lifetime of the
+ * entities.
+ */
+public class FernetCipher {
+  private static final byte VERSION = (byte) 0x80;
+  private static final int TIMESTAMP_LENGTH = 8;
+  private static final int IV_LENGTH = 16;
+  private static final int KEY_PART_LENGTH = 16;
+  private static final int HMAC_LENGTH = 32;
+  private static final int HEADER_LENGTH = 1 + TIMESTAMP_LENGTH + IV_LENGTH;
+  private static final String CIPHER_ALGORITHM = "AES/CBC/PKCS5Padding";
+  private static final String MAC_ALGORITHM = "HmacSHA256";
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final List<SecretKeySpec> signingKeys = new ArrayList<>();
+  private final List<SecretKeySpec> encryptionKeys = new ArrayList<>();
+  private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(FernetCipher::newCipher);
+  private final ThreadLocal<Mac[]> macs = ThreadLocal.withInitial(this::newMacs);
+
+  /** Create an engine from comma separated base64url encoded 32 byte keys, the first of which encrypts */
+  public FernetCipher(String keys) {
+    for (String key : keys.split(",")) {
+      byte[] bytes = Base64.getUrlDecoder().decode(key.trim());
+      if (bytes.length != 2 * KEY_PART_LENGTH) {
+        throw new IllegalArgumentException("Fernet keys must be 32 bytes long");
+      }
+      signingKeys.add(new SecretKeySpec(bytes, 0, KEY_PART_LENGTH, MAC_ALGORITHM));
+      encryptionKeys.add(new SecretKeySpec(bytes, KEY_PART_LENGTH, KEY_PART_LENGTH, "AES"));
+    }
+  }
+
+  public String encrypt(String plainText) {
+    byte[] iv = new byte[IV_LENGTH];
+    RANDOM.nextBytes(iv);
+    return encrypt(plainText, iv, Instant.now().getEpochSecond());
+  }
+
+  String encrypt(String plainText, byte[] iv, long timestamp) {
+    try {
+      Cipher aes = cipher.get();
+      aes.init(Cipher.ENCRYPT_MODE, encryptionKeys.get(0), new IvParameterSpec(iv));
+      byte[] cipherText = aes.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+      ByteBuffer token = ByteBuffer.allocate(HEADER_LENGTH + cipherText.length + HMAC_LENGTH);
+      token.put(VERSION).putLong(timestamp).put(iv).put(cipherText);
+      Mac mac = macs.get()[0];
+      mac.update(token.array(), 0, token.position());
+      token.put(mac.doFinal());
+      return Base64.getUrlEncoder().encodeToString(token.array());
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to encrypt with the Fernet key", e);
+    }
+  }
+
+  public String decrypt(String token) {
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(token);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid Fernet token encoding", e);
+    }
+    if (bytes.length < HEADER_LENGTH + KEY_PART_LENGTH + HMAC_LENGTH || bytes[0] != VERSION) {
+      throw new IllegalArgumentException("Invalid Fernet token");
+    }
+    int signedLength = bytes.length - HMAC_LENGTH;
+    byte[] signature = Arrays.copyOfRange(bytes, signedLength, bytes.length);
+    Mac[] threadMacs = macs.get();
+    for (int i = 0; i < threadMacs.length; i++) {
+      threadMacs[i].update(bytes, 0, signedLength);
+      if (MessageDigest.isEqual(signature, threadMacs[i].doFinal())) {
+        return decrypt(bytes, signedLength, encryptionKeys.get(i));
+      }
+    }
+    throw new IllegalArgumentException("Fernet token signature does not match any key");
+  }
+
+  private String decrypt(byte[] token, int signedLength, SecretKeySpec encryptionKey) {
+    try {
+      Cipher aes = cipher.get();
+      aes.init(Cipher.DECRYPT_MODE, encryptionKey, new IvParameterSpec(token, 1 + TIMESTAMP_LENGTH, IV_LENGTH));
+      byte[] plainText = aes.doFinal(token, HEADER_LENGTH, signedLength - HEADER_LENGTH);
+      return new String(plainText, StandardCharsets.UTF_8);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException("Failed to decrypt the Fernet token", e);
+    }
+  }
+
+  private static Cipher newCipher() {
+    try {
+      return Cipher.getInstance(CIPHER_ALGORITHM);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Mac[] newMacs() {
+    Mac[] result = new Mac[signingKeys.size()];
+    try {
+      for (int i = 0; i < result.length; i++) {
+        result[i] = Mac.getInstance(MAC_ALGORITHM);
+        result[i].init(signingKeys.get(i));
+      }
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+    return result;
+  }
+}
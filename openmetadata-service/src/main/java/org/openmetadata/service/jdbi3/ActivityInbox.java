@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.entity.feed.Thread;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.schema.type.TaskStatus;
+import org.openmetadata.schema.type.ThreadType;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.CollectionDAO.ActivityInboxDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ActivityInboxDAO.Reason;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.service.jdbi3.FeedRepository.PaginationType;
+import org.openmetadata.service.resources.feeds.MessageParser;
+import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
+
+/**
+ * Activity feed of each user and team, materialized in the activity_inbox table.
+ *
+ * <p>A thread is in the feed of its creator, of the users who replied to it, of the owner and the followers of the
+ * entity it is about, of the users and teams mentioned in it and of the assignees of its task, along with the reasons
+ * it is there. The feeds are maintained as threads are written and as the owners and followers of entities change, so
+ * that the feed of a user is listed with an index range scan over the rows of the user and of their teams.
+ */
+@Slf4j
+public class ActivityInbox {
+  private final CollectionDAO dao;
+
+  public ActivityInbox(CollectionDAO dao) {
+    this.dao = dao;
+  }
+
+  /** Add a new thread to the feeds of its creator, of the owner and followers of its entity, and of its mentions */
+  public void addThread(Thread thread, UUID createdBy, EntityReference entityOwner) {
+    add(createdBy, thread, Reason.CREATED);
+    if (entityOwner != null) {
+      add(entityOwner.getId(), thread, Reason.OWNER);
+    }
+    String entityType = EntityLink.parse(thread.getAbout()).getEntityType();
+    List<EntityRelationshipRecord> followers =
+        dao.relationshipDAO().findFrom(thread.getEntityId().toString(), entityType, Relationship.FOLLOWS.ordinal());
+    for (EntityRelationshipRecord follower : followers) {
+      add(follower.getId(), thread, Reason.FOLLOWS);
+    }
+    addMentions(thread, thread.getMessage());
+    addAssignees(thread);
+  }
+
+  /** Add a thread to the feeds of the user who posted to it and of the users and teams mentioned in the post */
+  public void addPost(Thread thread, UUID from, String message) {
+    updateThread(thread);
+    add(from, thread, Reason.REPLIED);
+    addMentions(thread, message);
+  }
+
+  /** Update the attributes of a thread the feeds are filtered and sorted by */
+  public void updateThread(Thread thread) {
+    inboxDAO().updateThread(thread.getId().toString(), thread.getUpdatedAt(), isResolved(thread), getStatus(thread));
+  }
+
+  /** Move a task to the feeds of its current assignees */
+  public void updateAssignees(Thread thread) {
+    inboxDAO().removeReason(thread.getId().toString(), Reason.ASSIGNED);
+    addAssignees(thread);
+  }
+
+  public void deleteThread(String threadId) {
+    inboxDAO().deleteThread(threadId);
+  }
+
+  /**
+   * Ids of a page of the threads in the feeds of the recipients for any of the reasons, latest updated first. With
+   * {@link PaginationType#BEFORE}, the page holds the threads updated after the given time, otherwise the threads
+   * updated before it.
+   */
+  public List<String> list(
+      List<String> recipientIds,
+      int reasons,
+      ThreadType type,
+      Boolean resolved,
+      TaskStatus taskStatus,
+      int limit,
+      long time,
+      PaginationType paginationType) {
+    if (paginationType == PaginationType.BEFORE) {
+      // The threads closest to the cursor are fetched first, in ascending order
+      List<String> ids = inboxDAO().listBefore(recipientIds, reasons, type, resolved, taskStatus, limit, time);
+      Collections.reverse(ids);
+      return ids;
+    }
+    return inboxDAO().listAfter(recipientIds, reasons, type, resolved, taskStatus, limit, time);
+  }
+
+  public int count(List<String> recipientIds, int reasons, ThreadType type, Boolean resolved, TaskStatus taskStatus) {
+    return inboxDAO().listCount(recipientIds, reasons, type, resolved, taskStatus);
+  }
+
+  /** Counts of the threads in the feeds of the recipients for any of the reasons, by the entity link of the threads */
+  public List<List<String>> countByEntityLink(
+      List<String> recipientIds, int reasons, ThreadType type, boolean resolved) {
+    return inboxDAO().listCountByEntityLink(recipientIds, reasons, type, resolved);
+  }
+
+  private void addMentions(Thread thread, String message) {
+    MessageParser.getEntityLinks(message).stream()
+        .filter(link -> Entity.USER.equals(link.getEntityType()) || Entity.TEAM.equals(link.getEntityType()))
+        .distinct()
+        .forEach(
+            link -> {
+              try {
+                EntityReference mentioned =
+                    Entity.getEntityReferenceByName(link.getEntityType(), link.getEntityFQN(), Include.NON_DELETED);
+                add(mentioned.getId(), thread, Reason.MENTIONED);
+              } catch (EntityNotFoundException e) {
+                LOG.debug("Ignoring the mention of unknown {} {}", link.getEntityType(), link.getEntityFQN());
+              }
+            });
+  }
+
+  private void addAssignees(Thread thread) {
+    if (thread.getTask() != null && thread.getTask().getAssignees() != null) {
+      thread.getTask().getAssignees().forEach(assignee -> add(assignee.getId(), thread, Reason.ASSIGNED));
+    }
+  }
+
+  private void add(UUID recipientId, Thread thread, Reason reason) {
+    inboxDAO()
+        .add(
+            recipientId.toString(),
+            thread.getId().toString(),
+            reason.getBit(),
+            thread.getUpdatedAt(),
+            thread.getType(),
+            isResolved(thread),
+            getStatus(thread));
+  }
+
+  private ActivityInboxDAO inboxDAO() {
+    return dao.activityInboxDAO();
+  }
+
+  private static boolean isResolved(Thread thread) {
+    return Boolean.TRUE.equals(thread.getResolved());
+  }
+
+  private static TaskStatus getStatus(Thread thread) {
+    return thread.getTask() == null ? null : thread.getTask().getStatus();
+  }
+}
@@ -16,6 +16,9 @@ package org.openmetadata.service.jdbi3;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.ws.rs.core.UriInfo;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +32,7 @@ import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.resources.tags.ClassificationResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
 
@@ -64,6 +68,7 @@ public class ClassificationRepository extends EntityRepository<Classification> {
   @Override
   public void storeEntity(Classification category, boolean update) throws IOException {
     store(category, update);
+    TagLabelCache.getInstance().put(Entity.CLASSIFICATION, category);
   }
 
   @Override
@@ -75,8 +80,23 @@ public class ClassificationRepository extends EntityRepository<Classification> {
     return daoCollection.tagDAO().listCount(filter);
   }
 
+  @Override
+  protected void setFieldsInBulk(Fields fields, List<Classification> categorys) throws IOException {
+    super.setFieldsInBulk(fields.without("usageCount"), categorys);
+    if (fields.contains("usageCount")) {
+      // Usage counts of the whole page are read with a single query
+      List<String> fqns = new ArrayList<>();
+      categorys.forEach(category -> fqns.add(FullyQualifiedName.build(category.getName())));
+      Map<String, Integer> counts = daoCollection.tagUsageDAO().getTagCounts(TagSource.TAG.ordinal(), fqns);
+      categorys.forEach(
+          category -> category.setUsageCount(counts.getOrDefault(FullyQualifiedName.build(category.getName()), 0)));
+    }
+  }
+
   private Integer getUsageCount(Classification category) {
-    return daoCollection.tagUsageDAO().getTagCount(TagSource.TAG.ordinal(), category.getName());
+    return daoCollection
+        .tagUsageDAO()
+        .getTagCount(TagSource.TAG.ordinal(), FullyQualifiedName.build(category.getName()));
   }
 
   @Transaction
@@ -87,6 +107,7 @@ public class ClassificationRepository extends EntityRepository<Classification> {
     daoCollection.tagDAO().deleteTagsByPrefix(category.getName());
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.TAG.ordinal(), category.getName());
     daoCollection.tagUsageDAO().deleteTagLabelsByPrefix(TagSource.TAG.ordinal(), category.getName());
+    TagLabelCache.getInstance().remove(Entity.CLASSIFICATION, FullyQualifiedName.build(category.getName()));
     return category;
   }
 
@@ -121,8 +142,14 @@ public class ClassificationRepository extends EntityRepository<Classification> {
         }
         // Category name changed - update tag names starting from category and all the children tags
         LOG.info("Classification name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.tagDAO().updateFqn(original.getName(), updated.getName());
-        daoCollection.tagUsageDAO().updateTagPrefix(original.getName(), updated.getName());
+        FqnRenameEngine.getInstance()
+            .rename(
+                Entity.TAG, FullyQualifiedName.build(original.getName()), FullyQualifiedName.build(updated.getName()));
+        TagLabelCache.getInstance()
+            .rename(
+                Entity.CLASSIFICATION,
+                FullyQualifiedName.build(original.getName()),
+                FullyQualifiedName.build(updated.getName()));
         recordChange("name", original.getName(), updated.getName());
       }
     }
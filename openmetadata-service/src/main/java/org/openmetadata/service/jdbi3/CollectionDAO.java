@@ -14,8 +14,6 @@
 package org.openmetadata.service.jdbi3;
 
 import static org.openmetadata.service.Entity.ORGANIZATION_NAME;
-import static org.openmetadata.service.jdbi3.ListFilter.escape;
-import static org.openmetadata.service.jdbi3.ListFilter.escapeApostrophe;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
@@ -27,10 +25,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.apache.commons.lang3.tuple.Triple;
 import org.jdbi.v3.core.mapper.RowMapper;
@@ -39,11 +40,15 @@ import org.jdbi.v3.core.statement.StatementException;
 import org.jdbi.v3.sqlobject.CreateSqlObject;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.customizer.BindBeanList;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.api.configuration.airflow.TaskNotificationConfiguration;
 import org.openmetadata.api.configuration.airflow.TestResultNotificationConfiguration;
 import org.openmetadata.common.utils.CommonUtil;
@@ -92,6 +97,8 @@ import org.openmetadata.schema.settings.SettingsType;
 import org.openmetadata.schema.tests.TestCase;
 import org.openmetadata.schema.tests.TestDefinition;
 import org.openmetadata.schema.tests.TestSuite;
+import org.openmetadata.schema.tests.type.TestCaseResult;
+import org.openmetadata.schema.tests.type.TestCaseStatus;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.schema.type.SQLQuery;
@@ -104,6 +111,7 @@ import org.openmetadata.schema.util.EntitiesCount;
 import org.openmetadata.schema.util.ServicesCount;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO.TagLabelMapper;
+import org.openmetadata.service.jdbi3.CollectionDAO.ThreadCountDAO.ThreadCountChange;
 import org.openmetadata.service.jdbi3.CollectionDAO.UsageDAO.UsageDetailsMapper;
 import org.openmetadata.service.jdbi3.FeedRepository.FilterType;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
@@ -219,6 +227,15 @@ public interface CollectionDAO {
   @CreateSqlObject
   FeedDAO feedDAO();
 
+  @CreateSqlObject
+  PostDAO postDAO();
+
+  @CreateSqlObject
+  ThreadCountDAO threadCountDAO();
+
+  @CreateSqlObject
+  ActivityInboxDAO activityInboxDAO();
+
   @CreateSqlObject
   LocationDAO locationDAO();
 
@@ -261,6 +278,27 @@ public interface CollectionDAO {
   @CreateSqlObject
   KpiDAO kpiDAO();
 
+  @CreateSqlObject
+  EmailOutboxDAO emailOutboxDAO();
+
+  @CreateSqlObject
+  DataInsightRollupDAO dataInsightRollupDAO();
+
+  @CreateSqlObject
+  SearchIndexCheckpointDAO searchIndexCheckpointDAO();
+
+  @CreateSqlObject
+  FqnRenameDAO fqnRenameDAO();
+
+  @CreateSqlObject
+  EntityStorageConversionDAO entityStorageConversionDAO();
+
+  @CreateSqlObject
+  TestCaseLatestResultDAO testCaseLatestResultDAO();
+
+  @CreateSqlObject
+  PipelineLatestStatusDAO pipelineLatestStatusDAO();
+
   interface DashboardDAO extends EntityDAO<Dashboard> {
     @Override
     default String getTableName() {
@@ -276,6 +314,11 @@ public interface CollectionDAO {
     default String getNameColumn() {
       return "fullyQualifiedName";
     }
+
+    @Override
+    default boolean supportsBinaryStorage() {
+      return true;
+    }
   }
 
   interface DashboardServiceDAO extends EntityDAO<DashboardService> {
@@ -458,7 +501,7 @@ public interface CollectionDAO {
         connectionType = MYSQL)
     @ConnectionAwareSqlQuery(
         value =
-            "select x.* from entity_extension as ee , jsonb_to_recordset(ee.json) as x (vote decimal,query varchar,users json,checksum varchar,duration decimal,queryDate varchar) where ee.id = :id and ee.extension = :extension and query < : before order by query LIMIT :limit ",
+            "select x.* from entity_extension as ee , jsonb_to_recordset(ee.json) as x (vote decimal,query varchar,users json,checksum varchar,duration decimal,queryDate varchar) where ee.id = :id and ee.extension = :extension and query < :before order by query LIMIT :limit ",
         connectionType = POSTGRES)
     List<SQLQuery> listBeforeTableQueries(
         @Bind("id") String id,
@@ -538,6 +581,26 @@ public interface CollectionDAO {
     private String json;
   }
 
+  @Getter
+  @Builder
+  class UserContact {
+    private UUID id;
+    private String name;
+    private String email;
+  }
+
+  @Getter
+  @Builder
+  class EmailOutboxRecord {
+    private String id;
+    private String recipient;
+    private String subject;
+    private String content;
+    private long createdAt;
+    private int attempts;
+    private long nextAttemptAt;
+  }
+
   @Getter
   @Builder
   class ReportDataRow {
@@ -695,15 +758,68 @@ public interface CollectionDAO {
   }
 
   interface FeedDAO {
+    @CreateSqlObject
+    ThreadCountDAO threadCountDAO();
+
+    @CreateSqlObject
+    PostDAO postDAO();
+
     @ConnectionAwareSqlUpdate(value = "INSERT INTO thread_entity(json) VALUES (:json)", connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value = "INSERT INTO thread_entity(json) VALUES (:json :: jsonb)",
         connectionType = POSTGRES)
     void insert(@Bind("json") String json);
 
+    /** Insert a thread and count it, in one transaction */
+    @Transaction
+    default void insert(String json, ThreadCountChange count) {
+      insert(json);
+      threadCountDAO().add(List.of(count));
+    }
+
+    /**
+     * Update a thread and the counts it moves between when its task status or resolution changes, in one transaction
+     */
+    @Transaction
+    default void update(String id, String json, List<ThreadCountChange> counts) {
+      update(id, json);
+      threadCountDAO().add(counts);
+    }
+
+    /** Insert a post and store the thread with its latest posts and post count, in one transaction */
+    @Transaction
+    default void addPost(String threadId, String postId, long postTs, String postJson, String threadJson) {
+      postDAO().insert(postId, threadId, postTs, postJson);
+      update(threadId, threadJson);
+    }
+
+    /** Update a post and store the thread with its latest posts, in one transaction */
+    @Transaction
+    default void updatePost(String threadId, String postId, String postJson, String threadJson) {
+      postDAO().update(postId, postJson);
+      update(threadId, threadJson);
+    }
+
+    /** Delete a post and store the thread with its latest posts and post count, in one transaction */
+    @Transaction
+    default void deletePost(String threadId, String postId, String threadJson) {
+      postDAO().delete(postId);
+      update(threadId, threadJson);
+    }
+
+    /** Delete a thread and remove it from its count, in one transaction */
+    @Transaction
+    default void delete(String id, ThreadCountChange count) {
+      delete(id);
+      threadCountDAO().add(List.of(count));
+    }
+
     @SqlQuery("SELECT json FROM thread_entity WHERE id = :id")
     String findById(@Bind("id") String id);
 
+    @SqlQuery("SELECT json FROM thread_entity WHERE id IN (<ids>)")
+    List<String> findByIds(@BindList("ids") List<String> ids);
+
     @SqlQuery("SELECT json FROM thread_entity ORDER BY createdAt DESC")
     List<String> list();
 
@@ -876,204 +992,6 @@ public interface CollectionDAO {
         @Bind("resolved") boolean resolved,
         @Bind("type") ThreadType type);
 
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt > :before AND taskStatus = :status AND "
-                + "taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[]) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
-        connectionType = POSTGRES)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt > :before AND taskStatus = :status AND "
-                + "JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
-        connectionType = MYSQL)
-    List<String> listTasksAssignedToBefore(
-        @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
-        @Bind("userTeamJsonMysql") String userTeamJsonMysql,
-        @Bind("limit") int limit,
-        @Bind("before") long before,
-        @Bind("status") TaskStatus status);
-
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt < :after "
-                + "AND (:status IS NULL OR taskStatus = :status) "
-                + "AND taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[]) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
-        connectionType = POSTGRES)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt < :after "
-                + "AND (:status IS NULL OR taskStatus = :status) "
-                + "AND JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
-        connectionType = MYSQL)
-    List<String> listTasksAssignedToAfter(
-        @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
-        @Bind("userTeamJsonMysql") String userTeamJsonMysql,
-        @Bind("limit") int limit,
-        @Bind("after") long after,
-        @Bind("status") TaskStatus status);
-
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT count(id) FROM thread_entity WHERE type='Task' AND "
-                + "(:status IS NULL OR taskStatus = :status) AND "
-                + "taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[])",
-        connectionType = POSTGRES)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT count(id) FROM thread_entity WHERE type='Task' AND "
-                + "(:status IS NULL OR taskStatus = :status) AND "
-                + "JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) ",
-        connectionType = MYSQL)
-    int listCountTasksAssignedTo(
-        @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
-        @Bind("userTeamJsonMysql") String userTeamJsonMysql,
-        @Bind("status") TaskStatus status);
-
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt > :before AND taskStatus = :status AND "
-                + "AND (taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[]) OR createdBy = :username) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
-        connectionType = POSTGRES)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt > :before AND taskStatus = :status AND "
-                + "AND (JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) OR createdBy = :username) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
-        connectionType = MYSQL)
-    List<String> listTasksOfUserBefore(
-        @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
-        @Bind("userTeamJsonMysql") String userTeamJsonMysql,
-        @Bind("username") String username,
-        @Bind("limit") int limit,
-        @Bind("before") long before,
-        @Bind("status") TaskStatus status);
-
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt < :after "
-                + "AND (:status IS NULL OR taskStatus = :status) "
-                + "AND (taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[]) OR createdBy = :username) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
-        connectionType = POSTGRES)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt < :after "
-                + "AND (:status IS NULL OR taskStatus = :status) "
-                + "AND (JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) OR createdBy = :username) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
-        connectionType = MYSQL)
-    List<String> listTasksOfUserAfter(
-        @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
-        @Bind("userTeamJsonMysql") String userTeamJsonMysql,
-        @Bind("username") String username,
-        @Bind("limit") int limit,
-        @Bind("after") long after,
-        @Bind("status") TaskStatus status);
-
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT count(id) FROM thread_entity WHERE type='Task' "
-                + "AND (:status IS NULL OR taskStatus = :status) "
-                + "AND (taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[]) OR createdBy = :username) ",
-        connectionType = POSTGRES)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT count(id) FROM thread_entity WHERE type='Task' "
-                + "AND (:status IS NULL OR taskStatus = :status) "
-                + "AND (JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) OR createdBy = :username) ",
-        connectionType = MYSQL)
-    int listCountTasksOfUser(
-        @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
-        @Bind("userTeamJsonMysql") String userTeamJsonMysql,
-        @Bind("username") String username,
-        @Bind("status") TaskStatus status);
-
-    @SqlQuery(
-        "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt > :before "
-            + "AND (:status IS NULL OR taskStatus = :status) "
-            + "AND createdBy = :username "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listTasksAssignedByBefore(
-        @Bind("username") String username,
-        @Bind("limit") int limit,
-        @Bind("before") long before,
-        @Bind("status") TaskStatus status);
-
-    @SqlQuery(
-        "SELECT json FROM thread_entity WHERE type='Task' AND updatedAt < :after "
-            + "AND (:status IS NULL OR taskStatus = :status) "
-            + "AND createdBy = :username "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listTasksAssignedByAfter(
-        @Bind("username") String username,
-        @Bind("limit") int limit,
-        @Bind("after") long after,
-        @Bind("status") TaskStatus status);
-
-    @SqlQuery(
-        "SELECT count(id) FROM thread_entity WHERE type='Task' "
-            + "AND (:status IS NULL OR taskStatus = :status) AND createdBy = :username")
-    int listCountTasksAssignedBy(@Bind("username") String username, @Bind("status") TaskStatus status);
-
-    @SqlQuery(
-        "SELECT json FROM thread_entity WHERE updatedAt > :before AND resolved = :resolved AND (:type IS NULL OR type = :type) AND "
-            + "(entityId in (SELECT toId FROM entity_relationship WHERE "
-            + "((fromEntity='user' AND fromId= :userId) OR "
-            + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation=8) OR "
-            + "id in (SELECT toId FROM entity_relationship WHERE (fromEntity='user' AND fromId= :userId AND toEntity='THREAD' AND relation IN (1,2)))) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listThreadsByOwnerBefore(
-        @Bind("userId") String userId,
-        @BindList("teamIds") List<String> teamIds,
-        @Bind("limit") int limit,
-        @Bind("before") long before,
-        @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved);
-
-    @SqlQuery(
-        "SELECT json FROM thread_entity WHERE updatedAt < :after AND resolved = :resolved AND (:type IS NULL OR type = :type) AND "
-            + "(entityId in (SELECT toId FROM entity_relationship WHERE "
-            + "((fromEntity='user' AND fromId= :userId) OR "
-            + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation=8) OR "
-            + "id in (SELECT toId FROM entity_relationship WHERE (fromEntity='user' AND fromId= :userId AND toEntity='THREAD' AND relation IN (1,2)))) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listThreadsByOwnerAfter(
-        @Bind("userId") String userId,
-        @BindList("teamIds") List<String> teamIds,
-        @Bind("limit") int limit,
-        @Bind("after") long after,
-        @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved);
-
-    @SqlQuery(
-        "SELECT count(id) FROM thread_entity WHERE resolved = :resolved AND (:type IS NULL OR type = :type) AND "
-            + "(entityId in (SELECT toId FROM entity_relationship WHERE "
-            + "((fromEntity='user' AND fromId= :userId) OR "
-            + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation=8) OR "
-            + "id in (SELECT toId FROM entity_relationship WHERE (fromEntity='user' AND fromId= :userId AND toEntity='THREAD' AND relation IN (1,2)))) ")
-    int listCountThreadsByOwner(
-        @Bind("userId") String userId,
-        @BindList("teamIds") List<String> teamIds,
-        @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved);
-
     default List<String> listThreadsByEntityLinkBefore(
         String fqnPrefix,
         String toType,
@@ -1334,136 +1252,329 @@ public interface CollectionDAO {
         connectionType = POSTGRES)
     void update(@Bind("id") String id, @Bind("json") String json);
 
+    class CountFieldMapper implements RowMapper<List<String>> {
+      @Override
+      public List<String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Arrays.asList(rs.getString("entityLink"), rs.getString("count"));
+      }
+    }
+  }
+
+  interface ThreadCountDAO {
+    /** Add a delta to the count of the threads about an entity link with the given type, status and resolution */
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_count (entityLink, type, taskStatus, resolved, entityType, entityFQN, fieldType, "
+                + "fieldFQN, count) VALUES (:entityLink, :type, :taskStatus, :resolved, :entityType, :entityFQN, "
+                + ":fieldType, :fieldFQN, :delta) ON DUPLICATE KEY UPDATE count = count + :delta",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_count (entityLink, type, taskStatus, resolved, entityType, entityFQN, fieldType, "
+                + "fieldFQN, count) VALUES (:entityLink, :type, :taskStatus, :resolved, :entityType, :entityFQN, "
+                + ":fieldType, :fieldFQN, :delta) "
+                + "ON CONFLICT (entityLink, type, taskStatus, resolved) DO UPDATE SET count = thread_count.count + :delta",
+        connectionType = POSTGRES)
+    void add(
+        @Bind("entityLink") String entityLink,
+        @Bind("type") ThreadType type,
+        @Bind("taskStatus") String taskStatus,
+        @Bind("resolved") boolean resolved,
+        @Bind("entityType") String entityType,
+        @Bind("entityFQN") String entityFQN,
+        @Bind("fieldType") String fieldType,
+        @Bind("fieldFQN") String fieldFQN,
+        @Bind("delta") int delta);
+
+    default void add(List<ThreadCountChange> changes) {
+      for (ThreadCountChange change : changes) {
+        add(
+            change.getEntityLink(),
+            change.getType(),
+            change.getTaskStatus(),
+            change.isResolved(),
+            change.getEntityType(),
+            change.getEntityFQN(),
+            change.getFieldType(),
+            change.getFieldFQN(),
+            change.getDelta());
+      }
+    }
+
     @SqlQuery(
-        "SELECT entityLink, COUNT(id) count FROM field_relationship fr INNER JOIN thread_entity te ON fr.fromFQN=te.id "
-            + "WHERE (:fqnPrefix IS NULL OR fr.toFQN LIKE CONCAT(:fqnPrefix, '.%') OR fr.toFQN=:fqnPrefix) AND "
-            + "(:toType IS NULL OR fr.toType like concat(:toType, '.%') OR fr.toType=:toType) AND fr.fromType = :fromType "
-            + "AND fr.relation = :relation AND te.resolved= :isResolved AND (:status IS NULL OR te.taskStatus = :status) "
-            + "AND (:type IS NULL OR te.type = :type) "
-            + "GROUP BY entityLink")
-    @RegisterRowMapper(CountFieldMapper.class)
+        "SELECT entityLink, SUM(count) count FROM thread_count "
+            + "WHERE (:fqnPrefix IS NULL OR fieldFQN LIKE CONCAT(:fqnPrefix, '.%') OR fieldFQN = :fqnPrefix) "
+            + "AND (:toType IS NULL OR fieldType LIKE CONCAT(:toType, '.%') OR fieldType = :toType) "
+            + "AND resolved = :isResolved AND (:status IS NULL OR taskStatus = :status) "
+            + "AND (:type IS NULL OR type = :type) "
+            + "GROUP BY entityLink HAVING SUM(count) > 0")
+    @RegisterRowMapper(FeedDAO.CountFieldMapper.class)
     List<List<String>> listCountByEntityLink(
         @Bind("fqnPrefix") String fqnPrefix,
-        @Bind("fromType") String fromType,
         @Bind("toType") String toType,
-        @Bind("relation") int relation,
         @Bind("type") ThreadType type,
         @Bind("status") TaskStatus status,
         @Bind("isResolved") boolean isResolved);
 
+    /** Counts of the threads about each of the entities, including the threads about their fields */
     @SqlQuery(
-        "SELECT entityLink, COUNT(id) count FROM thread_entity WHERE resolved = :resolved AND (:type IS NULL OR type = :type) AND "
-            + "(entityId in (SELECT toId FROM entity_relationship WHERE "
-            + "((fromEntity='user' AND fromId= :userId) OR "
-            + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation=8) OR "
-            + "id in (SELECT toId FROM entity_relationship WHERE (fromEntity='user' AND fromId= :userId AND toEntity='THREAD' AND relation IN (1,2)))) "
-            + "GROUP BY entityLink")
-    @RegisterRowMapper(CountFieldMapper.class)
-    List<List<String>> listCountByOwner(
-        @Bind("userId") String userId,
-        @BindList("teamIds") List<String> teamIds,
+        "SELECT entityType, entityFQN, SUM(count) count FROM thread_count WHERE entityFQN IN (<entityFQNs>) "
+            + "AND resolved = :isResolved AND (:status IS NULL OR taskStatus = :status) "
+            + "AND (:type IS NULL OR type = :type) "
+            + "GROUP BY entityType, entityFQN")
+    @RegisterRowMapper(EntityThreadCountMapper.class)
+    List<EntityThreadCount> listCountByEntities(
+        @BindList("entityFQNs") List<String> entityFQNs,
         @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved);
+        @Bind("status") TaskStatus status,
+        @Bind("isResolved") boolean isResolved);
+
+    /** A delta to the count of the threads about an entity link with the given type, task status and resolution */
+    @Getter
+    @Builder
+    class ThreadCountChange {
+      private String entityLink;
+      private ThreadType type;
+      private String taskStatus;
+      private boolean resolved;
+      private String entityType;
+      private String entityFQN;
+      private String fieldType;
+      private String fieldFQN;
+      private int delta;
+    }
+
+    @Getter
+    @Builder
+    class EntityThreadCount {
+      private String entityType;
+      private String entityFQN;
+      private int count;
+    }
+
+    class EntityThreadCountMapper implements RowMapper<EntityThreadCount> {
+      @Override
+      public EntityThreadCount map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return EntityThreadCount.builder()
+            .entityType(rs.getString("entityType"))
+            .entityFQN(rs.getString("entityFQN"))
+            .count(rs.getInt("count"))
+            .build();
+      }
+    }
+  }
 
+  interface PostDAO {
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO thread_post (id, threadId, postTs, json) VALUES (:id, :threadId, :postTs, :json)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_post (id, threadId, postTs, json) VALUES (:id, :threadId, :postTs, (:json :: jsonb))",
+        connectionType = POSTGRES)
+    void insert(
+        @Bind("id") String id,
+        @Bind("threadId") String threadId,
+        @Bind("postTs") long postTs,
+        @Bind("json") String json);
+
+    @ConnectionAwareSqlUpdate(value = "UPDATE thread_post SET json = :json WHERE id = :id", connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "UPDATE thread_post SET json = (:json :: jsonb) WHERE id = :id",
+        connectionType = POSTGRES)
+    void update(@Bind("id") String id, @Bind("json") String json);
+
+    @SqlQuery("SELECT json FROM thread_post WHERE threadId = :threadId AND id = :id")
+    String findById(@Bind("threadId") String threadId, @Bind("id") String id);
+
+    /** Posts of a thread in chronological order */
+    @SqlQuery("SELECT json FROM thread_post WHERE threadId = :threadId ORDER BY postTs, id")
+    List<String> list(@Bind("threadId") String threadId);
+
+    /** Posts of a thread posted after the given post, in chronological order */
     @SqlQuery(
-        "SELECT json FROM thread_entity WHERE updatedAt > :before AND resolved = :resolved AND "
-            + "(:type IS NULL OR type = :type) AND entityId in ("
-            + "SELECT toId FROM entity_relationship WHERE "
-            + "((fromEntity='user' AND fromId= :userId) OR "
-            + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation= :relation) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listThreadsByFollowsBefore(
-        @Bind("userId") String userId,
-        @BindList("teamIds") List<String> teamIds,
+        "SELECT json FROM thread_post WHERE threadId = :threadId "
+            + "AND (postTs > :postTs OR (postTs = :postTs AND id > :id)) "
+            + "ORDER BY postTs, id LIMIT :limit")
+    List<String> listAfter(
+        @Bind("threadId") String threadId,
         @Bind("limit") int limit,
-        @Bind("before") long before,
-        @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved,
-        @Bind("relation") int relation);
+        @Bind("postTs") long postTs,
+        @Bind("id") String id);
 
+    /** Posts of a thread posted before the given post, latest first */
     @SqlQuery(
-        "SELECT json FROM thread_entity WHERE updatedAt < :after AND resolved = :resolved AND "
-            + "(:type IS NULL OR type = :type) AND entityId in ("
-            + "SELECT toId FROM entity_relationship WHERE "
-            + "((fromEntity='user' AND fromId= :userId) OR "
-            + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation= :relation) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listThreadsByFollowsAfter(
-        @Bind("userId") String userId,
-        @BindList("teamIds") List<String> teamIds,
+        "SELECT json FROM thread_post WHERE threadId = :threadId "
+            + "AND (postTs < :postTs OR (postTs = :postTs AND id < :id)) "
+            + "ORDER BY postTs DESC, id DESC LIMIT :limit")
+    List<String> listBefore(
+        @Bind("threadId") String threadId,
         @Bind("limit") int limit,
-        @Bind("after") long after,
+        @Bind("postTs") long postTs,
+        @Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM thread_post WHERE id = :id")
+    void delete(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM thread_post WHERE threadId = :threadId")
+    void deleteByThread(@Bind("threadId") String threadId);
+  }
+
+  interface ActivityInboxDAO {
+    /**
+     * Reasons a thread is in the activity feed of a user or a team, stored as a bit mask. The bits are stored in the
+     * database, add new reasons at the end.
+     */
+    enum Reason {
+      CREATED,
+      REPLIED,
+      OWNER,
+      FOLLOWS,
+      MENTIONED,
+      ASSIGNED;
+
+      public int getBit() {
+        return 1 << ordinal();
+      }
+
+      public static int mask(Reason... reasons) {
+        int mask = 0;
+        for (Reason reason : reasons) {
+          mask |= reason.getBit();
+        }
+        return mask;
+      }
+    }
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO activity_inbox (recipientId, threadId, reasons, updatedAt, type, resolved, taskStatus) "
+                + "VALUES (:recipientId, :threadId, :reasons, :updatedAt, :type, :resolved, :taskStatus) "
+                + "ON DUPLICATE KEY UPDATE reasons = reasons | :reasons",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO activity_inbox (recipientId, threadId, reasons, updatedAt, type, resolved, taskStatus) "
+                + "VALUES (:recipientId, :threadId, :reasons, :updatedAt, :type, :resolved, :taskStatus) "
+                + "ON CONFLICT (recipientId, threadId) DO UPDATE SET reasons = activity_inbox.reasons | :reasons",
+        connectionType = POSTGRES)
+    void add(
+        @Bind("recipientId") String recipientId,
+        @Bind("threadId") String threadId,
+        @Bind("reasons") int reasons,
+        @Bind("updatedAt") long updatedAt,
         @Bind("type") ThreadType type,
         @Bind("resolved") boolean resolved,
-        @Bind("relation") int relation);
+        @Bind("taskStatus") TaskStatus taskStatus);
 
-    @SqlQuery(
-        "SELECT count(id) FROM thread_entity WHERE resolved = :resolved AND "
-            + "(:type IS NULL OR type = :type) AND entityId in ("
-            + "SELECT toId FROM entity_relationship WHERE "
-            + "((fromEntity='user' AND fromId= :userId) OR "
-            + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation= :relation)")
-    int listCountThreadsByFollows(
-        @Bind("userId") String userId,
-        @BindList("teamIds") List<String> teamIds,
-        @Bind("type") ThreadType type,
+    /** Add the threads about an entity to the feed of a user or team that started owning or following it */
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO activity_inbox (recipientId, threadId, reasons, updatedAt, type, resolved, taskStatus) "
+                + "SELECT :recipientId, id, :reasons, updatedAt, type, COALESCE(resolved, FALSE), taskStatus "
+                + "FROM thread_entity WHERE entityId = :entityId "
+                + "ON DUPLICATE KEY UPDATE reasons = reasons | :reasons",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO activity_inbox (recipientId, threadId, reasons, updatedAt, type, resolved, taskStatus) "
+                + "SELECT :recipientId, id, :reasons, updatedAt, type, COALESCE(resolved, FALSE), taskStatus "
+                + "FROM thread_entity WHERE entityId = :entityId "
+                + "ON CONFLICT (recipientId, threadId) DO UPDATE SET reasons = activity_inbox.reasons | :reasons",
+        connectionType = POSTGRES)
+    void addEntityThreads(
+        @Bind("recipientId") String recipientId, @Bind("entityId") String entityId, @Bind("reasons") int reasons);
+
+    /** Remove the threads about an entity from the feed of a user or team that stopped owning or following it */
+    default void removeEntityThreads(String recipientId, String entityId, Reason reason) {
+      clearEntityThreads(recipientId, entityId, ~reason.getBit());
+      deleteEmpty(recipientId);
+    }
+
+    @SqlUpdate(
+        "UPDATE activity_inbox SET reasons = reasons & :keep WHERE recipientId = :recipientId "
+            + "AND threadId IN (SELECT id FROM thread_entity WHERE entityId = :entityId)")
+    void clearEntityThreads(
+        @Bind("recipientId") String recipientId, @Bind("entityId") String entityId, @Bind("keep") int keep);
+
+    @SqlUpdate("DELETE FROM activity_inbox WHERE recipientId = :recipientId AND reasons = 0")
+    void deleteEmpty(@Bind("recipientId") String recipientId);
+
+    /** Remove a reason from all the feeds a thread is in */
+    default void removeReason(String threadId, Reason reason) {
+      clearThread(threadId, ~reason.getBit());
+      deleteEmptyThread(threadId);
+    }
+
+    @SqlUpdate("UPDATE activity_inbox SET reasons = reasons & :keep WHERE threadId = :threadId")
+    void clearThread(@Bind("threadId") String threadId, @Bind("keep") int keep);
+
+    @SqlUpdate("DELETE FROM activity_inbox WHERE threadId = :threadId AND reasons = 0")
+    void deleteEmptyThread(@Bind("threadId") String threadId);
+
+    @SqlUpdate(
+        "UPDATE activity_inbox SET updatedAt = :updatedAt, resolved = :resolved, taskStatus = :taskStatus "
+            + "WHERE threadId = :threadId")
+    void updateThread(
+        @Bind("threadId") String threadId,
+        @Bind("updatedAt") long updatedAt,
         @Bind("resolved") boolean resolved,
-        @Bind("relation") int relation);
+        @Bind("taskStatus") TaskStatus taskStatus);
 
+    @SqlUpdate("DELETE FROM activity_inbox WHERE threadId = :threadId")
+    void deleteThread(@Bind("threadId") String threadId);
+
+    // All the rows of a thread have the same updatedAt, DISTINCT removes the thread found in several feeds
     @SqlQuery(
-        "SELECT json FROM thread_entity WHERE updatedAt > :before AND resolved = :resolved AND "
-            + "(:type IS NULL OR type = :type) AND id in ("
-            + "SELECT toFQN FROM field_relationship WHERE "
-            + "((fromType='user' AND fromFQN= :userName) OR "
-            + "(fromType='team' AND fromFQN IN (<teamNames>)))  AND toType='THREAD' AND relation= :relation) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listThreadsByMentionsBefore(
-        @Bind("userName") String userName,
-        @BindList("teamNames") List<String> teamNames,
-        @Bind("limit") int limit,
-        @Bind("before") long before,
+        "SELECT DISTINCT threadId, updatedAt FROM activity_inbox WHERE recipientId IN (<recipientIds>) "
+            + "AND (reasons & :reasons) <> 0 AND updatedAt > :before AND (:type IS NULL OR type = :type) "
+            + "AND (:resolved IS NULL OR resolved = :resolved) AND (:taskStatus IS NULL OR taskStatus = :taskStatus) "
+            + "ORDER BY updatedAt LIMIT :limit")
+    List<String> listBefore(
+        @BindList("recipientIds") List<String> recipientIds,
+        @Bind("reasons") int reasons,
         @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved,
-        @Bind("relation") int relation);
+        @Bind("resolved") Boolean resolved,
+        @Bind("taskStatus") TaskStatus taskStatus,
+        @Bind("limit") int limit,
+        @Bind("before") long before);
 
     @SqlQuery(
-        "SELECT json FROM thread_entity WHERE updatedAt < :after AND resolved = :resolved AND "
-            + "(:type IS NULL OR type = :type) AND id in ("
-            + "SELECT toFQN FROM field_relationship WHERE "
-            + "((fromType='user' AND fromFQN= :userName) OR "
-            + "(fromType='team' AND fromFQN IN (<teamNames>)))  AND toType='THREAD' AND relation= :relation) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listThreadsByMentionsAfter(
-        @Bind("userName") String userName,
-        @BindList("teamNames") List<String> teamNames,
-        @Bind("limit") int limit,
-        @Bind("after") long after,
+        "SELECT DISTINCT threadId, updatedAt FROM activity_inbox WHERE recipientId IN (<recipientIds>) "
+            + "AND (reasons & :reasons) <> 0 AND updatedAt < :after AND (:type IS NULL OR type = :type) "
+            + "AND (:resolved IS NULL OR resolved = :resolved) AND (:taskStatus IS NULL OR taskStatus = :taskStatus) "
+            + "ORDER BY updatedAt DESC LIMIT :limit")
+    List<String> listAfter(
+        @BindList("recipientIds") List<String> recipientIds,
+        @Bind("reasons") int reasons,
         @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved,
-        @Bind("relation") int relation);
+        @Bind("resolved") Boolean resolved,
+        @Bind("taskStatus") TaskStatus taskStatus,
+        @Bind("limit") int limit,
+        @Bind("after") long after);
 
     @SqlQuery(
-        "SELECT count(id) FROM thread_entity WHERE resolved = :resolved AND (:type IS NULL OR type = :type) AND id in ("
-            + "SELECT toFQN FROM field_relationship WHERE "
-            + "((fromType='user' AND fromFQN= :userName) OR "
-            + "(fromType='team' AND fromFQN IN (<teamNames>)))  AND toType='THREAD' AND relation= :relation) ")
-    int listCountThreadsByMentions(
-        @Bind("userName") String userName,
-        @BindList("teamNames") List<String> teamNames,
+        "SELECT te.entityLink, COUNT(DISTINCT te.id) count FROM activity_inbox ai "
+            + "JOIN thread_entity te ON te.id = ai.threadId WHERE ai.recipientId IN (<recipientIds>) "
+            + "AND (ai.reasons & :reasons) <> 0 AND (:type IS NULL OR ai.type = :type) AND ai.resolved = :resolved "
+            + "GROUP BY te.entityLink")
+    @RegisterRowMapper(FeedDAO.CountFieldMapper.class)
+    List<List<String>> listCountByEntityLink(
+        @BindList("recipientIds") List<String> recipientIds,
+        @Bind("reasons") int reasons,
         @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved,
-        @Bind("relation") int relation);
+        @Bind("resolved") boolean resolved);
 
-    class CountFieldMapper implements RowMapper<List<String>> {
-      @Override
-      public List<String> map(ResultSet rs, StatementContext ctx) throws SQLException {
-        return Arrays.asList(rs.getString("entityLink"), rs.getString("count"));
-      }
-    }
+    @SqlQuery(
+        "SELECT COUNT(DISTINCT threadId) FROM activity_inbox WHERE recipientId IN (<recipientIds>) "
+            + "AND (reasons & :reasons) <> 0 AND (:type IS NULL OR type = :type) "
+            + "AND (:resolved IS NULL OR resolved = :resolved) AND (:taskStatus IS NULL OR taskStatus = :taskStatus)")
+    int listCount(
+        @BindList("recipientIds") List<String> recipientIds,
+        @Bind("reasons") int reasons,
+        @Bind("type") ThreadType type,
+        @Bind("resolved") Boolean resolved,
+        @Bind("taskStatus") TaskStatus taskStatus);
   }
 
   interface FieldRelationshipDAO {
@@ -1823,6 +1934,11 @@ public interface CollectionDAO {
     default String getNameColumn() {
       return "fullyQualifiedName";
     }
+
+    @Override
+    default boolean supportsBinaryStorage() {
+      return true;
+    }
   }
 
   interface LocationDAO extends EntityDAO<Location> {
@@ -1865,7 +1981,7 @@ public interface CollectionDAO {
         "SELECT json FROM ("
             + "SELECT <nameColumn>, json FROM <table> WHERE "
             + "LEFT(:fqn, LENGTH(<nameColumn>)) = <nameColumn> AND "
-            + "<nameColumn> >= servicePrefix AND "
+            + "<nameColumn> >= :servicePrefix AND "
             + "<nameColumn> <= :fqn AND "
             + "<nameColumn> < :before "
             + "ORDER BY <nameColumn> DESC "
@@ -1958,6 +2074,14 @@ public interface CollectionDAO {
 
   @RegisterRowMapper(TagLabelMapper.class)
   interface TagUsageDAO {
+    /** Apply the tag label to the target and count the usage of the tag, if not applied already */
+    @Transaction
+    default void applyTag(int source, String tagFQN, String targetFQN, int labelType, int state) {
+      if (applyTagInternal(source, tagFQN, targetFQN, labelType, state) > 0) {
+        updateTagCounts(List.of(new TagUsageCount(source, tagFQN, 1)));
+      }
+    }
+
     @ConnectionAwareSqlUpdate(
         value =
             "INSERT IGNORE INTO tag_usage (source, tagFQN, targetFQN, labelType, state) VALUES (:source, :tagFQN, :targetFQN, :labelType, :state)",
@@ -1966,7 +2090,7 @@ public interface CollectionDAO {
         value =
             "INSERT INTO tag_usage (source, tagFQN, targetFQN, labelType, state) VALUES (:source, :tagFQN, :targetFQN, :labelType, :state) ON CONFLICT (source, tagFQN, targetFQN) DO NOTHING",
         connectionType = POSTGRES)
-    void applyTag(
+    int applyTagInternal(
         @Bind("source") int source,
         @Bind("tagFQN") String tagFQN,
         @Bind("targetFQN") String targetFQN,
@@ -1985,45 +2109,162 @@ public interface CollectionDAO {
     @SqlQuery("SELECT source, tagFQN, labelType, state FROM tag_usage WHERE targetFQN = :targetFQN ORDER BY tagFQN")
     List<TagLabel> getTagsInternal(@Bind("targetFQN") String targetFQN);
 
-    @SqlQuery(
-        "SELECT COUNT(*) FROM tag_usage "
-            + "WHERE (tagFQN LIKE CONCAT(:tagFqn, '.%') OR tagFQN = :tagFqn) "
-            + "AND source = :source")
-    int getTagCount(@Bind("source") int source, @Bind("tagFqn") String tagFqn);
+    /** Number of entities labeled with the tag or any of its children, read from the maintained usage counts */
+    default int getTagCount(int source, String tagFqn) {
+      return getTagCounts(source, List.of(tagFqn)).getOrDefault(tagFqn, 0);
+    }
+
+    /**
+     * Usage counts of a batch of tags, such as a page of tags being listed, read with a single query. The counts of the
+     * children of a tag are already rolled up into its count when labels are applied and removed.
+     */
+    default Map<String, Integer> getTagCounts(int source, List<String> tagFQNs) {
+      Map<String, Integer> counts = new HashMap<>();
+      tagFQNs.forEach(tagFQN -> counts.put(tagFQN, 0));
+      if (!tagFQNs.isEmpty()) {
+        listTagCounts(source, tagFQNs).forEach(count -> counts.put(count.getTagFQN(), count.getCount()));
+      }
+      return counts;
+    }
+
+    @SqlQuery("SELECT source, tagFQN, usageCount FROM tag_usage_count WHERE source = :source AND tagFQN IN (<tagFQNs>)")
+    @RegisterRowMapper(TagUsageCountMapper.class)
+    List<TagUsageCount> listTagCounts(@Bind("source") int source, @BindList("tagFQNs") List<String> tagFQNs);
+
+    @Transaction
+    default void deleteTagsByTarget(String targetFQN) {
+      List<TagUsageCount> removed = getUsagesByTarget(targetFQN);
+      deleteTagsByTargetInternal(targetFQN);
+      updateTagCounts(negate(removed));
+    }
 
     @SqlUpdate("DELETE FROM tag_usage where targetFQN = :targetFQN")
-    void deleteTagsByTarget(@Bind("targetFQN") String targetFQN);
+    void deleteTagsByTargetInternal(@Bind("targetFQN") String targetFQN);
+
+    @Transaction
+    default void deleteTagLabels(int source, String tagFQN) {
+      int removed = deleteTagLabelsInternal(source, tagFQN);
+      updateTagCounts(List.of(new TagUsageCount(source, tagFQN, -removed)));
+    }
 
     @SqlUpdate("DELETE FROM tag_usage where tagFQN = :tagFQN AND source = :source")
-    void deleteTagLabels(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+    int deleteTagLabelsInternal(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+
+    @Transaction
+    default void deleteTagLabelsByPrefix(int source, String tagFQN) {
+      List<TagUsageCount> removed = getUsagesByTagPrefix(source, tagFQN);
+      deleteTagLabelsByPrefixInternal(source, tagFQN);
+      updateTagCounts(negate(removed));
+      deleteTagCountsByPrefix(source, tagFQN);
+    }
 
     @SqlUpdate("DELETE FROM tag_usage where tagFQN LIKE CONCAT(:tagFQN, '.%') AND source = :source")
-    void deleteTagLabelsByPrefix(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+    void deleteTagLabelsByPrefixInternal(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+
+    @Transaction
+    default void deleteTagLabelsByTargetPrefix(String targetFQN) {
+      List<TagUsageCount> removed = getUsagesByTargetPrefix(targetFQN);
+      deleteTagLabelsByTargetPrefixInternal(targetFQN);
+      updateTagCounts(negate(removed));
+    }
 
     @SqlUpdate("DELETE FROM tag_usage where targetFQN LIKE CONCAT(:targetFQN, '%')")
-    void deleteTagLabelsByTargetPrefix(@Bind("targetFQN") String targetFQN);
+    void deleteTagLabelsByTargetPrefixInternal(@Bind("targetFQN") String targetFQN);
+
+    /**
+     * Rename the tagFQN from oldFQN to newFQN. The labels of the children tags are renamed in chunks by the {@link
+     * FqnRenameEngine}.
+     */
+    @Transaction
+    default void rename(String oldFQN, String newFQN) {
+      List<TagUsageCount> moved = getUsagesByTag(oldFQN);
+      renameInternal(oldFQN, newFQN);
+      moveTagCounts(moved, oldFQN, newFQN);
+    }
 
-    /** Update all the tagFQN starting with oldPrefix to start with newPrefix due to tag or glossary name change */
-    default void updateTagPrefix(String oldPrefix, String newPrefix) {
-      String update =
-          String.format(
-              "UPDATE tag_usage set tagFQN = REPLACE(tagFQN, '%s.', '%s.') WHERE tagFQN LIKE '%s.%%'",
-              escapeApostrophe(oldPrefix), escapeApostrophe(newPrefix), escape(oldPrefix));
-      updateTagPrefixInternal(update);
+    /**
+     * Apply the changes to the usage counts of the tags the labels are applied with, and roll them up into the counts
+     * of the parents of each tag, up to its classification or glossary. The count of a tag is deleted when it drops to
+     * zero.
+     */
+    default void updateTagCounts(List<TagUsageCount> deltas) {
+      Map<TagUsageCount, Integer> merged = new LinkedHashMap<>();
+      for (TagUsageCount delta : deltas) {
+        for (String fqn = delta.getTagFQN(); fqn != null; fqn = FullyQualifiedName.getParent(fqn)) {
+          merged.merge(new TagUsageCount(delta.getSource(), fqn, 0), delta.getCount(), Integer::sum);
+        }
+      }
+      merged.forEach(
+          (key, delta) -> {
+            if (delta != 0) {
+              updateTagCount(key.getSource(), key.getTagFQN(), delta);
+            }
+            if (delta < 0) {
+              deleteUnusedTagCount(key.getSource(), key.getTagFQN());
+            }
+          });
+    }
+
+    /** Move the usage counts of the renamed tags from the old prefix to the new one */
+    default void moveTagCounts(List<TagUsageCount> moved, String oldPrefix, String newPrefix) {
+      List<TagUsageCount> deltas = new ArrayList<>(negate(moved));
+      for (TagUsageCount count : moved) {
+        String newFQN = newPrefix + count.getTagFQN().substring(oldPrefix.length());
+        deltas.add(new TagUsageCount(count.getSource(), newFQN, count.getCount()));
+      }
+      updateTagCounts(deltas);
     }
 
-    default void rename(String oldFQN, String newFQN) {
-      renameInternal(oldFQN, newFQN); // First rename tagFQN from oldFQN to newFQN
-      updateTagPrefix(oldFQN, newFQN); // Rename all the tagFQN prefixes starting with the oldFQN to newFQN
+    static List<TagUsageCount> negate(List<TagUsageCount> counts) {
+      List<TagUsageCount> negated = new ArrayList<>();
+      counts.forEach(count -> negated.add(new TagUsageCount(count.getSource(), count.getTagFQN(), -count.getCount())));
+      return negated;
     }
 
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO tag_usage_count (source, tagFQN, usageCount) VALUES (:source, :tagFQN, :delta) "
+                + "ON DUPLICATE KEY UPDATE usageCount = usageCount + :delta",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO tag_usage_count (source, tagFQN, usageCount) VALUES (:source, :tagFQN, :delta) "
+                + "ON CONFLICT (source, tagFQN) DO UPDATE SET usageCount = tag_usage_count.usageCount + EXCLUDED.usageCount",
+        connectionType = POSTGRES)
+    void updateTagCount(@Bind("source") int source, @Bind("tagFQN") String tagFQN, @Bind("delta") int delta);
+
+    @SqlUpdate("DELETE FROM tag_usage_count WHERE source = :source AND tagFQN = :tagFQN AND usageCount <= 0")
+    void deleteUnusedTagCount(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+
+    @SqlUpdate("DELETE FROM tag_usage_count WHERE tagFQN LIKE CONCAT(:tagFQN, '.%') AND source = :source")
+    void deleteTagCountsByPrefix(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+
+    @SqlQuery(
+        "SELECT source, tagFQN, COUNT(*) usageCount FROM tag_usage WHERE tagFQN = :tagFQN GROUP BY source, tagFQN")
+    @RegisterRowMapper(TagUsageCountMapper.class)
+    List<TagUsageCount> getUsagesByTag(@Bind("tagFQN") String tagFQN);
+
+    @SqlQuery(
+        "SELECT source, tagFQN, COUNT(*) usageCount FROM tag_usage "
+            + "WHERE tagFQN LIKE CONCAT(:tagFQN, '.%') AND source = :source GROUP BY source, tagFQN")
+    @RegisterRowMapper(TagUsageCountMapper.class)
+    List<TagUsageCount> getUsagesByTagPrefix(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+
+    @SqlQuery(
+        "SELECT source, tagFQN, COUNT(*) usageCount FROM tag_usage WHERE targetFQN = :targetFQN GROUP BY source, tagFQN")
+    @RegisterRowMapper(TagUsageCountMapper.class)
+    List<TagUsageCount> getUsagesByTarget(@Bind("targetFQN") String targetFQN);
+
+    @SqlQuery(
+        "SELECT source, tagFQN, COUNT(*) usageCount FROM tag_usage WHERE targetFQN LIKE CONCAT(:targetFQN, '%') "
+            + "GROUP BY source, tagFQN")
+    @RegisterRowMapper(TagUsageCountMapper.class)
+    List<TagUsageCount> getUsagesByTargetPrefix(@Bind("targetFQN") String targetFQN);
+
     /** Rename the tagFQN */
     @SqlUpdate("Update tag_usage set tagFQN = :newFQN WHERE tagFQN = :oldFQN")
     void renameInternal(@Bind("oldFQN") String oldFQN, @Bind("newFQN") String newFQN);
 
-    @SqlUpdate("<update>")
-    void updateTagPrefixInternal(@Define("update") String update);
-
     class TagLabelMapper implements RowMapper<TagLabel> {
       @Override
       public TagLabel map(ResultSet r, StatementContext ctx) throws SQLException {
@@ -2034,6 +2275,23 @@ public interface CollectionDAO {
             .withTagFQN(r.getString("tagFQN"));
       }
     }
+
+    /** Usage count of a tag, or a change to it */
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    class TagUsageCount {
+      private final int source;
+      private final String tagFQN;
+      private final int count;
+    }
+
+    class TagUsageCountMapper implements RowMapper<TagUsageCount> {
+      @Override
+      public TagUsageCount map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new TagUsageCount(r.getInt("source"), r.getString("tagFQN"), r.getInt("usageCount"));
+      }
+    }
   }
 
   interface RoleDAO extends EntityDAO<Role> {
@@ -2664,6 +2922,44 @@ public interface CollectionDAO {
     @ConnectionAwareSqlQuery(value = "SELECT count(*) FROM user_entity WHERE email = :email", connectionType = MYSQL)
     @ConnectionAwareSqlQuery(value = "SELECT count(*) FROM user_entity WHERE email = :email", connectionType = POSTGRES)
     int checkEmailExists(@Bind("email") String email);
+
+    @SqlQuery("SELECT id, name, email FROM user_entity WHERE id IN (<ids>)")
+    @RegisterRowMapper(UserContactMapper.class)
+    List<UserContact> findContactsByIds(@BindList("ids") List<String> ids);
+
+    @SqlQuery("SELECT id, name, email FROM user_entity WHERE name IN (<names>)")
+    @RegisterRowMapper(UserContactMapper.class)
+    List<UserContact> findContactsByNames(@BindList("names") List<String> names);
+
+    /** Members of all the given teams, resolved with a single query instead of one lookup per team member */
+    @SqlQuery(
+        "SELECT DISTINCT ue.id, ue.name, ue.email FROM user_entity ue "
+            + "JOIN entity_relationship er ON er.toId = ue.id "
+            + "WHERE er.fromId IN (<teamIds>) AND er.fromEntity = 'team' AND er.toEntity = 'user' "
+            + "AND er.relation = :relation")
+    @RegisterRowMapper(UserContactMapper.class)
+    List<UserContact> findTeamMembers(@BindList("teamIds") List<String> teamIds, @Bind("relation") int relation);
+
+    @SqlQuery(
+        "SELECT DISTINCT ue.id, ue.name, ue.email FROM user_entity ue "
+            + "JOIN entity_relationship er ON er.toId = ue.id "
+            + "JOIN team_entity te ON te.id = er.fromId "
+            + "WHERE te.name IN (<teamNames>) AND er.fromEntity = 'team' AND er.toEntity = 'user' "
+            + "AND er.relation = :relation")
+    @RegisterRowMapper(UserContactMapper.class)
+    List<UserContact> findTeamMembersByTeamNames(
+        @BindList("teamNames") List<String> teamNames, @Bind("relation") int relation);
+
+    class UserContactMapper implements RowMapper<UserContact> {
+      @Override
+      public UserContact map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return UserContact.builder()
+            .id(UUID.fromString(rs.getString("id")))
+            .name(rs.getString("name"))
+            .email(rs.getString("email"))
+            .build();
+      }
+    }
   }
 
   interface ChangeEventDAO {
@@ -2700,6 +2996,318 @@ public interface CollectionDAO {
             + "eventType = :eventType AND eventTime >= :timestamp "
             + "ORDER BY eventTime ASC")
     List<String> listWithoutEntityFilter(@Bind("eventType") String eventType, @Bind("timestamp") long timestamp);
+
+    @SqlQuery(
+        "SELECT json FROM change_event WHERE entityType IN (<entityTypes>) AND eventTime > :after "
+            + "ORDER BY eventTime ASC")
+    List<String> listByEntityTypes(@BindList("entityTypes") List<String> entityTypes, @Bind("after") long after);
+  }
+
+  interface EmailOutboxDAO {
+    @SqlBatch(
+        "INSERT INTO email_outbox(id, recipient, subject, content, createdAt, attempts, nextAttemptAt) "
+            + "VALUES (:id, :recipient, :subject, :content, :createdAt, :attempts, :nextAttemptAt)")
+    void insert(@BindBean List<EmailOutboxRecord> records);
+
+    @SqlQuery("SELECT * FROM email_outbox WHERE nextAttemptAt <= :now ORDER BY nextAttemptAt LIMIT :limit")
+    @RegisterRowMapper(EmailOutboxMapper.class)
+    List<EmailOutboxRecord> listDue(@Bind("now") long now, @Bind("limit") int limit);
+
+    /**
+     * Emails of the receivers that are due or still in their digest window, leaving out the ones claimed for a retry
+     */
+    @SqlQuery(
+        "SELECT * FROM email_outbox WHERE recipient IN (<recipients>) AND (nextAttemptAt <= :now OR attempts = 0) "
+            + "ORDER BY createdAt")
+    @RegisterRowMapper(EmailOutboxMapper.class)
+    List<EmailOutboxRecord> listByRecipients(@BindList("recipients") List<String> recipients, @Bind("now") long now);
+
+    @SqlQuery("SELECT count(*) FROM email_outbox")
+    long count();
+
+    @SqlQuery("SELECT min(createdAt) FROM email_outbox")
+    Long oldestCreatedAt();
+
+    /**
+     * Claim the emails that are still due or never attempted, and return the ids of the claimed ones. Claiming pushes
+     * the next attempt out, so an email claimed by another server in the meantime no longer matches, and a crash while
+     * sending does not retry the emails immediately.
+     */
+    default List<String> claim(List<String> ids, long now, long nextAttemptAt) {
+      String claimId = UUID.randomUUID().toString();
+      return claimInternal(ids, now, nextAttemptAt, claimId) == 0 ? List.of() : listClaimed(ids, claimId);
+    }
+
+    @SqlUpdate(
+        "UPDATE email_outbox SET attempts = attempts + 1, nextAttemptAt = :nextAttemptAt, claimId = :claimId "
+            + "WHERE id IN (<ids>) AND (nextAttemptAt <= :now OR attempts = 0)")
+    int claimInternal(
+        @BindList("ids") List<String> ids,
+        @Bind("now") long now,
+        @Bind("nextAttemptAt") long nextAttemptAt,
+        @Bind("claimId") String claimId);
+
+    @SqlQuery("SELECT id FROM email_outbox WHERE id IN (<ids>) AND claimId = :claimId")
+    List<String> listClaimed(@BindList("ids") List<String> ids, @Bind("claimId") String claimId);
+
+    @SqlUpdate("DELETE FROM email_outbox WHERE id IN (<ids>)")
+    int delete(@BindList("ids") List<String> ids);
+
+    class EmailOutboxMapper implements RowMapper<EmailOutboxRecord> {
+      @Override
+      public EmailOutboxRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return EmailOutboxRecord.builder()
+            .id(rs.getString("id"))
+            .recipient(rs.getString("recipient"))
+            .subject(rs.getString("subject"))
+            .content(rs.getString("content"))
+            .createdAt(rs.getLong("createdAt"))
+            .attempts(rs.getInt("attempts"))
+            .nextAttemptAt(rs.getLong("nextAttemptAt"))
+            .build();
+      }
+    }
+  }
+
+  interface DataInsightRollupDAO {
+    @SqlQuery(
+        "SELECT json FROM data_insight_daily_rollup WHERE reportDataType = :reportDataType "
+            + "AND rollupDate >= :startDate AND rollupDate <= :endDate ORDER BY rollupDate")
+    List<String> listBetween(
+        @Bind("reportDataType") String reportDataType,
+        @Bind("startDate") long startDate,
+        @Bind("endDate") long endDate);
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO data_insight_daily_rollup(reportDataType, rollupDate, json) "
+                + "VALUES (:reportDataType, :rollupDate, :json) "
+                + "ON DUPLICATE KEY UPDATE json = :json",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO data_insight_daily_rollup(reportDataType, rollupDate, json) "
+                + "VALUES (:reportDataType, :rollupDate, (:json :: jsonb)) "
+                + "ON CONFLICT (reportDataType, rollupDate) DO UPDATE SET json = EXCLUDED.json",
+        connectionType = POSTGRES)
+    void upsert(
+        @Bind("reportDataType") String reportDataType, @Bind("rollupDate") long rollupDate, @Bind("json") String json);
+
+    @SqlUpdate(
+        "DELETE FROM data_insight_daily_rollup WHERE reportDataType = :reportDataType AND rollupDate = :rollupDate")
+    void delete(@Bind("reportDataType") String reportDataType, @Bind("rollupDate") long rollupDate);
+  }
+
+  interface SearchIndexCheckpointDAO {
+    @SqlQuery("SELECT json FROM search_index_checkpoint WHERE jobId = :jobId")
+    List<String> list(@Bind("jobId") String jobId);
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO search_index_checkpoint(jobId, entityType, partitionKey, json) "
+                + "VALUES (:jobId, :entityType, :partitionKey, :json) "
+                + "ON DUPLICATE KEY UPDATE json = :json",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO search_index_checkpoint(jobId, entityType, partitionKey, json) "
+                + "VALUES (:jobId, :entityType, :partitionKey, (:json :: jsonb)) "
+                + "ON CONFLICT (jobId, entityType, partitionKey) DO UPDATE SET json = EXCLUDED.json",
+        connectionType = POSTGRES)
+    void upsert(
+        @Bind("jobId") String jobId,
+        @Bind("entityType") String entityType,
+        @Bind("partitionKey") String partitionKey,
+        @Bind("json") String json);
+
+    @SqlUpdate("DELETE FROM search_index_checkpoint WHERE jobId = :jobId")
+    void deleteJob(@Bind("jobId") String jobId);
+  }
+
+  /** Codec the documents of each table with binary storage were last converted to by the EntityStorageConverter */
+  interface EntityStorageConversionDAO {
+    @SqlQuery("SELECT codec FROM entity_storage_conversion WHERE tableName = :tableName")
+    String getCodec(@Bind("tableName") String tableName);
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_storage_conversion(tableName, codec, updatedAt) "
+                + "VALUES (:tableName, :codec, :updatedAt) "
+                + "ON DUPLICATE KEY UPDATE codec = :codec, updatedAt = :updatedAt",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_storage_conversion(tableName, codec, updatedAt) "
+                + "VALUES (:tableName, :codec, :updatedAt) "
+                + "ON CONFLICT (tableName) DO UPDATE SET codec = EXCLUDED.codec, updatedAt = EXCLUDED.updatedAt",
+        connectionType = POSTGRES)
+    void upsert(@Bind("tableName") String tableName, @Bind("codec") String codec, @Bind("updatedAt") long updatedAt);
+  }
+
+  /** Chunks of the FQN prefix renames run by the FqnRenameEngine, and the progress of the rename jobs */
+  interface FqnRenameDAO {
+    @CreateSqlObject
+    TagUsageDAO tagUsageDAO();
+
+    @SqlQuery("SELECT json FROM fqn_rename_job WHERE status = :status")
+    List<String> listJobs(@Bind("status") String status);
+
+    @SqlQuery("SELECT json FROM fqn_rename_job ORDER BY updatedAt DESC LIMIT :limit")
+    List<String> listRecentJobs(@Bind("limit") int limit);
+
+    @SqlQuery("SELECT json FROM fqn_rename_job WHERE id = :id")
+    String findJob(@Bind("id") String id);
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO fqn_rename_job(id, owner, status, updatedAt, json) "
+                + "VALUES (:id, :owner, :status, :updatedAt, :json)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO fqn_rename_job(id, owner, status, updatedAt, json) "
+                + "VALUES (:id, :owner, :status, :updatedAt, (:json :: jsonb))",
+        connectionType = POSTGRES)
+    void insertJob(@BindBean FqnRenameJobRecord job);
+
+    /**
+     * Save the progress of a job. Returns 0 when the job is no longer owned by the server, which must stop running it.
+     */
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE fqn_rename_job SET status = :status, updatedAt = :updatedAt, json = :json "
+                + "WHERE id = :id AND owner = :owner",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE fqn_rename_job SET status = :status, updatedAt = :updatedAt, json = (:json :: jsonb) "
+                + "WHERE id = :id AND owner = :owner",
+        connectionType = POSTGRES)
+    int updateJob(@BindBean FqnRenameJobRecord job);
+
+    /**
+     * Take over a failed job, or a running job whose owner stopped saving its progress. Returns 0 when the job is owned
+     * by another server, or was taken over by another server first.
+     */
+    @SqlUpdate(
+        "UPDATE fqn_rename_job SET owner = :owner, status = :status, updatedAt = :now "
+            + "WHERE id = :id AND (status = :failedStatus OR updatedAt < :expiredBefore)")
+    int claimJob(
+        @Bind("id") String id,
+        @Bind("owner") String owner,
+        @Bind("status") String status,
+        @Bind("failedStatus") String failedStatus,
+        @Bind("now") long now,
+        @Bind("expiredBefore") long expiredBefore);
+
+    @SqlUpdate("DELETE FROM fqn_rename_job WHERE id = :id")
+    void deleteJob(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM fqn_rename_job WHERE status <> :status AND updatedAt < :before")
+    int deleteJobsBefore(@Bind("status") String activeStatus, @Bind("before") long before);
+
+    /** Number of rows of the table whose FQN matches the pattern, counting at most limit rows */
+    @SqlQuery("SELECT COUNT(*) FROM (SELECT 1 FROM <table> WHERE fullyQualifiedName LIKE :pattern LIMIT :limit) t")
+    int countDescendants(@Define("table") String table, @Bind("pattern") String pattern, @Bind("limit") int limit);
+
+    @SqlQuery("SELECT id FROM <table> WHERE fullyQualifiedName LIKE :pattern AND id > :after ORDER BY id LIMIT :limit")
+    List<String> listDescendantIds(
+        @Define("table") String table,
+        @Bind("pattern") String pattern,
+        @Bind("after") String after,
+        @Bind("limit") int limit);
+
+    @Transaction
+    default void renameEntityChunk(
+        String table, List<String> ids, String newPrefix, int suffixStart, FqnRenameJobRecord job) {
+      if (updateJob(job) == 0) {
+        throw new IllegalStateException(String.format("Rename job %s is owned by another server", job.getId()));
+      }
+      renameEntities(table, ids, newPrefix, suffixStart);
+    }
+
+    /** Replace the FQN prefix of the entities, keeping the part of the FQN starting at suffixStart */
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE <table> SET json = JSON_REPLACE(json, '$.fullyQualifiedName', "
+                + "CONCAT(:newPrefix, SUBSTRING(fullyQualifiedName, :suffixStart))) WHERE id IN (<ids>)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE <table> SET json = jsonb_set(json, '{fullyQualifiedName}', "
+                + "to_jsonb(CONCAT(:newPrefix, SUBSTRING(fullyQualifiedName, :suffixStart)))) WHERE id IN (<ids>)",
+        connectionType = POSTGRES)
+    void renameEntities(
+        @Define("table") String table,
+        @BindList("ids") List<String> ids,
+        @Bind("newPrefix") String newPrefix,
+        @Bind("suffixStart") int suffixStart);
+
+    @SqlQuery("SELECT COUNT(*) FROM (SELECT 1 FROM tag_usage WHERE tagFQN LIKE :pattern LIMIT :limit) t")
+    int countTagUsages(@Bind("pattern") String pattern, @Bind("limit") int limit);
+
+    // Renamed labels no longer match the pattern, so the next chunk is always the first rows left to rename
+    @SqlQuery("SELECT source, tagFQN, targetFQN FROM tag_usage WHERE tagFQN LIKE :pattern LIMIT :limit")
+    @RegisterRowMapper(TagUsageRowMapper.class)
+    List<TagUsageRow> listTagUsages(@Bind("pattern") String pattern, @Bind("limit") int limit);
+
+    /**
+     * Rename the tag labels and move their usage counts. The counts are moved for the labels actually renamed only, as
+     * labels listed in the chunk may have been removed or renamed since. Returns the number of labels renamed.
+     */
+    @Transaction
+    default int renameTagUsageChunk(List<TagUsageRow> rows, String oldPrefix, String newPrefix) {
+      int[] updated = renameTagUsages(rows);
+      Map<TagUsageDAO.TagUsageCount, Integer> moved = new LinkedHashMap<>();
+      int renamed = 0;
+      for (int i = 0; i < rows.size(); i++) {
+        if (updated[i] > 0) {
+          moved.merge(
+              new TagUsageDAO.TagUsageCount(rows.get(i).getSource(), rows.get(i).getTagFQN(), 0), 1, Integer::sum);
+          renamed++;
+        }
+      }
+      List<TagUsageDAO.TagUsageCount> counts = new ArrayList<>(moved.size());
+      moved.forEach((key, count) -> counts.add(new TagUsageDAO.TagUsageCount(key.getSource(), key.getTagFQN(), count)));
+      tagUsageDAO().moveTagCounts(counts, oldPrefix, newPrefix);
+      return renamed;
+    }
+
+    @SqlBatch(
+        "UPDATE tag_usage SET tagFQN = :newTagFQN "
+            + "WHERE source = :source AND tagFQN = :tagFQN AND targetFQN = :targetFQN")
+    int[] renameTagUsages(@BindBean List<TagUsageRow> rows);
+
+    @Getter
+    @Builder
+    @EqualsAndHashCode
+    class TagUsageRow {
+      private int source;
+      private String tagFQN;
+      private String targetFQN;
+      private String newTagFQN;
+    }
+
+    @Getter
+    @Builder
+    class FqnRenameJobRecord {
+      private String id;
+      private String owner;
+      private String status;
+      private long updatedAt;
+      private String json;
+    }
+
+    class TagUsageRowMapper implements RowMapper<TagUsageRow> {
+      @Override
+      public TagUsageRow map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return TagUsageRow.builder()
+            .source(rs.getInt("source"))
+            .tagFQN(rs.getString("tagFQN"))
+            .targetFQN(rs.getString("targetFQN"))
+            .build();
+      }
+    }
   }
 
   interface TypeEntityDAO extends EntityDAO<Type> {
@@ -2991,6 +3599,184 @@ public interface CollectionDAO {
     }
   }
 
+  /** Latest result of each test case, with the test suite and the entity the test case belongs to */
+  interface TestCaseLatestResultDAO {
+    @CreateSqlObject
+    EntityExtensionTimeSeriesDAO entityExtensionTimeSeriesDao();
+
+    /**
+     * Add a result to the time series of a test case, or replace the result at the same timestamp, and update the
+     * latest result of the test case, in one transaction. Returns the replaced result.
+     */
+    @Transaction
+    default String addResult(
+        String testCaseId, String testSuiteId, String entityFQN, String testCaseFQN, TestCaseResult result)
+        throws IOException {
+      String json = JsonUtils.pojoToJson(result);
+      String extension = TestCaseRepository.TESTCASE_RESULT_EXTENSION;
+      String stored =
+          entityExtensionTimeSeriesDao().getExtensionAtTimestamp(testCaseFQN, extension, result.getTimestamp());
+      if (stored != null) {
+        entityExtensionTimeSeriesDao().update(testCaseFQN, extension, json, result.getTimestamp());
+      } else {
+        entityExtensionTimeSeriesDao().insert(testCaseFQN, extension, "testCaseResult", json);
+      }
+      updateLatestResult(testCaseId, testSuiteId, entityFQN, testCaseFQN);
+      return stored;
+    }
+
+    /**
+     * Delete the result of a test case at a timestamp and update the latest result of the test case, in one
+     * transaction. Returns the deleted result, or null when there is no result at the timestamp.
+     */
+    @Transaction
+    default String deleteResult(
+        String testCaseId, String testSuiteId, String entityFQN, String testCaseFQN, long timestamp)
+        throws IOException {
+      String extension = TestCaseRepository.TESTCASE_RESULT_EXTENSION;
+      String stored = entityExtensionTimeSeriesDao().getExtensionAtTimestamp(testCaseFQN, extension, timestamp);
+      if (stored != null) {
+        entityExtensionTimeSeriesDao().deleteAtTimestamp(testCaseFQN, extension, timestamp);
+        updateLatestResult(testCaseId, testSuiteId, entityFQN, testCaseFQN);
+      }
+      return stored;
+    }
+
+    /** Results can be added out of order, so the latest one is read back from the time series */
+    default void updateLatestResult(String testCaseId, String testSuiteId, String entityFQN, String testCaseFQN)
+        throws IOException {
+      String json =
+          entityExtensionTimeSeriesDao().getLatestExtension(testCaseFQN, TestCaseRepository.TESTCASE_RESULT_EXTENSION);
+      if (json == null) {
+        delete(testCaseId);
+        return;
+      }
+      TestCaseResult latest = JsonUtils.readValue(json, TestCaseResult.class);
+      upsert(testCaseId, testSuiteId, entityFQN, latest.getTimestamp(), latest.getTestCaseStatus(), json);
+    }
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO test_case_latest_result(testCaseId, testSuiteId, entityFQN, timestamp, testCaseStatus, json) "
+                + "VALUES (:testCaseId, :testSuiteId, :entityFQN, :timestamp, :testCaseStatus, :json) "
+                + "ON DUPLICATE KEY UPDATE testSuiteId = :testSuiteId, entityFQN = :entityFQN, "
+                + "timestamp = :timestamp, testCaseStatus = :testCaseStatus, json = :json",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO test_case_latest_result(testCaseId, testSuiteId, entityFQN, timestamp, testCaseStatus, json) "
+                + "VALUES (:testCaseId, :testSuiteId, :entityFQN, :timestamp, :testCaseStatus, (:json :: jsonb)) "
+                + "ON CONFLICT (testCaseId) DO UPDATE SET testSuiteId = EXCLUDED.testSuiteId, "
+                + "entityFQN = EXCLUDED.entityFQN, timestamp = EXCLUDED.timestamp, "
+                + "testCaseStatus = EXCLUDED.testCaseStatus, json = EXCLUDED.json",
+        connectionType = POSTGRES)
+    void upsert(
+        @Bind("testCaseId") String testCaseId,
+        @Bind("testSuiteId") String testSuiteId,
+        @Bind("entityFQN") String entityFQN,
+        @Bind("timestamp") long timestamp,
+        @Bind("testCaseStatus") TestCaseStatus testCaseStatus,
+        @Bind("json") String json);
+
+    /** Update the test suite and the entity of a test case moved to another test suite or entity */
+    @SqlUpdate(
+        "UPDATE test_case_latest_result SET testSuiteId = :testSuiteId, entityFQN = :entityFQN "
+            + "WHERE testCaseId = :testCaseId")
+    void updateTestCase(
+        @Bind("testCaseId") String testCaseId,
+        @Bind("testSuiteId") String testSuiteId,
+        @Bind("entityFQN") String entityFQN);
+
+    @SqlUpdate("DELETE FROM test_case_latest_result WHERE testCaseId = :testCaseId")
+    void delete(@Bind("testCaseId") String testCaseId);
+
+    @SqlQuery("SELECT json FROM test_case_latest_result WHERE testCaseId = :testCaseId")
+    String findById(@Bind("testCaseId") String testCaseId);
+
+    @SqlQuery(
+        "SELECT r.testCaseId, t.fullyQualifiedName, r.json FROM test_case_latest_result r "
+            + "JOIN test_case t ON t.id = r.testCaseId WHERE r.testCaseId IN (<testCaseIds>)")
+    @RegisterRowMapper(TestCaseLatestResultMapper.class)
+    List<TestCaseLatestResultRecord> listByIds(@BindList("testCaseIds") List<String> testCaseIds);
+
+    @SqlQuery(
+        "SELECT r.testCaseId, t.fullyQualifiedName, r.json FROM test_case_latest_result r "
+            + "JOIN test_case t ON t.id = r.testCaseId "
+            + "WHERE r.testSuiteId = :testSuiteId AND t.deleted = FALSE")
+    @RegisterRowMapper(TestCaseLatestResultMapper.class)
+    List<TestCaseLatestResultRecord> listByTestSuite(@Bind("testSuiteId") String testSuiteId);
+
+    @SqlQuery(
+        "SELECT r.testCaseId, t.fullyQualifiedName, r.json FROM test_case_latest_result r "
+            + "JOIN test_case t ON t.id = r.testCaseId "
+            + "WHERE r.entityFQN = :entityFQN AND t.deleted = FALSE")
+    @RegisterRowMapper(TestCaseLatestResultMapper.class)
+    List<TestCaseLatestResultRecord> listByEntity(@Bind("entityFQN") String entityFQN);
+
+    @Getter
+    @Builder
+    class TestCaseLatestResultRecord {
+      private String testCaseId;
+      private String fullyQualifiedName;
+      private String json;
+    }
+
+    class TestCaseLatestResultMapper implements RowMapper<TestCaseLatestResultRecord> {
+      @Override
+      public TestCaseLatestResultRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return TestCaseLatestResultRecord.builder()
+            .testCaseId(rs.getString("testCaseId"))
+            .fullyQualifiedName(rs.getString("fullyQualifiedName"))
+            .json(rs.getString("json"))
+            .build();
+      }
+    }
+  }
+
+  /** Status of the latest run of each ingestion pipeline */
+  interface PipelineLatestStatusDAO {
+    /** Store a status unless the status of a later run is already stored */
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO ingestion_pipeline_latest_status(pipelineId, timestamp, json) "
+                + "VALUES (:pipelineId, :timestamp, :json) "
+                + "ON DUPLICATE KEY UPDATE json = IF(:timestamp >= timestamp, :json, json), "
+                + "timestamp = GREATEST(timestamp, :timestamp)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO ingestion_pipeline_latest_status(pipelineId, timestamp, json) "
+                + "VALUES (:pipelineId, :timestamp, (:json :: jsonb)) "
+                + "ON CONFLICT (pipelineId) DO UPDATE SET timestamp = EXCLUDED.timestamp, json = EXCLUDED.json "
+                + "WHERE ingestion_pipeline_latest_status.timestamp <= EXCLUDED.timestamp",
+        connectionType = POSTGRES)
+    void upsert(@Bind("pipelineId") String pipelineId, @Bind("timestamp") long timestamp, @Bind("json") String json);
+
+    @SqlQuery("SELECT json FROM ingestion_pipeline_latest_status WHERE pipelineId = :pipelineId")
+    String findById(@Bind("pipelineId") String pipelineId);
+
+    @SqlQuery("SELECT pipelineId, json FROM ingestion_pipeline_latest_status WHERE pipelineId IN (<pipelineIds>)")
+    @RegisterRowMapper(PipelineStatusMapper.class)
+    List<PipelineStatusRecord> listByIds(@BindList("pipelineIds") List<String> pipelineIds);
+
+    @SqlUpdate("DELETE FROM ingestion_pipeline_latest_status WHERE pipelineId = :pipelineId")
+    void delete(@Bind("pipelineId") String pipelineId);
+
+    @Getter
+    @Builder
+    class PipelineStatusRecord {
+      private String pipelineId;
+      private String json;
+    }
+
+    class PipelineStatusMapper implements RowMapper<PipelineStatusRecord> {
+      @Override
+      public PipelineStatusRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return PipelineStatusRecord.builder().pipelineId(rs.getString("pipelineId")).json(rs.getString("json")).build();
+      }
+    }
+  }
+
   interface EntityExtensionTimeSeriesDAO {
     enum OrderBy {
       ASC,
@@ -3013,6 +3799,31 @@ public interface CollectionDAO {
         @Bind("jsonSchema") String jsonSchema,
         @Bind("json") String json);
 
+    /** Insert all the rows in a single statement */
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO entity_extension_time_series(entityFQN, extension, jsonSchema, json) VALUES <rows>",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_extension_time_series(entityFQN, extension, jsonSchema, json) "
+                + "SELECT entityFQN, extension, jsonSchema, (json :: jsonb) "
+                + "FROM (VALUES <rows>) AS v(entityFQN, extension, jsonSchema, json)",
+        connectionType = POSTGRES)
+    void insertBatch(
+        @BindBeanList(
+                value = "rows",
+                propertyNames = {"entityFQN", "extension", "jsonSchema", "json"})
+            List<ExtensionTimeSeriesRow> rows);
+
+    @Getter
+    @Builder
+    class ExtensionTimeSeriesRow {
+      private String entityFQN;
+      private String extension;
+      private String jsonSchema;
+      private String json;
+    }
+
     @ConnectionAwareSqlUpdate(
         value =
             "UPDATE entity_extension_time_series set json = :json where entityFQN=:entityFQN and extension=:extension and timestamp=:timestamp",
@@ -3098,6 +3909,12 @@ public interface CollectionDAO {
     void deleteBeforeExclusive(
         @Bind("entityFQN") String entityFQN, @Bind("extension") String extension, @Bind("timestamp") Long timestamp);
 
+    @SqlUpdate(
+        "DELETE FROM entity_extension_time_series WHERE entityFQN = :entityFQN AND jsonSchema = :jsonSchema "
+            + "AND timestamp < :timestamp")
+    void deleteBeforeExclusiveByFQN(
+        @Bind("entityFQN") String entityFQN, @Bind("jsonSchema") String jsonSchema, @Bind("timestamp") long timestamp);
+
     @SqlQuery(
         "SELECT json FROM entity_extension_time_series WHERE entityFQN = :entityFQN AND jsonSchema = :jsonSchema "
             + "ORDER BY timestamp DESC LIMIT 1")
@@ -3112,6 +3929,10 @@ public interface CollectionDAO {
         @Bind("startTs") Long startTs,
         @Bind("endTs") long endTs);
 
+    @SqlQuery(
+        "SELECT min(timestamp) FROM entity_extension_time_series where entityFQN = :entityFQN and extension = :extension")
+    Long getFirstTimestamp(@Bind("entityFQN") String entityFQN, @Bind("extension") String extension);
+
     @SqlQuery(
         "SELECT json FROM entity_extension_time_series where entityFQN = :entityFQN and extension = :extension "
             + " AND timestamp >= :startTs and timestamp <= :endTs ORDER BY timestamp DESC")
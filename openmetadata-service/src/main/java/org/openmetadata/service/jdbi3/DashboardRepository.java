@@ -114,7 +114,7 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
     // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
     dashboard.withOwner(null).withHref(null).withTags(null).withService(null);
 
-    store(dashboard, update);
+    store(dashboard, getServiceColumns(service), update);
 
     // Restore the relationships
     dashboard.withOwner(owner).withTags(tags).withService(service);
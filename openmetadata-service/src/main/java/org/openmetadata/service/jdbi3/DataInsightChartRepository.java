@@ -110,6 +110,14 @@ public class DataInsightChartRepository extends EntityRepository<DataInsightChar
     storeOwner(entity, entity.getOwner());
   }
 
+  public static boolean supportsTeamFilter(String dataInsightChartName) {
+    return SUPPORTS_TEAM_FILTER.contains(dataInsightChartName);
+  }
+
+  public static boolean supportsTierFilter(String dataInsightChartName) {
+    return SUPPORTS_TIER_FILTER.contains(dataInsightChartName);
+  }
+
   public SearchSourceBuilder buildQueryFilter(
       Long startTs, Long endTs, String tier, String team, String dataInsightChartName) {
 
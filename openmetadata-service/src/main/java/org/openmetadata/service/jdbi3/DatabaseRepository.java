@@ -71,7 +71,7 @@ public class DatabaseRepository extends EntityRepository<Database> {
     // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
     database.withOwner(null).withService(null).withHref(null).withTags(null);
 
-    store(database, update);
+    store(database, getServiceColumns(service), update);
 
     // Restore the relationships
     database.withOwner(owner).withService(service).withTags(tags);
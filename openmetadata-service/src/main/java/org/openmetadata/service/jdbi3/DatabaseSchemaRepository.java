@@ -18,7 +18,9 @@ import static org.openmetadata.service.Entity.FIELD_OWNER;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.openmetadata.schema.entity.data.Database;
 import org.openmetadata.schema.entity.data.DatabaseSchema;
 import org.openmetadata.schema.type.EntityReference;
@@ -66,7 +68,11 @@ public class DatabaseSchemaRepository extends EntityRepository<DatabaseSchema> {
     // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
     schema.withOwner(null).withService(null).withHref(null);
 
-    store(schema, update);
+    Map<String, String> parentColumns = new HashMap<>(getServiceColumns(service));
+    if (schema.getDatabase() != null) {
+      parentColumns.put(ListFilter.DATABASE_ID_COLUMN, schema.getDatabase().getId().toString());
+    }
+    store(schema, parentColumns, update);
     // Restore the relationships
     schema.withOwner(owner).withService(service);
   }
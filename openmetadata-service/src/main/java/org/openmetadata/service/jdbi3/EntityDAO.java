@@ -14,20 +14,33 @@
 package org.openmetadata.service.jdbi3;
 
 import static org.openmetadata.service.exception.CatalogExceptionMessage.entityNotFound;
-import static org.openmetadata.service.jdbi3.ListFilter.escape;
-import static org.openmetadata.service.jdbi3.ListFilter.escapeApostrophe;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.SneakyThrows;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.result.UnableToProduceResultException;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Include;
@@ -52,6 +65,14 @@ public interface EntityDAO<T extends EntityInterface> {
     return true;
   }
 
+  /**
+   * Tables with a jsonBlob column store their documents with the active {@link EntityStorageCodec}. Only tables whose
+   * json column is not queried beyond its generated columns can support it.
+   */
+  default boolean supportsBinaryStorage() {
+    return false;
+  }
+
   /** Common queries for all entities implemented here. Do not override. */
   @ConnectionAwareSqlUpdate(value = "INSERT INTO <table> (json) VALUES (:json)", connectionType = MYSQL)
   @ConnectionAwareSqlUpdate(value = "INSERT INTO <table> (json) VALUES (:json :: jsonb)", connectionType = POSTGRES)
@@ -63,38 +84,50 @@ public interface EntityDAO<T extends EntityInterface> {
       connectionType = POSTGRES)
   void update(@Define("table") String table, @Bind("id") String id, @Bind("json") String json);
 
-  default void updateFqn(String oldPrefix, String newPrefix) {
-    LOG.info("Updating FQN for {} from {} to {}", getTableName(), oldPrefix, newPrefix);
-    if (!getNameColumn().equals("fullyQualifiedName")) {
-      return;
-    }
-    String mySqlUpdate =
-        String.format(
-            "UPDATE %s SET json = "
-                + "JSON_REPLACE(json, '$.fullyQualifiedName', REGEXP_REPLACE(fullyQualifiedName, '^%s\\.', '%s.')) "
-                + "WHERE fullyQualifiedName LIKE '%s.%%'",
-            getTableName(), escape(oldPrefix), escapeApostrophe(newPrefix), escape(oldPrefix));
-
-    String postgresUpdate =
-        String.format(
-            "UPDATE %s SET json = "
-                + "REPLACE(json::text, '\"fullyQualifiedName\": \"%s.', "
-                + "'\"fullyQualifiedName\": \"%s.')::jsonb "
-                + "WHERE fullyQualifiedName LIKE '%s.%%'",
-            getTableName(), escapeApostrophe(oldPrefix), escapeApostrophe(newPrefix), escape(oldPrefix));
-    updateFqnInternal(mySqlUpdate, postgresUpdate);
-  }
-
-  @ConnectionAwareSqlUpdate(value = "<mySqlUpdate>", connectionType = MYSQL)
-  @ConnectionAwareSqlUpdate(value = "<postgresUpdate>", connectionType = POSTGRES)
-  void updateFqnInternal(@Define("mySqlUpdate") String mySqlUpdate, @Define("postgresUpdate") String postgresUpdate);
-
-  @SqlQuery("SELECT json FROM <table> WHERE id = :id <cond>")
-  String findById(@Define("table") String table, @Bind("id") String id, @Define("cond") String cond);
-
-  @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> = :name <cond>")
+  @ConnectionAwareSqlUpdate(
+      value = "INSERT INTO <table> (json, <columns>) VALUES (:json, <values>)",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value = "INSERT INTO <table> (json, <columns>) VALUES ((:json :: jsonb), <values>)",
+      connectionType = POSTGRES)
+  void insertWithColumns(
+      @Define("table") String table,
+      @Bind("json") String json,
+      @Define("columns") String columns,
+      @Define("values") String values,
+      @BindMap Map<String, Object> columnValues);
+
+  @ConnectionAwareSqlUpdate(
+      value = "UPDATE <table> SET json = :json, <assignments> WHERE id = :id",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value = "UPDATE <table> SET json = (:json :: jsonb), <assignments> WHERE id = :id",
+      connectionType = POSTGRES)
+  void updateWithColumns(
+      @Define("table") String table,
+      @Bind("id") String id,
+      @Bind("json") String json,
+      @Define("assignments") String assignments,
+      @BindMap Map<String, Object> columnValues);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE id = :id <cond>")
+  @RegisterRowMapper(EntityJsonMapper.class)
+  String findById(
+      @Define("table") String table,
+      @Define("jsonColumns") String jsonColumns,
+      @Bind("id") String id,
+      @Define("cond") String cond);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE id IN (<ids>)")
+  @RegisterRowMapper(EntityJsonMapper.class)
+  List<String> findByIds(
+      @Define("table") String table, @Define("jsonColumns") String jsonColumns, @BindList("ids") List<String> ids);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE <nameColumn> = :name <cond>")
+  @RegisterRowMapper(EntityJsonMapper.class)
   String findByName(
       @Define("table") String table,
+      @Define("jsonColumns") String jsonColumns,
       @Define("nameColumn") String nameColumn,
       @Bind("name") String name,
       @Define("cond") String cond);
@@ -103,30 +136,66 @@ public interface EntityDAO<T extends EntityInterface> {
   int listCount(@Define("table") String table, @Define("nameColumn") String nameColumn, @Define("cond") String cond);
 
   @SqlQuery(
-      "SELECT json FROM ("
-          + "SELECT <nameColumn>, json FROM <table> <cond> AND "
+      "SELECT <jsonColumns> FROM ("
+          + "SELECT <nameColumn>, <jsonColumns> FROM <table> <cond> AND "
           + "<nameColumn> < :before "
           + // Pagination by entity fullyQualifiedName or name (when entity does not have fqn)
           "ORDER BY <nameColumn> DESC "
           + // Pagination ordering by entity fullyQualifiedName or name (when entity does not have fqn)
           "LIMIT :limit"
           + ") last_rows_subquery ORDER BY <nameColumn>")
+  @RegisterRowMapper(EntityJsonMapper.class)
   List<String> listBefore(
       @Define("table") String table,
+      @Define("jsonColumns") String jsonColumns,
       @Define("nameColumn") String nameColumn,
       @Define("cond") String cond,
       @Bind("limit") int limit,
       @Bind("before") String before);
 
   @SqlQuery(
-      "SELECT json FROM <table> <cond> AND " + "<nameColumn> > :after " + "ORDER BY <nameColumn> " + "LIMIT :limit")
+      "SELECT <jsonColumns> FROM <table> <cond> AND "
+          + "<nameColumn> > :after "
+          + "ORDER BY <nameColumn> "
+          + "LIMIT :limit")
+  @RegisterRowMapper(EntityJsonMapper.class)
   List<String> listAfter(
       @Define("table") String table,
+      @Define("jsonColumns") String jsonColumns,
       @Define("nameColumn") String nameColumn,
       @Define("cond") String cond,
       @Bind("limit") int limit,
       @Bind("after") String after);
 
+  @SqlQuery(
+      "SELECT <jsonColumns> FROM <table> "
+          + "WHERE id >= :lowerBound AND id < :upperBound AND id > :after <cond> ORDER BY id LIMIT :limit")
+  @RegisterRowMapper(EntityJsonMapper.class)
+  List<String> listAfterInIdRange(
+      @Define("table") String table,
+      @Define("jsonColumns") String jsonColumns,
+      @Bind("lowerBound") String lowerBound,
+      @Bind("upperBound") String upperBound,
+      @Bind("after") String after,
+      @Define("cond") String cond,
+      @Bind("limit") int limit);
+
+  /** List the ids of the documents not stored with the active codec, in id order, without locking them */
+  @SqlQuery("SELECT id FROM <table> WHERE id > :after AND <formatCondition> ORDER BY id LIMIT :limit")
+  List<String> listIdsToConvert(
+      @Define("table") String table,
+      @Define("formatCondition") String formatCondition,
+      @Bind("after") String after,
+      @Bind("limit") int limit);
+
+  /** Lock and list the documents of the given ids that are still not stored with the active codec */
+  @SqlQuery("SELECT json, jsonBlob FROM <table> WHERE id IN (<ids>) AND <formatCondition> FOR UPDATE")
+  @RegisterRowMapper(EntityJsonMapper.class)
+  List<String> listToConvert(
+      @Define("table") String table,
+      @Define("formatCondition") String formatCondition,
+      @BindList("ids") List<String> ids);
+
   @SqlQuery("SELECT EXISTS (SELECT * FROM <table> WHERE id = :id)")
   boolean exists(@Define("table") String table, @Bind("id") String id);
 
@@ -138,15 +207,74 @@ public interface EntityDAO<T extends EntityInterface> {
 
   /** Default methods that interfaces with implementation. Don't override */
   default void insert(EntityInterface entity) throws JsonProcessingException {
-    insert(getTableName(), JsonUtils.pojoToJson(entity));
+    insert(entity, Collections.emptyMap());
+  }
+
+  /** Insert the entity along with the values of explicitly maintained columns, such as the parent columns */
+  default void insert(EntityInterface entity, Map<String, String> columnValues) throws JsonProcessingException {
+    Map<String, Object> columns = new LinkedHashMap<>(columnValues);
+    String json = encode(supportsBinaryStorage(), JsonUtils.pojoToJson(entity), columns);
+    if (columns.isEmpty()) {
+      insert(getTableName(), json);
+      return;
+    }
+    String names = String.join(", ", columns.keySet());
+    String values =
+        columns.entrySet().stream()
+            .map(column -> column.getValue() == null ? "NULL" : ":" + column.getKey())
+            .collect(Collectors.joining(", "));
+    insertWithColumns(getTableName(), json, names, values, withoutNulls(columns));
   }
 
   default void update(UUID id, String json) {
-    update(getTableName(), id.toString(), json);
+    update(id.toString(), json, Collections.emptyMap());
   }
 
   default void update(EntityInterface entity) throws JsonProcessingException {
-    update(getTableName(), entity.getId().toString(), JsonUtils.pojoToJson(entity));
+    update(entity, Collections.emptyMap());
+  }
+
+  /** Update the entity along with the values of explicitly maintained columns, such as the parent columns */
+  default void update(EntityInterface entity, Map<String, String> columnValues) throws JsonProcessingException {
+    update(entity.getId().toString(), JsonUtils.pojoToJson(entity), columnValues);
+  }
+
+  default void update(String id, String json, Map<String, String> columnValues) {
+    Map<String, Object> columns = new LinkedHashMap<>(columnValues);
+    json = encode(supportsBinaryStorage(), json, columns);
+    if (columns.isEmpty()) {
+      update(getTableName(), id, json);
+      return;
+    }
+    String assignments =
+        columns.entrySet().stream()
+            .map(column -> column.getKey() + " = " + (column.getValue() == null ? "NULL" : ":" + column.getKey()))
+            .collect(Collectors.joining(", "));
+    updateWithColumns(getTableName(), id, json, assignments, withoutNulls(columns));
+  }
+
+  /**
+   * Encode the document with the active codec when the table supports binary storage. Adds the encoded document to the
+   * columns and returns the part of the document stored in the json column.
+   */
+  @SneakyThrows
+  private static String encode(boolean binary, String json, Map<String, Object> columns) {
+    if (!binary) {
+      return json;
+    }
+    byte[] blob = EntityStorageCodec.getActive().encode(json);
+    columns.put("jsonBlob", blob);
+    return blob == null ? json : EntityStorageCodec.getIndexedJson(json);
+  }
+
+  private static Map<String, Object> withoutNulls(Map<String, Object> columns) {
+    Map<String, Object> values = new LinkedHashMap<>(columns);
+    values.values().removeIf(Objects::isNull);
+    return values;
+  }
+
+  default String getJsonColumns() {
+    return supportsBinaryStorage() ? "json, jsonBlob" : "json";
   }
 
   default String getCondition(Include include) {
@@ -164,7 +292,7 @@ public interface EntityDAO<T extends EntityInterface> {
   }
 
   default T findEntityById(UUID id, Include include) throws IOException {
-    return jsonToEntity(findById(getTableName(), id.toString(), getCondition(include)), id.toString());
+    return jsonToEntity(findJsonById(id, include), id.toString());
   }
 
   default T findEntityById(UUID id) throws IOException {
@@ -177,7 +305,7 @@ public interface EntityDAO<T extends EntityInterface> {
 
   @SneakyThrows
   default T findEntityByName(String fqn, Include include) {
-    return jsonToEntity(findByName(getTableName(), getNameColumn(), fqn, getCondition(include)), fqn);
+    return jsonToEntity(findJsonByFqn(fqn, include), fqn);
   }
 
   default T jsonToEntity(String json, String identity) throws IOException {
@@ -210,12 +338,28 @@ public interface EntityDAO<T extends EntityInterface> {
     return findEntityByName(fqn, include).getEntityReference();
   }
 
+  /** References of the entities with the given ids, deleted ones included, found with a single query */
+  default List<EntityReference> findEntityReferencesByIds(List<String> ids) throws IOException {
+    List<EntityReference> refs = new ArrayList<>(ids.size());
+    for (String json : findByIds(getTableName(), getJsonColumns(), ids)) {
+      refs.add(JsonUtils.readValue(json, getEntityClass()).getEntityReference());
+    }
+    return refs;
+  }
+
   default String findJsonById(UUID id, Include include) {
-    return findById(getTableName(), id.toString(), getCondition(include));
+    return findById(getTableName(), getJsonColumns(), id.toString(), getCondition(include));
   }
 
   default String findJsonByFqn(String fqn, Include include) {
-    return findByName(getTableName(), getNameColumn(), fqn, getCondition(include));
+    return findByName(getTableName(), getJsonColumns(), getNameColumn(), fqn, getCondition(include));
+  }
+
+  /** List entities by id in the key range [lowerBound, upperBound) */
+  default List<String> listAfterInIdRange(
+      String lowerBound, String upperBound, String after, Include include, int limit) {
+    return listAfterInIdRange(
+        getTableName(), getJsonColumns(), lowerBound, upperBound, after, getCondition(include), limit);
   }
 
   default int listCount(ListFilter filter) {
@@ -225,13 +369,36 @@ public interface EntityDAO<T extends EntityInterface> {
   default List<String> listBefore(ListFilter filter, int limit, String before) {
     // Quoted name is stored in fullyQualifiedName column and not in the name column
     before = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(before) : before;
-    return listBefore(getTableName(), getNameColumn(), filter.getCondition(), limit, before);
+    return listBefore(getTableName(), getJsonColumns(), getNameColumn(), filter.getCondition(), limit, before);
   }
 
   default List<String> listAfter(ListFilter filter, int limit, String after) {
     // Quoted name is stored in fullyQualifiedName column and not in the name column
     after = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(after) : after;
-    return listAfter(getTableName(), getNameColumn(), filter.getCondition(), limit, after);
+    return listAfter(getTableName(), getJsonColumns(), getNameColumn(), filter.getCondition(), limit, after);
+  }
+
+  /** Ids of the next chunk of the documents stored in another format than the active codec */
+  default List<String> listIdsToConvert(String after, int limit) {
+    return listIdsToConvert(getTableName(), getFormatCondition(), after, limit);
+  }
+
+  /**
+   * Rewrite the documents of the given ids that are stored in another format than the active codec. Only these rows are
+   * locked until they are rewritten, so that concurrent updates are not overwritten. Returns the number of rewritten
+   * documents.
+   */
+  @Transaction
+  default int convertChunk(List<String> ids) throws IOException {
+    List<String> jsons = listToConvert(getTableName(), getFormatCondition(), ids);
+    for (String json : jsons) {
+      update(JsonUtils.readTree(json).get("id").asText(), json, Collections.emptyMap());
+    }
+    return jsons.size();
+  }
+
+  private static String getFormatCondition() {
+    return EntityStorageCodec.getActive() == EntityStorageCodec.JSON ? "jsonBlob IS NOT NULL" : "jsonBlob IS NULL";
   }
 
   default void exists(UUID id) {
@@ -256,4 +423,20 @@ public interface EntityDAO<T extends EntityInterface> {
     }
     return rowsDeleted;
   }
+
+  /** Maps the json column, or the jsonBlob column when it holds the document encoded, to the JSON document */
+  class EntityJsonMapper implements RowMapper<String> {
+    @Override
+    public String map(ResultSet rs, StatementContext ctx) throws SQLException {
+      byte[] blob = rs.getMetaData().getColumnCount() > 1 ? rs.getBytes(2) : null;
+      if (blob == null) {
+        return rs.getString(1);
+      }
+      try {
+        return EntityStorageCodec.decode(blob);
+      } catch (IOException e) {
+        throw new UnableToProduceResultException(e, ctx);
+      }
+    }
+  }
 }
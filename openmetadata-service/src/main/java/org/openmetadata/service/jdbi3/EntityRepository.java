@@ -87,6 +87,7 @@ import org.openmetadata.service.TypeRegistry;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.exception.UnhandledServerException;
+import org.openmetadata.service.jdbi3.CollectionDAO.ActivityInboxDAO.Reason;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.service.jdbi3.CollectionDAO.ExtensionRecord;
@@ -341,11 +342,8 @@ public abstract class EntityRepository<T extends EntityInterface> {
   public final List<T> listAll(Fields fields, ListFilter filter) throws IOException {
     // forward scrolling, if after == null then first page is being asked
     List<String> jsons = dao.listAfter(filter, Integer.MAX_VALUE, "");
-    List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      T entity = setFieldsInternal(JsonUtils.readValue(json, entityClass), fields);
-      entities.add(entity);
-    }
+    List<T> entities = JsonUtils.readObjects(jsons, entityClass);
+    setFieldsInBulk(fields, entities);
     return entities;
   }
 
@@ -357,11 +355,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
     if (limitParam > 0) {
       // forward scrolling, if after == null then first page is being asked
       List<String> jsons = dao.listAfter(filter, limitParam + 1, after == null ? "" : RestUtil.decodeCursor(after));
-
-      for (String json : jsons) {
-        T entity = withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields));
-        entities.add(entity);
-      }
+      entities = JsonUtils.readObjects(jsons, entityClass);
+      setFieldsInBulk(fields, entities);
+      entities.forEach(entity -> withHref(uriInfo, entity));
 
       String beforeCursor;
       String afterCursor = null;
@@ -377,17 +373,30 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /**
+   * List a page of the entities with ids in the key range [lowerBound, upperBound) and after the given id. Entities are
+   * ordered by id so that the range can be read in parallel with other ranges.
+   */
+  @Transaction
+  public final List<T> listAfterInIdRange(
+      UriInfo uriInfo, Fields fields, String lowerBound, String upperBound, String after, Include include, int limit)
+      throws IOException {
+    List<String> jsons = dao.listAfterInIdRange(lowerBound, upperBound, after == null ? "" : after, include, limit);
+    List<T> entities = new ArrayList<>();
+    for (String json : jsons) {
+      entities.add(withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields)));
+    }
+    return entities;
+  }
+
   @Transaction
   public final ResultList<T> listBefore(
       UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String before) throws IOException {
     // Reverse scrolling - Get one extra result used for computing before cursor
     List<String> jsons = dao.listBefore(filter, limitParam + 1, RestUtil.decodeCursor(before));
-
-    List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      T entity = withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields));
-      entities.add(entity);
-    }
+    List<T> entities = JsonUtils.readObjects(jsons, entityClass);
+    setFieldsInBulk(fields, entities);
+    entities.forEach(entity -> withHref(uriInfo, entity));
     int total = dao.listCount(filter);
 
     String beforeCursor = null;
@@ -456,6 +465,13 @@ public abstract class EntityRepository<T extends EntityInterface> {
     validateExtension(entity);
   }
 
+  /** Set the fields of a page of entities. Override this to read a field for the whole page with a single query. */
+  protected void setFieldsInBulk(Fields fields, List<T> entities) throws IOException {
+    for (T entity : entities) {
+      setFieldsInternal(entity, fields);
+    }
+  }
+
   T setFieldsInternal(T entity, Fields fields) throws IOException {
     entity.setOwner(fields.contains(FIELD_OWNER) ? getOwner(entity) : null);
     entity.setTags(fields.contains(FIELD_TAGS) ? getTags(entity.getFullyQualifiedName()) : null);
@@ -558,6 +574,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
     // Add relationship
     addRelationship(userId, entityId, Entity.USER, entityType, Relationship.FOLLOWS);
+    daoCollection.activityInboxDAO().addEntityThreads(userId.toString(), entityId.toString(), Reason.FOLLOWS.getBit());
 
     ChangeDescription change = new ChangeDescription().withPreviousVersion(entity.getVersion());
     fieldAdded(change, FIELD_FOLLOWERS, List.of(user.getEntityReference()));
@@ -705,6 +722,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
     // Remove follower
     deleteRelationship(userId, Entity.USER, entityId, entityType, Relationship.FOLLOWS);
+    daoCollection.activityInboxDAO().removeEntityThreads(userId.toString(), entityId.toString(), Reason.FOLLOWS);
 
     ChangeDescription change = new ChangeDescription().withPreviousVersion(entity.getVersion());
     fieldDeleted(change, FIELD_FOLLOWERS, List.of(user.getEntityReference()));
@@ -737,15 +755,28 @@ public abstract class EntityRepository<T extends EntityInterface> {
   }
 
   protected void store(T entity, boolean update) throws JsonProcessingException {
+    store(entity, Collections.emptyMap(), update);
+  }
+
+  /**
+   * Store the entity along with its indexed parent columns, such as the name of the service of a dashboard. {@link
+   * ListFilter} lists the children of a parent with equality conditions on these columns.
+   */
+  protected void store(T entity, Map<String, String> parentColumns, boolean update) throws JsonProcessingException {
     if (update) {
-      dao.update(entity.getId(), JsonUtils.pojoToJson(entity));
+      dao.update(entity, parentColumns);
       LOG.info("Updated {}:{}:{}", entityType, entity.getId(), entity.getFullyQualifiedName());
     } else {
-      dao.insert(entity);
+      dao.insert(entity, parentColumns);
       LOG.info("Created {}:{}:{}", entityType, entity.getId(), entity.getFullyQualifiedName());
     }
   }
 
+  /** Indexed parent column holding the id of the service of the entity */
+  protected static Map<String, String> getServiceColumns(EntityReference service) {
+    return service == null ? Collections.emptyMap() : Map.of(ListFilter.SERVICE_ID_COLUMN, service.getId().toString());
+  }
+
   public void validateExtension(T entity) {
     if (entity.getExtension() == null) {
       return;
@@ -1096,6 +1127,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
       // Add relationship owner --- owns ---> ownedEntity
       LOG.info("Adding owner {}:{} for entity {}:{}", owner.getType(), owner.getId(), entityType, entity.getId());
       addRelationship(owner.getId(), entity.getId(), owner.getType(), entityType, Relationship.OWNS);
+      daoCollection
+          .activityInboxDAO()
+          .addEntityThreads(owner.getId().toString(), entity.getId().toString(), Reason.OWNER.getBit());
     }
   }
 
@@ -1104,6 +1138,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
     if (EntityUtil.getId(owner) != null) {
       LOG.info("Removing owner {}:{} for entity {}", owner.getType(), owner.getId(), entity.getId());
       deleteRelationship(owner.getId(), owner.getType(), entity.getId(), entityType, Relationship.OWNS);
+      daoCollection
+          .activityInboxDAO()
+          .removeEntityThreads(owner.getId().toString(), entity.getId().toString(), Reason.OWNER);
     }
   }
 
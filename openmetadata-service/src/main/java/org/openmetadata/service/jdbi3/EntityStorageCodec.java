@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Format of the entity documents stored in the entity tables that support binary storage.
+ *
+ * <p>With {@link #JSON}, documents are stored as text in the json column. With a binary codec, documents are stored
+ * encoded in the jsonBlob column, and the json column keeps only the {@link #INDEXED_FIELDS} the generated columns of
+ * the table are computed from. The first byte of an encoded document identifies its codec, so that the rows of a table
+ * are read correctly while they are being converted from one format to another.
+ */
+public enum EntityStorageCodec {
+  JSON((byte) 0),
+  /** Smile, the binary JSON format of Jackson, compressed with Deflate */
+  SMILE_DEFLATE((byte) 1);
+
+  /** Fields kept in the json column of the documents stored in binary, used by the generated columns */
+  static final List<String> INDEXED_FIELDS =
+      List.of("id", "name", "fullyQualifiedName", "updatedAt", "updatedBy", "deleted");
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+  private static volatile EntityStorageCodec active = JSON;
+
+  private final byte id;
+
+  EntityStorageCodec(byte id) {
+    this.id = id;
+  }
+
+  /** Set the codec used for writing the documents, expected to be called once during initialization */
+  public static void initialize(EntityStorageCodec codec) {
+    active = codec;
+  }
+
+  public static EntityStorageCodec getActive() {
+    return active;
+  }
+
+  /** Encode a JSON document. Returns null for {@link #JSON}, which stores the document as is. */
+  public byte[] encode(String json) throws IOException {
+    if (this == JSON) {
+      return null;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() / 4);
+    bytes.write(id);
+    try (OutputStream out = new DeflaterOutputStream(bytes);
+        JsonParser parser = JSON_FACTORY.createParser(json);
+        JsonGenerator generator = SMILE_FACTORY.createGenerator(out)) {
+      parser.nextToken();
+      generator.copyCurrentStructure(parser);
+    }
+    return bytes.toByteArray();
+  }
+
+  /** Decode a document encoded by any of the binary codecs back to JSON */
+  public static String decode(byte[] data) throws IOException {
+    if (data[0] != SMILE_DEFLATE.id) {
+      throw new IllegalArgumentException("Unknown entity storage codec " + data[0]);
+    }
+    StringWriter json = new StringWriter(data.length * 4);
+    try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data, 1, data.length - 1));
+        JsonParser parser = SMILE_FACTORY.createParser(in);
+        JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+      parser.nextToken();
+      generator.copyCurrentStructure(parser);
+    }
+    return json.toString();
+  }
+
+  /** The part of the document stored in the json column along with the encoded document */
+  public static String getIndexedJson(String json) throws IOException {
+    ObjectNode node = (ObjectNode) JsonUtils.readTree(json);
+    node.retain(INDEXED_FIELDS);
+    return JsonUtils.pojoToJson(node);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityStorageConversionDAO;
+
+/**
+ * Converts the documents of the entity tables that support binary storage to the active {@link EntityStorageCodec}.
+ *
+ * <p>The documents are converted in the background, in chunks of {@link #CHUNK_SIZE} rows in id order. The ids of a
+ * chunk are listed without locking, and only the rows of these ids are locked while they are rewritten in a short
+ * transaction. The documents of a table are read in either format while it is being converted.
+ *
+ * <p>The codec a table was converted to is recorded once all its rows are converted, so that the table is not scanned
+ * again at the next startup unless the configured codec changes. A conversion interrupted by a shutdown starts over
+ * after the restart with the rows not yet converted.
+ */
+@Slf4j
+public class EntityStorageConverter {
+  static final int CHUNK_SIZE = 100;
+  private static EntityStorageConverter instance;
+
+  private final List<EntityDAO<?>> daos;
+  private final EntityStorageConversionDAO conversionDAO;
+  private final int chunkSize;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  EntityStorageConverter(List<EntityDAO<?>> daos, EntityStorageConversionDAO conversionDAO, int chunkSize) {
+    this.daos = daos;
+    this.conversionDAO = conversionDAO;
+    this.chunkSize = chunkSize;
+  }
+
+  // Expected to be called after the entity repositories are registered
+  public static synchronized void initialize(CollectionDAO collectionDAO, EntityStorageCodec codec) {
+    if (instance != null) {
+      return;
+    }
+    EntityStorageCodec.initialize(codec);
+    List<EntityDAO<?>> daos =
+        Entity.getEntityList().stream()
+            .map(entityType -> Entity.getEntityRepository(entityType).dao)
+            .filter(EntityDAO::supportsBinaryStorage)
+            .collect(Collectors.toList());
+    instance = new EntityStorageConverter(daos, collectionDAO.entityStorageConversionDAO(), CHUNK_SIZE);
+    instance.executor.submit(instance::convertAll);
+  }
+
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      instance.executor.shutdownNow();
+      instance = null;
+    }
+  }
+
+  void convertAll() {
+    String codec = EntityStorageCodec.getActive().name();
+    for (EntityDAO<?> dao : daos) {
+      try {
+        if (codec.equals(conversionDAO.getCodec(dao.getTableName()))) {
+          LOG.debug("The documents of {} are stored with {}", dao.getTableName(), codec);
+        } else if (convert(dao)) {
+          conversionDAO.upsert(dao.getTableName(), codec, System.currentTimeMillis());
+        }
+      } catch (Exception e) {
+        LOG.error("Failed to convert {} to {}", dao.getTableName(), EntityStorageCodec.getActive(), e);
+      }
+    }
+  }
+
+  /** Convert the rows of a table, returns false when interrupted before all the rows are converted */
+  boolean convert(EntityDAO<?> dao) throws IOException {
+    String after = "";
+    int converted = 0;
+    List<String> ids;
+    do {
+      if (Thread.currentThread().isInterrupted()) {
+        return false; // Shutting down, the remaining rows are converted after the restart
+      }
+      ids = dao.listIdsToConvert(after, chunkSize);
+      if (!ids.isEmpty()) {
+        // Rows updated since they were listed are already stored with the active codec, and are skipped
+        converted += dao.convertChunk(ids);
+        after = ids.get(ids.size() - 1);
+      }
+    } while (ids.size() == chunkSize);
+    if (converted > 0) {
+      LOG.info("Converted {} rows of {} to {}", converted, dao.getTableName(), EntityStorageCodec.getActive());
+    }
+    return true;
+  }
+}
@@ -40,9 +40,13 @@ import io.jsonwebtoken.lang.Collections;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -54,7 +58,6 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
-import org.json.JSONObject;
 import org.openmetadata.schema.api.feed.CloseTask;
 import org.openmetadata.schema.api.feed.EntityLinkThreadCount;
 import org.openmetadata.schema.api.feed.ResolveTask;
@@ -80,7 +83,9 @@ import org.openmetadata.schema.type.TaskType;
 import org.openmetadata.schema.type.ThreadType;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
-import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.service.jdbi3.CollectionDAO.ActivityInboxDAO.Reason;
+import org.openmetadata.service.jdbi3.CollectionDAO.ThreadCountDAO.EntityThreadCount;
+import org.openmetadata.service.jdbi3.CollectionDAO.ThreadCountDAO.ThreadCountChange;
 import org.openmetadata.service.resources.feeds.FeedResource;
 import org.openmetadata.service.resources.feeds.FeedUtil;
 import org.openmetadata.service.resources.feeds.MessageParser;
@@ -92,10 +97,16 @@ import org.openmetadata.service.util.RestUtil.PatchResponse;
 @Slf4j
 public class FeedRepository {
   private static final String UNSUPPORTED_FIELD_NAME_FOR_TASK = "The field name %s is not supported for %s task.";
+  // Threads on the entities owned by the user or their teams, and the threads created by or replied to by the user
+  private static final int OWNER_REASONS = Reason.mask(Reason.OWNER, Reason.CREATED, Reason.REPLIED);
+  // Number of the latest posts kept in the json of a thread, all the posts are stored in the post table
+  static final int LATEST_POSTS = 3;
   private final CollectionDAO dao;
+  private final ActivityInbox inbox;
 
   public FeedRepository(CollectionDAO dao) {
     this.dao = dao;
+    this.inbox = new ActivityInbox(dao);
   }
 
   public enum FilterType {
@@ -146,7 +157,10 @@ public class FeedRepository {
     }
 
     // Insert a new thread
-    dao.feedDAO().insert(JsonUtils.pojoToJson(thread));
+    for (Post post : thread.getPosts()) {
+      insertPost(thread, post);
+    }
+    dao.feedDAO().insert(getStoredJson(thread), getThreadCountChange(thread, 1));
 
     // Add relationship User -- created --> Thread relationship
     dao.relationshipDAO().insert(createdByUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, CREATED.ordinal());
@@ -171,6 +185,7 @@ public class FeedRepository {
     // Add mentions to field relationship table
     storeMentions(thread, thread.getMessage());
 
+    inbox.addThread(thread, createdByUser.getId(), entityOwner);
     return thread;
   }
 
@@ -188,16 +203,15 @@ public class FeedRepository {
     return create(thread, entityId, owner, about);
   }
 
+  /** Returns the thread with all its posts */
   public Thread get(String id) throws IOException {
     Thread thread = EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
-    sortPosts(thread);
-    return thread;
+    return loadPosts(thread);
   }
 
   public Thread getTask(Integer id) throws IOException {
     Thread task = EntityUtil.validate(id.toString(), dao.feedDAO().findByTaskId(id), Thread.class);
-    sortPosts(task);
-    return populateAssignees(task);
+    return populateAssignees(loadPosts(task));
   }
 
   public PatchResponse<Thread> closeTask(UriInfo uriInfo, Thread thread, String user, CloseTask closeTask)
@@ -417,11 +431,13 @@ public class FeedRepository {
   }
 
   private void closeTask(Thread thread, String user, String closingComment) throws IOException {
+    ThreadCountChange removed = getThreadCountChange(thread, -1);
     TaskDetails task = thread.getTask();
     task.withStatus(TaskStatus.Closed).withClosedBy(user).withClosedAt(System.currentTimeMillis());
     thread.withTask(task).withUpdatedBy(user).withUpdatedAt(System.currentTimeMillis());
 
-    dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+    storeThread(thread, List.of(removed, getThreadCountChange(thread, 1)));
+    inbox.updateThread(thread);
     addClosingPost(thread, user, closingComment);
     sortPosts(thread);
   }
@@ -445,50 +461,45 @@ public class FeedRepository {
                         null));
   }
 
-  @Transaction
   public Thread addPostToThread(String id, Post post, String userName) throws IOException {
     // Query 1 - validate the user posting the message
     User fromUser = dao.userDAO().findEntityByName(post.getFrom());
 
-    // Query 2 - Find the thread
+    // Query 2 - Find the thread, with its latest posts only
     Thread thread = EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
     thread.withUpdatedBy(userName).withUpdatedAt(System.currentTimeMillis());
     FeedUtil.addPost(thread, post);
 
-    // TODO is rewriting entire json okay?
-    // Query 3 - update the JSON document for the feed
-    dao.feedDAO().update(id, JsonUtils.pojoToJson(thread));
+    // Query 3 - Insert the post, and update the latest posts and the post count in the JSON document for the feed
+    dao.feedDAO()
+        .addPost(
+            thread.getId().toString(),
+            post.getId().toString(),
+            post.getPostTs(),
+            JsonUtils.pojoToJson(post),
+            getStoredJson(thread));
 
     // Query 4 - Add relation User -- repliedTo --> Thread
-    // Add relationship from thread to the user entity that is posting a reply
-    boolean relationAlreadyExists = false;
-    for (Post p : thread.getPosts()) {
-      if (p.getFrom().equals(post.getFrom())) {
-        relationAlreadyExists = true;
-        break;
-      }
-    }
-    if (!relationAlreadyExists) {
-      dao.relationshipDAO().insert(fromUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, REPLIED_TO.ordinal());
-    }
+    // Add relationship from thread to the user entity that is posting a reply, if not already there
+    dao.relationshipDAO().insert(fromUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, REPLIED_TO.ordinal());
 
     // Add mentions into field relationship table
     storeMentions(thread, post.getMessage());
 
-    sortPostsInThreads(List.of(thread));
+    inbox.addPost(thread, fromUser.getId(), post.getMessage());
 
-    return thread;
+    // The response carries all the posts of the thread
+    return loadPosts(thread);
   }
 
-  public Post getPostById(Thread thread, String postId) {
-    Optional<Post> post = thread.getPosts().stream().filter(p -> p.getId().equals(UUID.fromString(postId))).findAny();
-    if (post.isEmpty()) {
+  public Post getPostById(Thread thread, String postId) throws IOException {
+    String json = dao.postDAO().findById(thread.getId().toString(), postId);
+    if (json == null) {
       throw EntityNotFoundException.byMessage(entityNotFound("Post", postId));
     }
-    return post.get();
+    return JsonUtils.readValue(json, Post.class);
   }
 
-  @Transaction
   public DeleteResponse<Post> deletePost(Thread thread, Post post, String userName) throws IOException {
     List<Post> posts = thread.getPosts();
     // Remove the post to be deleted from the posts list
@@ -498,8 +509,9 @@ public class FeedRepository {
         .withUpdatedBy(userName)
         .withPosts(posts)
         .withPostsCount(posts.size());
-    // update the json document
-    dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+    // Delete the post and update the latest posts and the post count in the JSON document for the feed
+    dao.feedDAO().deletePost(thread.getId().toString(), post.getId().toString(), getStoredJson(thread));
+    inbox.updateThread(thread);
 
     return new DeleteResponse<>(post, RestUtil.ENTITY_DELETED);
   }
@@ -514,8 +526,11 @@ public class FeedRepository {
     // Delete all the field relationships to other entities
     dao.fieldRelationshipDAO().deleteAllByPrefix(id);
 
+    inbox.deleteThread(id);
+    dao.postDAO().deleteByThread(id);
+
     // Finally, delete the entity
-    dao.feedDAO().delete(id);
+    dao.feedDAO().delete(id, getThreadCountChange(thread, -1));
 
     LOG.info("{} deleted thread with id {}", deletedByUser, thread.getId());
     return new DeleteResponse<>(thread, RestUtil.ENTITY_DELETED);
@@ -533,29 +548,24 @@ public class FeedRepository {
     AtomicInteger totalCount = new AtomicInteger(0);
     if (link == null) {
       // Get thread count of all entities
-      result =
-          dao.feedDAO()
-              .listCountByEntityLink(null, Entity.THREAD, null, IS_ABOUT.ordinal(), type, taskStatus, isResolved);
+      result = dao.threadCountDAO().listCountByEntityLink(null, null, type, taskStatus, isResolved);
     } else {
       EntityLink entityLink = EntityLink.parse(link);
       EntityReference reference = EntityUtil.validateEntityLink(entityLink);
       if (reference.getType().equals(Entity.USER) || reference.getType().equals(Entity.TEAM)) {
         if (reference.getType().equals(Entity.USER)) {
-          String userId = reference.getId().toString();
-          List<String> teamIds = getTeamIds(userId);
-          result = dao.feedDAO().listCountByOwner(userId, teamIds, type, isResolved);
+          List<String> recipientIds = getInboxRecipients(reference.getId().toString());
+          result = inbox.countByEntityLink(recipientIds, OWNER_REASONS, type, isResolved);
         } else {
           // team is not supported
           result = new ArrayList<>();
         }
       } else {
         result =
-            dao.feedDAO()
+            dao.threadCountDAO()
                 .listCountByEntityLink(
                     entityLink.getFullyQualifiedFieldValue(),
-                    Entity.THREAD,
                     entityLink.getFullyQualifiedFieldType(),
-                    IS_ABOUT.ordinal(),
                     type,
                     taskStatus,
                     isResolved);
@@ -572,9 +582,90 @@ public class FeedRepository {
     return threadCount;
   }
 
-  public List<Post> listPosts(String threadId) throws IOException {
-    Thread thread = get(threadId);
-    return thread.getPosts();
+  /**
+   * Get the count of the threads about each of the given entities, including the threads about their fields, with a
+   * single lookup. The counts are returned in the order of the entity links.
+   */
+  public ThreadCount getThreadsCount(List<String> links, ThreadType type, TaskStatus taskStatus, boolean isResolved) {
+    List<EntityLink> entityLinks = links.stream().map(EntityLink::parse).collect(Collectors.toList());
+    Map<String, Integer> counts = new HashMap<>();
+    if (!entityLinks.isEmpty()) {
+      List<String> entityFQNs =
+          entityLinks.stream().map(EntityLink::getEntityFQN).distinct().collect(Collectors.toList());
+      for (EntityThreadCount count :
+          dao.threadCountDAO().listCountByEntities(entityFQNs, type, taskStatus, isResolved)) {
+        counts.put(count.getEntityType() + ":" + count.getEntityFQN(), count.getCount());
+      }
+    }
+    List<EntityLinkThreadCount> entityLinkThreadCounts = new ArrayList<>();
+    int totalCount = 0;
+    for (int i = 0; i < links.size(); i++) {
+      EntityLink entityLink = entityLinks.get(i);
+      int count = counts.getOrDefault(entityLink.getEntityType() + ":" + entityLink.getEntityFQN(), 0);
+      entityLinkThreadCounts.add(new EntityLinkThreadCount().withEntityLink(links.get(i)).withCount(count));
+      totalCount += count;
+    }
+    return new ThreadCount().withTotalCount(totalCount).withCounts(entityLinkThreadCounts);
+  }
+
+  /** List a page of the posts of a thread in chronological order, using the post timestamp and id as page marker. */
+  public ResultList<Post> listPosts(String threadId, int limit, String pageMarker, PaginationType paginationType)
+      throws IOException {
+    Thread thread = EntityUtil.validate(threadId, dao.feedDAO().findById(threadId), Thread.class);
+    long postTs = paginationType == PaginationType.BEFORE ? Long.MAX_VALUE : Long.MIN_VALUE;
+    String postId = "";
+    if (pageMarker != null) {
+      String[] marker = RestUtil.decodeCursor(pageMarker).split(":", 2);
+      postTs = Long.parseLong(marker[0]);
+      postId = marker[1];
+    }
+
+    // Get one extra result used for computing the cursors
+    List<Post> posts;
+    String beforeCursor = null;
+    String afterCursor = null;
+    if (paginationType == PaginationType.BEFORE) {
+      posts = JsonUtils.readObjects(dao.postDAO().listBefore(threadId, limit + 1, postTs, postId), Post.class);
+      java.util.Collections.reverse(posts);
+      if (posts.size() > limit) { // If extra result exists, then previous page exists - return before cursor
+        posts.remove(0);
+        beforeCursor = getPostCursor(posts.get(0));
+      }
+      afterCursor = posts.isEmpty() ? null : getPostCursor(posts.get(posts.size() - 1));
+    } else {
+      posts = JsonUtils.readObjects(dao.postDAO().listAfter(threadId, limit + 1, postTs, postId), Post.class);
+      beforeCursor = pageMarker == null || posts.isEmpty() ? null : getPostCursor(posts.get(0));
+      if (posts.size() > limit) { // If extra result exists, then next page exists - return after cursor
+        posts.remove(limit);
+        afterCursor = getPostCursor(posts.get(limit - 1));
+      }
+    }
+    return new ResultList<>(posts, beforeCursor, afterCursor, thread.getPostsCount());
+  }
+
+  private static String getPostCursor(Post post) {
+    return post.getPostTs() + ":" + post.getId();
+  }
+
+  /** A delta to the count of the threads with the entity link, type, task status and resolution of the thread */
+  private static ThreadCountChange getThreadCountChange(Thread thread, int delta) {
+    EntityLink about = EntityLink.parse(thread.getAbout());
+    TaskStatus taskStatus = getTaskStatus(thread);
+    return ThreadCountChange.builder()
+        .entityLink(thread.getAbout())
+        .type(thread.getType())
+        .taskStatus(taskStatus == null ? "" : taskStatus.value())
+        .resolved(Boolean.TRUE.equals(thread.getResolved()))
+        .entityType(about.getEntityType())
+        .entityFQN(about.getEntityFQN())
+        .fieldType(about.getFullyQualifiedFieldType())
+        .fieldFQN(about.getFullyQualifiedFieldValue())
+        .delta(delta)
+        .build();
+  }
+
+  private static TaskStatus getTaskStatus(Thread thread) {
+    return thread.getTask() == null ? null : thread.getTask().getStatus();
   }
 
   /** List threads based on the filters and limits in the order of the updated timestamp. */
@@ -625,7 +716,15 @@ public class FeedRepository {
         // For a user entityLink get created or replied relationships to the thread
         if (reference.getType().equals(Entity.USER)) {
           FilteredThreads filteredThreads =
-              getThreadsByOwner(reference.getId().toString(), limit + 1, time, threadType, isResolved, paginationType);
+              getInboxThreads(
+                  reference.getId().toString(),
+                  OWNER_REASONS,
+                  threadType,
+                  isResolved,
+                  null,
+                  limit + 1,
+                  time,
+                  paginationType);
           threads = filteredThreads.getThreads();
           total = filteredThreads.getTotalCount();
         } else {
@@ -699,22 +798,28 @@ public class FeedRepository {
         FilteredThreads filteredThreads;
         if (ThreadType.Task.equals(threadType)) {
           // Only two filter types are supported for tasks -> ASSIGNED_TO, ASSIGNED_BY
+          int reasons;
           if (filterType == FilterType.ASSIGNED_BY) {
-            filteredThreads = getTasksAssignedBy(userId, limit + 1, time, taskStatus, paginationType);
+            reasons = Reason.CREATED.getBit();
           } else if (filterType == FilterType.ASSIGNED_TO) {
-            filteredThreads = getTasksAssignedTo(userId, limit + 1, time, taskStatus, paginationType);
+            reasons = Reason.ASSIGNED.getBit();
           } else {
             // Get all the tasks assigned to or created by the user
-            filteredThreads = getTasksOfUser(userId, limit + 1, time, taskStatus, paginationType);
+            reasons = Reason.mask(Reason.ASSIGNED, Reason.CREATED);
           }
+          filteredThreads =
+              getInboxThreads(userId, reasons, ThreadType.Task, null, taskStatus, limit + 1, time, paginationType);
         } else {
+          int reasons;
           if (filterType == FilterType.FOLLOWS) {
-            filteredThreads = getThreadsByFollows(userId, limit + 1, time, threadType, isResolved, paginationType);
+            reasons = Reason.FOLLOWS.getBit();
           } else if (filterType == FilterType.MENTIONS) {
-            filteredThreads = getThreadsByMentions(userId, limit + 1, time, threadType, isResolved, paginationType);
+            reasons = Reason.MENTIONED.getBit();
           } else {
-            filteredThreads = getThreadsByOwner(userId, limit + 1, time, threadType, isResolved, paginationType);
+            reasons = OWNER_REASONS;
           }
+          filteredThreads =
+              getInboxThreads(userId, reasons, threadType, isResolved, null, limit + 1, time, paginationType);
         }
         threads = filteredThreads.getThreads();
         total = filteredThreads.getTotalCount();
@@ -861,7 +966,16 @@ public class FeedRepository {
     // if there is no change, there is no need to apply patch
     if (fieldsChanged(original, updated)) {
       populateUserReactions(updated.getReactions());
-      dao.feedDAO().update(updated.getId().toString(), JsonUtils.pojoToJson(updated));
+      if (!Objects.equals(original.getResolved(), updated.getResolved())
+          || !Objects.equals(getTaskStatus(original), getTaskStatus(updated))) {
+        storeThread(updated, List.of(getThreadCountChange(original, -1), getThreadCountChange(updated, 1)));
+      } else {
+        storeThread(updated);
+      }
+      inbox.updateThread(updated);
+      if (updated.getTask() != null && !original.getTask().getAssignees().equals(updated.getTask().getAssignees())) {
+        inbox.updateAssignees(updated);
+      }
       return true;
     }
     return false;
@@ -871,7 +985,13 @@ public class FeedRepository {
     // store the updated post
     // if there is no change, there is no need to apply patch
     if (fieldsChanged(originalPost, updatedPost)) {
-      dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+      dao.feedDAO()
+          .updatePost(
+              thread.getId().toString(),
+              updatedPost.getId().toString(),
+              JsonUtils.pojoToJson(updatedPost),
+              getStoredJson(thread));
+      inbox.updateThread(thread);
       return true;
     }
     return false;
@@ -914,62 +1034,141 @@ public class FeedRepository {
   }
 
   /** Limit the number of posts within each thread. */
-  private void limitPostsInThreads(List<Thread> threads, int limitPosts) {
+  private void limitPostsInThreads(List<Thread> threads, int limitPosts) throws IOException {
     for (Thread t : threads) {
       List<Post> posts = t.getPosts();
       sortPosts(t);
       if (posts.size() > limitPosts) {
         // Only keep the last "n" number of posts
-        posts = posts.subList(posts.size() - limitPosts, posts.size());
+        t.withPosts(latestPosts(posts, limitPosts));
+      } else if (posts.size() < limitPosts && t.getPostsCount() > posts.size()) {
+        // More posts are requested than the latest ones kept in the thread
+        String threadId = t.getId().toString();
+        posts = JsonUtils.readObjects(dao.postDAO().listBefore(threadId, limitPosts, Long.MAX_VALUE, ""), Post.class);
+        java.util.Collections.reverse(posts);
         t.withPosts(posts);
       }
     }
   }
 
-  private String getUserTeamJsonMysql(String userId, List<String> teamIds) {
-    // Build a string like this for the tasks filter
-    // [{"id":"9e78b924-b75c-4141-9845-1b3eb81fdc1b","type":"team"},{"id":"fe21e1ba-ce00-49fa-8b62-3c9a6669a11b","type":"user"}]
-    List<String> result = new ArrayList<>();
-    JSONObject json = getUserTeamJson(userId, "user");
-    result.add(json.toString());
-    teamIds.forEach(id -> result.add(getUserTeamJson(id, "team").toString()));
-    return result.toString();
+  private static List<Post> latestPosts(List<Post> posts, int count) {
+    return posts.size() > count ? new ArrayList<>(posts.subList(posts.size() - count, posts.size())) : posts;
   }
 
-  private List<String> getUserTeamJsonPostgres(String userId, List<String> teamIds) {
-    // Build a list of objects like this for the tasks filter
-    // [{"id":"9e78b924-b75c-4141-9845-1b3eb81fdc1b","type":"team"}]','[{"id":"fe21e1ba-ce00-49fa-8b62-3c9a6669a11b","type":"user"}]
-    List<String> result = new ArrayList<>();
-    JSONObject json = getUserTeamJson(userId, "user");
-    result.add(List.of(json.toString()).toString());
-    teamIds.forEach(id -> result.add(List.of(getUserTeamJson(id, "team").toString()).toString()));
-    return result;
+  private void insertPost(Thread thread, Post post) throws JsonProcessingException {
+    dao.postDAO()
+        .insert(post.getId().toString(), thread.getId().toString(), post.getPostTs(), JsonUtils.pojoToJson(post));
   }
 
-  private JSONObject getUserTeamJson(String userId, String type) {
-    return new JSONObject().put("id", userId).put("type", type);
+  private void storeThread(Thread thread) throws JsonProcessingException {
+    dao.feedDAO().update(thread.getId().toString(), getStoredJson(thread));
   }
 
-  /** Return the tasks assigned to the user. */
-  private FilteredThreads getTasksAssignedTo(
-      String userId, int limit, long time, TaskStatus status, PaginationType paginationType) throws IOException {
-    List<String> teamIds = getTeamIds(userId);
-    List<String> jsons;
-    List<String> userTeamJsonPostgres = getUserTeamJsonPostgres(userId, teamIds);
-    String userTeamJsonMysql = getUserTeamJsonMysql(userId, teamIds);
-    if (paginationType == PaginationType.BEFORE) {
-      jsons = dao.feedDAO().listTasksAssignedToBefore(userTeamJsonPostgres, userTeamJsonMysql, limit, time, status);
-    } else {
-      jsons = dao.feedDAO().listTasksAssignedToAfter(userTeamJsonPostgres, userTeamJsonMysql, limit, time, status);
+  /** Store the thread and update the thread counts in one transaction */
+  private void storeThread(Thread thread, List<ThreadCountChange> counts) throws JsonProcessingException {
+    dao.feedDAO().update(thread.getId().toString(), getStoredJson(thread), counts);
+  }
+
+  /** JSON document of the thread with its latest posts only, the thread is left with all the posts it had */
+  private String getStoredJson(Thread thread) throws JsonProcessingException {
+    List<Post> posts = thread.getPosts();
+    sortPosts(thread);
+    thread.withPosts(latestPosts(posts, LATEST_POSTS));
+    try {
+      return JsonUtils.pojoToJson(thread);
+    } finally {
+      thread.withPosts(posts);
+    }
+  }
+
+  private Thread loadPosts(Thread thread) throws IOException {
+    if (thread.getPostsCount() > thread.getPosts().size()) {
+      thread.withPosts(JsonUtils.readObjects(dao.postDAO().list(thread.getId().toString()), Post.class));
     }
-    List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount = dao.feedDAO().listCountTasksAssignedTo(userTeamJsonPostgres, userTeamJsonMysql, status);
+    sortPosts(thread);
+    return thread;
+  }
+
+  /** Return the threads in the activity feeds of the user and of their teams for any of the reasons. */
+  private FilteredThreads getInboxThreads(
+      String userId,
+      int reasons,
+      ThreadType type,
+      Boolean isResolved,
+      TaskStatus status,
+      int limit,
+      long time,
+      PaginationType paginationType)
+      throws IOException {
+    List<String> recipientIds = getInboxRecipients(userId);
+    List<String> ids = inbox.list(recipientIds, reasons, type, isResolved, status, limit, time, paginationType);
+    List<Thread> threads = getThreads(ids);
+    int totalCount = inbox.count(recipientIds, reasons, type, isResolved, status);
     sortPostsInThreads(threads);
     return new FilteredThreads(threads, totalCount);
   }
 
-  private void populateAssignees(List<Thread> threads) {
-    threads.forEach(this::populateAssignees);
+  /** Get the user and the teams they are a part of, whose activity feeds make up the feed of the user. */
+  private List<String> getInboxRecipients(String userId) {
+    List<String> recipientIds = new ArrayList<>();
+    recipientIds.add(userId);
+    dao.relationshipDAO().findFrom(userId, Entity.USER, Relationship.HAS.ordinal(), Entity.TEAM).stream()
+        .map(team -> team.getId().toString())
+        .forEach(recipientIds::add);
+    return recipientIds;
+  }
+
+  /** Return the threads with the given ids, in the same order. */
+  private List<Thread> getThreads(List<String> ids) throws IOException {
+    List<Thread> threads = new ArrayList<>(ids.size());
+    if (ids.isEmpty()) {
+      return threads;
+    }
+    Map<UUID, Thread> threadsById = new HashMap<>();
+    for (Thread thread : JsonUtils.readObjects(dao.feedDAO().findByIds(ids), Thread.class)) {
+      threadsById.put(thread.getId(), thread);
+    }
+    for (String id : ids) {
+      Thread thread = threadsById.get(UUID.fromString(id));
+      if (thread != null) {
+        threads.add(thread);
+      }
+    }
+    return threads;
+  }
+
+  private void populateAssignees(List<Thread> threads) throws IOException {
+    // Look up the assignees of all the tasks with one query per assignee type
+    Map<String, Set<String>> assigneeIds = new HashMap<>();
+    for (Thread thread : threads) {
+      if (thread.getType().equals(ThreadType.Task)) {
+        thread
+            .getTask()
+            .getAssignees()
+            .forEach(
+                ref -> assigneeIds.computeIfAbsent(ref.getType(), t -> new HashSet<>()).add(ref.getId().toString()));
+      }
+    }
+    Map<UUID, EntityReference> assignees = new HashMap<>();
+    for (Map.Entry<String, Set<String>> entry : assigneeIds.entrySet()) {
+      for (EntityReference ref :
+          getEntityRepository(entry.getKey()).dao.findEntityReferencesByIds(new ArrayList<>(entry.getValue()))) {
+        assignees.put(ref.getId(), ref);
+      }
+    }
+    for (Thread thread : threads) {
+      if (thread.getType().equals(ThreadType.Task)) {
+        for (EntityReference ref : thread.getTask().getAssignees()) {
+          EntityReference found = assignees.get(ref.getId());
+          if (found != null) {
+            EntityUtil.copy(found, ref);
+          } else {
+            markDeleted(ref);
+          }
+        }
+        thread.getTask().getAssignees().sort(compareEntityReference);
+      }
+    }
   }
 
   private Thread populateAssignees(Thread thread) {
@@ -980,15 +1179,7 @@ public class FeedRepository {
           EntityReference ref2 = Entity.getEntityReferenceById(ref.getType(), ref.getId(), ALL);
           EntityUtil.copy(ref2, ref);
         } catch (EntityNotFoundException exception) {
-          // mark the not found user as deleted user since
-          // user will not be found in case of permanent deletion of user or team
-          if (ref.getType().equals(Entity.TEAM)) {
-            ref.setName(DELETED_TEAM_NAME);
-            ref.setDisplayName(DELETED_TEAM_DISPLAY);
-          } else {
-            ref.setName(DELETED_USER_NAME);
-            ref.setDisplayName(DELETED_USER_DISPLAY);
-          }
+          markDeleted(ref);
         } catch (IOException ioException) {
           throw new RuntimeException(ioException);
         }
@@ -999,135 +1190,16 @@ public class FeedRepository {
     return thread;
   }
 
-  /** Return the tasks created by or assigned to the user. */
-  private FilteredThreads getTasksOfUser(
-      String userId, int limit, long time, TaskStatus status, PaginationType paginationType) throws IOException {
-    User user = dao.userDAO().findEntityById(UUID.fromString(userId));
-    String username = user.getName();
-    List<String> teamIds = getTeamIds(userId);
-    List<String> userTeamJsonPostgres = getUserTeamJsonPostgres(userId, teamIds);
-    String userTeamJsonMysql = getUserTeamJsonMysql(userId, teamIds);
-    List<String> jsons;
-    if (paginationType == PaginationType.BEFORE) {
-      jsons =
-          dao.feedDAO().listTasksOfUserBefore(userTeamJsonPostgres, userTeamJsonMysql, username, limit, time, status);
-    } else {
-      jsons =
-          dao.feedDAO().listTasksOfUserAfter(userTeamJsonPostgres, userTeamJsonMysql, username, limit, time, status);
-    }
-    List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount = dao.feedDAO().listCountTasksOfUser(userTeamJsonPostgres, userTeamJsonMysql, username, status);
-    sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
-  }
-
-  /** Return the tasks created by the user. */
-  private FilteredThreads getTasksAssignedBy(
-      String userId, int limit, long time, TaskStatus status, PaginationType paginationType) throws IOException {
-    User user = dao.userDAO().findEntityById(UUID.fromString(userId));
-    String username = user.getName();
-    List<String> jsons;
-    if (paginationType == PaginationType.BEFORE) {
-      jsons = dao.feedDAO().listTasksAssignedByBefore(username, limit, time, status);
-    } else {
-      jsons = dao.feedDAO().listTasksAssignedByAfter(username, limit, time, status);
-    }
-    List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount = dao.feedDAO().listCountTasksAssignedBy(username, status);
-    sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
-  }
-
-  /**
-   * Return the threads associated with user/team owned entities and the threads that were created by or replied to by
-   * the user.
-   */
-  private FilteredThreads getThreadsByOwner(
-      String userId, int limit, long time, ThreadType type, boolean isResolved, PaginationType paginationType)
-      throws IOException {
-    // add threads on user or team owned entities
-    // and threads created by or replied to by the user
-    List<String> teamIds = getTeamIds(userId);
-    List<String> jsons;
-    if (paginationType == PaginationType.BEFORE) {
-      jsons = dao.feedDAO().listThreadsByOwnerBefore(userId, teamIds, limit, time, type, isResolved);
-    } else {
-      jsons = dao.feedDAO().listThreadsByOwnerAfter(userId, teamIds, limit, time, type, isResolved);
-    }
-    List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount = dao.feedDAO().listCountThreadsByOwner(userId, teamIds, type, isResolved);
-    sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
-  }
-
-  /** Get a list of team ids that the given user is a part of. */
-  private List<String> getTeamIds(String userId) {
-    List<EntityRelationshipRecord> records =
-        dao.relationshipDAO().findFrom(userId, Entity.USER, Relationship.HAS.ordinal(), Entity.TEAM);
-    List<String> teamIds = new ArrayList<>();
-    for (EntityRelationshipRecord entityRelationshipRecord : records) {
-      teamIds.add(entityRelationshipRecord.getId().toString());
-    }
-    return teamIds.isEmpty() ? List.of(StringUtils.EMPTY) : teamIds;
-  }
-
-  /** Returns the threads where the user or the team they belong to were mentioned by other users with @mention. */
-  private FilteredThreads getThreadsByMentions(
-      String userId, int limit, long time, ThreadType type, boolean isResolved, PaginationType paginationType)
-      throws IOException {
-    List<EntityReference> teams =
-        populateEntityReferences(
-            dao.relationshipDAO().findFrom(userId, Entity.USER, Relationship.HAS.ordinal(), Entity.TEAM), Entity.TEAM);
-    List<String> teamNames = teams.stream().map(EntityReference::getName).collect(Collectors.toList());
-    if (teamNames.isEmpty()) {
-      teamNames = List.of(StringUtils.EMPTY);
-    }
-    User user = dao.userDAO().findEntityById(UUID.fromString(userId));
-
-    // Return the threads where the user or team was mentioned
-    List<String> jsons;
-    if (paginationType == PaginationType.BEFORE) {
-      jsons =
-          dao.feedDAO()
-              .listThreadsByMentionsBefore(
-                  user.getName(), teamNames, limit, time, type, isResolved, Relationship.MENTIONED_IN.ordinal());
-    } else {
-      jsons =
-          dao.feedDAO()
-              .listThreadsByMentionsAfter(
-                  user.getName(), teamNames, limit, time, type, isResolved, Relationship.MENTIONED_IN.ordinal());
-    }
-    List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount =
-        dao.feedDAO()
-            .listCountThreadsByMentions(
-                user.getName(), teamNames, type, isResolved, Relationship.MENTIONED_IN.ordinal());
-    sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
-  }
-
-  /** Returns the threads that are associated with the entities followed by the user. */
-  private FilteredThreads getThreadsByFollows(
-      String userId, int limit, long time, ThreadType type, boolean isResolved, PaginationType paginationType)
-      throws IOException {
-    List<String> jsons;
-    List<String> teamIds = getTeamIds(userId);
-    if (paginationType == PaginationType.BEFORE) {
-      jsons =
-          dao.feedDAO()
-              .listThreadsByFollowsBefore(
-                  userId, teamIds, limit, time, type, isResolved, Relationship.FOLLOWS.ordinal());
+  private static void markDeleted(EntityReference ref) {
+    // mark the not found user as deleted user since
+    // user will not be found in case of permanent deletion of user or team
+    if (ref.getType().equals(Entity.TEAM)) {
+      ref.setName(DELETED_TEAM_NAME);
+      ref.setDisplayName(DELETED_TEAM_DISPLAY);
     } else {
-      jsons =
-          dao.feedDAO()
-              .listThreadsByFollowsAfter(
-                  userId, teamIds, limit, time, type, isResolved, Relationship.FOLLOWS.ordinal());
+      ref.setName(DELETED_USER_NAME);
+      ref.setDisplayName(DELETED_USER_DISPLAY);
     }
-    List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount =
-        dao.feedDAO().listCountThreadsByFollows(userId, teamIds, type, isResolved, Relationship.FOLLOWS.ordinal());
-    sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
   }
 
   public static class FilteredThreads {
@@ -0,0 +1,310 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.settings.FqnRenameJob;
+import org.openmetadata.schema.settings.FqnRenameJob.Status;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.FqnRenameDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.FqnRenameDAO.FqnRenameJobRecord;
+import org.openmetadata.service.jdbi3.CollectionDAO.FqnRenameDAO.TagUsageRow;
+import org.openmetadata.service.resources.tags.TagLabelCache;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Renames the FQN prefix of all the descendants of a renamed entity, such as the tags of a classification or the terms
+ * of a glossary, along with the tag labels using them.
+ *
+ * <p>The descendants are renamed in chunks of {@link #CHUNK_SIZE} rows, scanned in primary key order. Each chunk is
+ * renamed in a short transaction that also saves the progress of the job, so that renaming a large hierarchy does not
+ * lock all its rows at once, and an interrupted job is resumed after a restart. Hierarchies that fit in a single chunk
+ * are renamed right away by the caller. Larger ones are renamed in the background, once the update of the renamed
+ * entity is stored, see {@link #submitPending()}.
+ *
+ * <p>A job is owned by the server that runs it, and its progress is only saved by its owner. Every {@link
+ * #CLAIM_EXPIRY_MILLIS}, and when starting up, a server claims the jobs that failed, or that were not saved for that
+ * long, and resumes them. The claim is a conditional update, so that a job is never resumed by two servers at once.
+ */
+@Slf4j
+public class FqnRenameEngine {
+  static final int CHUNK_SIZE = 500;
+  private static final int RECENT_JOBS = 100;
+  private static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+  static final long CLAIM_EXPIRY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static FqnRenameEngine instance;
+
+  private final FqnRenameDAO dao;
+  private final Function<String, String> tableNames;
+  private final int chunkSize;
+  private final String owner = UUID.randomUUID().toString();
+  // Daemon thread, so that a job left running does not keep the server from stopping, it is resumed after the restart
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("fqn-rename-%d").setDaemon(true).build());
+  // Jobs submitted to the executor and not completed yet, so that they are not resumed again
+  private final Set<UUID> submitted = ConcurrentHashMap.newKeySet();
+  // Background jobs of the entity update made by the thread, submitted once the update is stored
+  private final ThreadLocal<List<FqnRenameJob>> pending = ThreadLocal.withInitial(ArrayList::new);
+
+  FqnRenameEngine(FqnRenameDAO dao, Function<String, String> tableNames, int chunkSize) {
+    this.dao = dao;
+    this.tableNames = tableNames;
+    this.chunkSize = chunkSize;
+  }
+
+  // Expected to be called after the entity repositories are registered, jobs left running are resumed
+  public static synchronized void initialize(CollectionDAO dao) {
+    if (instance != null) {
+      return;
+    }
+    instance =
+        new FqnRenameEngine(
+            dao.fqnRenameDAO(), entityType -> Entity.getEntityRepository(entityType).dao.getTableName(), CHUNK_SIZE);
+    instance.executor.scheduleWithFixedDelay(instance::resumeSafely, 0, CLAIM_EXPIRY_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  public static FqnRenameEngine getInstance() {
+    return instance;
+  }
+
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      instance.executor.shutdownNow();
+      instance = null;
+    }
+  }
+
+  /** Submit the background jobs of the entity update made by the current thread, once the update is stored */
+  public static void submitPending() {
+    if (instance != null) {
+      instance.submitPendingJobs();
+    }
+  }
+
+  /** Drop the background jobs of the entity update made by the current thread, when the update failed */
+  public static void discardPending() {
+    if (instance != null) {
+      instance.discardPendingJobs();
+    }
+  }
+
+  void submitPendingJobs() {
+    List<FqnRenameJob> jobs = pending.get();
+    pending.remove();
+    jobs.forEach(this::submit);
+  }
+
+  void discardPendingJobs() {
+    List<FqnRenameJob> jobs = pending.get();
+    pending.remove();
+    jobs.forEach(job -> dao.deleteJob(job.getId().toString()));
+  }
+
+  /**
+   * Rename the FQN prefix of the descendant entities of the given type and of the tag labels using them, from oldPrefix
+   * to newPrefix. Returns the rename job, or null when the prefix is unchanged. A job renaming more than a chunk is run
+   * in the background after {@link #submitPending()} is called.
+   */
+  public FqnRenameJob rename(String entityType, String oldPrefix, String newPrefix) throws IOException {
+    if (oldPrefix.equals(newPrefix)) {
+      return null;
+    }
+    long now = System.currentTimeMillis();
+    FqnRenameJob job = new FqnRenameJob();
+    job.setId(UUID.randomUUID());
+    job.setEntityType(entityType);
+    job.setOldPrefix(oldPrefix);
+    job.setNewPrefix(newPrefix);
+    job.setStatus(Status.RUNNING);
+    job.setCreatedAt(now);
+    job.setUpdatedAt(now);
+
+    String pattern = getPattern(oldPrefix);
+    int rows =
+        dao.countDescendants(tableNames.apply(entityType), pattern, chunkSize + 1)
+            + dao.countTagUsages(pattern, chunkSize + 1);
+    dao.insertJob(toRecord(job, owner));
+    if (rows <= chunkSize) {
+      run(job);
+    } else {
+      pending.get().add(job);
+      LOG.info("Renaming {} {} to {} in the background, job {}", entityType, oldPrefix, newPrefix, job.getId());
+    }
+    return job;
+  }
+
+  private void submit(FqnRenameJob job) {
+    if (submitted.add(job.getId())) {
+      executor.submit(() -> runSafely(job));
+    }
+  }
+
+  public FqnRenameJob getJob(String id) throws IOException {
+    String json = dao.findJob(id);
+    return json == null ? null : JsonUtils.readValue(json, FqnRenameJob.class);
+  }
+
+  public List<FqnRenameJob> listJobs() throws IOException {
+    return JsonUtils.readObjects(dao.listRecentJobs(RECENT_JOBS), FqnRenameJob.class);
+  }
+
+  private void resumeSafely() {
+    try {
+      resume();
+    } catch (Exception e) {
+      LOG.error("Failed to resume the rename jobs", e);
+    }
+  }
+
+  void resume() {
+    long now = System.currentTimeMillis();
+    for (Status status : List.of(Status.RUNNING, Status.FAILED)) {
+      for (String json : dao.listJobs(status.toString())) {
+        try {
+          FqnRenameJob job = JsonUtils.readValue(json, FqnRenameJob.class);
+          if (submitted.contains(job.getId())) {
+            continue; // Waiting to be run by this server
+          }
+          String running = Status.RUNNING.toString();
+          if (dao.claimJob(
+                  job.getId().toString(), owner, running, Status.FAILED.toString(), now, now - CLAIM_EXPIRY_MILLIS)
+              == 0) {
+            continue; // Run by another server
+          }
+          job.setStatus(Status.RUNNING);
+          submit(job);
+          LOG.info("Resuming the rename of {} {} to {}", job.getEntityType(), job.getOldPrefix(), job.getNewPrefix());
+        } catch (IOException e) {
+          LOG.error("Failed to read rename job {}", json, e);
+        }
+      }
+    }
+    dao.deleteJobsBefore(Status.RUNNING.toString(), System.currentTimeMillis() - RETENTION_MILLIS);
+  }
+
+  private void runSafely(FqnRenameJob job) {
+    try {
+      run(job);
+    } catch (Exception e) {
+      LOG.error("Failed to rename {} {} to {}", job.getEntityType(), job.getOldPrefix(), job.getNewPrefix(), e);
+      job.setStatus(Status.FAILED);
+      job.setFailure(e.getMessage());
+      try {
+        save(job);
+      } catch (Exception ex) {
+        LOG.error("Failed to save rename job {}", job.getId(), ex);
+      }
+    } finally {
+      submitted.remove(job.getId());
+    }
+  }
+
+  void run(FqnRenameJob job) throws IOException {
+    String table = tableNames.apply(job.getEntityType());
+    String pattern = getPattern(job.getOldPrefix());
+    // Keep the part of the FQN following the old prefix, starting with the separator
+    int suffixStart = job.getOldPrefix().length() + 1;
+
+    List<String> ids;
+    do {
+      if (Thread.currentThread().isInterrupted()) {
+        return; // Shutting down, the job is resumed from its last chunk after the restart
+      }
+      ids = dao.listDescendantIds(table, pattern, job.getAfter() == null ? "" : job.getAfter(), chunkSize);
+      if (!ids.isEmpty()) {
+        job.setAfter(ids.get(ids.size() - 1));
+        job.setRenamedEntities(job.getRenamedEntities() + ids.size());
+        job.setUpdatedAt(System.currentTimeMillis());
+        dao.renameEntityChunk(table, ids, job.getNewPrefix(), suffixStart, toRecord(job, owner));
+      }
+    } while (ids.size() == chunkSize);
+
+    List<TagUsageRow> rows;
+    do {
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+      rows = dao.listTagUsages(pattern, chunkSize);
+      if (!rows.isEmpty()) {
+        renameTagUsages(job, rows, suffixStart);
+      }
+    } while (rows.size() == chunkSize);
+
+    job.setStatus(Status.COMPLETED);
+    job.setUpdatedAt(System.currentTimeMillis());
+    save(job);
+    // Drop the descendants looked up while they were renamed, they are loaded again with their new FQN
+    TagLabelCache.getInstance().removeDescendants(job.getEntityType(), job.getOldPrefix());
+    TagLabelCache.getInstance().removeDescendants(job.getEntityType(), job.getNewPrefix());
+    LOG.info(
+        "Renamed {} {} to {}, {} entities and {} tag labels",
+        job.getEntityType(),
+        job.getOldPrefix(),
+        job.getNewPrefix(),
+        job.getRenamedEntities(),
+        job.getRenamedTagUsages());
+  }
+
+  // Renamed labels no longer match the pattern of the job, so its progress is saved after the chunk
+  private void renameTagUsages(FqnRenameJob job, List<TagUsageRow> rows, int suffixStart) throws IOException {
+    List<TagUsageRow> renamed = new ArrayList<>(rows.size());
+    for (TagUsageRow row : rows) {
+      renamed.add(
+          TagUsageRow.builder()
+              .source(row.getSource())
+              .tagFQN(row.getTagFQN())
+              .targetFQN(row.getTargetFQN())
+              .newTagFQN(job.getNewPrefix() + row.getTagFQN().substring(suffixStart - 1))
+              .build());
+    }
+    int count = dao.renameTagUsageChunk(renamed, job.getOldPrefix(), job.getNewPrefix());
+    job.setRenamedTagUsages(job.getRenamedTagUsages() + count);
+    job.setUpdatedAt(System.currentTimeMillis());
+    save(job);
+  }
+
+  private void save(FqnRenameJob job) throws IOException {
+    if (dao.updateJob(toRecord(job, owner)) == 0) {
+      throw new IllegalStateException(String.format("Rename job %s is owned by another server", job.getId()));
+    }
+  }
+
+  private static FqnRenameJobRecord toRecord(FqnRenameJob job, String owner) throws IOException {
+    return FqnRenameJobRecord.builder()
+        .id(job.getId().toString())
+        .owner(owner)
+        .status(job.getStatus().toString())
+        .updatedAt(job.getUpdatedAt())
+        .json(JsonUtils.pojoToJson(job))
+        .build();
+  }
+
+  /** LIKE pattern matching the FQNs of the descendants of the prefix */
+  static String getPattern(String prefix) {
+    String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    return escaped + Entity.SEPARATOR + "%";
+  }
+}
@@ -29,6 +29,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVPrinter;
@@ -51,6 +52,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.resources.glossary.GlossaryResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
@@ -94,6 +96,7 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
     glossary.withOwner(null).withHref(null).withTags(null);
 
     store(glossary, update);
+    TagLabelCache.getInstance().put(Entity.GLOSSARY, glossary);
 
     // Restore the relationships
     glossary.withOwner(owner).withTags(tags).withReviewers(reviewers);
@@ -108,8 +111,23 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
     }
   }
 
+  @Override
+  protected void setFieldsInBulk(Fields fields, List<Glossary> glossarys) throws IOException {
+    super.setFieldsInBulk(fields.without("usageCount"), glossarys);
+    if (fields.contains("usageCount")) {
+      // Usage counts of the whole page are read with a single query
+      List<String> fqns = new ArrayList<>();
+      glossarys.forEach(glossary -> fqns.add(FullyQualifiedName.build(glossary.getName())));
+      Map<String, Integer> counts = daoCollection.tagUsageDAO().getTagCounts(TagSource.GLOSSARY.ordinal(), fqns);
+      glossarys.forEach(
+          glossary -> glossary.setUsageCount(counts.getOrDefault(FullyQualifiedName.build(glossary.getName()), 0)));
+    }
+  }
+
   private Integer getUsageCount(Glossary glossary) {
-    return daoCollection.tagUsageDAO().getTagCount(TagSource.GLOSSARY.ordinal(), glossary.getName());
+    return daoCollection
+        .tagUsageDAO()
+        .getTagCount(TagSource.GLOSSARY.ordinal(), FullyQualifiedName.build(glossary.getName()));
   }
 
   private Integer getTermCount(Glossary glossary) {
@@ -123,6 +141,11 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
     return new GlossaryUpdater(original, updated, operation);
   }
 
+  @Override
+  protected void postDelete(Glossary entity) {
+    TagLabelCache.getInstance().remove(Entity.GLOSSARY, entity.getFullyQualifiedName());
+  }
+
   @Override
   public String exportToCsv(String name, String user) throws IOException {
     Glossary glossary = getByName(null, name, Fields.EMPTY_FIELDS); // Validate glossary name
@@ -278,8 +301,16 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
         }
         // Category name changed - update tag names starting from category and all the children tags
         LOG.info("Glossary name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.glossaryTermDAO().updateFqn(original.getName(), updated.getName());
-        daoCollection.tagUsageDAO().updateTagPrefix(original.getName(), updated.getName());
+        FqnRenameEngine.getInstance()
+            .rename(
+                Entity.GLOSSARY_TERM,
+                FullyQualifiedName.build(original.getName()),
+                FullyQualifiedName.build(updated.getName()));
+        TagLabelCache.getInstance()
+            .rename(
+                Entity.GLOSSARY,
+                FullyQualifiedName.build(original.getName()),
+                FullyQualifiedName.build(updated.getName()));
         recordChange("name", original.getName(), updated.getName());
       }
     }
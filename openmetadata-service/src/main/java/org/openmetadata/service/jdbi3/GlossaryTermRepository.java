@@ -29,6 +29,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +46,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.resources.glossary.GlossaryTermResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
@@ -75,6 +77,18 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
     return entity.withUsageCount(fields.contains("usageCount") ? getUsageCount(entity) : null);
   }
 
+  @Override
+  protected void setFieldsInBulk(Fields fields, List<GlossaryTerm> terms) throws IOException {
+    super.setFieldsInBulk(fields.without("usageCount"), terms);
+    if (fields.contains("usageCount")) {
+      // Usage counts of the whole page are read with a single query
+      List<String> fqns = new ArrayList<>();
+      terms.forEach(term -> fqns.add(term.getFullyQualifiedName()));
+      Map<String, Integer> counts = daoCollection.tagUsageDAO().getTagCounts(TagSource.GLOSSARY.ordinal(), fqns);
+      terms.forEach(term -> term.setUsageCount(counts.getOrDefault(term.getFullyQualifiedName(), 0)));
+    }
+  }
+
   private Integer getUsageCount(GlossaryTerm term) {
     return daoCollection.tagUsageDAO().getTagCount(TagSource.GLOSSARY.ordinal(), term.getFullyQualifiedName());
   }
@@ -154,6 +168,7 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
         .withTags(null);
 
     store(entity, update);
+    TagLabelCache.getInstance().put(GLOSSARY_TERM, entity);
 
     // Restore the relationships
     entity
@@ -215,6 +230,7 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
   protected void postDelete(GlossaryTerm entity) {
     // Cleanup all the tag labels using this glossary term
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.GLOSSARY.ordinal(), entity.getFullyQualifiedName());
+    TagLabelCache.getInstance().remove(GLOSSARY_TERM, entity.getFullyQualifiedName());
   }
 
   private void addGlossaryRelationship(GlossaryTerm term) {
@@ -346,13 +362,16 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
         }
         // Glossary term name changed - update the FQNs of the children terms to reflect this
         LOG.info("Glossary term name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.glossaryTermDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+        FqnRenameEngine.getInstance()
+            .rename(GLOSSARY_TERM, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
         daoCollection.tagUsageDAO().rename(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+        TagLabelCache.getInstance()
+            .rename(GLOSSARY_TERM, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
         recordChange("name", original.getName(), updated.getName());
       }
     }
 
-    private void updateParent(GlossaryTerm original, GlossaryTerm updated) throws JsonProcessingException {
+    private void updateParent(GlossaryTerm original, GlossaryTerm updated) throws IOException {
       // Can't change parent and glossary both at the same time
       UUID oldParentId = getId(original.getParent());
       UUID newParentId = getId(updated.getParent());
@@ -362,8 +381,11 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
       UUID newGlossaryId = getId(updated.getGlossary());
       boolean glossaryChanged = !Objects.equals(oldGlossaryId, newGlossaryId);
 
-      daoCollection.glossaryTermDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+      FqnRenameEngine.getInstance()
+          .rename(GLOSSARY_TERM, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
       daoCollection.tagUsageDAO().rename(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+      TagLabelCache.getInstance()
+          .rename(GLOSSARY_TERM, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
       if (glossaryChanged) {
         updateGlossaryRelationship(original, updated);
         recordChange("glossary", original.getGlossary(), updated.getGlossary(), true, entityReferenceMatch);
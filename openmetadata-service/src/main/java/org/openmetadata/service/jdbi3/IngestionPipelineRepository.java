@@ -15,8 +15,12 @@ package org.openmetadata.service.jdbi3;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
@@ -34,6 +38,7 @@ import org.openmetadata.schema.type.EventType;
 import org.openmetadata.schema.type.FieldChange;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.PipelineLatestStatusDAO.PipelineStatusRecord;
 import org.openmetadata.service.resources.services.ingestionpipelines.IngestionPipelineResource;
 import org.openmetadata.service.secrets.SecretsManager;
 import org.openmetadata.service.secrets.SecretsManagerFactory;
@@ -50,8 +55,10 @@ public class IngestionPipelineRepository extends EntityRepository<IngestionPipel
 
   private static final String PIPELINE_STATUS_JSON_SCHEMA = "pipelineStatus";
   private static PipelineServiceClient pipelineServiceClient;
+  // Statuses of the runs older than this number of days are deleted as new runs are added, 0 keeps all
+  private final int pipelineStatusRetentionDays;
 
-  public IngestionPipelineRepository(CollectionDAO dao) {
+  public IngestionPipelineRepository(CollectionDAO dao, int pipelineStatusRetentionDays) {
     super(
         IngestionPipelineResource.COLLECTION_PATH,
         Entity.INGESTION_PIPELINE,
@@ -60,6 +67,7 @@ public class IngestionPipelineRepository extends EntityRepository<IngestionPipel
         dao,
         PATCH_FIELDS,
         UPDATE_FIELDS);
+    this.pipelineStatusRetentionDays = pipelineStatusRetentionDays;
   }
 
   @Override
@@ -93,7 +101,7 @@ public class IngestionPipelineRepository extends EntityRepository<IngestionPipel
     // Don't store owner. Build it on the fly based on relationships
     ingestionPipeline.withOwner(null).withService(null).withHref(null);
 
-    store(ingestionPipeline, update);
+    store(ingestionPipeline, getServiceColumns(service), update);
 
     // Restore the relationships
     ingestionPipeline.withOwner(owner).withService(service);
@@ -126,6 +134,12 @@ public class IngestionPipelineRepository extends EntityRepository<IngestionPipel
     pipelineServiceClient = client;
   }
 
+  @Override
+  protected void cleanup(IngestionPipeline entity) throws IOException {
+    daoCollection.pipelineLatestStatusDAO().delete(entity.getId().toString());
+    super.cleanup(entity);
+  }
+
   private ChangeEvent getChangeEvent(
       EntityInterface updated, ChangeDescription change, String entityType, Double prevVersion) {
     return new ChangeEvent()
@@ -177,7 +191,12 @@ public class IngestionPipelineRepository extends EntityRepository<IngestionPipel
               pipelineStatus.getRunId(),
               "pipelineStatus",
               JsonUtils.pojoToJson(pipelineStatus));
+      deleteExpiredPipelineStatuses(ingestionPipeline);
     }
+    daoCollection
+        .pipelineLatestStatusDAO()
+        .upsert(
+            ingestionPipeline.getId().toString(), pipelineStatus.getTimestamp(), JsonUtils.pojoToJson(pipelineStatus));
     ChangeDescription change =
         addPipelineStatusChangeDescription(ingestionPipeline.getVersion(), pipelineStatus, storedPipelineStatus);
     ChangeEvent changeEvent =
@@ -204,10 +223,33 @@ public class IngestionPipelineRepository extends EntityRepository<IngestionPipel
 
   public PipelineStatus getLatestPipelineStatus(IngestionPipeline ingestionPipeline) throws IOException {
     return JsonUtils.readValue(
-        daoCollection
-            .entityExtensionTimeSeriesDao()
-            .getLatestExtensionByFQN(ingestionPipeline.getFullyQualifiedName(), PIPELINE_STATUS_JSON_SCHEMA),
-        PipelineStatus.class);
+        daoCollection.pipelineLatestStatusDAO().findById(ingestionPipeline.getId().toString()), PipelineStatus.class);
+  }
+
+  /** Status of the latest run of each of the pipelines, by pipeline id, read with a single query */
+  public Map<UUID, PipelineStatus> getLatestPipelineStatuses(List<IngestionPipeline> ingestionPipelines)
+      throws IOException {
+    Map<UUID, PipelineStatus> statuses = new HashMap<>();
+    if (ingestionPipelines.isEmpty()) {
+      return statuses;
+    }
+    List<String> ids =
+        ingestionPipelines.stream().map(pipeline -> pipeline.getId().toString()).collect(Collectors.toList());
+    for (PipelineStatusRecord record : daoCollection.pipelineLatestStatusDAO().listByIds(ids)) {
+      statuses.put(
+          UUID.fromString(record.getPipelineId()), JsonUtils.readValue(record.getJson(), PipelineStatus.class));
+    }
+    return statuses;
+  }
+
+  private void deleteExpiredPipelineStatuses(IngestionPipeline ingestionPipeline) {
+    if (pipelineStatusRetentionDays > 0) {
+      long expiredBefore = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(pipelineStatusRetentionDays);
+      daoCollection
+          .entityExtensionTimeSeriesDao()
+          .deleteBeforeExclusiveByFQN(
+              ingestionPipeline.getFullyQualifiedName(), PIPELINE_STATUS_JSON_SCHEMA, expiredBefore);
+    }
   }
 
   public PipelineStatus getPipelineStatus(String ingestionPipelineFQN, UUID pipelineStatusRunId) throws IOException {
@@ -11,6 +11,13 @@ import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.service.Entity;
 
 public class ListFilter {
+  /** Indexed column holding the id of the service of an entity, such as the service of a dashboard */
+  public static final String SERVICE_ID_COLUMN = "serviceId";
+  /** Indexed column holding the id of the database of a database schema or a table */
+  public static final String DATABASE_ID_COLUMN = "databaseId";
+  /** Indexed column holding the id of the database schema of a table */
+  public static final String DATABASE_SCHEMA_ID_COLUMN = "databaseSchemaId";
+
   @Getter private final Include include;
   private final Map<String, String> queryParams = new HashMap<>();
 
@@ -38,6 +45,7 @@ public class ListFilter {
   public String getCondition(String tableName) {
     String condition = getIncludeCondition(tableName);
     condition = addCondition(condition, getDatabaseCondition(tableName));
+    condition = addCondition(condition, getDatabaseSchemaCondition(tableName));
     condition = addCondition(condition, getServiceCondition(tableName));
     condition = addCondition(condition, getParentCondition(tableName));
     condition = addCondition(condition, getCategoryCondition(tableName));
@@ -59,13 +67,18 @@ public class ListFilter {
   }
 
   public String getDatabaseCondition(String tableName) {
-    String database = queryParams.get("database");
-    return database == null ? "" : getFqnPrefixCondition(tableName, database);
+    String databaseId = queryParams.get(DATABASE_ID_COLUMN);
+    return databaseId == null ? "" : getColumnCondition(tableName, DATABASE_ID_COLUMN, databaseId);
+  }
+
+  public String getDatabaseSchemaCondition(String tableName) {
+    String databaseSchemaId = queryParams.get(DATABASE_SCHEMA_ID_COLUMN);
+    return databaseSchemaId == null ? "" : getColumnCondition(tableName, DATABASE_SCHEMA_ID_COLUMN, databaseSchemaId);
   }
 
   public String getServiceCondition(String tableName) {
-    String service = queryParams.get("service");
-    return service == null ? "" : getFqnPrefixCondition(tableName, service);
+    String serviceId = queryParams.get(SERVICE_ID_COLUMN);
+    return serviceId == null ? "" : getColumnCondition(tableName, SERVICE_ID_COLUMN, serviceId);
   }
 
   public String getParentCondition(String tableName) {
@@ -112,6 +125,14 @@ public class ListFilter {
     return addCondition(condition1, condition2);
   }
 
+  private String getColumnCondition(String tableName, String columnName, String value) {
+    // Equality on the indexed parent column instead of a prefix match on the fully qualified name of the children
+    value = escapeApostrophe(value);
+    return tableName == null
+        ? String.format("%s = '%s'", columnName, value)
+        : String.format("%s.%s = '%s'", tableName, columnName, value);
+  }
+
   private String getFqnPrefixCondition(String tableName, String fqnPrefix) {
     fqnPrefix = escape(fqnPrefix);
     return tableName == null
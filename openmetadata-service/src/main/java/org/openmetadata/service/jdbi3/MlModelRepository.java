@@ -152,7 +152,7 @@ public class MlModelRepository extends EntityRepository<MlModel> {
     // Don't store owner, dashboard, href and tags as JSON. Build it on the fly based on relationships
     mlModel.withService(null).withOwner(null).withDashboard(null).withHref(null).withTags(null);
 
-    store(mlModel, update);
+    store(mlModel, getServiceColumns(service), update);
 
     // Restore the relationships
     mlModel.withService(service).withOwner(owner).withDashboard(dashboard).withTags(tags);
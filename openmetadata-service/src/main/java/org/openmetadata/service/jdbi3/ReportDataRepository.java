@@ -7,6 +7,7 @@ import javax.ws.rs.core.Response;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.analytics.ReportData;
 import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.service.dataInsight.DataInsightRollupEngine;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.ResultList;
 
@@ -31,6 +32,10 @@ public class ReportDataRepository {
             "reportData",
             JsonUtils.pojoToJson(reportData));
 
+    DataInsightRollupEngine rollupEngine = DataInsightRollupEngine.getInstance();
+    if (rollupEngine != null) {
+      rollupEngine.onReportDataAdded(reportData);
+    }
     return Response.ok(reportData).build();
   }
 
@@ -753,7 +753,14 @@ public class TableRepository extends EntityRepository<Table> {
     table.setColumns(cloneWithoutTags(columnWithTags));
     table.getColumns().forEach(column -> column.setTags(null));
 
-    store(table, update);
+    Map<String, String> parentColumns = new HashMap<>();
+    if (table.getDatabase() != null) {
+      parentColumns.put(ListFilter.DATABASE_ID_COLUMN, table.getDatabase().getId().toString());
+    }
+    if (table.getDatabaseSchema() != null) {
+      parentColumns.put(ListFilter.DATABASE_SCHEMA_ID_COLUMN, table.getDatabaseSchema().getId().toString());
+    }
+    store(table, parentColumns, update);
 
     // Restore the relationships
     table.withOwner(owner).withTags(tags).withColumns(columnWithTags).withService(service);
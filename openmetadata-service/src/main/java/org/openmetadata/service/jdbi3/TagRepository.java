@@ -18,9 +18,10 @@ import static org.openmetadata.service.Entity.TAG;
 import static org.openmetadata.service.util.EntityUtil.entityReferenceMatch;
 import static org.openmetadata.service.util.EntityUtil.getId;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +33,7 @@ import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.resources.tags.TagResource;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
@@ -63,6 +65,7 @@ public class TagRepository extends EntityRepository<Tag> {
     tag.withClassification(null).withParent(null);
     store(tag, update);
     tag.withClassification(Classification).withParent(parent);
+    TagLabelCache.getInstance().put(TAG, tag);
   }
 
   @Override
@@ -94,6 +97,7 @@ public class TagRepository extends EntityRepository<Tag> {
   protected void postDelete(Tag entity) {
     // Cleanup all the tag labels using this tag
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.TAG.ordinal(), entity.getFullyQualifiedName());
+    TagLabelCache.getInstance().remove(TAG, entity.getFullyQualifiedName());
   }
 
   @Override
@@ -103,6 +107,18 @@ public class TagRepository extends EntityRepository<Tag> {
     return tag.withUsageCount(fields.contains("usageCount") ? getUsageCount(tag) : null);
   }
 
+  @Override
+  protected void setFieldsInBulk(Fields fields, List<Tag> tags) throws IOException {
+    super.setFieldsInBulk(fields.without("usageCount"), tags);
+    if (fields.contains("usageCount")) {
+      // Usage counts of the whole page are read with a single query
+      List<String> fqns = new ArrayList<>();
+      tags.forEach(tag -> fqns.add(tag.getFullyQualifiedName()));
+      Map<String, Integer> counts = daoCollection.tagUsageDAO().getTagCounts(TagSource.TAG.ordinal(), fqns);
+      tags.forEach(tag -> tag.setUsageCount(counts.getOrDefault(tag.getFullyQualifiedName(), 0)));
+    }
+  }
+
   private Integer getUsageCount(Tag tag) {
     return daoCollection.tagUsageDAO().getTagCount(TagSource.TAG.ordinal(), tag.getFullyQualifiedName());
   }
@@ -170,8 +186,9 @@ public class TagRepository extends EntityRepository<Tag> {
         }
         // Category name changed - update tag names starting from category and all the children tags
         LOG.info("Tag name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.tagDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+        FqnRenameEngine.getInstance().rename(TAG, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
         daoCollection.tagUsageDAO().rename(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+        TagLabelCache.getInstance().rename(TAG, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
         recordChange("name", original.getName(), updated.getName());
       }
 
@@ -179,7 +196,7 @@ public class TagRepository extends EntityRepository<Tag> {
       getChildren(updated);
     }
 
-    private void updateParent(Tag original, Tag updated) throws JsonProcessingException {
+    private void updateParent(Tag original, Tag updated) throws IOException {
       // Can't change parent and Classification both at the same time
       UUID oldParentId = getId(original.getParent());
       UUID newParentId = getId(updated.getParent());
@@ -189,8 +206,9 @@ public class TagRepository extends EntityRepository<Tag> {
       UUID newCategoryId = getId(updated.getClassification());
       boolean ClassificationChanged = !Objects.equals(oldCategoryId, newCategoryId);
 
-      daoCollection.tagDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+      FqnRenameEngine.getInstance().rename(TAG, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
       daoCollection.tagUsageDAO().rename(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+      TagLabelCache.getInstance().rename(TAG, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
       if (ClassificationChanged) {
         updateClassificationRelationship(original, updated);
         recordChange(
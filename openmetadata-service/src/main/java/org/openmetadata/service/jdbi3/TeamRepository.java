@@ -517,6 +517,23 @@ public class TeamRepository extends EntityRepository<Team> {
       updateParents(original, updated);
       updateChildren(original, updated);
       updatePolicies(original, updated);
+      invalidateSubjects(original, updated);
+    }
+
+    private void invalidateSubjects(Team origTeam, Team updatedTeam) {
+      // Users already under the team are invalidated with it. Added users and the children, which cache their
+      // parents, are invalidated explicitly
+      SubjectCache subjectCache = SubjectCache.getInstance();
+      subjectCache.invalidateTeam(origTeam.getId());
+      for (EntityReference child : listOrEmpty(origTeam.getChildren())) {
+        subjectCache.invalidateTeam(child.getId());
+      }
+      for (EntityReference child : listOrEmpty(updatedTeam.getChildren())) {
+        subjectCache.invalidateTeam(child.getId());
+      }
+      for (EntityReference user : listOrEmpty(updatedTeam.getUsers())) {
+        subjectCache.invalidateUser(user.getId());
+      }
     }
 
     private void updateUsers(Team origTeam, Team updatedTeam) throws JsonProcessingException {
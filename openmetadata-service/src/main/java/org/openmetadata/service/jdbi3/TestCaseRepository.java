@@ -5,12 +5,13 @@ import static org.openmetadata.service.Entity.TEST_DEFINITION;
 import static org.openmetadata.service.Entity.TEST_SUITE;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
-import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.tests.TestCase;
 import org.openmetadata.schema.tests.TestCaseParameter;
@@ -26,6 +27,9 @@ import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.CollectionDAO.TestCaseLatestResultDAO.TestCaseLatestResultRecord;
+import org.openmetadata.service.resources.dqtests.LatestTestCaseResults;
+import org.openmetadata.service.resources.dqtests.LatestTestCaseResults.LatestTestCaseResult;
 import org.openmetadata.service.resources.feeds.MessageParser;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.FullyQualifiedName;
@@ -129,37 +133,23 @@ public class TestCaseRepository extends EntityRepository<TestCase> {
     storeOwner(test, test.getOwner());
   }
 
-  @Transaction
   public RestUtil.PutResponse<?> addTestCaseResult(
       String updatedBy, UriInfo uriInfo, String fqn, TestCaseResult testCaseResult) throws IOException {
     // Validate the request content
     TestCase testCase = dao.findEntityByName(fqn);
+    setFieldsInternal(testCase, new EntityUtil.Fields(allowedFields, "testSuite"));
 
     TestCaseResult storedTestCaseResult =
         JsonUtils.readValue(
             daoCollection
-                .entityExtensionTimeSeriesDao()
-                .getExtensionAtTimestamp(
-                    testCase.getFullyQualifiedName(), TESTCASE_RESULT_EXTENSION, testCaseResult.getTimestamp()),
+                .testCaseLatestResultDAO()
+                .addResult(
+                    testCase.getId().toString(),
+                    testCase.getTestSuite().getId().toString(),
+                    getEntityFQN(testCase),
+                    testCase.getFullyQualifiedName(),
+                    testCaseResult),
             TestCaseResult.class);
-    if (storedTestCaseResult != null) {
-      daoCollection
-          .entityExtensionTimeSeriesDao()
-          .update(
-              testCase.getFullyQualifiedName(),
-              TESTCASE_RESULT_EXTENSION,
-              JsonUtils.pojoToJson(testCaseResult),
-              testCaseResult.getTimestamp());
-    } else {
-      daoCollection
-          .entityExtensionTimeSeriesDao()
-          .insert(
-              testCase.getFullyQualifiedName(),
-              TESTCASE_RESULT_EXTENSION,
-              "testCaseResult",
-              JsonUtils.pojoToJson(testCaseResult));
-    }
-    setFieldsInternal(testCase, new EntityUtil.Fields(allowedFields, "testSuite"));
     ChangeDescription change =
         addTestCaseChangeDescription(testCase.getVersion(), testCaseResult, storedTestCaseResult);
     ChangeEvent changeEvent =
@@ -168,18 +158,22 @@ public class TestCaseRepository extends EntityRepository<TestCase> {
     return new RestUtil.PutResponse<>(Response.Status.CREATED, changeEvent, RestUtil.ENTITY_FIELDS_CHANGED);
   }
 
-  @Transaction
   public RestUtil.PutResponse<?> deleteTestCaseResult(String updatedBy, String fqn, Long timestamp) throws IOException {
     // Validate the request content
     TestCase testCase = dao.findEntityByName(fqn);
+    testCase.setTestSuite(getTestSuite(testCase));
     TestCaseResult storedTestCaseResult =
         JsonUtils.readValue(
             daoCollection
-                .entityExtensionTimeSeriesDao()
-                .getExtensionAtTimestamp(fqn, TESTCASE_RESULT_EXTENSION, timestamp),
+                .testCaseLatestResultDAO()
+                .deleteResult(
+                    testCase.getId().toString(),
+                    testCase.getTestSuite().getId().toString(),
+                    getEntityFQN(testCase),
+                    testCase.getFullyQualifiedName(),
+                    timestamp),
             TestCaseResult.class);
     if (storedTestCaseResult != null) {
-      daoCollection.entityExtensionTimeSeriesDao().deleteAtTimestamp(fqn, TESTCASE_RESULT_EXTENSION, timestamp);
       testCase.setTestCaseResult(storedTestCaseResult);
       ChangeDescription change = deleteTestCaseChangeDescription(testCase.getVersion(), storedTestCaseResult);
       ChangeEvent changeEvent = getChangeEvent(updatedBy, testCase, change, entityType, testCase.getVersion());
@@ -219,12 +213,51 @@ public class TestCaseRepository extends EntityRepository<TestCase> {
         .withPreviousVersion(prevVersion);
   }
 
+  @Override
+  protected void setFieldsInBulk(EntityUtil.Fields fields, List<TestCase> tests) throws IOException {
+    super.setFieldsInBulk(fields.without("testCaseResult"), tests);
+    if (fields.contains("testCaseResult") && !tests.isEmpty()) {
+      // Latest results of the whole page are read with a single query
+      List<String> ids = new ArrayList<>();
+      tests.forEach(test -> ids.add(test.getId().toString()));
+      Map<String, TestCaseResult> results = new HashMap<>();
+      for (TestCaseLatestResultRecord record : daoCollection.testCaseLatestResultDAO().listByIds(ids)) {
+        results.put(record.getTestCaseId(), JsonUtils.readValue(record.getJson(), TestCaseResult.class));
+      }
+      tests.forEach(test -> test.setTestCaseResult(results.get(test.getId().toString())));
+    }
+  }
+
   private TestCaseResult getTestCaseResult(TestCase testCase) throws IOException {
     return JsonUtils.readValue(
-        daoCollection
-            .entityExtensionTimeSeriesDao()
-            .getLatestExtension(testCase.getFullyQualifiedName(), TESTCASE_RESULT_EXTENSION),
-        TestCaseResult.class);
+        daoCollection.testCaseLatestResultDAO().findById(testCase.getId().toString()), TestCaseResult.class);
+  }
+
+  /** Latest result of each test case of a test suite, along with the number of test cases by status */
+  public LatestTestCaseResults getLatestResultsByTestSuite(UUID testSuiteId) throws IOException {
+    return toLatestResults(daoCollection.testCaseLatestResultDAO().listByTestSuite(testSuiteId.toString()));
+  }
+
+  /** Latest result of each test case of an entity and its fields, along with the number of test cases by status */
+  public LatestTestCaseResults getLatestResultsByEntity(String entityFQN) throws IOException {
+    return toLatestResults(daoCollection.testCaseLatestResultDAO().listByEntity(entityFQN));
+  }
+
+  private static LatestTestCaseResults toLatestResults(List<TestCaseLatestResultRecord> records) throws IOException {
+    LatestTestCaseResults results = new LatestTestCaseResults();
+    for (TestCaseLatestResultRecord record : records) {
+      results.add(
+          new LatestTestCaseResult(
+              UUID.fromString(record.getTestCaseId()),
+              record.getFullyQualifiedName(),
+              JsonUtils.readValue(record.getJson(), TestCaseResult.class)));
+    }
+    return results;
+  }
+
+  /** FQN of the entity a test case is about, without the field */
+  private static String getEntityFQN(TestCase testCase) {
+    return MessageParser.EntityLink.parse(testCase.getEntityLink()).getEntityFQN();
   }
 
   public ResultList<TestCaseResult> getTestCaseResults(String fqn, Long startTs, Long endTs) throws IOException {
@@ -239,6 +272,12 @@ public class TestCaseRepository extends EntityRepository<TestCase> {
     return new ResultList<>(testCaseResults, String.valueOf(startTs), String.valueOf(endTs), testCaseResults.size());
   }
 
+  @Override
+  protected void cleanup(TestCase testCase) throws IOException {
+    daoCollection.testCaseLatestResultDAO().delete(testCase.getId().toString());
+    super.cleanup(testCase);
+  }
+
   @Override
   public EntityUpdater getUpdater(TestCase original, TestCase updated, Operation operation) {
     return new TestUpdater(original, updated, operation);
@@ -282,6 +321,9 @@ public class TestCaseRepository extends EntityRepository<TestCase> {
           TEST_CASE,
           updated.getId());
       recordChange("parameterValues", original.getParameterValues(), updated.getParameterValues());
+      daoCollection
+          .testCaseLatestResultDAO()
+          .updateTestCase(updated.getId().toString(), updated.getTestSuite().getId().toString(), getEntityFQN(updated));
     }
   }
 }
@@ -99,7 +99,7 @@ public class TopicRepository extends EntityRepository<Topic> {
       topic.getMessageSchema().getSchemaFields().forEach(field -> field.setTags(null));
     }
 
-    store(topic, update);
+    store(topic, getServiceColumns(service), update);
 
     // Restore the relationships
     if (fieldsWithTags != null) {
@@ -307,6 +307,7 @@ public class UserRepository extends EntityRepository<User> {
       recordChange("email", original.getEmail(), updated.getEmail());
       recordChange("isEmailVerified", original.getIsEmailVerified(), updated.getIsEmailVerified());
       updateAuthenticationMechanism(original, updated);
+      SubjectCache.getInstance().invalidateUser(original.getId());
     }
 
     private void updateRoles(User original, User updated) throws IOException {
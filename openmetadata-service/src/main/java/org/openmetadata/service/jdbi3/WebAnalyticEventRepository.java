@@ -3,6 +3,7 @@ package org.openmetadata.service.jdbi3;
 import static org.openmetadata.service.Entity.WEB_ANALYTIC_EVENT;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import javax.ws.rs.core.Response;
@@ -11,6 +12,8 @@ import org.openmetadata.schema.analytics.WebAnalyticEvent;
 import org.openmetadata.schema.analytics.WebAnalyticEventData;
 import org.openmetadata.schema.analytics.type.WebAnalyticEventType;
 import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.service.analytics.WebAnalyticEventBuffer;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO.ExtensionTimeSeriesRow;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.ResultList;
@@ -57,20 +60,42 @@ public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEven
     storeOwner(entity, entity.getOwner());
   }
 
-  @Transaction
+  /**
+   * Add an event. When the web analytic event buffer is enabled, the event is acknowledged once buffered and written in
+   * a batch by {@link WebAnalyticEventBuffer}.
+   */
   public Response addWebAnalyticEventData(WebAnalyticEventData webAnalyticEventData) throws IOException {
     webAnalyticEventData.setEventId(UUID.randomUUID());
-    daoCollection
-        .entityExtensionTimeSeriesDao()
-        .insert(
-            webAnalyticEventData.getEventType().value(),
-            WEB_ANALYTICS_EVENT_DATA_EXTENSION,
-            "webAnalyticEventData",
-            JsonUtils.pojoToJson(webAnalyticEventData));
-
+    WebAnalyticEventBuffer buffer = WebAnalyticEventBuffer.getInstance();
+    if (buffer != null) {
+      buffer.add(webAnalyticEventData);
+    } else {
+      daoCollection
+          .entityExtensionTimeSeriesDao()
+          .insert(
+              webAnalyticEventData.getEventType().value(),
+              WEB_ANALYTICS_EVENT_DATA_EXTENSION,
+              "webAnalyticEventData",
+              JsonUtils.pojoToJson(webAnalyticEventData));
+    }
     return Response.ok(webAnalyticEventData).build();
   }
 
+  /** Insert a batch of events in a single statement */
+  public void insertWebAnalyticEventData(List<WebAnalyticEventData> events) throws IOException {
+    List<ExtensionTimeSeriesRow> rows = new ArrayList<>(events.size());
+    for (WebAnalyticEventData event : events) {
+      rows.add(
+          ExtensionTimeSeriesRow.builder()
+              .entityFQN(event.getEventType().value())
+              .extension(WEB_ANALYTICS_EVENT_DATA_EXTENSION)
+              .jsonSchema("webAnalyticEventData")
+              .json(JsonUtils.pojoToJson(event))
+              .build());
+    }
+    daoCollection.entityExtensionTimeSeriesDao().insertBatch(rows);
+  }
+
   @Transaction
   public void deleteWebAnalyticEventData(WebAnalyticEventType name, Long timestamp) {
     daoCollection
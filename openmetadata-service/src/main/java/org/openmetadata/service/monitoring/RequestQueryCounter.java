@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Counts the DAO queries issued while serving a request and records the total in a histogram when the response is
+ * written. A request that issues one query per returned entity shows up as a long tail in this histogram.
+ */
+@Provider
+public class RequestQueryCounter implements ContainerRequestFilter, ContainerResponseFilter {
+  public static final String SUMMARY_NAME = "http.server.requests.queries";
+  private static final ThreadLocal<int[]> QUERY_COUNT = new ThreadLocal<>();
+
+  private final MeterRegistry meterRegistry;
+
+  public RequestQueryCounter(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** Called for every DAO query. Queries issued outside of a request, e.g. by event publishers, are not counted. */
+  public static void increment() {
+    int[] count = QUERY_COUNT.get();
+    if (count != null) {
+      count[0]++;
+    }
+  }
+
+  public static int current() {
+    int[] count = QUERY_COUNT.get();
+    return count == null ? 0 : count[0];
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    QUERY_COUNT.set(new int[1]);
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    int[] count = QUERY_COUNT.get();
+    if (count == null) {
+      return;
+    }
+    QUERY_COUNT.remove();
+    DistributionSummary.builder(SUMMARY_NAME)
+        .tags("method", requestContext.getMethod())
+        .serviceLevelObjectives(1, 5, 10, 25, 50, 100, 250, 500, 1000)
+        .register(meterRegistry)
+        .record(count[0]);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jdbi.v3.sqlobject.CreateSqlObject;
+import org.jdbi.v3.sqlobject.Handler;
+import org.jdbi.v3.sqlobject.HandlerDecorator;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdateContainer;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
+
+/**
+ * Decorates every SQL backed method of the JDBI SqlObject DAOs (for example {@code
+ * CollectionDAO.EntityRelationshipDAO#findTo}) with a Micrometer timer and a row count histogram. Both meters are
+ * tagged with the DAO interface, the method name and the connection type. Every invocation is also added to the {@link
+ * RequestQueryCounter} of the current request.
+ */
+public class SqlObjectMetricsDecorator implements HandlerDecorator {
+  public static final String TIMER_NAME = "jdbi.sqlobject.duration";
+  public static final String ROWS_NAME = "jdbi.sqlobject.rows";
+  private static final String DAO_TAG_NAME = "dao";
+  private static final String METHOD_TAG_NAME = "method";
+  private static final String CONNECTION_TYPE_TAG_NAME = "connectionType";
+  // Fixed buckets keep the number of series bounded, there is one timer and one histogram per DAO method
+  private static final Duration[] LATENCY_BUCKETS = {
+    Duration.ofMillis(1),
+    Duration.ofMillis(5),
+    Duration.ofMillis(10),
+    Duration.ofMillis(50),
+    Duration.ofMillis(100),
+    Duration.ofMillis(500),
+    Duration.ofSeconds(1),
+    Duration.ofSeconds(5)
+  };
+  private static final double[] ROW_BUCKETS = {1, 10, 100, 1000, 10000};
+
+  private final MeterRegistry meterRegistry;
+  private final String connectionType;
+
+  public SqlObjectMetricsDecorator(MeterRegistry meterRegistry, ConnectionType connectionType) {
+    this.meterRegistry = meterRegistry;
+    this.connectionType = connectionType == null ? "unknown" : connectionType.name().toLowerCase();
+  }
+
+  @Override
+  public Handler decorateHandler(Handler base, Class<?> sqlObjectType, Method method) {
+    if (!isSqlMethod(method)) {
+      // Default methods and nested SqlObject factories delegate to other instrumented methods
+      return base;
+    }
+    // Meters are resolved once per method when the SqlObject is built, not on every call
+    String dao = sqlObjectType.getSimpleName();
+    Timer timer =
+        Timer.builder(TIMER_NAME)
+            .tags(DAO_TAG_NAME, dao, METHOD_TAG_NAME, method.getName(), CONNECTION_TYPE_TAG_NAME, connectionType)
+            .serviceLevelObjectives(LATENCY_BUCKETS)
+            .register(meterRegistry);
+    DistributionSummary rows =
+        DistributionSummary.builder(ROWS_NAME)
+            .tags(DAO_TAG_NAME, dao, METHOD_TAG_NAME, method.getName(), CONNECTION_TYPE_TAG_NAME, connectionType)
+            .serviceLevelObjectives(ROW_BUCKETS)
+            .register(meterRegistry);
+    boolean update = isUpdate(method);
+    return (target, args, handle) -> {
+      RequestQueryCounter.increment();
+      long start = System.nanoTime();
+      try {
+        Object result = base.invoke(target, args, handle);
+        rows.record(countRows(result, update));
+        return result;
+      } finally {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    };
+  }
+
+  private static boolean isSqlMethod(Method method) {
+    return !method.isDefault()
+        && !Modifier.isStatic(method.getModifiers())
+        && method.getDeclaringClass() != Object.class
+        && !method.isAnnotationPresent(CreateSqlObject.class);
+  }
+
+  private static boolean isUpdate(Method method) {
+    return method.isAnnotationPresent(SqlUpdate.class)
+        || method.isAnnotationPresent(SqlBatch.class)
+        || method.isAnnotationPresent(ConnectionAwareSqlUpdate.class)
+        || method.isAnnotationPresent(ConnectionAwareSqlUpdateContainer.class);
+  }
+
+  static long countRows(Object result, boolean update) {
+    if (result == null) {
+      return 0;
+    }
+    if (result instanceof Collection) {
+      return ((Collection<?>) result).size();
+    }
+    if (result instanceof Map) {
+      return ((Map<?, ?>) result).size();
+    }
+    if (update && result instanceof Number) {
+      // Update statements return the number of affected rows
+      return ((Number) result).longValue();
+    }
+    if (result instanceof int[]) {
+      long total = 0;
+      for (int count : (int[]) result) {
+        total += count;
+      }
+      return total;
+    }
+    return 1;
+  }
+}
@@ -13,6 +13,10 @@
 
 package org.openmetadata.service.resources;
 
+import static org.openmetadata.annotations.index.AnnotationIndex.COLLECTIONS;
+import static org.openmetadata.annotations.index.AnnotationIndex.FUNCTIONS;
+import static org.openmetadata.annotations.index.AnnotationIndex.METHOD_SEPARATOR;
+
 import com.google.common.annotations.VisibleForTesting;
 import io.dropwizard.setup.Environment;
 import io.swagger.annotations.Api;
@@ -25,17 +29,22 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import javax.ws.rs.Path;
 import javax.ws.rs.core.UriInfo;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.annotations.index.AnnotationIndex;
 import org.openmetadata.schema.Function;
 import org.openmetadata.schema.type.CollectionDescriptor;
 import org.openmetadata.schema.type.CollectionInfo;
@@ -88,8 +97,18 @@ public final class CollectionRegistry {
   }
 
   private void initialize() {
+    long start = System.nanoTime();
     loadCollectionDescriptors();
+    long collectionsLoaded = System.nanoTime();
     loadConditionFunctions();
+    long functionsLoaded = System.nanoTime();
+    LOG.info(
+        "Collection registry initialized in {} ms: {} collections in {} ms, {} functions in {} ms",
+        TimeUnit.NANOSECONDS.toMillis(functionsLoaded - start),
+        collectionMap.size(),
+        TimeUnit.NANOSECONDS.toMillis(collectionsLoaded - start),
+        functionMap.values().stream().mapToInt(List::size).sum(),
+        TimeUnit.NANOSECONDS.toMillis(functionsLoaded - collectionsLoaded));
   }
 
   /** For a collection at {@code collectionPath} returns JSON document that describes it and it's children */
@@ -144,15 +163,7 @@ public final class CollectionRegistry {
    * those conditions and makes it available listing them.
    */
   private void loadConditionFunctions() {
-    Reflections reflections =
-        new Reflections(
-            new ConfigurationBuilder()
-                .setUrls(ClasspathHelper.forPackage("org.openmetadata.service"))
-                .setScanners(new MethodAnnotationsScanner()));
-
-    // Get classes marked with @Collection annotation
-    Set<Method> methods = reflections.getMethodsAnnotatedWith(Function.class);
-    for (Method method : methods) {
+    for (Method method : getFunctionMethods()) {
       Function annotation = method.getAnnotation(Function.class);
       List<org.openmetadata.schema.type.Function> functionList =
           functionMap.computeIfAbsent(method.getDeclaringClass(), k -> new ArrayList<>());
@@ -235,18 +246,112 @@ public final class CollectionRegistry {
 
   /** Compile a list of REST collection based on Resource classes marked with {@code Collection} annotation */
   private static List<CollectionDetails> getCollections() {
-    Reflections reflections = new Reflections("org.openmetadata.service.resources");
-
-    // Get classes marked with @Collection annotation
-    Set<Class<?>> collectionClasses = reflections.getTypesAnnotatedWith(Collection.class);
     List<CollectionDetails> collections = new ArrayList<>();
-    for (Class<?> cl : collectionClasses) {
+    for (Class<?> cl : getCollectionClasses()) {
       CollectionDetails cd = getCollection(cl);
       collections.add(cd);
     }
     return collections;
   }
 
+  /** Get classes marked with @Collection annotation from the index generated at build time or by scanning classpath */
+  private static Set<Class<?>> getCollectionClasses() {
+    return loadIndexed(
+        COLLECTIONS,
+        entries -> {
+          Set<Class<?>> collectionClasses = new LinkedHashSet<>();
+          for (String className : entries) {
+            collectionClasses.add(loadIndexedClass(className));
+          }
+          return collectionClasses;
+        },
+        () -> new Reflections("org.openmetadata.service.resources").getTypesAnnotatedWith(Collection.class));
+  }
+
+  /** Get methods marked with @Function annotation from the index generated at build time or by scanning classpath */
+  private static Set<Method> getFunctionMethods() {
+    return loadIndexed(
+        FUNCTIONS,
+        entries -> {
+          Set<Method> methods = new LinkedHashSet<>();
+          for (String entry : entries) {
+            String className = entry.substring(0, entry.indexOf(METHOD_SEPARATOR));
+            String methodName = entry.substring(entry.indexOf(METHOD_SEPARATOR) + 1);
+            for (Method method : loadIndexedClass(className).getDeclaredMethods()) {
+              if (method.getName().equals(methodName) && method.isAnnotationPresent(Function.class)) {
+                methods.add(method);
+              }
+            }
+          }
+          return methods;
+        },
+        () ->
+            new Reflections(
+                    new ConfigurationBuilder()
+                        .setUrls(ClasspathHelper.forPackage("org.openmetadata.service"))
+                        .setScanners(new MethodAnnotationsScanner()))
+                .getMethodsAnnotatedWith(Function.class));
+  }
+
+  /**
+   * Load the annotated elements from the index generated at build time. The classpath is scanned when the index is not
+   * available, for example when running from an IDE without annotation processing. An index read from class directories
+   * instead of jars, as in development and tests, may have been written by an incremental build for the sources it
+   * compiled only. It is checked against the classpath, which is used when they differ.
+   */
+  private static <T> Set<T> loadIndexed(
+      String resource, java.util.function.Function<List<String>, Set<T>> fromIndex, Supplier<Set<T>> scan) {
+    long start = System.nanoTime();
+    ClassLoader classLoader = CollectionRegistry.class.getClassLoader();
+    Optional<List<String>> index = AnnotationIndex.read(classLoader, resource);
+    Set<T> elements;
+    String source;
+    if (index.isEmpty()) {
+      elements = scan.get();
+      source = "the classpath, the index is not found";
+    } else if (AnnotationIndex.isPackaged(classLoader, resource)) {
+      elements = fromIndex.apply(index.get());
+      source = "the index";
+    } else {
+      elements = scan.get();
+      Set<T> indexed = indexedOrNull(fromIndex, index.get());
+      if (elements.equals(indexed)) {
+        source = "the index, checked against the classpath";
+      } else {
+        source = "the classpath, the index is out of date";
+        LOG.warn(
+            "Annotation index {} lists {} entries, {} are found on the classpath. Rebuild the module to update it.",
+            resource,
+            index.get().size(),
+            elements.size());
+      }
+    }
+    LOG.info(
+        "Loaded {} entries of {} from {} in {} ms",
+        elements.size(),
+        resource,
+        source,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return elements;
+  }
+
+  private static <T> Set<T> indexedOrNull(
+      java.util.function.Function<List<String>, Set<T>> fromIndex, List<String> entries) {
+    try {
+      return fromIndex.apply(entries);
+    } catch (IllegalStateException e) {
+      return null; // Classes removed since the index was written
+    }
+  }
+
+  private static Class<?> loadIndexedClass(String className) {
+    try {
+      return Class.forName(className);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(String.format("Class %s in the annotation index is not found", className), e);
+    }
+  }
+
   /** Create a resource class based on dependencies declared in @Collection annotation */
   private static Object createResource(
       CollectionDAO daoObject,
@@ -268,7 +373,13 @@ public final class CollectionRegistry {
             clz.getDeclaredConstructor(CollectionDAO.class, Authorizer.class, AuthenticatorHandler.class)
                 .newInstance(daoObject, authorizer, authHandler);
       } catch (NoSuchMethodException ex) {
-        resource = Class.forName(resourceClass).getConstructor().newInstance();
+        try {
+          resource =
+              clz.getDeclaredConstructor(CollectionDAO.class, Authorizer.class, OpenMetadataApplicationConfig.class)
+                  .newInstance(daoObject, authorizer, config);
+        } catch (NoSuchMethodException exc) {
+          resource = Class.forName(resourceClass).getConstructor().newInstance();
+        }
       }
     }
 
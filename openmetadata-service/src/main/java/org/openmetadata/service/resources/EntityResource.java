@@ -22,7 +22,9 @@ import org.openmetadata.schema.type.MetadataOperation;
 import org.openmetadata.schema.type.csv.CsvImportResult;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
+import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.jdbi3.FqnRenameEngine;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.security.Authorizer;
 import org.openmetadata.service.security.policyevaluator.OperationContext;
@@ -38,6 +40,7 @@ import org.openmetadata.service.util.ResultList;
 
 @Slf4j
 public abstract class EntityResource<T extends EntityInterface, K extends EntityRepository<T>> {
+  private static final String UNKNOWN_PARENT_ID = new UUID(0, 0).toString();
   protected final Class<T> entityClass;
   protected final String entityType;
   protected final List<String> allowedFields;
@@ -210,7 +213,15 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     ResourceContext resourceContext = getResourceContextByName(entity.getFullyQualifiedName());
     OperationContext operationContext = new OperationContext(entityType, createOrUpdateOperation(resourceContext));
     authorizer.authorize(securityContext, operationContext, resourceContext);
-    PutResponse<T> response = dao.createOrUpdate(uriInfo, entity);
+    PutResponse<T> response;
+    try {
+      response = dao.createOrUpdate(uriInfo, entity);
+    } catch (IOException | RuntimeException e) {
+      FqnRenameEngine.discardPending();
+      throw e;
+    }
+    // Descendants of a renamed entity are renamed in the background once the rename is stored
+    FqnRenameEngine.submitPending();
     addHref(uriInfo, response.getEntity());
     return response.toResponse();
   }
@@ -219,7 +230,14 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
       throws IOException {
     OperationContext operationContext = new OperationContext(entityType, patch);
     authorizer.authorize(securityContext, operationContext, getResourceContextById(id));
-    PatchResponse<T> response = dao.patch(uriInfo, id, securityContext.getUserPrincipal().getName(), patch);
+    PatchResponse<T> response;
+    try {
+      response = dao.patch(uriInfo, id, securityContext.getUserPrincipal().getName(), patch);
+    } catch (IOException | RuntimeException e) {
+      FqnRenameEngine.discardPending();
+      throw e;
+    }
+    FqnRenameEngine.submitPending();
     addHref(uriInfo, response.getEntity());
     return response.toResponse();
   }
@@ -279,6 +297,24 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     return entity;
   }
 
+  /**
+   * Id of the parent entity, of one of the given types, with the given fully qualified name. Lists are filtered on the
+   * indexed parent id columns; a parent that does not exist resolves to an id that matches no entity.
+   */
+  protected static String getParentId(String parentFqn, String... parentTypes) {
+    if (parentFqn == null) {
+      return null;
+    }
+    for (String parentType : parentTypes) {
+      try {
+        return Entity.getEntityReferenceByName(parentType, parentFqn, Include.ALL).getId().toString();
+      } catch (EntityNotFoundException e) {
+        // Try the next parent type
+      }
+    }
+    return UNKNOWN_PARENT_ID;
+  }
+
   protected ResourceContext getResourceContext() {
     return getResourceContext(entityType, dao).build();
   }
@@ -45,6 +45,7 @@ import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.MetadataOperation;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
+import org.openmetadata.service.analytics.WebAnalyticEventBuffer;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.jdbi3.WebAnalyticEventRepository;
@@ -99,6 +100,8 @@ public class WebAnalyticEventResource extends EntityResource<WebAnalyticEvent, W
     for (WebAnalyticEvent webAnalyticEvent : webAnalyticEvents) {
       dao.initializeEntity(webAnalyticEvent);
     }
+    // Write the events posted by the UI in batches
+    WebAnalyticEventBuffer.initialize(dao::insertWebAnalyticEventData, config.getWebAnalyticEventBuffer());
   }
 
   @GET
@@ -134,7 +134,9 @@ public class ChartResource extends EntityResource<Chart, ChartRepository> {
           @DefaultValue("non-deleted")
           Include include)
       throws IOException {
-    ListFilter filter = new ListFilter(include).addQueryParam("service", serviceParam);
+    ListFilter filter =
+        new ListFilter(include)
+            .addQueryParam(ListFilter.SERVICE_ID_COLUMN, getParentId(serviceParam, Entity.DASHBOARD_SERVICE));
     return super.listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after);
   }
 
@@ -136,7 +136,9 @@ public class DashboardResource extends EntityResource<Dashboard, DashboardReposi
           @DefaultValue("non-deleted")
           Include include)
       throws IOException {
-    ListFilter filter = new ListFilter(include).addQueryParam("service", serviceParam);
+    ListFilter filter =
+        new ListFilter(include)
+            .addQueryParam(ListFilter.SERVICE_ID_COLUMN, getParentId(serviceParam, Entity.DASHBOARD_SERVICE));
     return super.listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after);
   }
 
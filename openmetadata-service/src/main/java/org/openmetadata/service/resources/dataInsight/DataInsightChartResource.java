@@ -57,6 +57,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.dataInsight.DataInsightAggregatorFactory;
 import org.openmetadata.service.dataInsight.DataInsightAggregatorInterface;
+import org.openmetadata.service.dataInsight.DataInsightRollupEngine;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.DataInsightChartRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
@@ -483,6 +484,29 @@ public class DataInsightChartResource extends EntityResource<DataInsightChart, D
           Long endTs)
       throws IOException, ParseException {
 
+    DataInsightRollupEngine rollupEngine = DataInsightRollupEngine.getInstance();
+    DataInsightChartResult processedData =
+        rollupEngine != null
+            ? rollupEngine.getChartResult(
+                dataInsightChartName,
+                dataReportIndex,
+                tier,
+                team,
+                startTs,
+                endTs,
+                () -> searchChartResult(dataInsightChartName, dataReportIndex, tier, team, startTs, endTs))
+            : searchChartResult(dataInsightChartName, dataReportIndex, tier, team, startTs, endTs);
+    return Response.status(OK).entity(processedData).build();
+  }
+
+  private DataInsightChartResult searchChartResult(
+      DataInsightChartResult.DataInsightChartType dataInsightChartName,
+      String dataReportIndex,
+      String tier,
+      String team,
+      Long startTs,
+      Long endTs)
+      throws IOException, ParseException {
     SearchSourceBuilder searchSourceBuilder =
         dao.buildQueryFilter(startTs, endTs, tier, team, dataInsightChartName.value());
     AbstractAggregationBuilder aggregationBuilder = dao.buildQueryAggregation(dataInsightChartName);
@@ -495,8 +519,7 @@ public class DataInsightChartResource extends EntityResource<DataInsightChart, D
 
     DataInsightAggregatorInterface processor =
         DataInsightAggregatorFactory.createDataAggregator(searchResponse.getAggregations(), dataInsightChartName);
-    DataInsightChartResult processedData = processor.process();
-    return Response.status(OK).entity(processedData).build();
+    return processor.process();
   }
 
   private DataInsightChart getDataInsightChart(CreateDataInsightChart create, String user) throws IOException {
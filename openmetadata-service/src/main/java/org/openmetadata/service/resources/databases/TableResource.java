@@ -72,6 +72,7 @@ import org.openmetadata.service.resources.EntityResource;
 import org.openmetadata.service.security.Authorizer;
 import org.openmetadata.service.security.policyevaluator.OperationContext;
 import org.openmetadata.service.util.EntityUtil.Fields;
+import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.ResultList;
 
 @Path("/v1/tables")
@@ -177,7 +178,13 @@ public class TableResource extends EntityResource<Table, TableRepository> {
           @DefaultValue("non-deleted")
           Include include)
       throws IOException {
-    ListFilter filter = new ListFilter(include).addQueryParam("database", databaseParam);
+    // The database filter is either the fully qualified name of a database or of a database schema
+    ListFilter filter =
+        databaseParam != null && FullyQualifiedName.split(databaseParam).length > 2
+            ? new ListFilter(include)
+                .addQueryParam(ListFilter.DATABASE_SCHEMA_ID_COLUMN, getParentId(databaseParam, Entity.DATABASE_SCHEMA))
+            : new ListFilter(include)
+                .addQueryParam(ListFilter.DATABASE_ID_COLUMN, getParentId(databaseParam, Entity.DATABASE));
     return super.listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after);
   }
 
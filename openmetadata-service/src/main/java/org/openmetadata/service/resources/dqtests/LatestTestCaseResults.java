@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.resources.dqtests;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.openmetadata.schema.tests.type.TestCaseResult;
+import org.openmetadata.schema.tests.type.TestCaseStatus;
+
+/** Latest result of each test case of a test suite or an entity, with the number of test cases by status */
+@Getter
+@Setter
+public class LatestTestCaseResults {
+  private List<LatestTestCaseResult> data = new ArrayList<>();
+  private Map<TestCaseStatus, Integer> statusCounts = new EnumMap<>(TestCaseStatus.class);
+  private int total;
+
+  public LatestTestCaseResults() {
+    for (TestCaseStatus status : TestCaseStatus.values()) {
+      statusCounts.put(status, 0);
+    }
+  }
+
+  public void add(LatestTestCaseResult result) {
+    data.add(result);
+    total++;
+    TestCaseStatus status = result.getTestCaseResult().getTestCaseStatus();
+    if (status != null) {
+      statusCounts.merge(status, 1, Integer::sum);
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class LatestTestCaseResult {
+    private UUID testCaseId;
+    private String fullyQualifiedName;
+    private TestCaseResult testCaseResult;
+  }
+}
@@ -529,6 +529,48 @@ public class TestCaseResource extends EntityResource<TestCase, TestCaseRepositor
     return dao.getTestCaseResults(fqn, startTs, endTs);
   }
 
+  @GET
+  @Path("/latestResults")
+  @Operation(
+      operationId = "listLatestTestCaseResults",
+      summary = "List the latest results of the test cases of a test suite or an entity",
+      tags = "TestCases",
+      description =
+          "Get the latest result of each test case of the given test suite, or of the given entity and its fields, "
+              + "along with the number of test cases by status of their latest result.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Latest testCase results",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = LatestTestCaseResults.class)))
+      })
+  public LatestTestCaseResults listLatestTestCaseResults(
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Id of the testSuite", schema = @Schema(type = "string")) @QueryParam("testSuiteId")
+          UUID testSuiteId,
+      @Parameter(
+              description = "Link of the entity",
+              schema = @Schema(type = "string", example = "<E#/{entityType}/{entityFQN}>"))
+          @QueryParam("entityLink")
+          String entityLink)
+      throws IOException {
+    if ((testSuiteId == null) == (entityLink == null)) {
+      throw new IllegalArgumentException("Exactly one of testSuiteId and entityLink must be given");
+    }
+    OperationContext operationContext = new OperationContext(Entity.TABLE, MetadataOperation.VIEW_TESTS);
+    if (testSuiteId != null) {
+      authorizer.authorize(securityContext, operationContext, TestCaseResourceContext.builder().build());
+      return dao.getLatestResultsByTestSuite(testSuiteId);
+    }
+    EntityLink entityLinkParsed = EntityLink.parse(entityLink);
+    ResourceContextInterface resourceContext = TestCaseResourceContext.builder().entityLink(entityLinkParsed).build();
+    authorizer.authorize(securityContext, operationContext, resourceContext);
+    return dao.getLatestResultsByEntity(entityLinkParsed.getEntityFQN());
+  }
+
   @DELETE
   @Path("/{fqn}/testCaseResult/{timestamp}")
   @Operation(
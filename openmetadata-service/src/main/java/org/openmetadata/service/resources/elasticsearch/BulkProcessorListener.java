@@ -112,6 +112,10 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
     totalSuccessCount += successCount;
   }
 
+  public synchronized Stats getStats() {
+    return new Stats().withFailed(totalFailedCount).withSuccess(totalSuccessCount).withTotal(totalRequests);
+  }
+
   public void updateElasticSearchStatus(EventPublisherJob.Status status, FailureDetails failDetails, Stats newStats) {
     try {
       long updateTime = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()).getTime();
@@ -421,6 +421,47 @@ public class FeedResource {
     return dao.getThreadsCount(entityLink, threadType, taskStatus, isResolved);
   }
 
+  @GET
+  @Path("/count/entities")
+  @Operation(
+      operationId = "countThreadsOfEntities",
+      summary = "count of threads of many entities",
+      tags = "feeds",
+      description =
+          "Get the count of threads about each of the entities given by `entityLink`, including the threads about "
+              + "their fields, in a single request.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Count of threads per entity link",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ThreadCount.class)))
+      })
+  public ThreadCount getThreadCountOfEntities(
+      @Context UriInfo uriInfo,
+      @Parameter(
+              description = "Entity links of the entities, the parameter is repeated for each entity",
+              schema = @Schema(type = "string", example = "<E#/{entityType}/{entityFQN}>"))
+          @QueryParam("entityLink")
+          List<String> entityLinks,
+      @Parameter(
+              description =
+                  "The type of thread to filter the results. It can take one of 'Conversation', 'Task', 'Announcement'",
+              schema = @Schema(implementation = ThreadType.class))
+          @QueryParam("type")
+          ThreadType threadType,
+      @Parameter(
+              description =
+                  "The status of tasks to filter the results. It can take one of 'Open', 'Closed'. This filter will take effect only when type is set to Task",
+              schema = @Schema(implementation = TaskStatus.class))
+          @QueryParam("taskStatus")
+          TaskStatus taskStatus,
+      @Parameter(description = "Filter threads by whether it is active or resolved", schema = @Schema(type = "boolean"))
+          @DefaultValue("false")
+          @QueryParam("isResolved")
+          Boolean isResolved) {
+    return dao.getThreadsCount(entityLinks, threadType, taskStatus, isResolved);
+  }
+
   @POST
   @Operation(
       operationId = "createThread",
@@ -566,17 +607,36 @@ public class FeedResource {
   @Path("/{id}/posts")
   @Operation(
       operationId = "getAllPostOfThread",
-      summary = "Get all the posts of a thread",
+      summary = "Get the posts of a thread",
       tags = "feeds",
-      description = "Get all the posts of an existing thread.",
+      description = "Get the posts of an existing thread in chronological order, a page at a time.",
       responses = {
         @ApiResponse(
             responseCode = "200",
             description = "The posts of the given thread.",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostList.class))),
       })
-  public PostList getPosts(@Context UriInfo uriInfo, @PathParam("id") String id) throws IOException {
-    return new PostList(dao.listPosts(id));
+  public ResultList<Post> getPosts(
+      @Context UriInfo uriInfo,
+      @PathParam("id") String id,
+      @Parameter(description = "Limit the number of posts returned. (1 to 1000000, default = 100)")
+          @DefaultValue("100")
+          @Min(1)
+          @Max(1000000)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(description = "Returns list of posts before this cursor", schema = @Schema(type = "string"))
+          @QueryParam("before")
+          String before,
+      @Parameter(description = "Returns list of posts after this cursor", schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after)
+      throws IOException {
+    RestUtil.validateCursors(before, after);
+    if (before != null) { // Reverse paging
+      return dao.listPosts(id, limitParam, before, PaginationType.BEFORE);
+    }
+    return dao.listPosts(id, limitParam, after, PaginationType.AFTER);
   }
 
   private Thread getThread(SecurityContext securityContext, CreateThread create) {
@@ -22,7 +22,8 @@ public final class FeedUtil {
 
   public static void addPost(Thread thread, Post post) {
     // Add new post to the thread
+    // The thread may hold only its latest posts, the count includes all of them
     thread.getPosts().add(post);
-    thread.withPostsCount(thread.getPosts().size());
+    thread.withPostsCount(thread.getPostsCount() + 1);
   }
 }
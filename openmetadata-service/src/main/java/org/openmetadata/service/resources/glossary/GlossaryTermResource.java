@@ -73,6 +73,7 @@ import org.openmetadata.service.util.ResultList;
 @Collection(name = "glossaryTerms", order = 7) // Initialized after Glossary, Classification, and Tags
 public class GlossaryTermResource extends EntityResource<GlossaryTerm, GlossaryTermRepository> {
   public static final String COLLECTION_PATH = "v1/glossaryTerms/";
+  private final CollectionDAO daoCollection;
 
   @Override
   public GlossaryTerm addHref(UriInfo uriInfo, GlossaryTerm term) {
@@ -87,13 +88,14 @@ public class GlossaryTermResource extends EntityResource<GlossaryTerm, GlossaryT
   }
 
   @Override
-  public void initialize(OpenMetadataApplicationConfig config) {
-    TagLabelCache.initialize();
+  public void initialize(OpenMetadataApplicationConfig config) throws IOException {
+    TagLabelCache.initialize(daoCollection.changeEventDAO());
   }
 
   @Inject
   public GlossaryTermResource(CollectionDAO dao, Authorizer authorizer) {
     super(GlossaryTerm.class, new GlossaryTermRepository(dao), authorizer);
+    this.daoCollection = dao;
   }
 
   public static class GlossaryTermList extends ResultList<GlossaryTerm> {
@@ -137,7 +137,9 @@ public class LocationResource extends EntityResource<Location, LocationRepositor
           @DefaultValue("non-deleted")
           Include include)
       throws IOException {
-    ListFilter filter = new ListFilter(include).addQueryParam("service", serviceParam);
+    ListFilter filter =
+        new ListFilter(include)
+            .addQueryParam(ListFilter.SERVICE_ID_COLUMN, getParentId(serviceParam, Entity.STORAGE_SERVICE));
     return super.listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after);
   }
 
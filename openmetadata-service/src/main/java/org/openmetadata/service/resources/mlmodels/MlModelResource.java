@@ -139,7 +139,9 @@ public class MlModelResource extends EntityResource<MlModel, MlModelRepository>
           @DefaultValue("non-deleted")
           Include include)
       throws IOException {
-    ListFilter filter = new ListFilter(include).addQueryParam("service", serviceParam);
+    ListFilter filter =
+        new ListFilter(include)
+            .addQueryParam(ListFilter.SERVICE_ID_COLUMN, getParentId(serviceParam, Entity.MLMODEL_SERVICE));
     return super.listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after);
   }
 
@@ -72,6 +72,7 @@ import org.elasticsearch.search.suggest.SuggestBuilders;
 import org.elasticsearch.search.suggest.completion.CompletionSuggestionBuilder;
 import org.elasticsearch.search.suggest.completion.context.CategoryQueryContext;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
+import org.openmetadata.service.elasticsearch.SearchResponseCache;
 import org.openmetadata.service.resources.Collection;
 import org.openmetadata.service.util.ElasticSearchClientUtils;
 
@@ -190,6 +191,8 @@ public class SearchResource {
           List<String> includeSourceFields)
       throws IOException {
 
+    // The normalized query is both searched for and cached, so that requests sharing an entry get the same response
+    query = SearchResponseCache.normalizeQuery(query);
     if (nullOrEmpty(query)) {
       query = "*";
     }
@@ -277,8 +280,30 @@ public class SearchResource {
     }
 
     searchSourceBuilder.timeout(new TimeValue(30, TimeUnit.SECONDS));
+    String cacheKey =
+        SearchResponseCache.key(
+            "query",
+            index,
+            query,
+            deleted,
+            from,
+            size,
+            sortFieldParam,
+            sortOrder,
+            trackTotalHits,
+            SearchResponseCache.normalizeJson(queryFilter),
+            SearchResponseCache.normalizeJson(postFilter),
+            fetchSource,
+            SearchResponseCache.normalizeFields(includeSourceFields));
     String response =
-        client.search(new SearchRequest(index).source(searchSourceBuilder), RequestOptions.DEFAULT).toString();
+        SearchResponseCache.getInstance()
+            .get(
+                index,
+                cacheKey,
+                () ->
+                    client
+                        .search(new SearchRequest(index).source(searchSourceBuilder), RequestOptions.DEFAULT)
+                        .toString());
 
     return Response.status(OK).entity(response).build();
   }
@@ -331,6 +356,8 @@ public class SearchResource {
       @DefaultValue("false") @QueryParam("deleted") String deleted)
       throws IOException {
 
+    // The normalized query is both searched for and cached, so that requests sharing an entry get the same response
+    query = SearchResponseCache.normalizeQuery(query);
     if (nullOrEmpty(query)) {
       query = "*";
     }
@@ -351,10 +378,28 @@ public class SearchResource {
         .fetchSource(new FetchSourceContext(fetchSource, includeSourceFields.toArray(String[]::new), new String[] {}));
     SearchRequest searchRequest = new SearchRequest(index).source(searchSourceBuilder);
 
-    SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
-    Suggest suggest = searchResponse.getSuggest();
+    String cacheKey =
+        SearchResponseCache.key(
+            "suggest",
+            index,
+            query,
+            fieldName,
+            size,
+            fetchSource,
+            SearchResponseCache.normalizeFields(includeSourceFields),
+            deleted);
+    String response =
+        SearchResponseCache.getInstance()
+            .get(
+                index,
+                cacheKey,
+                () -> {
+                  SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
+                  Suggest suggest = searchResponse.getSuggest();
+                  return suggest.toString();
+                });
 
-    return Response.status(OK).entity(suggest.toString()).build();
+    return Response.status(OK).entity(response).build();
   }
 
   @GET
@@ -388,8 +433,16 @@ public class SearchResource {
             AggregationBuilders.terms(fieldName).field(fieldName).size(MAX_AGGREGATE_SIZE).order(BucketOrder.key(true)))
         .size(0);
     searchSourceBuilder.timeout(new TimeValue(30, TimeUnit.SECONDS));
+    String cacheKey = SearchResponseCache.key("aggregate", index, fieldName, size, deleted);
     String response =
-        client.search(new SearchRequest(index).source(searchSourceBuilder), RequestOptions.DEFAULT).toString();
+        SearchResponseCache.getInstance()
+            .get(
+                index,
+                cacheKey,
+                () ->
+                    client
+                        .search(new SearchRequest(index).source(searchSourceBuilder), RequestOptions.DEFAULT)
+                        .toString());
     return Response.status(OK).entity(response).build();
   }
 
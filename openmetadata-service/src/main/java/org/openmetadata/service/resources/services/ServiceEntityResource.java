@@ -63,7 +63,13 @@ public abstract class ServiceEntityResource<
   }
 
   protected ResultList<T> decryptOrNullify(SecurityContext securityContext, ResultList<T> services) {
-    listOrEmpty(services.getData()).forEach(service -> decryptOrNullify(securityContext, service));
+    // Permission to decrypt secrets does not depend on the service, check it once for the page
+    if (!authorizer.decryptSecret(securityContext)) {
+      listOrEmpty(services.getData()).forEach(this::nullifyRequiredConnectionParameters);
+      return services;
+    }
+    listOrEmpty(services.getData())
+        .forEach(service -> service.getConnection().setConfig(retrieveServiceConnectionConfig(service)));
     return services;
   }
 
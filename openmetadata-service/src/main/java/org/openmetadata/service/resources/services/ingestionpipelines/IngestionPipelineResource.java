@@ -27,6 +27,8 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import java.io.IOException;
 import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import javax.json.JsonPatch;
@@ -86,6 +88,16 @@ import org.openmetadata.service.util.ResultList;
 @Collection(name = "IngestionPipelines")
 public class IngestionPipelineResource extends EntityResource<IngestionPipeline, IngestionPipelineRepository> {
   public static final String COLLECTION_PATH = "v1/services/ingestionPipelines/";
+  // Ingestion pipelines belong to a service of any of these types
+  private static final String[] SERVICE_TYPES = {
+    Entity.DATABASE_SERVICE,
+    Entity.DASHBOARD_SERVICE,
+    Entity.MESSAGING_SERVICE,
+    Entity.PIPELINE_SERVICE,
+    Entity.MLMODEL_SERVICE,
+    Entity.STORAGE_SERVICE,
+    Entity.METADATA_SERVICE
+  };
   private PipelineServiceClient pipelineServiceClient;
   private OpenMetadataApplicationConfig openMetadataApplicationConfig;
 
@@ -96,8 +108,11 @@ public class IngestionPipelineResource extends EntityResource<IngestionPipeline,
     return ingestionPipeline;
   }
 
-  public IngestionPipelineResource(CollectionDAO dao, Authorizer authorizer) {
-    super(IngestionPipeline.class, new IngestionPipelineRepository(dao), authorizer);
+  public IngestionPipelineResource(CollectionDAO dao, Authorizer authorizer, OpenMetadataApplicationConfig config) {
+    super(
+        IngestionPipeline.class,
+        new IngestionPipelineRepository(dao, config.getPipelineStatusRetentionDays()),
+        authorizer);
   }
 
   @Override
@@ -165,16 +180,28 @@ public class IngestionPipelineResource extends EntityResource<IngestionPipeline,
           @DefaultValue("non-deleted")
           Include include)
       throws IOException {
-    ListFilter filter = new ListFilter(include).addQueryParam("service", serviceParam);
+    ListFilter filter =
+        new ListFilter(include).addQueryParam(ListFilter.SERVICE_ID_COLUMN, getParentId(serviceParam, SERVICE_TYPES));
     ResultList<IngestionPipeline> ingestionPipelines =
         super.listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after);
 
-    for (IngestionPipeline ingestionPipeline : listOrEmpty(ingestionPipelines.getData())) {
-      if (fieldsParam != null && fieldsParam.contains(FIELD_PIPELINE_STATUS)) {
-        ingestionPipeline.setPipelineStatuses(dao.getLatestPipelineStatus(ingestionPipeline));
+    List<IngestionPipeline> pipelines = listOrEmpty(ingestionPipelines.getData());
+    Map<UUID, PipelineStatus> pipelineStatuses =
+        fieldsParam != null && fieldsParam.contains(FIELD_PIPELINE_STATUS)
+            ? dao.getLatestPipelineStatuses(pipelines)
+            : null;
+    List<IngestionPipeline> toDecrypt = new ArrayList<>(pipelines.size());
+    for (IngestionPipeline ingestionPipeline : pipelines) {
+      if (pipelineStatuses != null) {
+        ingestionPipeline.setPipelineStatuses(pipelineStatuses.get(ingestionPipeline.getId()));
+      }
+      if (canViewAll(securityContext, ingestionPipeline)) {
+        toDecrypt.add(ingestionPipeline);
+      } else {
+        ingestionPipeline.getSourceConfig().setConfig(null);
       }
-      decryptOrNullify(securityContext, ingestionPipeline);
     }
+    SecretsManagerFactory.getSecretsManager().decryptIngestionPipelines(toDecrypt);
     return ingestionPipelines;
   }
 
@@ -731,16 +758,23 @@ public class IngestionPipelineResource extends EntityResource<IngestionPipeline,
 
   private IngestionPipeline decryptOrNullify(SecurityContext securityContext, IngestionPipeline ingestionPipeline) {
     SecretsManager secretsManager = SecretsManagerFactory.getSecretsManager();
+    if (!canViewAll(securityContext, ingestionPipeline)) {
+      ingestionPipeline.getSourceConfig().setConfig(null);
+      return ingestionPipeline;
+    }
+    secretsManager.encryptOrDecryptIngestionPipeline(ingestionPipeline, false);
+    return ingestionPipeline;
+  }
+
+  private boolean canViewAll(SecurityContext securityContext, IngestionPipeline ingestionPipeline) {
     try {
       authorizer.authorize(
           securityContext,
           new OperationContext(entityType, MetadataOperation.VIEW_ALL),
           getResourceContextById(ingestionPipeline.getId()));
+      return true;
     } catch (AuthorizationException | IOException e) {
-      ingestionPipeline.getSourceConfig().setConfig(null);
-      return ingestionPipeline;
+      return false;
     }
-    secretsManager.encryptOrDecryptIngestionPipeline(ingestionPipeline, false);
-    return ingestionPipeline;
   }
 }
@@ -23,6 +23,7 @@ import org.openmetadata.schema.settings.Settings;
 import org.openmetadata.schema.settings.SettingsType;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.SettingsRepository;
+import org.openmetadata.service.util.CacheRegistry;
 import org.openmetadata.service.util.JsonUtils;
 
 @Slf4j
@@ -36,7 +37,12 @@ public class SettingsCache {
   public static void initialize(CollectionDAO dao) {
     if (!INITIALIZED) {
       SETTINGS_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new SettingsLoader());
+          CacheBuilder.newBuilder()
+              .maximumSize(1000)
+              .expireAfterWrite(3, TimeUnit.MINUTES)
+              .recordStats()
+              .build(new SettingsLoader());
+      CacheRegistry.getInstance().register("settings", SETTINGS_CACHE);
       SETTINGS_REPOSITORY = new SettingsRepository(dao);
       INITIALIZED = true;
     }
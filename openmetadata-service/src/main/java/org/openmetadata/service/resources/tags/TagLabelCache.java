@@ -13,114 +13,126 @@
 
 package org.openmetadata.service.resources.tags;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.util.concurrent.UncheckedExecutionException;
+import static org.openmetadata.service.Entity.CLASSIFICATION;
+import static org.openmetadata.service.Entity.GLOSSARY;
+import static org.openmetadata.service.Entity.GLOSSARY_TERM;
+import static org.openmetadata.service.Entity.TAG;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import javax.annotation.CheckForNull;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.entity.classification.Classification;
 import org.openmetadata.schema.entity.classification.Tag;
 import org.openmetadata.schema.entity.data.Glossary;
 import org.openmetadata.schema.entity.data.GlossaryTerm;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.service.Entity;
-import org.openmetadata.service.exception.EntityNotFoundException;
-import org.openmetadata.service.jdbi3.EntityRepository;
-import org.openmetadata.service.util.EntityUtil.Fields;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.service.jdbi3.EntityDAO;
+import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.util.FullyQualifiedName;
+import org.openmetadata.service.util.JsonUtils;
 
 /**
- * Both GlossaryTerm and Tags are used for labeling entity. This class caches GlossaryTerm and Tags for quick look up.
+ * Both GlossaryTerm and Tags are used for labeling entity. This class keeps a dictionary of the tags, classifications,
+ * glossaries and glossary terms for quick look up.
+ *
+ * <p>The dictionary is loaded at startup and kept up to date by the repositories, which apply every change to a tag,
+ * classification, glossary or glossary term as it is stored or deleted. Changes made by other servers are picked up
+ * from the change events newer than the last one processed, which are polled every few seconds and drop the entries
+ * they touch. Every change bumps the version of the dictionary. Labels missing from the dictionary are loaded from the
+ * database on first use.
  */
 @Slf4j
 public class TagLabelCache {
-  private static final TagLabelCache INSTANCE = new TagLabelCache();
+  private static final List<String> ENTITY_TYPES = List.of(CLASSIFICATION, TAG, GLOSSARY, GLOSSARY_TERM);
+  private static final TagLabelCache INSTANCE = new TagLabelCache(TagLabelCache::findByName);
+  private static final int LOAD_BATCH_SIZE = 1000;
+  private static final long REFRESH_INTERVAL_SECONDS = 10;
+  private static final String NAME_FIELD = "name";
+  private static final String PARENT_FIELD = "parent";
+  // Fields of a tag or glossary term moving it to another classification or glossary
+  private static final Set<String> CONTAINER_FIELDS = Set.of("Classification", "glossary");
   private static volatile boolean INITIALIZED = false;
+  private static ScheduledExecutorService refresher;
 
-  protected static EntityRepository<Tag> TAG_REPOSITORY;
-  protected static EntityRepository<Classification> TAG_CATEGORY_REPOSITORY;
-  protected static LoadingCache<String, Tag> TAG_CACHE; // Tag fqn to Tag
-  protected static LoadingCache<String, Classification> TAG_CATEGORY_CACHE; // Classification name to Classification
+  // Entity type to the entries of that type by fully qualified name
+  private final Map<String, Map<String, TagEntry>> dictionary = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+  private final BiFunction<String, String, EntityInterface> loader;
+  // Time of the last change event processed, only the events after it are read
+  private volatile long lastEventTime = System.currentTimeMillis();
 
-  protected static EntityRepository<GlossaryTerm> GLOSSARY_TERM_REPOSITORY;
-  protected static EntityRepository<Glossary> GLOSSARY_REPOSITORY;
-  protected static LoadingCache<String, GlossaryTerm> GLOSSARY_TERM_CACHE; // Glossary term fqn to GlossaryTerm
-  protected static LoadingCache<String, Glossary> GLOSSARY_CACHE; // Glossary fqn to Glossary
+  TagLabelCache(BiFunction<String, String, EntityInterface> loader) {
+    this.loader = loader;
+    ENTITY_TYPES.forEach(entityType -> dictionary.put(entityType, new ConcurrentHashMap<>()));
+  }
 
-  // Expected to be called only once from the TagResource during initialization
-  public static void initialize() {
+  // Expected to be called only once from the GlossaryTermResource during initialization, after tags are loaded
+  public static synchronized void initialize(ChangeEventDAO changeEventDAO) throws IOException {
     if (!INITIALIZED) {
-      TAG_CATEGORY_CACHE =
-          CacheBuilder.newBuilder()
-              .maximumSize(25)
-              .expireAfterWrite(2, TimeUnit.MINUTES)
-              .build(new ClassificationLoader());
-      TAG_CACHE =
-          CacheBuilder.newBuilder().maximumSize(100).expireAfterWrite(2, TimeUnit.MINUTES).build(new TagLoader());
-      TAG_REPOSITORY = Entity.getEntityRepository(Entity.TAG);
-      TAG_CATEGORY_REPOSITORY = Entity.getEntityRepository(Entity.CLASSIFICATION);
-
-      GLOSSARY_CACHE =
-          CacheBuilder.newBuilder().maximumSize(25).expireAfterWrite(2, TimeUnit.MINUTES).build(new GlossaryLoader());
-      GLOSSARY_TERM_CACHE =
-          CacheBuilder.newBuilder()
-              .maximumSize(100)
-              .expireAfterWrite(2, TimeUnit.MINUTES)
-              .build(new GlossaryTermLoader());
-      GLOSSARY_TERM_REPOSITORY = Entity.getEntityRepository(Entity.GLOSSARY_TERM);
-      GLOSSARY_REPOSITORY = Entity.getEntityRepository(Entity.GLOSSARY);
+      INSTANCE.lastEventTime = System.currentTimeMillis();
+      for (String entityType : ENTITY_TYPES) {
+        INSTANCE.load(entityType, Entity.getEntityRepository(entityType).dao);
+      }
+      refresher =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder().setNameFormat("tag-label-cache-refresh-%d").setDaemon(true).build());
+      refresher.scheduleWithFixedDelay(
+          () -> refreshSafely(changeEventDAO), REFRESH_INTERVAL_SECONDS, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
       INITIALIZED = true;
+      LOG.info("Tag label dictionary loaded {} entries", INSTANCE.size());
     } else {
-      LOG.info("Subject cache is already initialized");
+      LOG.info("Tag label cache is already initialized");
     }
   }
 
-  public static TagLabelCache getInstance() {
-    return INSTANCE;
-  }
-
-  public Classification getClassification(String categoryName) {
-    try {
-      return TAG_CATEGORY_CACHE.get(categoryName);
-    } catch (ExecutionException | UncheckedExecutionException ex) {
-      throw new EntityNotFoundException(ex.getMessage());
+  public static synchronized void shutdown() {
+    if (refresher != null) {
+      refresher.shutdown();
+      refresher = null;
     }
+    INITIALIZED = false;
   }
 
-  public Tag getTag(String tagFqn) {
-    try {
-      return TAG_CACHE.get(tagFqn);
-    } catch (ExecutionException | UncheckedExecutionException ex) {
-      throw new EntityNotFoundException(ex.getMessage());
-    }
+  public static TagLabelCache getInstance() {
+    return INSTANCE;
   }
 
-  public Glossary getGlossary(String glossaryName) {
-    try {
-      return GLOSSARY_CACHE.get(glossaryName);
-    } catch (ExecutionException | UncheckedExecutionException ex) {
-      throw new EntityNotFoundException(ex.getMessage());
-    }
+  /** Version of the dictionary, incremented on every change */
+  public long getVersion() {
+    return version.get();
   }
 
-  public GlossaryTerm getGlossaryTerm(String glossaryTermFqn) {
-    try {
-      return GLOSSARY_TERM_CACHE.get(glossaryTermFqn);
-    } catch (ExecutionException | UncheckedExecutionException ex) {
-      throw new EntityNotFoundException(ex.getMessage());
-    }
+  public int size() {
+    return dictionary.values().stream().mapToInt(Map::size).sum();
   }
 
   public String getDescription(TagLabel label) {
     if (label.getSource() == TagSource.TAG) {
-      return getTag(label.getTagFQN()).getDescription();
+      return get(TAG, label.getTagFQN()).getDescription();
     } else if (label.getSource() == TagSource.GLOSSARY) {
-      return getGlossaryTerm(label.getTagFQN()).getDescription();
+      return get(GLOSSARY_TERM, label.getTagFQN()).getDescription();
     } else {
       throw new IllegalArgumentException("Invalid source type " + label.getSource());
     }
@@ -132,51 +144,212 @@ public class TagLabelCache {
     String parentFqn = FullyQualifiedName.getParent(fqnParts);
     boolean rootParent = fqnParts.length == 2;
     if (label.getSource() == TagSource.TAG) {
-      return rootParent
-          ? getClassification(parentFqn).getMutuallyExclusive()
-          : getTag(parentFqn).getMutuallyExclusive();
+      return get(rootParent ? CLASSIFICATION : TAG, parentFqn).isMutuallyExclusive();
     } else if (label.getSource() == TagSource.GLOSSARY) {
-      return rootParent
-          ? getGlossary(parentFqn).getMutuallyExclusive()
-          : getGlossaryTerm(parentFqn).getMutuallyExclusive();
+      return get(rootParent ? GLOSSARY : GLOSSARY_TERM, parentFqn).isMutuallyExclusive();
     } else {
       throw new IllegalArgumentException("Invalid source type " + label.getSource());
     }
   }
 
-  static class TagLoader extends CacheLoader<String, Tag> {
-    @Override
-    public Tag load(@CheckForNull String tagName) throws IOException {
-      Tag tag = TAG_REPOSITORY.getByName(null, tagName, Fields.EMPTY_FIELDS);
-      LOG.info("Loaded user {}:{}", tag.getName(), tag.getId());
-      return tag;
+  /** Add or update the entry of a tag, classification, glossary or glossary term. Deleted entities are removed. */
+  public void put(String entityType, EntityInterface entity) {
+    if (Boolean.TRUE.equals(entity.getDeleted())) {
+      remove(entityType, getFqn(entity));
+      return;
     }
+    TagEntry entry = toEntry(entity);
+    if (!entry.equals(dictionary.get(entityType).put(getFqn(entity), entry))) {
+      version.incrementAndGet();
+    }
+  }
+
+  /** Remove the entry and the entries of all the children, such as the tags of a classification */
+  public void remove(String entityType, String fqn) {
+    if (dictionary.get(entityType).remove(fqn) != null) {
+      version.incrementAndGet();
+    }
+    removeDescendants(getChildType(entityType), fqn);
   }
 
-  static class ClassificationLoader extends CacheLoader<String, Classification> {
-    @Override
-    public Classification load(@CheckForNull String categoryName) throws IOException {
-      Classification category = TAG_CATEGORY_REPOSITORY.getByName(null, categoryName, Fields.EMPTY_FIELDS);
-      LOG.info("Loaded user {}:{}", category.getName(), category.getId());
-      return category;
+  /** Remove the entries of the given type whose FQN starts with the prefix, such as the tags of a classification */
+  public void removeDescendants(String entityType, String prefix) {
+    String start = prefix + Entity.SEPARATOR;
+    if (dictionary.get(entityType).keySet().removeIf(key -> key.startsWith(start))) {
+      version.incrementAndGet();
     }
   }
 
-  static class GlossaryTermLoader extends CacheLoader<String, GlossaryTerm> {
-    @Override
-    public GlossaryTerm load(@CheckForNull String glossaryTermName) throws IOException {
-      GlossaryTerm glossaryTerm = GLOSSARY_TERM_REPOSITORY.getByName(null, glossaryTermName, Fields.EMPTY_FIELDS);
-      LOG.info("Loaded glossaryTerm {}:{}", glossaryTerm.getName(), glossaryTerm.getId());
-      return glossaryTerm;
+  /**
+   * Drop the entries changed by the events stored since the last one processed, so that they are loaded again on their
+   * next use. The events include the changes made by this server, which were already applied.
+   */
+  void refresh(ChangeEventDAO changeEventDAO) throws IOException {
+    for (String json : changeEventDAO.listByEntityTypes(ENTITY_TYPES, lastEventTime)) {
+      ChangeEvent event = JsonUtils.readValue(json, ChangeEvent.class);
+      invalidate(event);
+      lastEventTime = Math.max(lastEventTime, event.getTimestamp());
     }
   }
 
-  static class GlossaryLoader extends CacheLoader<String, Glossary> {
-    @Override
-    public Glossary load(@CheckForNull String glossaryName) throws IOException {
-      Glossary glossary = GLOSSARY_REPOSITORY.getByName(null, glossaryName, Fields.EMPTY_FIELDS);
-      LOG.info("Loaded glossary {}:{}", glossary.getName(), glossary.getId());
-      return glossary;
+  private void invalidate(ChangeEvent event) throws IOException {
+    String fqn = event.getEntityFullyQualifiedName();
+    if (fqn == null) {
+      // The entity is not known, drop the entity type and the children altogether
+      dictionary.get(event.getEntityType()).clear();
+      dictionary.get(getChildType(event.getEntityType())).clear();
+      version.incrementAndGet();
+      return;
+    }
+    remove(event.getEntityType(), fqn);
+    if (event.getChangeDescription() == null) {
+      return;
+    }
+    ChangeDescription change = event.getChangeDescription();
+    if (!hasChange(change, NAME_FIELD) && !hasChange(change, PARENT_FIELD) && !hasChange(change, CONTAINER_FIELDS)) {
+      return;
+    }
+    // Renamed or moved, drop the entries under the previous name as well
+    String oldFqn = getOldFqn(fqn, change);
+    if (oldFqn != null) {
+      remove(event.getEntityType(), oldFqn);
+    } else {
+      // The previous name is not known, drop the entity type and the children altogether
+      dictionary.get(event.getEntityType()).clear();
+      dictionary.get(getChildType(event.getEntityType())).clear();
+      version.incrementAndGet();
     }
   }
+
+  /**
+   * Fully qualified name of the entity before the change, from its previous name and parent. Returns null when the
+   * entity moved to another classification or glossary, or was moved under a parent, as its previous parent is then not
+   * recorded in the change.
+   */
+  private static String getOldFqn(String fqn, ChangeDescription change) throws IOException {
+    if (hasChange(change, CONTAINER_FIELDS) || findChange(change.getFieldsAdded(), PARENT_FIELD) != null) {
+      return null;
+    }
+    String[] parts = FullyQualifiedName.split(fqn);
+    FieldChange nameChange = findChange(change.getFieldsUpdated(), NAME_FIELD);
+    if (nameChange != null) {
+      parts[parts.length - 1] = nameChange.getOldValue().toString();
+    }
+    FieldChange parentChange = findChange(change.getFieldsUpdated(), PARENT_FIELD);
+    if (parentChange == null) {
+      parentChange = findChange(change.getFieldsDeleted(), PARENT_FIELD);
+    }
+    if (parentChange == null) {
+      return FullyQualifiedName.build(parts);
+    }
+    EntityReference oldParent = JsonUtils.readValue(parentChange.getOldValue().toString(), EntityReference.class);
+    return FullyQualifiedName.add(oldParent.getFullyQualifiedName(), parts[parts.length - 1]);
+  }
+
+  private static boolean hasChange(ChangeDescription change, String field) {
+    return hasChange(change, Set.of(field));
+  }
+
+  private static boolean hasChange(ChangeDescription change, Set<String> fields) {
+    return Stream.of(change.getFieldsAdded(), change.getFieldsUpdated(), change.getFieldsDeleted())
+        .flatMap(List::stream)
+        .map(FieldChange::getName)
+        .anyMatch(fields::contains);
+  }
+
+  private static FieldChange findChange(List<FieldChange> changes, String field) {
+    return changes.stream().filter(change -> field.equals(change.getName())).findFirst().orElse(null);
+  }
+
+  private static void refreshSafely(ChangeEventDAO changeEventDAO) {
+    try {
+      INSTANCE.refresh(changeEventDAO);
+    } catch (Exception ex) {
+      LOG.error("Failed to refresh the tag label dictionary from the change events", ex);
+    }
+  }
+
+  /**
+   * Move the entry to the new fully qualified name. The entries of the children are removed, as they may be renamed in
+   * the background by the {@link org.openmetadata.service.jdbi3.FqnRenameEngine}. They are loaded again on their next
+   * use, and removed again once the rename completes.
+   */
+  public void rename(String entityType, String oldFqn, String newFqn) {
+    if (oldFqn.equals(newFqn)) {
+      return;
+    }
+    Map<String, TagEntry> entries = dictionary.get(entityType);
+    TagEntry entry = entries.remove(oldFqn);
+    if (entry != null) {
+      entries.put(newFqn, entry);
+    }
+    removeDescendants(getChildType(entityType), oldFqn);
+    version.incrementAndGet();
+  }
+
+  private TagEntry get(String entityType, String fqn) {
+    TagEntry entry = dictionary.get(entityType).get(fqn);
+    if (entry == null) {
+      // Not yet known to this server. The loader throws EntityNotFoundException for labels that don't exist.
+      EntityInterface entity = loader.apply(entityType, fqn);
+      entry = toEntry(entity);
+      dictionary.get(entityType).put(fqn, entry);
+      version.incrementAndGet();
+      LOG.info("Loaded {} {}", entityType, fqn);
+    }
+    return entry;
+  }
+
+  private void load(String entityType, EntityDAO<?> dao) throws IOException {
+    ListFilter filter = new ListFilter(Include.NON_DELETED);
+    String after = "";
+    List<String> jsons;
+    do {
+      jsons = dao.listAfter(filter, LOAD_BATCH_SIZE, after);
+      for (String json : jsons) {
+        EntityInterface entity = JsonUtils.readValue(json, dao.getEntityClass());
+        put(entityType, entity);
+        after = dao.getNameColumn().equals("name") ? entity.getName() : entity.getFullyQualifiedName();
+      }
+    } while (jsons.size() == LOAD_BATCH_SIZE);
+  }
+
+  private static EntityInterface findByName(String entityType, String fqn) {
+    EntityDAO<?> dao = Entity.getEntityRepository(entityType).dao;
+    // Quoted name is stored in fullyQualifiedName column and not in the name column
+    return dao.findEntityByName(dao.getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(fqn) : fqn);
+  }
+
+  private static String getChildType(String entityType) {
+    return CLASSIFICATION.equals(entityType) || TAG.equals(entityType) ? TAG : GLOSSARY_TERM;
+  }
+
+  private static String getFqn(EntityInterface entity) {
+    return entity.getFullyQualifiedName() != null
+        ? entity.getFullyQualifiedName()
+        : FullyQualifiedName.build(entity.getName());
+  }
+
+  private static TagEntry toEntry(EntityInterface entity) {
+    Boolean mutuallyExclusive = null;
+    if (entity instanceof Tag) {
+      mutuallyExclusive = ((Tag) entity).getMutuallyExclusive();
+    } else if (entity instanceof Classification) {
+      mutuallyExclusive = ((Classification) entity).getMutuallyExclusive();
+    } else if (entity instanceof Glossary) {
+      mutuallyExclusive = ((Glossary) entity).getMutuallyExclusive();
+    } else if (entity instanceof GlossaryTerm) {
+      mutuallyExclusive = ((GlossaryTerm) entity).getMutuallyExclusive();
+    }
+    return new TagEntry(entity.getDescription(), Boolean.TRUE.equals(mutuallyExclusive));
+  }
+
+  /** The attributes of a tag or glossary term needed for labeling */
+  @Getter
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  static class TagEntry {
+    private final String description;
+    private final boolean mutuallyExclusive;
+  }
 }
@@ -162,7 +162,7 @@ public class UserResource extends EntityResource<User, UserRepository> {
     SmtpSettings smtpSettings = config.getSmtpSettings();
     this.isEmailServiceEnabled = smtpSettings != null && smtpSettings.getEnableSmtpServer();
     this.dao.initializeUsers(config);
-    SubjectCache.initialize();
+    SubjectCache.initialize(config.getSubjectCache());
   }
 
   public static class UserList extends ResultList<User> {
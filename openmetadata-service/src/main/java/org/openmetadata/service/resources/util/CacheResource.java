@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.resources.util;
+
+import io.swagger.annotations.Api;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.UriInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.resources.Collection;
+import org.openmetadata.service.security.Authorizer;
+import org.openmetadata.service.util.CacheRegistry;
+import org.openmetadata.service.util.CacheRegistry.CacheInfo;
+
+@Path("/v1/util/caches")
+@Api(value = "Cache collection", tags = "Cache collection")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Collection(name = "caches")
+@Slf4j
+public class CacheResource {
+  public static final String COLLECTION_PATH = "/v1/util/caches";
+  private final Authorizer authorizer;
+
+  public CacheResource(CollectionDAO dao, Authorizer authorizer) {
+    this.authorizer = authorizer;
+  }
+
+  @GET
+  @Operation(
+      operationId = "listCaches",
+      summary = "List the caches",
+      tags = "util",
+      description = "Get the size, hit rate, load and eviction statistics of the in-memory caches of the server",
+      responses = {@ApiResponse(responseCode = "200", description = "List of caches")})
+  public List<CacheInfo> list(@Context UriInfo uriInfo, @Context SecurityContext securityContext) {
+    authorizer.authorizeAdmin(securityContext);
+    return CacheRegistry.getInstance().list();
+  }
+
+  @GET
+  @Path("/{name}")
+  @Operation(
+      operationId = "getCache",
+      summary = "Get a cache",
+      tags = "util",
+      description = "Get the statistics of a cache",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The cache",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheInfo.class))),
+        @ApiResponse(responseCode = "404", description = "Cache {name} is not found")
+      })
+  public CacheInfo get(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Name of the cache", schema = @Schema(type = "string")) @PathParam("name") String name) {
+    authorizer.authorizeAdmin(securityContext);
+    return CacheRegistry.getInstance().get(name);
+  }
+
+  @DELETE
+  @Path("/{name}")
+  @Operation(
+      operationId = "invalidateCache",
+      summary = "Invalidate a cache",
+      tags = "util",
+      description =
+          "Invalidate an entry of a cache when a key is given, or all the entries of the cache otherwise. "
+              + "Invalidated entries are loaded again on their next use.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Number of entries invalidated"),
+        @ApiResponse(responseCode = "404", description = "Cache {name} is not found")
+      })
+  public Map<String, Long> invalidate(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Name of the cache", schema = @Schema(type = "string")) @PathParam("name") String name,
+      @Parameter(description = "Key of the entry to invalidate, such as a user name or an entity id") @QueryParam("key")
+          String key) {
+    authorizer.authorizeAdmin(securityContext);
+    long invalidated;
+    if (key == null) {
+      invalidated = CacheRegistry.getInstance().invalidateAll(name);
+    } else {
+      invalidated = CacheRegistry.getInstance().invalidate(name, key) ? 1 : 0;
+      LOG.info("Invalidated entry {} of cache {}", key, name);
+    }
+    return Map.of("invalidated", invalidated);
+  }
+}
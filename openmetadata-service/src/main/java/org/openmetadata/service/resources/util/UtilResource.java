@@ -6,21 +6,29 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.io.IOException;
+import java.util.List;
 import java.util.Objects;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.settings.FqnRenameJob;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.util.EntitiesCount;
 import org.openmetadata.schema.util.ServicesCount;
+import org.openmetadata.service.exception.CatalogExceptionMessage;
+import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.FqnRenameEngine;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.jdbi3.UtilRepository;
 import org.openmetadata.service.resources.Collection;
@@ -92,4 +100,45 @@ public class UtilResource {
     ListFilter filter = new ListFilter(include);
     return utilRepository.getAllServicesCount(filter);
   }
+
+  @GET
+  @Path("/renameJobs")
+  @Operation(
+      operationId = "listRenameJobs",
+      summary = "List the recent rename jobs",
+      tags = "util",
+      description = "Get the recent jobs renaming the descendants of a renamed classification, tag, glossary or term",
+      responses = {@ApiResponse(responseCode = "200", description = "List of rename jobs")})
+  public List<FqnRenameJob> listRenameJobs(@Context UriInfo uriInfo, @Context SecurityContext securityContext)
+      throws IOException {
+    authorizer.authorizeAdmin(securityContext);
+    return FqnRenameEngine.getInstance().listJobs();
+  }
+
+  @GET
+  @Path("/renameJobs/{id}")
+  @Operation(
+      operationId = "getRenameJob",
+      summary = "Get a rename job",
+      tags = "util",
+      description = "Get the status and progress of a rename job",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The rename job",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = FqnRenameJob.class))),
+        @ApiResponse(responseCode = "404", description = "Rename job for instance {id} is not found")
+      })
+  public FqnRenameJob getRenameJob(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Id of the rename job", schema = @Schema(type = "string")) @PathParam("id") String id)
+      throws IOException {
+    authorizer.authorizeAdmin(securityContext);
+    FqnRenameJob job = FqnRenameEngine.getInstance().getJob(id);
+    if (job == null) {
+      throw new EntityNotFoundException(CatalogExceptionMessage.entityNotFound("renameJob", id));
+    }
+    return job;
+  }
 }
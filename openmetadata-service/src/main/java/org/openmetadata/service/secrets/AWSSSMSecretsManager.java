@@ -19,6 +19,7 @@ import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
 import software.amazon.awssdk.services.ssm.model.ParameterType;
 import software.amazon.awssdk.services.ssm.model.PutParameterRequest;
 
@@ -71,6 +72,11 @@ public class AWSSSMSecretsManager extends AWSBasedSecretsManager {
     return ssmClient.getParameter(parameterRequest).parameter().value();
   }
 
+  @Override
+  boolean isSecretNotFound(RuntimeException e) {
+    return e instanceof ParameterNotFoundException;
+  }
+
   public static AWSSSMSecretsManager getInstance(SecretsManagerConfiguration config, String clusterPrefix) {
     if (INSTANCE == null) INSTANCE = new AWSSSMSecretsManager(config, clusterPrefix);
     return INSTANCE;
@@ -22,6 +22,7 @@ import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 import software.amazon.awssdk.services.secretsmanager.model.CreateSecretRequest;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.secretsmanager.model.UpdateSecretRequest;
 
 public class AWSSecretsManager extends AWSBasedSecretsManager {
@@ -73,6 +74,11 @@ public class AWSSecretsManager extends AWSBasedSecretsManager {
     return this.secretsClient.getSecretValue(getSecretValueRequest).secretString();
   }
 
+  @Override
+  boolean isSecretNotFound(RuntimeException e) {
+    return e instanceof ResourceNotFoundException;
+  }
+
   public static AWSSecretsManager getInstance(SecretsManagerConfiguration config, String clusterPrefix) {
     if (INSTANCE == null) INSTANCE = new AWSSecretsManager(config, clusterPrefix);
     return INSTANCE;
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.secrets;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.exception.SecretsManagerException;
+import org.openmetadata.service.util.CacheRegistry;
+
+/**
+ * Decorator of an {@link ExternalSecretsManager} that caches the secrets read from its store.
+ *
+ * <p>Secrets are cached for {@link SecretsCacheConfiguration#getTtlSeconds()} and reloaded in the background when read
+ * after {@link SecretsCacheConfiguration#getRefreshAfterSeconds()}, so that frequently used secrets never expire on the
+ * request path. Secrets the store reports as not found are remembered as missing for a shorter time, while other errors
+ * such as throttling or network failures are not cached. Secrets are always written to the store, and the value stored
+ * or updated through this manager then replaces the cached value. A write failing, for instance because the cached
+ * entry it was based on is stale, drops the secret from the cache so that the next write reads the store.
+ */
+@Slf4j
+public class CachingSecretsManager extends ExternalSecretsManager {
+  private final ExternalSecretsManager delegate;
+  private final LoadingCache<String, String> secrets;
+  private final Cache<String, Boolean> missingSecrets;
+
+  public CachingSecretsManager(ExternalSecretsManager delegate, SecretsCacheConfiguration config) {
+    this(
+        delegate,
+        config,
+        Ticker.systemTicker(),
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("secrets-cache-refresh-%d").setDaemon(true).build()));
+    CacheRegistry.getInstance().register("secrets", secrets);
+    CacheRegistry.getInstance().register("missingSecrets", missingSecrets);
+  }
+
+  @VisibleForTesting
+  CachingSecretsManager(
+      ExternalSecretsManager delegate, SecretsCacheConfiguration config, Ticker ticker, Executor refreshExecutor) {
+    super(delegate.getSecretsManagerProvider(), delegate.getClusterPrefix(), delegate.getWaitTimeBetweenStoreCalls());
+    this.delegate = delegate;
+    this.secrets =
+        CacheBuilder.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(config.getTtlSeconds(), TimeUnit.SECONDS)
+            .refreshAfterWrite(config.getRefreshAfterSeconds(), TimeUnit.SECONDS)
+            .ticker(ticker)
+            .recordStats()
+            .build(CacheLoader.asyncReloading(new SecretLoader(delegate), refreshExecutor));
+    this.missingSecrets =
+        CacheBuilder.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(config.getNegativeTtlSeconds(), TimeUnit.SECONDS)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  void storeSecret(String secretName, String secretValue) {
+    try {
+      delegate.storeSecret(secretName, secretValue);
+    } catch (RuntimeException e) {
+      invalidate(secretName);
+      throw e;
+    }
+    cache(secretName, secretValue);
+  }
+
+  @Override
+  void updateSecret(String secretName, String secretValue) {
+    try {
+      delegate.updateSecret(secretName, secretValue);
+    } catch (RuntimeException e) {
+      invalidate(secretName);
+      throw e;
+    }
+    cache(secretName, secretValue);
+  }
+
+  @Override
+  String getSecret(String secretName) {
+    if (missingSecrets.getIfPresent(secretName) != null) {
+      throw new SecretsManagerException(String.format("Secret [%s] not found", secretName));
+    }
+    try {
+      return secrets.get(secretName);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof SecretNotFoundException) {
+        missingSecrets.put(secretName, Boolean.TRUE);
+      }
+      throw new SecretsManagerException(
+          String.format("Failed to read secret [%s]: %s", secretName, e.getCause().getMessage()));
+    }
+  }
+
+  /** Drop a secret from the cache, so that it is read from the store on its next use */
+  public void invalidate(String secretName) {
+    secrets.invalidate(secretName);
+    missingSecrets.invalidate(secretName);
+  }
+
+  @Override
+  protected String getSecretSeparator() {
+    return delegate.getSecretSeparator();
+  }
+
+  @Override
+  protected boolean startsWithSeparator() {
+    return delegate.startsWithSeparator();
+  }
+
+  private void cache(String secretName, String secretValue) {
+    secrets.put(secretName, Objects.requireNonNullElse(secretValue, NULL_SECRET_STRING));
+    missingSecrets.invalidate(secretName);
+  }
+
+  static class SecretLoader extends CacheLoader<String, String> {
+    private final ExternalSecretsManager delegate;
+
+    SecretLoader(ExternalSecretsManager delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public String load(String secretName) {
+      String value;
+      try {
+        value = delegate.getSecret(secretName);
+      } catch (RuntimeException e) {
+        if (delegate.isSecretNotFound(e)) {
+          throw new SecretNotFoundException(secretName);
+        }
+        throw e;
+      }
+      if (value == null) {
+        throw new SecretNotFoundException(secretName);
+      }
+      LOG.debug("Loaded secret [{}] from the secrets manager", secretName);
+      return value;
+    }
+  }
+
+  /** Thrown by the loader when the store reports a secret as missing, the only failure remembered in the cache */
+  static class SecretNotFoundException extends SecretsManagerException {
+    SecretNotFoundException(String secretName) {
+      super(String.format("Secret [%s] not found", secretName));
+    }
+  }
+}
@@ -60,12 +60,21 @@ public abstract class ExternalSecretsManager extends SecretsManager {
     }
   }
 
+  long getWaitTimeBetweenStoreCalls() {
+    return WAIT_TIME_BETWEEN_STORE_CALLS;
+  }
+
   abstract void storeSecret(String secretName, String secretValue);
 
   abstract void updateSecret(String secretName, String secretValue);
 
   abstract String getSecret(String secretName);
 
+  /** Whether an error thrown by {@link #getSecret(String)} means that the secret is missing from the store */
+  boolean isSecretNotFound(RuntimeException e) {
+    return false;
+  }
+
   private void sleep() {
     // delay reaching secrets manager quotas
     if (WAIT_TIME_BETWEEN_STORE_CALLS > 0) {
@@ -53,4 +53,9 @@ public class InMemorySecretsManager extends ExternalSecretsManager {
     }
     return value;
   }
+
+  @Override
+  boolean isSecretNotFound(RuntimeException e) {
+    return e instanceof SecretsManagerException;
+  }
 }
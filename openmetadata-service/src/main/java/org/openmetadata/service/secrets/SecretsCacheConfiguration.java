@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.secrets;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** Configuration of the cache of the secrets read from an external secrets manager */
+@Getter
+@Setter
+public class SecretsCacheConfiguration {
+  private boolean enabled = true;
+
+  /** Seconds a secret read from the store is cached for */
+  private long ttlSeconds = 300;
+
+  /** Seconds after which a cached secret is reloaded in the background on its next read, before it expires */
+  private long refreshAfterSeconds = 240;
+
+  /** Seconds a secret missing from the store is remembered as missing for */
+  private long negativeTtlSeconds = 30;
+
+  private long maximumSize = 1000;
+}
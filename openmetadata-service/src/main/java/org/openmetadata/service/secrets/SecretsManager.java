@@ -18,9 +18,15 @@ import static java.util.Objects.isNull;
 import com.google.common.annotations.VisibleForTesting;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.openmetadata.annotations.PasswordField;
 import org.openmetadata.schema.entity.services.ServiceType;
@@ -42,6 +48,19 @@ public abstract class SecretsManager {
 
   private static final Set<Class<?>> DO_NOT_ENCRYPT_CLASSES = Set.of(OpenMetadataJWTClientConfig.class);
 
+  /** Getters of the nested objects and of the fields of each class, looked up once per class */
+  private static final ClassValue<List<Method>> GET_METHODS =
+      new ClassValue<>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+          return Arrays.stream(type.getMethods())
+              .filter(SecretsManager::isGetMethodOfObject)
+              .collect(Collectors.toUnmodifiableList());
+        }
+      };
+
+  private static final Map<String, Class<?>> CONNECTION_CONFIG_CLASSES = new ConcurrentHashMap<>();
+
   protected SecretsManager(SecretsManagerProvider secretsManagerProvider, String clusterPrefix) {
     this.secretsManagerProvider = secretsManagerProvider;
     this.clusterPrefix = clusterPrefix;
@@ -88,11 +107,28 @@ public abstract class SecretsManager {
     }
   }
 
+  /**
+   * Decrypt the password fields of ingestion pipelines. The fields of all the pipelines are collected first and
+   * decrypted in a single pass.
+   */
+  public List<IngestionPipeline> decryptIngestionPipelines(List<IngestionPipeline> ingestionPipelines) {
+    List<IngestionPipeline> ingestions = new ArrayList<>(ingestionPipelines.size());
+    for (IngestionPipeline ingestionPipeline : ingestionPipelines) {
+      ingestions.add(IngestionPipelineBuilder.build(ingestionPipeline));
+    }
+    try {
+      decryptPasswordFields(ingestions);
+    } catch (Exception e) {
+      throw new SecretsManagerException(String.format("Failed to decrypt ingestion pipelines: %s", e.getMessage()));
+    }
+    return ingestions;
+  }
+
   private Object encryptOrDecryptPasswordFields(Object targetObject, String name, boolean encrypt) {
     if (encrypt) {
       encryptPasswordFields(targetObject, name);
     } else {
-      decryptPasswordFields(targetObject);
+      decryptPasswordFields(List.of(targetObject));
     }
     return targetObject;
   }
@@ -100,8 +136,8 @@ public abstract class SecretsManager {
   private void encryptPasswordFields(Object toEncryptObject, String secretId) {
     if (!DO_NOT_ENCRYPT_CLASSES.contains(toEncryptObject.getClass())) {
       // for each get method
-      Arrays.stream(toEncryptObject.getClass().getMethods())
-          .filter(this::isGetMethodOfObject)
+      GET_METHODS
+          .get(toEncryptObject.getClass())
           .forEach(
               method -> {
                 Object obj = getObjectFromMethod(method, toEncryptObject);
@@ -130,26 +166,31 @@ public abstract class SecretsManager {
     return Fernet.isTokenized(value) ? fernet.decrypt(value) : value;
   }
 
-  private void decryptPasswordFields(Object toDecryptObject) {
+  private void decryptPasswordFields(List<?> toDecryptObjects) {
+    List<TokenizedField> fields = new ArrayList<>();
+    toDecryptObjects.forEach(toDecryptObject -> collectTokenizedFields(toDecryptObject, fields));
+    for (TokenizedField field : fields) {
+      setValueInMethod(field.getTarget(), fernet.decrypt(field.getValue()), field.getSetter());
+    }
+  }
+
+  private void collectTokenizedFields(Object toDecryptObject, List<TokenizedField> fields) {
     // for each get method
-    Arrays.stream(toDecryptObject.getClass().getMethods())
-        .filter(this::isGetMethodOfObject)
+    GET_METHODS
+        .get(toDecryptObject.getClass())
         .forEach(
             method -> {
               Object obj = getObjectFromMethod(method, toDecryptObject);
               String fieldName = method.getName().replaceFirst("get", "");
               // if the object matches the package of openmetadata
               if (obj != null && obj.getClass().getPackageName().startsWith("org.openmetadata")) {
-                // encryptPasswordFields
-                decryptPasswordFields(obj);
+                collectTokenizedFields(obj, fields);
                 // check if it has annotation
-              } else if (obj != null && method.getAnnotation(PasswordField.class) != null) {
-                String fieldValue = (String) obj;
-                // get setMethod
-                Method toSet = getToSetMethod(toDecryptObject, obj, fieldName);
-                // set new value
-                setValueInMethod(
-                    toDecryptObject, Fernet.isTokenized(fieldValue) ? fernet.decrypt(fieldValue) : fieldValue, toSet);
+              } else if (obj != null
+                  && method.getAnnotation(PasswordField.class) != null
+                  && Fernet.isTokenized((String) obj)) {
+                fields.add(
+                    new TokenizedField(toDecryptObject, getToSetMethod(toDecryptObject, obj, fieldName), (String) obj));
               }
             });
   }
@@ -182,7 +223,7 @@ public abstract class SecretsManager {
     return obj;
   }
 
-  private boolean isGetMethodOfObject(Method method) {
+  private static boolean isGetMethodOfObject(Method method) {
     return method.getName().startsWith("get")
         && !method.getReturnType().equals(Void.TYPE)
         && !method.getReturnType().isPrimitive();
@@ -222,7 +263,12 @@ public abstract class SecretsManager {
       throws ClassNotFoundException {
     String clazzName =
         "org.openmetadata.schema.services.connections." + connectionPackage + "." + connectionType + "Connection";
-    return Class.forName(clazzName);
+    Class<?> clazz = CONNECTION_CONFIG_CLASSES.get(clazzName);
+    if (clazz == null) {
+      clazz = Class.forName(clazzName);
+      CONNECTION_CONFIG_CLASSES.put(clazzName, clazz);
+    }
+    return clazz;
   }
 
   protected String extractConnectionPackageName(ServiceType serviceType) {
@@ -234,4 +280,13 @@ public abstract class SecretsManager {
   void setFernet(Fernet fernet) {
     this.fernet = fernet;
   }
+
+  /** Tokenized value of a password field, and the setter to replace it with its decrypted value */
+  @Getter
+  @AllArgsConstructor
+  private static class TokenizedField {
+    private final Object target;
+    private final Method setter;
+    private final String value;
+  }
 }
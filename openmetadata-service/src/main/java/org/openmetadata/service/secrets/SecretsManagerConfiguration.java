@@ -27,4 +27,6 @@ public class SecretsManagerConfiguration {
   private SecretsManagerProvider secretsManager;
 
   private Map<String, String> parameters;
+
+  private SecretsCacheConfiguration cache;
 }
@@ -49,6 +49,12 @@ public class SecretsManagerFactory {
       default:
         throw new IllegalArgumentException("Not implemented secret manager store: " + secretsManagerProvider);
     }
+    if (secretsManager instanceof ExternalSecretsManager
+        && config != null
+        && config.getCache() != null
+        && config.getCache().isEnabled()) {
+      secretsManager = new CachingSecretsManager((ExternalSecretsManager) secretsManager, config.getCache());
+    }
     return secretsManager;
   }
 
@@ -18,6 +18,7 @@ import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.jdbi3.UserRepository;
 import org.openmetadata.service.resources.teams.UserResource;
+import org.openmetadata.service.util.CacheRegistry;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
 
@@ -29,7 +30,12 @@ public class BotTokenCache {
 
   public BotTokenCache() {
     BOTS_TOKEN_CACHE =
-        CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(2, TimeUnit.MINUTES).build(new BotTokenLoader());
+        CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(2, TimeUnit.MINUTES)
+            .recordStats()
+            .build(new BotTokenLoader());
+    CacheRegistry.getInstance().register("botTokens", BOTS_TOKEN_CACHE);
   }
 
   public String getToken(String botName) {
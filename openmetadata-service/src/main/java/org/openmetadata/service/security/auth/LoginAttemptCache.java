@@ -8,6 +8,7 @@ import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
 import org.openmetadata.schema.api.configuration.LoginConfiguration;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
+import org.openmetadata.service.util.CacheRegistry;
 
 public class LoginAttemptCache {
   private int MAX_ATTEMPT = 3;
@@ -25,12 +26,14 @@ public class LoginAttemptCache {
         CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(accessBlockTime, TimeUnit.SECONDS)
+            .recordStats()
             .build(
                 new CacheLoader<>() {
                   public Integer load(@NonNull String key) {
                     return 0;
                   }
                 });
+    CacheRegistry.getInstance().register("loginAttempts", attemptsCache);
   }
 
   public LoginAttemptCache(int maxAttempt, int blockTimeInSec) {
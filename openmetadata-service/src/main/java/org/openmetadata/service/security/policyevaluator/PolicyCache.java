@@ -29,6 +29,7 @@ import org.openmetadata.schema.entity.policies.accessControl.Rule;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.util.CacheRegistry;
 import org.openmetadata.service.util.EntityUtil.Fields;
 
 /** Subject context used for Access Control Policies */
@@ -48,7 +49,8 @@ public class PolicyCache {
   /** To be called during application startup by Default Authorizer */
   public static void initialize() {
     if (!INITIALIZED) {
-      POLICY_CACHE = CacheBuilder.newBuilder().maximumSize(100).build(new PolicyLoader());
+      POLICY_CACHE = CacheBuilder.newBuilder().maximumSize(100).recordStats().build(new PolicyLoader());
+      CacheRegistry.getInstance().register("policies", POLICY_CACHE, UUID::fromString);
       POLICY_REPOSITORY = Entity.getEntityRepository(Entity.POLICY);
       FIELDS = POLICY_REPOSITORY.getFields("rules");
       INITIALIZED = true;
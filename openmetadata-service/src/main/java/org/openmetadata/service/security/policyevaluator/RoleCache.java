@@ -26,6 +26,7 @@ import org.openmetadata.schema.entity.teams.Role;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.util.CacheRegistry;
 import org.openmetadata.service.util.EntityUtil.Fields;
 
 /** Subject context used for Access Control Policies */
@@ -44,7 +45,8 @@ public class RoleCache {
   /** To be called only once during the application start from DefaultAuthorizer */
   public static void initialize() {
     if (!INITIALIZED) {
-      ROLE_CACHE = CacheBuilder.newBuilder().maximumSize(100).build(new RoleLoader());
+      ROLE_CACHE = CacheBuilder.newBuilder().maximumSize(100).recordStats().build(new RoleLoader());
+      CacheRegistry.getInstance().register("roles", ROLE_CACHE, UUID::fromString);
       ROLE_REPOSITORY = Entity.getEntityRepository(Entity.ROLE);
       FIELDS = ROLE_REPOSITORY.getFields("policies");
       INITIALIZED = true;
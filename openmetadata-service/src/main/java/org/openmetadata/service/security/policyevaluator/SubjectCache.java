@@ -18,14 +18,22 @@ import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 import javax.annotation.CheckForNull;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -35,9 +43,18 @@ import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.util.CacheRegistry;
 import org.openmetadata.service.util.EntityUtil.Fields;
 
-/** Subject context used for Access Control Policies */
+/**
+ * Subject context used for Access Control Policies.
+ *
+ * <p>Users and teams are reloaded in the background on the first use after {@link
+ * SubjectCacheConfiguration#getRefreshAfterSeconds()}, so that requests keep being served from the cache while an entry
+ * is refreshed, and concurrent requests for a missing entry wait for a single load. The roles inherited through a team
+ * hierarchy are computed once per team, and dropped when the refresh of a team finds its default roles or parents
+ * changed. Entries are invalidated when the users and teams are updated or deleted.
+ */
 @Slf4j
 public class SubjectCache {
   private static SubjectCache INSTANCE;
@@ -45,35 +62,62 @@ public class SubjectCache {
   protected static LoadingCache<String, SubjectContext> USER_CACHE;
   protected static LoadingCache<UUID, SubjectContext> USER_CACHE_WIH_ID;
   protected static LoadingCache<UUID, Team> TEAM_CACHE;
+  protected static LoadingCache<UUID, List<EntityReference>> TEAM_ROLES_CACHE;
   protected static EntityRepository<User> USER_REPOSITORY;
   protected static Fields USER_FIELDS;
   protected static EntityRepository<Team> TEAM_REPOSITORY;
   protected static Fields TEAM_FIELDS;
+  private static ExecutorService REFRESH_EXECUTOR;
 
-  // Expected to be called only once from the DefaultAuthorizer
   public static void initialize() {
+    initialize(new SubjectCacheConfiguration());
+  }
+
+  // Expected to be called only once from the DefaultAuthorizer
+  public static void initialize(SubjectCacheConfiguration config) {
     if (!INITIALIZED) {
-      USER_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new UserLoader());
-      USER_CACHE_WIH_ID =
+      REFRESH_EXECUTOR =
+          Executors.newFixedThreadPool(
+              config.getRefreshThreads(),
+              new ThreadFactoryBuilder().setNameFormat("subject-cache-refresh-%d").setDaemon(true).build());
+      USER_CACHE = newCache(config.getMaximumUsers(), config).build(refreshing(new UserLoader()));
+      USER_CACHE_WIH_ID = newCache(config.getMaximumUsers(), config).build(refreshing(new UserLoaderWithId()));
+      TEAM_CACHE = newCache(config.getMaximumTeams(), config).build(refreshing(new TeamLoader()));
+      TEAM_ROLES_CACHE =
           CacheBuilder.newBuilder()
-              .maximumSize(1000)
-              .expireAfterWrite(3, TimeUnit.MINUTES)
-              .build(new UserLoaderWithId());
-      TEAM_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new TeamLoader());
+              .maximumSize(config.getMaximumTeams())
+              .expireAfterWrite(config.getExpireAfterSeconds(), TimeUnit.SECONDS)
+              .recordStats()
+              .build(new TeamRolesLoader());
       USER_REPOSITORY = Entity.getEntityRepository(Entity.USER);
       USER_FIELDS = USER_REPOSITORY.getFields("roles, teams, isAdmin");
       TEAM_REPOSITORY = Entity.getEntityRepository(Entity.TEAM);
       TEAM_FIELDS = TEAM_REPOSITORY.getFields("defaultRoles, policies, parents");
+      CacheRegistry.getInstance().register("subjectUsers", USER_CACHE);
+      CacheRegistry.getInstance().register("subjectUsersById", USER_CACHE_WIH_ID, UUID::fromString);
+      CacheRegistry.getInstance().register("subjectTeams", TEAM_CACHE, UUID::fromString);
+      CacheRegistry.getInstance().register("subjectTeamRoles", TEAM_ROLES_CACHE, UUID::fromString);
       INSTANCE = new SubjectCache();
       INITIALIZED = true;
-      LOG.info("Subject cache is initialized");
+      LOG.info(
+          "Subject cache is initialized for {} users and {} teams", config.getMaximumUsers(), config.getMaximumTeams());
     } else {
       LOG.info("Subject cache is already initialized");
     }
   }
 
+  private static CacheBuilder<Object, Object> newCache(long maximumSize, SubjectCacheConfiguration config) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .refreshAfterWrite(config.getRefreshAfterSeconds(), TimeUnit.SECONDS)
+        .expireAfterWrite(config.getExpireAfterSeconds(), TimeUnit.SECONDS)
+        .recordStats();
+  }
+
+  private static <K, V> CacheLoader<K, V> refreshing(CacheLoader<K, V> loader) {
+    return CacheLoader.asyncReloading(loader, REFRESH_EXECUTOR);
+  }
+
   public static SubjectCache getInstance() {
     return INSTANCE;
   }
@@ -105,36 +149,56 @@ public class SubjectCache {
   public static void cleanUp() {
     LOG.info("Subject cache is cleaned up");
     USER_CACHE.invalidateAll();
+    USER_CACHE_WIH_ID.invalidateAll();
     TEAM_CACHE.invalidateAll();
+    TEAM_ROLES_CACHE.invalidateAll();
+    REFRESH_EXECUTOR.shutdownNow();
     INITIALIZED = false;
   }
 
   public void invalidateUser(String userName) {
-    try {
-      USER_CACHE.invalidate(userName);
-    } catch (Exception ex) {
-      LOG.error("Failed to invalidate cache for user {}", userName, ex);
-    }
+    invalidateUsers(context -> userName.equals(context.getUser().getName()));
+  }
+
+  public void invalidateUser(UUID userId) {
+    invalidateUsers(context -> userId.equals(context.getUser().getId()));
   }
 
+  /** Invalidate a team, the teams inheriting its roles, and the users under it */
   public void invalidateTeam(UUID teamId) {
     try {
       TEAM_CACHE.invalidate(teamId);
+      TEAM_ROLES_CACHE.invalidateAll();
+      invalidateUsers(context -> context.getTeamIds().contains(teamId));
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for team {}", teamId, ex);
     }
   }
 
+  private void invalidateUsers(Predicate<SubjectContext> predicate) {
+    try {
+      USER_CACHE.asMap().values().removeIf(predicate);
+      USER_CACHE_WIH_ID.asMap().values().removeIf(predicate);
+    } catch (Exception ex) {
+      LOG.error("Failed to invalidate cache for users", ex);
+    }
+  }
+
+  /** Returns the roles inherited from the given teams and their parents */
   public List<EntityReference> getRolesForTeams(List<EntityReference> teams) {
-    List<EntityReference> roles = new ArrayList<>();
+    Set<EntityReference> roles = new LinkedHashSet<>();
     for (EntityReference teamRef : listOrEmpty(teams)) {
-      Team team = getTeam(teamRef.getId());
-      if (team != null) {
-        roles.addAll(team.getDefaultRoles());
-        roles.addAll(getRolesForTeams(team.getParents()));
-      }
+      roles.addAll(getRolesForTeam(teamRef.getId()));
+    }
+    return new ArrayList<>(roles);
+  }
+
+  private List<EntityReference> getRolesForTeam(UUID teamId) {
+    try {
+      return TEAM_ROLES_CACHE.get(teamId);
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      return List.of();
     }
-    return roles.stream().distinct().collect(Collectors.toList());
   }
 
   static class UserLoader extends CacheLoader<String, SubjectContext> {
@@ -162,5 +226,29 @@ public class SubjectCache {
       LOG.info("Loaded team {}:{}", team.getName(), team.getId());
       return team;
     }
+
+    @Override
+    public ListenableFuture<Team> reload(@NonNull UUID teamId, @NonNull Team oldTeam) throws IOException {
+      Team team = load(teamId);
+      // Roles are memoized for the team and the teams under it, and are computed from its default roles and parents
+      if (!Objects.equals(listOrEmpty(team.getDefaultRoles()), listOrEmpty(oldTeam.getDefaultRoles()))
+          || !Objects.equals(listOrEmpty(team.getParents()), listOrEmpty(oldTeam.getParents()))) {
+        TEAM_ROLES_CACHE.invalidateAll();
+      }
+      return Futures.immediateFuture(team);
+    }
+  }
+
+  /** Loads the default roles of a team followed by the roles its parents inherit */
+  static class TeamRolesLoader extends CacheLoader<UUID, List<EntityReference>> {
+    @Override
+    public List<EntityReference> load(@NonNull UUID teamId) throws ExecutionException {
+      Team team = TEAM_CACHE.get(teamId);
+      Set<EntityReference> roles = new LinkedHashSet<>(listOrEmpty(team.getDefaultRoles()));
+      for (EntityReference parent : listOrEmpty(team.getParents())) {
+        roles.addAll(TEAM_ROLES_CACHE.get(parent.getId()));
+      }
+      return List.copyOf(roles);
+    }
   }
 }
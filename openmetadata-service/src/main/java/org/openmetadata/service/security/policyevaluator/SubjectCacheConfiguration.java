@@ -0,0 +1,40 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.security.policyevaluator;
+
+import javax.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Configuration of the cache of the users and teams that access control policies are evaluated for */
+@Getter
+@Setter
+public class SubjectCacheConfiguration {
+  @Min(1)
+  private long maximumUsers = 10_000;
+
+  @Min(1)
+  private long maximumTeams = 5_000;
+
+  /** Seconds after which a cached user or team is reloaded in the background on its next use */
+  @Min(1)
+  private long refreshAfterSeconds = 60;
+
+  /** Seconds after which a cached user or team that was not refreshed is evicted */
+  @Min(1)
+  private long expireAfterSeconds = 600;
+
+  @Min(1)
+  private int refreshThreads = 2;
+}
@@ -15,11 +15,15 @@ package org.openmetadata.service.security.policyevaluator;
 
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.Stack;
 import java.util.UUID;
 import lombok.Getter;
@@ -33,9 +37,23 @@ import org.openmetadata.service.Entity;
 @Slf4j
 public class SubjectContext {
   @Getter protected final User user;
+  // Teams the user belongs to and their ancestors, computed when the user is cached
+  @Getter private final Set<UUID> teamIds = new HashSet<>();
+  private final Set<String> teamNames = new HashSet<>();
 
   protected SubjectContext(User user) {
     this.user = user;
+    Deque<EntityReference> stack = new ArrayDeque<>(listOrEmpty(user.getTeams()));
+    while (!stack.isEmpty()) {
+      EntityReference teamRef = stack.pop();
+      if (teamIds.add(teamRef.getId())) {
+        Team team = SubjectCache.getInstance().getTeam(teamRef.getId());
+        if (team != null) {
+          teamNames.add(team.getName());
+          listOrEmpty(team.getParents()).forEach(stack::push);
+        }
+      }
+    }
   }
 
   public boolean isAdmin() {
@@ -65,7 +83,7 @@ public class SubjectContext {
 
   /** Returns true if the user of this SubjectContext is under the team hierarchy of parentTeam */
   public boolean isUserUnderTeam(String parentTeam) {
-    return isInTeam(parentTeam, user.getTeams());
+    return teamNames.contains(parentTeam);
   }
 
   /** Returns true if the given resource owner is under the team hierarchy of parentTeam */
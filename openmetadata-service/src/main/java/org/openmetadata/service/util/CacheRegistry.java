@@ -0,0 +1,159 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.exception.CatalogExceptionMessage;
+import org.openmetadata.service.exception.EntityNotFoundException;
+
+/**
+ * Registry of the in-memory caches of the server. Registered caches publish their statistics as Micrometer metrics
+ * tagged with the name of the cache, and can be inspected and invalidated at runtime from the cache admin API.
+ *
+ * <p>Caches are expected to be built with {@link com.google.common.cache.CacheBuilder#recordStats()}, otherwise their
+ * statistics stay at zero. Registering a cache under a name already in use replaces the previous cache, as caches are
+ * rebuilt when their owner is initialized again.
+ */
+@Slf4j
+public class CacheRegistry {
+  public static final String CACHE_TAG = "cache";
+  private static final CacheRegistry INSTANCE =
+      new CacheRegistry(
+          () ->
+              MicrometerBundleSingleton.prometheusMeterRegistry != null
+                  ? MicrometerBundleSingleton.prometheusMeterRegistry
+                  : Metrics.globalRegistry);
+
+  private final Map<String, RegisteredCache<?>> caches = new ConcurrentHashMap<>();
+  private final Supplier<MeterRegistry> meterRegistry;
+
+  CacheRegistry(Supplier<MeterRegistry> meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public static CacheRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /** Register a cache keyed by strings */
+  public void register(String name, Cache<String, ?> cache) {
+    register(name, cache, Function.identity());
+  }
+
+  /** Register a cache, with the parser of the keys given to {@link #invalidate(String, String)} */
+  public synchronized <K> void register(String name, Cache<K, ?> cache, Function<String, K> keyParser) {
+    MeterRegistry registry = meterRegistry.get();
+    if (caches.put(name, new RegisteredCache<>(cache, keyParser)) != null) {
+      List<Meter> meters =
+          registry.getMeters().stream()
+              .filter(meter -> name.equals(meter.getId().getTag(CACHE_TAG)))
+              .collect(Collectors.toList());
+      meters.forEach(registry::remove);
+    }
+    GuavaCacheMetrics.monitor(registry, cache, name);
+    LOG.debug("Registered cache {}", name);
+  }
+
+  public List<CacheInfo> list() {
+    return caches.entrySet().stream()
+        .map(entry -> new CacheInfo(entry.getKey(), entry.getValue().cache))
+        .sorted(Comparator.comparing(CacheInfo::getName))
+        .collect(Collectors.toList());
+  }
+
+  public CacheInfo get(String name) {
+    return new CacheInfo(name, getRegistered(name).cache);
+  }
+
+  /** Invalidate an entry of a cache. Returns true if the entry was cached. */
+  public boolean invalidate(String name, String key) {
+    RegisteredCache<?> registered = getRegistered(name);
+    return registered.invalidate(key);
+  }
+
+  /** Invalidate all the entries of a cache, and returns the number of entries invalidated */
+  public long invalidateAll(String name) {
+    RegisteredCache<?> registered = getRegistered(name);
+    long size = registered.cache.size();
+    registered.cache.invalidateAll();
+    LOG.info("Invalidated all the entries of cache {}", name);
+    return size;
+  }
+
+  private RegisteredCache<?> getRegistered(String name) {
+    RegisteredCache<?> registered = caches.get(name);
+    if (registered == null) {
+      throw new EntityNotFoundException(CatalogExceptionMessage.entityNotFound("cache", name));
+    }
+    return registered;
+  }
+
+  private static class RegisteredCache<K> {
+    private final Cache<K, ?> cache;
+    private final Function<String, K> keyParser;
+
+    RegisteredCache(Cache<K, ?> cache, Function<String, K> keyParser) {
+      this.cache = cache;
+      this.keyParser = keyParser;
+    }
+
+    boolean invalidate(String key) {
+      return cache.asMap().remove(keyParser.apply(key)) != null;
+    }
+  }
+
+  /** Statistics of a cache since it was built */
+  @Getter
+  public static class CacheInfo {
+    private final String name;
+    private final long size;
+    private final long requestCount;
+    private final long hitCount;
+    private final double hitRate;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadExceptionCount;
+    private final double averageLoadPenaltyMillis;
+    private final long evictionCount;
+
+    CacheInfo(String name, Cache<?, ?> cache) {
+      CacheStats stats = cache.stats();
+      this.name = name;
+      this.size = cache.size();
+      this.requestCount = stats.requestCount();
+      this.hitCount = stats.hitCount();
+      this.hitRate = stats.hitRate();
+      this.missCount = stats.missCount();
+      this.loadSuccessCount = stats.loadSuccessCount();
+      this.loadExceptionCount = stats.loadExceptionCount();
+      this.averageLoadPenaltyMillis = stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1);
+      this.evictionCount = stats.evictionCount();
+    }
+  }
+}
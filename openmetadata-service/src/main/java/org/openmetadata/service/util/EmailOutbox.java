@@ -0,0 +1,298 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.email.SmtpSettings;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EmailOutboxRecord;
+
+/**
+ * Persistent queue of outbound notification emails. Notifications are written to the email_outbox table by the request
+ * or event threads and delivered in the background, so that notifying a large team does not block the caller. Every
+ * dispatch sends its batch over a single SMTP connection. Failed emails are retried with a backoff and dropped after
+ * {@link #MAX_ATTEMPTS} attempts.
+ *
+ * <p>When digest mode is enabled, emails are held for the digest window and all the emails queued for a receiver are
+ * merged into a single email.
+ */
+@Slf4j
+public class EmailOutbox {
+  public static final String ENQUEUED_COUNTER_NAME = "notifications.email.enqueued";
+  public static final String SENT_COUNTER_NAME = "notifications.email.sent";
+  public static final String FAILED_COUNTER_NAME = "notifications.email.failed";
+  public static final String DROPPED_COUNTER_NAME = "notifications.email.dropped";
+  public static final String LAG_TIMER_NAME = "notifications.email.lag";
+  public static final String QUEUE_SIZE_GAUGE_NAME = "notifications.email.queue.size";
+  public static final String QUEUE_AGE_GAUGE_NAME = "notifications.email.queue.oldest.age";
+  static final int MAX_ATTEMPTS = 5;
+  static final int BATCH_SIZE = 100;
+  private static final long DISPATCH_INTERVAL_SECONDS = 10;
+  private static final long RETRY_BACKOFF_MILLIS = 30_000;
+  private static final String DIGEST_SEPARATOR = "<hr/>";
+  private static EmailOutbox instance;
+
+  private final CollectionDAO.EmailOutboxDAO dao;
+  private final Sender sender;
+  private final DigestSubject digestSubject;
+  private final boolean digestEnabled;
+  private final long digestWindowMillis;
+  private final Counter enqueued;
+  private final Counter sent;
+  private final Counter failed;
+  private final Counter dropped;
+  private final Timer lag;
+  private final AtomicLong queueSize = new AtomicLong();
+  private final AtomicLong oldestAge = new AtomicLong();
+  private ScheduledExecutorService scheduler;
+
+  /** Sends the emails over one connection and returns the emails that could not be delivered. */
+  interface Sender {
+    List<EmailOutboxRecord> send(List<EmailOutboxRecord> mails) throws Exception;
+  }
+
+  interface DigestSubject {
+    String getSubject(int count);
+  }
+
+  EmailOutbox(
+      CollectionDAO.EmailOutboxDAO dao,
+      Sender sender,
+      DigestSubject digestSubject,
+      boolean digestEnabled,
+      long digestWindowMillis,
+      MeterRegistry meterRegistry) {
+    this.dao = dao;
+    this.sender = sender;
+    this.digestSubject = digestSubject;
+    this.digestEnabled = digestEnabled;
+    this.digestWindowMillis = digestWindowMillis;
+    this.enqueued = Counter.builder(ENQUEUED_COUNTER_NAME).register(meterRegistry);
+    this.sent = Counter.builder(SENT_COUNTER_NAME).register(meterRegistry);
+    this.failed = Counter.builder(FAILED_COUNTER_NAME).register(meterRegistry);
+    this.dropped = Counter.builder(DROPPED_COUNTER_NAME).register(meterRegistry);
+    this.lag = Timer.builder(LAG_TIMER_NAME).publishPercentileHistogram().register(meterRegistry);
+    Gauge.builder(QUEUE_SIZE_GAUGE_NAME, queueSize, AtomicLong::get).register(meterRegistry);
+    Gauge.builder(QUEUE_AGE_GAUGE_NAME, oldestAge, AtomicLong::get).baseUnit("milliseconds").register(meterRegistry);
+  }
+
+  public static synchronized void initialize(CollectionDAO dao, SmtpSettings smtpSettings) {
+    if (instance != null || smtpSettings == null || !Boolean.TRUE.equals(smtpSettings.getEnableSmtpServer())) {
+      return;
+    }
+    MeterRegistry registry =
+        MicrometerBundleSingleton.prometheusMeterRegistry != null
+            ? MicrometerBundleSingleton.prometheusMeterRegistry
+            : Metrics.globalRegistry;
+    boolean digestEnabled = Boolean.TRUE.equals(smtpSettings.getEnableDigest());
+    long digestWindowMillis =
+        TimeUnit.SECONDS.toMillis(
+            smtpSettings.getDigestWindowSeconds() == null ? 0 : smtpSettings.getDigestWindowSeconds());
+    instance =
+        new EmailOutbox(
+            dao.emailOutboxDAO(),
+            mails -> EmailUtil.getInstance().sendMails(mails),
+            count -> EmailUtil.getInstance().getDigestSubject(count),
+            digestEnabled,
+            digestWindowMillis,
+            registry);
+    instance.start();
+    LOG.info("Email outbox is initialized, digest mode enabled: {}", digestEnabled);
+  }
+
+  public static EmailOutbox getInstance() {
+    return instance;
+  }
+
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      instance.stop();
+      instance = null;
+    }
+  }
+
+  private void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("email-outbox-%d").setDaemon(true).build());
+    scheduler.scheduleWithFixedDelay(
+        this::dispatchSafely, DISPATCH_INTERVAL_SECONDS, DISPATCH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private void stop() {
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+  }
+
+  public void enqueue(List<EmailOutboxRecord> mails) {
+    long now = System.currentTimeMillis();
+    // In digest mode the first attempt is held back for the digest window to collect more emails for the receiver
+    long firstAttempt = digestEnabled ? now + digestWindowMillis : now;
+    List<EmailOutboxRecord> records = new ArrayList<>(mails.size());
+    for (EmailOutboxRecord mail : mails) {
+      records.add(
+          EmailOutboxRecord.builder()
+              .id(UUID.randomUUID().toString())
+              .recipient(mail.getRecipient())
+              .subject(mail.getSubject())
+              .content(mail.getContent())
+              .createdAt(now)
+              .attempts(0)
+              .nextAttemptAt(firstAttempt)
+              .build());
+    }
+    dao.insert(records);
+    enqueued.increment(records.size());
+  }
+
+  private void dispatchSafely() {
+    try {
+      while (dispatch() == BATCH_SIZE) {
+        // Keep draining while full batches are due
+      }
+    } catch (Exception ex) {
+      LOG.error("[EmailOutbox] Failed to dispatch queued emails", ex);
+    }
+  }
+
+  /**
+   * Deliver the emails that are due. Only the emails this server manages to claim are sent, so that servers dispatching
+   * at the same time do not send the same emails. Returns the number of due emails that were picked up.
+   */
+  int dispatch() {
+    long now = System.currentTimeMillis();
+    List<EmailOutboxRecord> due = dao.listDue(now, BATCH_SIZE);
+    if (!due.isEmpty()) {
+      List<EmailOutboxRecord> claimed = claim(digestEnabled ? listDigest(due, now) : due, now);
+      if (!claimed.isEmpty()) {
+        deliver(group(claimed), claimed);
+      }
+    }
+    updateQueueGauges(now);
+    return due.size();
+  }
+
+  /** In digest mode the queued emails of a receiver that has an email due are sent together with it */
+  private List<EmailOutboxRecord> listDigest(List<EmailOutboxRecord> due, long now) {
+    List<String> recipients = due.stream().map(EmailOutboxRecord::getRecipient).distinct().collect(Collectors.toList());
+    return dao.listByRecipients(recipients, now);
+  }
+
+  private List<EmailOutboxRecord> claim(List<EmailOutboxRecord> mails, long now) {
+    List<String> ids = new ArrayList<>(mails.size());
+    int attempts = 0;
+    for (EmailOutboxRecord mail : mails) {
+      ids.add(mail.getId());
+      attempts = Math.max(attempts, mail.getAttempts());
+    }
+    // Claim the emails with the retry time before sending, so they are not sent again if the server stops midway
+    Set<String> claimed =
+        new HashSet<>(dao.claim(ids, now, now + (RETRY_BACKOFF_MILLIS << Math.min(attempts, MAX_ATTEMPTS))));
+    return mails.stream().filter(mail -> claimed.contains(mail.getId())).collect(Collectors.toList());
+  }
+
+  /**
+   * Group the claimed emails into the messages to send. Without digest mode every email is sent on its own. In digest
+   * mode all the claimed emails of a receiver are merged, including the ones still in their window.
+   */
+  Map<EmailOutboxRecord, List<EmailOutboxRecord>> group(List<EmailOutboxRecord> claimed) {
+    Map<EmailOutboxRecord, List<EmailOutboxRecord>> messages = new LinkedHashMap<>();
+    if (!digestEnabled) {
+      claimed.forEach(mail -> messages.put(mail, List.of(mail)));
+      return messages;
+    }
+    Map<String, List<EmailOutboxRecord>> byRecipient =
+        claimed.stream()
+            .collect(Collectors.groupingBy(EmailOutboxRecord::getRecipient, LinkedHashMap::new, Collectors.toList()));
+    byRecipient.forEach(
+        (recipient, mails) -> {
+          if (mails.size() == 1) {
+            messages.put(mails.get(0), mails);
+          } else {
+            EmailOutboxRecord digest =
+                EmailOutboxRecord.builder()
+                    .recipient(recipient)
+                    .subject(digestSubject.getSubject(mails.size()))
+                    .content(
+                        mails.stream().map(EmailOutboxRecord::getContent).collect(Collectors.joining(DIGEST_SEPARATOR)))
+                    .build();
+            messages.put(digest, mails);
+          }
+        });
+    return messages;
+  }
+
+  private void deliver(Map<EmailOutboxRecord, List<EmailOutboxRecord>> messages, List<EmailOutboxRecord> claimed) {
+    List<EmailOutboxRecord> toSend = new ArrayList<>(messages.keySet());
+    Set<EmailOutboxRecord> undelivered = Collections.newSetFromMap(new IdentityHashMap<>());
+    try {
+      undelivered.addAll(sender.send(toSend));
+    } catch (Exception ex) {
+      LOG.warn("[EmailOutbox] Failed to send {} emails. Reason : {}", toSend.size(), ex.getMessage());
+      undelivered.addAll(toSend);
+    }
+
+    List<String> delivered = new ArrayList<>();
+    List<String> expired = new ArrayList<>();
+    long deliveredAt = System.currentTimeMillis();
+    messages.forEach(
+        (message, mails) -> {
+          for (EmailOutboxRecord mail : mails) {
+            if (!undelivered.contains(message)) {
+              delivered.add(mail.getId());
+              lag.record(deliveredAt - mail.getCreatedAt(), TimeUnit.MILLISECONDS);
+            } else if (mail.getAttempts() + 1 >= MAX_ATTEMPTS) {
+              expired.add(mail.getId());
+            }
+          }
+        });
+    if (!delivered.isEmpty()) {
+      dao.delete(delivered);
+      sent.increment(delivered.size());
+    }
+    failed.increment(claimed.size() - delivered.size());
+    if (!expired.isEmpty()) {
+      LOG.error("[EmailOutbox] Dropping {} emails after {} failed attempts", expired.size(), MAX_ATTEMPTS);
+      dao.delete(expired);
+      dropped.increment(expired.size());
+    }
+  }
+
+  private void updateQueueGauges(long now) {
+    queueSize.set(dao.count());
+    Long oldest = dao.oldestCreatedAt();
+    oldestAge.set(oldest == null ? 0 : now - oldest);
+  }
+}
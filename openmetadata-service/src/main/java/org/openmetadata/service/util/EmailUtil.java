@@ -8,10 +8,16 @@ import static org.simplejavamail.api.mailer.config.TransportStrategy.SMTP_TLS;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.common.utils.CommonUtil;
@@ -21,10 +27,12 @@ import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.schema.tests.type.TestCaseResult;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.alerts.emailAlert.EmailMessage;
+import org.openmetadata.service.jdbi3.CollectionDAO.EmailOutboxRecord;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
+import org.simplejavamail.converter.EmailConverter;
 import org.simplejavamail.email.EmailBuilder;
 import org.simplejavamail.mailer.MailerBuilder;
 
@@ -56,6 +64,7 @@ public class EmailUtil {
 
   private static final String TASK_SUBJECT = "%s : Task Assignment Notification";
   private static final String TEST_SUBJECT = "%s : Test Result Notification";
+  private static final String DIGEST_SUBJECT = "%s : %d New Notifications";
   public static final String INVITE_RANDOM_PWD = "invite-randompwd.ftl";
 
   public static final String CHANGE_EVENT_TEMPLATE = "changeEvent.ftl";
@@ -168,20 +177,26 @@ public class EmailUtil {
       String assigneeName, String email, String taskLink, Thread thread, String subject, String templateFilePath)
       throws IOException, TemplateException {
     if (DEFAULT_SMTP_SETTINGS.getEnableSmtpServer()) {
-      Map<String, String> templatePopulator = new HashMap<>();
-      templatePopulator.put("assignee", assigneeName);
-      templatePopulator.put("createdBy", thread.getCreatedBy());
-      templatePopulator.put("taskName", thread.getMessage());
-      templatePopulator.put("taskStatus", thread.getTask().getStatus().toString());
-      templatePopulator.put("taskType", thread.getTask().getType().toString());
-      templatePopulator.put("fieldOldValue", thread.getTask().getOldValue());
-      templatePopulator.put("fieldNewValue", thread.getTask().getSuggestion());
-      templatePopulator.put("taskLink", taskLink);
-
-      sendMail(subject, templatePopulator, email, EMAIL_TEMPLATE_BASEPATH, templateFilePath);
+      queueMails(
+          List.of(buildTaskAssignmentNotification(assigneeName, email, taskLink, thread, subject, templateFilePath)));
     }
   }
 
+  public EmailOutboxRecord buildTaskAssignmentNotification(
+      String assigneeName, String email, String taskLink, Thread thread, String subject, String templateFilePath)
+      throws IOException, TemplateException {
+    Map<String, String> templatePopulator = new HashMap<>();
+    templatePopulator.put("assignee", assigneeName);
+    templatePopulator.put("createdBy", thread.getCreatedBy());
+    templatePopulator.put("taskName", thread.getMessage());
+    templatePopulator.put("taskStatus", thread.getTask().getStatus().toString());
+    templatePopulator.put("taskType", thread.getTask().getType().toString());
+    templatePopulator.put("fieldOldValue", thread.getTask().getOldValue());
+    templatePopulator.put("fieldNewValue", thread.getTask().getSuggestion());
+    templatePopulator.put("taskLink", taskLink);
+    return buildQueuedMail(subject, templatePopulator, email, EMAIL_TEMPLATE_BASEPATH, templateFilePath);
+  }
+
   public void sendTestResultEmailNotificationToUser(
       String email,
       String testResultLink,
@@ -191,15 +206,57 @@ public class EmailUtil {
       String templateFilePath)
       throws IOException, TemplateException {
     if (DEFAULT_SMTP_SETTINGS.getEnableSmtpServer()) {
-      Map<String, String> templatePopulator = new HashMap<>();
-      templatePopulator.put("receiverName", email.split("@")[0]);
-      templatePopulator.put("testResultName", testCaseName);
-      templatePopulator.put("testResultDescription", result.getResult());
-      templatePopulator.put("testResultStatus", result.getTestCaseStatus().toString());
-      templatePopulator.put("testResultTimestamp", result.getTimestamp().toString());
-      templatePopulator.put("testResultLink", testResultLink);
-
-      sendMail(subject, templatePopulator, email, EMAIL_TEMPLATE_BASEPATH, templateFilePath);
+      queueMails(
+          List.of(buildTestResultNotification(email, testResultLink, testCaseName, result, subject, templateFilePath)));
+    }
+  }
+
+  public EmailOutboxRecord buildTestResultNotification(
+      String email,
+      String testResultLink,
+      String testCaseName,
+      TestCaseResult result,
+      String subject,
+      String templateFilePath)
+      throws IOException, TemplateException {
+    Map<String, String> templatePopulator = new HashMap<>();
+    templatePopulator.put("receiverName", email.split("@")[0]);
+    templatePopulator.put("testResultName", testCaseName);
+    templatePopulator.put("testResultDescription", result.getResult());
+    templatePopulator.put("testResultStatus", result.getTestCaseStatus().toString());
+    templatePopulator.put("testResultTimestamp", result.getTimestamp().toString());
+    templatePopulator.put("testResultLink", testResultLink);
+    return buildQueuedMail(subject, templatePopulator, email, EMAIL_TEMPLATE_BASEPATH, templateFilePath);
+  }
+
+  /** Render the template into an email that can be added to the {@link EmailOutbox}. */
+  public EmailOutboxRecord buildQueuedMail(
+      String subject, Map<String, String> model, String to, String baseTemplatePackage, String templatePath)
+      throws IOException, TemplateException {
+    return EmailOutboxRecord.builder()
+        .recipient(to)
+        .subject(subject)
+        .content(renderTemplate(model, baseTemplatePackage, templatePath))
+        .build();
+  }
+
+  /**
+   * Notification emails are added to the persistent {@link EmailOutbox} and delivered in the background. When the
+   * outbox is not running they are sent right away.
+   */
+  public void queueMails(List<EmailOutboxRecord> mails) {
+    if (!DEFAULT_SMTP_SETTINGS.getEnableSmtpServer() || mails.isEmpty()) {
+      return;
+    }
+    EmailOutbox outbox = EmailOutbox.getInstance();
+    if (outbox != null) {
+      outbox.enqueue(mails);
+    } else {
+      try {
+        sendMails(mails);
+      } catch (MessagingException ex) {
+        LOG.error("Failed in sending {} notification mails. Reason : {}", mails.size(), ex.getMessage());
+      }
     }
   }
 
@@ -212,24 +269,60 @@ public class EmailUtil {
       emailBuilder.to(to);
       emailBuilder.from(DEFAULT_SMTP_SETTINGS.getSenderMail());
 
-      TEMPLATE_CONFIGURATION.setClassForTemplateLoading(getClass(), baseTemplatePackage);
-      Template template = TEMPLATE_CONFIGURATION.getTemplate(templatePath);
-
-      // write the freemarker output to a StringWriter
-      StringWriter stringWriter = new StringWriter();
-      template.process(model, stringWriter);
-      String mailContent = stringWriter.toString();
-      emailBuilder.withHTMLText(mailContent);
+      emailBuilder.withHTMLText(renderTemplate(model, baseTemplatePackage, templatePath));
       sendMail(emailBuilder.buildEmail());
     }
   }
 
+  private String renderTemplate(Map<String, String> model, String baseTemplatePackage, String templatePath)
+      throws IOException, TemplateException {
+    TEMPLATE_CONFIGURATION.setClassForTemplateLoading(getClass(), baseTemplatePackage);
+    Template template = TEMPLATE_CONFIGURATION.getTemplate(templatePath);
+
+    // write the freemarker output to a StringWriter
+    StringWriter stringWriter = new StringWriter();
+    template.process(model, stringWriter);
+    return stringWriter.toString();
+  }
+
   public void sendMail(Email email) {
     if (MAILER != null && DEFAULT_SMTP_SETTINGS.getEnableSmtpServer()) {
       MAILER.sendMail(email, true);
     }
   }
 
+  /**
+   * Send the emails over a single SMTP connection instead of opening a new connection for every email. Returns the
+   * emails that could not be delivered.
+   */
+  public List<EmailOutboxRecord> sendMails(List<EmailOutboxRecord> mails) throws MessagingException {
+    List<EmailOutboxRecord> failed = new ArrayList<>();
+    if (MAILER == null || !DEFAULT_SMTP_SETTINGS.getEnableSmtpServer() || mails.isEmpty()) {
+      return failed;
+    }
+    Session session = MAILER.getSession();
+    try (Transport transport = session.getTransport()) {
+      transport.connect();
+      for (EmailOutboxRecord mail : mails) {
+        try {
+          Email email =
+              EmailBuilder.startingBlank()
+                  .withSubject(mail.getSubject())
+                  .to(mail.getRecipient())
+                  .from(DEFAULT_SMTP_SETTINGS.getSenderMail())
+                  .withHTMLText(mail.getContent())
+                  .buildEmail();
+          MimeMessage message = EmailConverter.emailToMimeMessage(email, session);
+          transport.sendMessage(message, message.getAllRecipients());
+        } catch (Exception ex) {
+          LOG.warn("Failed in sending Mail to user [{}]. Reason : {}", mail.getRecipient(), ex.getMessage());
+          failed.add(mail);
+        }
+      }
+    }
+    return failed;
+  }
+
   public String buildBaseUrl(URI uri) {
     try {
       if (CommonUtil.nullOrEmpty(DEFAULT_SMTP_SETTINGS.getOpenMetadataUrl())) {
@@ -323,6 +416,10 @@ public class EmailUtil {
     return String.format(TEST_SUBJECT, DEFAULT_SMTP_SETTINGS.getEmailingEntity());
   }
 
+  public String getDigestSubject(int count) {
+    return String.format(DIGEST_SUBJECT, DEFAULT_SMTP_SETTINGS.getEmailingEntity(), count);
+  }
+
   public String getEmailingEntity() {
     return DEFAULT_SMTP_SETTINGS.getEmailingEntity();
   }
@@ -299,6 +299,13 @@ public final class EntityUtil {
     public boolean contains(String field) {
       return fieldList.contains(field);
     }
+
+    /** Returns the fields without the given field, for fields set separately */
+    public Fields without(String field) {
+      List<String> remaining = new ArrayList<>(fieldList);
+      remaining.remove(field);
+      return new Fields(remaining, String.join(",", remaining));
+    }
   }
 
   /** Entity version extension name formed by entityType.version.versionNumber. Example - `table.version.0.1` */
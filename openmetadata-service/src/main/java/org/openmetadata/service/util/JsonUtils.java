@@ -15,6 +15,7 @@ package org.openmetadata.service.util;
 
 import static org.openmetadata.service.util.RestUtil.DATE_TIME_FORMAT;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.StreamReadFeature;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -30,6 +31,7 @@ import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion.VersionFlag;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -100,6 +102,11 @@ public final class JsonUtils {
         : OBJECT_MAPPER.writeValueAsString(o);
   }
 
+  /** Create a UTF-8 generator that serializes objects the same way as {@link #pojoToJson(Object)}. */
+  public static JsonGenerator createGenerator(OutputStream out) throws IOException {
+    return OBJECT_MAPPER.getFactory().createGenerator(out);
+  }
+
   public static JsonStructure getJsonStructure(Object o) {
     return OBJECT_MAPPER.convertValue(o, JsonStructure.class);
   }
@@ -14,12 +14,15 @@ import java.io.IOException;
 import java.net.URI;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
@@ -27,8 +30,6 @@ import org.openmetadata.api.configuration.airflow.TaskNotificationConfiguration;
 import org.openmetadata.api.configuration.airflow.TestResultNotificationConfiguration;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.entity.feed.Thread;
-import org.openmetadata.schema.entity.teams.Team;
-import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.schema.tests.TestCase;
 import org.openmetadata.schema.tests.type.TestCaseResult;
 import org.openmetadata.schema.type.AnnouncementDetails;
@@ -39,7 +40,7 @@ import org.openmetadata.schema.type.Post;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.jdbi3.CollectionDAO;
-import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.jdbi3.CollectionDAO.EmailOutboxRecord;
 import org.openmetadata.service.resources.feeds.MessageParser;
 import org.openmetadata.service.resources.settings.SettingsCache;
 import org.openmetadata.service.socket.WebSocketManager;
@@ -97,17 +98,17 @@ public class NotificationHandler {
     if (thread.getPostsCount() == 0) {
       List<EntityReference> assignees = thread.getTask().getAssignees();
       HashSet<UUID> receiversList = new HashSet<>();
+      List<String> teamIds = new ArrayList<>();
       assignees.forEach(
           e -> {
             if (Entity.USER.equals(e.getType())) {
               receiversList.add(e.getId());
             } else if (Entity.TEAM.equals(e.getType())) {
-              // fetch all that are there in the team
-              List<CollectionDAO.EntityRelationshipRecord> records =
-                  dao.relationshipDAO().findTo(e.getId().toString(), TEAM, Relationship.HAS.ordinal(), Entity.USER);
-              records.forEach((eRecord) -> receiversList.add(eRecord.getId()));
+              teamIds.add(e.getId().toString());
             }
           });
+      // fetch all that are there in the teams with a single query
+      findTeamMembers(teamIds).forEach(member -> receiversList.add(member.getId()));
 
       // Send WebSocket Notification
       WebSocketManager.getInstance()
@@ -139,48 +140,67 @@ public class NotificationHandler {
     if (thread.getPostsCount() == 0) {
       mentions = MessageParser.getEntityLinks(thread.getMessage());
     } else {
-      Post latestPost = thread.getPosts().get(thread.getPostsCount() - 1);
+      Post latestPost = thread.getPosts().get(thread.getPosts().size() - 1);
       mentions = MessageParser.getEntityLinks(latestPost.getMessage());
     }
+    List<String> userNames = new ArrayList<>();
+    List<String> teamNames = new ArrayList<>();
     mentions.forEach(
         entityLink -> {
-          String fqn = entityLink.getEntityFQN();
           if (USER.equals(entityLink.getEntityType())) {
-            User user = dao.userDAO().findEntityByName(fqn);
-            WebSocketManager.getInstance().sendToOne(user.getId(), WebSocketManager.MENTION_CHANNEL, jsonThread);
+            userNames.add(entityLink.getEntityFQN());
           } else if (TEAM.equals(entityLink.getEntityType())) {
-            Team team = dao.teamDAO().findEntityByName(fqn);
-            // fetch all that are there in the team
-            List<CollectionDAO.EntityRelationshipRecord> records =
-                dao.relationshipDAO().findTo(team.getId().toString(), TEAM, Relationship.HAS.ordinal(), USER);
-            // Notify on WebSocket for Realtime
-            WebSocketManager.getInstance().sendToManyWithString(records, WebSocketManager.MENTION_CHANNEL, jsonThread);
+            teamNames.add(entityLink.getEntityFQN());
           }
         });
+    // Resolve all the mentioned users and the members of all the mentioned teams with one query each
+    HashSet<UUID> receivers = new HashSet<>();
+    if (!userNames.isEmpty()) {
+      dao.userDAO().findContactsByNames(userNames).forEach(user -> receivers.add(user.getId()));
+    }
+    if (!teamNames.isEmpty()) {
+      dao.userDAO()
+          .findTeamMembersByTeamNames(teamNames, Relationship.HAS.ordinal())
+          .forEach(user -> receivers.add(user.getId()));
+    }
+    // Notify on WebSocket for Realtime
+    WebSocketManager.getInstance().sendToManyWithUUID(receivers, WebSocketManager.MENTION_CHANNEL, jsonThread);
   }
 
   private void handleEmailNotifications(HashSet<UUID> userList, Thread thread) {
-    EntityRepository<User> repository = Entity.getEntityRepository(USER);
+    if (userList.isEmpty()) {
+      return;
+    }
     URI urlInstance = thread.getHref();
-    userList.forEach(
-        (id) -> {
+    String baseUrl = EmailUtil.getInstance().buildBaseUrl(urlInstance);
+    List<CollectionDAO.UserContact> users =
+        dao.userDAO().findContactsByIds(userList.stream().map(UUID::toString).collect(Collectors.toList()));
+    List<EmailOutboxRecord> mails = new ArrayList<>();
+    users.forEach(
+        user -> {
           try {
-            User user = repository.get(null, id, repository.getFields("name,email,href"));
-            EmailUtil.getInstance()
-                .sendTaskAssignmentNotificationToUser(
-                    user.getName(),
-                    user.getEmail(),
-                    String.format(
-                        "%s/users/%s/tasks", EmailUtil.getInstance().buildBaseUrl(urlInstance), user.getName()),
-                    thread,
-                    EmailUtil.getInstance().getTaskAssignmentSubject(),
-                    EmailUtil.TASK_NOTIFICATION_TEMPLATE);
+            mails.add(
+                EmailUtil.getInstance()
+                    .buildTaskAssignmentNotification(
+                        user.getName(),
+                        user.getEmail(),
+                        String.format("%s/users/%s/tasks", baseUrl, user.getName()),
+                        thread,
+                        EmailUtil.getInstance().getTaskAssignmentSubject(),
+                        EmailUtil.TASK_NOTIFICATION_TEMPLATE));
           } catch (IOException ex) {
             LOG.error("Task Email Notification Failed :", ex);
           } catch (TemplateException ex) {
             LOG.error("Task Email Notification Template Parsing Exception :", ex);
           }
         });
+    EmailUtil.getInstance().queueMails(mails);
+  }
+
+  private List<CollectionDAO.UserContact> findTeamMembers(List<String> teamIds) {
+    return teamIds.isEmpty()
+        ? Collections.emptyList()
+        : dao.userDAO().findTeamMembers(teamIds, Relationship.HAS.ordinal());
   }
 
   private void handleTestResultEmailNotification(ChangeEvent changeEvent) {
@@ -205,6 +225,8 @@ public class NotificationHandler {
             List<CollectionDAO.EntityRelationshipRecord> tableToTestRecord =
                 dao.relationshipDAO()
                     .findFrom(entity.getId().toString(), TEST_CASE, Relationship.CONTAINS.ordinal(), TABLE);
+            List<String> ownerUserIds = new ArrayList<>();
+            List<String> ownerTeamIds = new ArrayList<>();
             tableToTestRecord.forEach(
                 (tableRecord) -> {
                   // Find the owners owning the Table , can be a team or Users
@@ -213,61 +235,50 @@ public class NotificationHandler {
                           .findFrom(tableRecord.getId().toString(), TABLE, Relationship.OWNS.ordinal());
                   tableOwners.forEach(
                       (owner) -> {
-                        try {
-                          if (USER.equals(owner.getType())) {
-                            User user = dao.userDAO().findEntityById(owner.getId());
-                            receivers.add(user.getEmail());
-                          } else if (TEAM.equals(owner.getType())) {
-                            Team team = dao.teamDAO().findEntityById(owner.getId());
-                            // Fetch the users in the team
-                            List<CollectionDAO.EntityRelationshipRecord> records =
-                                dao.relationshipDAO()
-                                    .findTo(team.getId().toString(), TEAM, Relationship.HAS.ordinal(), USER);
-
-                            records.forEach(
-                                (userRecord) -> {
-                                  try {
-                                    User user = dao.userDAO().findEntityById(userRecord.getId());
-                                    receivers.add(user.getEmail());
-                                  } catch (IOException e) {
-                                    throw new RuntimeException(e);
-                                  }
-                                });
-                          }
-                        } catch (IOException e) {
-                          throw new RuntimeException(e);
+                        if (USER.equals(owner.getType())) {
+                          ownerUserIds.add(owner.getId().toString());
+                        } else if (TEAM.equals(owner.getType())) {
+                          ownerTeamIds.add(owner.getId().toString());
                         }
                       });
                 });
+            // Fetch the owners and the users in the owning teams with one query each
+            if (!ownerUserIds.isEmpty()) {
+              dao.userDAO().findContactsByIds(ownerUserIds).forEach(user -> receivers.add(user.getEmail()));
+            }
+            findTeamMembers(ownerTeamIds).forEach(user -> receivers.add(user.getEmail()));
           }
-          sendTestResultEmailNotifications(receivers, (TestCase) changeEvent.getEntity(), result);
+          sendTestResultEmailNotifications(
+              new ArrayList<>(new LinkedHashSet<>(receivers)), (TestCase) changeEvent.getEntity(), result);
         }
       }
     }
   }
 
   private void sendTestResultEmailNotifications(List<String> emails, TestCase testCase, TestCaseResult result) {
+    URI urlInstance = testCase.getHref();
+    String testLinkUrl =
+        String.format(
+            "%s/table/%s/activity_feed", EmailUtil.getInstance().buildBaseUrl(urlInstance), testCase.getEntityFQN());
+    List<EmailOutboxRecord> mails = new ArrayList<>();
     emails.forEach(
         (email) -> {
-          URI urlInstance = testCase.getHref();
-          String testLinkUrl =
-              String.format(
-                  "%s/table/%s/activity_feed",
-                  EmailUtil.getInstance().buildBaseUrl(urlInstance), testCase.getEntityFQN());
           try {
-            EmailUtil.getInstance()
-                .sendTestResultEmailNotificationToUser(
-                    email,
-                    testLinkUrl,
-                    testCase.getName(),
-                    result,
-                    EmailUtil.getInstance().getTestResultSubject(),
-                    EmailUtil.TEST_NOTIFICATION_TEMPLATE);
+            mails.add(
+                EmailUtil.getInstance()
+                    .buildTestResultNotification(
+                        email,
+                        testLinkUrl,
+                        testCase.getName(),
+                        result,
+                        EmailUtil.getInstance().getTestResultSubject(),
+                        EmailUtil.TEST_NOTIFICATION_TEMPLATE));
           } catch (IOException e) {
             LOG.error("TestResult Email Notification Failed :", e);
           } catch (TemplateException e) {
             LOG.error("Task Email Notification Template Parsing Exception :", e);
           }
         });
+    EmailUtil.getInstance().queueMails(mails);
   }
 }
@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.alerts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AlertDeliveryEngineTest {
+  private HttpServer server;
+  private URI endpoint;
+  private SimpleMeterRegistry registry;
+  private AlertDeliveryEngine engine;
+  private final ConcurrentLinkedQueue<String> received = new ConcurrentLinkedQueue<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+          received.add(body);
+          int status = body.contains("fail") ? 500 : 200;
+          exchange.sendResponseHeaders(status, -1);
+          exchange.close();
+        });
+    server.start();
+    endpoint = URI.create("http://localhost:" + server.getAddress().getPort() + "/hook");
+    registry = new SimpleMeterRegistry();
+    AlertDeliveryConfiguration config = new AlertDeliveryConfiguration();
+    config.setThreads(2);
+    config.setMaxInFlightPerEndpoint(2);
+    engine = new AlertDeliveryEngine(config, registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    engine.close();
+    server.stop(0);
+  }
+
+  @Test
+  void testPostAllPreservesOrder() {
+    List<String> payloads = List.of("{\"a\":1}", "{\"b\":2}", "{\"c\":3}", "{\"d\":4}");
+    List<AlertDeliveryEngine.DeliveryResult> results =
+        engine.postAll(endpoint, payloads, Map.of(), Duration.ofSeconds(5), "test");
+
+    assertEquals(4, results.size());
+    assertTrue(results.stream().allMatch(AlertDeliveryEngine.DeliveryResult::isDelivered));
+    assertEquals(payloads, List.copyOf(received));
+  }
+
+  @Test
+  void testPostAllStopsAtFirstFailure() {
+    List<AlertDeliveryEngine.DeliveryResult> results =
+        engine.postAll(
+            endpoint, List.of("{\"a\":1}", "{\"fail\":2}", "{\"c\":3}"), Map.of(), Duration.ofSeconds(5), "test");
+
+    // The payload after the failed one is not sent, so that a retry does not send the delivered ones again
+    assertEquals(2, results.size());
+    assertEquals(200, results.get(0).getStatus());
+    assertEquals(500, results.get(1).getStatus());
+    assertEquals("Internal Server Error", results.get(1).getReasonPhrase());
+    assertFalse(results.get(1).isDelivered());
+    assertEquals(List.of("{\"a\":1}", "{\"fail\":2}"), List.copyOf(received));
+    assertEquals(1, registry.get(AlertDeliveryEngine.DELIVERY_TIMER_NAME).tags("outcome", "2xx").timer().count());
+    assertEquals(1, registry.get(AlertDeliveryEngine.DELIVERY_TIMER_NAME).tags("outcome", "5xx").timer().count());
+  }
+
+  @Test
+  void testPostAllUnreachableEndpoint() {
+    server.stop(0);
+    List<AlertDeliveryEngine.DeliveryResult> results =
+        engine.postAll(endpoint, List.of("{}", "{}"), Map.of(), Duration.ofSeconds(5), "test");
+
+    assertEquals(1, results.size());
+    assertNotNull(results.get(0).getError());
+    assertFalse(results.get(0).isDelivered());
+  }
+
+  @Test
+  void testDeliveryTimersAreRegisteredOnce() {
+    for (int i = 0; i < 3; i++) {
+      engine.post(endpoint, "{}", Map.of(), Duration.ofSeconds(5), "test").join();
+    }
+
+    assertEquals(1, registry.get(AlertDeliveryEngine.DELIVERY_TIMER_NAME).timers().size());
+    assertEquals(3, registry.get(AlertDeliveryEngine.DELIVERY_TIMER_NAME).tags("outcome", "2xx").timer().count());
+  }
+
+  @Test
+  void testRequestsNotSentReleaseTheirSlot() {
+    // More invalid requests than the slots of the endpoint
+    for (int i = 0; i < 5; i++) {
+      CompletableFuture<AlertDeliveryEngine.DeliveryResult> result =
+          engine.post(endpoint, "{}", Map.of("Invalid Header", "value"), Duration.ofSeconds(5), "test");
+      assertTrue(result.isCompletedExceptionally());
+    }
+
+    assertEquals(200, engine.post(endpoint, "{}", Map.of(), Duration.ofSeconds(5), "test").join().getStatus());
+  }
+
+  @Test
+  void testUnknownHost() {
+    assertTrue(AlertDeliveryEngine.isUnknownHost(new CompletionException(new UnknownHostException("invalid"))));
+    assertFalse(AlertDeliveryEngine.isUnknownHost(new CompletionException(new ConnectException("refused"))));
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.analytics.WebAnalyticEventData;
+import org.openmetadata.schema.analytics.type.WebAnalyticEventType;
+import org.openmetadata.service.analytics.WebAnalyticEventBufferConfiguration.OverflowPolicy;
+
+class WebAnalyticEventBufferTest {
+  private SimpleMeterRegistry registry;
+  private final List<List<WebAnalyticEventData>> batches = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    batches.clear();
+  }
+
+  @Test
+  void testEventsAreWrittenInBatches() throws InterruptedException {
+    WebAnalyticEventBuffer buffer = buffer(10, 3, OverflowPolicy.DROP_NEWEST);
+    for (int i = 0; i < 7; i++) {
+      buffer.add(event());
+    }
+
+    // Full batches are written without waiting for the flush interval
+    assertEquals(3, buffer.nextBatch().size());
+    assertEquals(3, buffer.nextBatch().size());
+    // The last batch is written once the flush interval has elapsed
+    assertEquals(1, buffer.nextBatch().size());
+    assertTrue(buffer.nextBatch().isEmpty());
+
+    for (int i = 0; i < 7; i++) {
+      buffer.add(event());
+    }
+    buffer.flush();
+    assertEquals(List.of(3, 3, 1), batchSizes());
+    assertEquals(7, registry.get(WebAnalyticEventBuffer.WRITTEN_COUNTER_NAME).counter().count());
+    assertEquals(3, registry.get(WebAnalyticEventBuffer.FLUSH_TIMER_NAME).timer().count());
+  }
+
+  @Test
+  void testOverflowDropsNewestEvents() {
+    WebAnalyticEventBuffer buffer = buffer(2, 10, OverflowPolicy.DROP_NEWEST);
+    WebAnalyticEventData first = event();
+    WebAnalyticEventData second = event();
+    buffer.add(first);
+    buffer.add(second);
+    buffer.add(event());
+
+    buffer.flush();
+    assertEquals(List.of(List.of(first, second)), batches);
+    assertEquals(1, registry.get(WebAnalyticEventBuffer.DROPPED_COUNTER_NAME).counter().count());
+  }
+
+  @Test
+  void testOverflowDropsOldestEvents() {
+    WebAnalyticEventBuffer buffer = buffer(2, 10, OverflowPolicy.DROP_OLDEST);
+    WebAnalyticEventData second = event();
+    WebAnalyticEventData third = event();
+    buffer.add(event());
+    buffer.add(second);
+    buffer.add(third);
+
+    buffer.flush();
+    assertEquals(List.of(List.of(second, third)), batches);
+    assertEquals(1, registry.get(WebAnalyticEventBuffer.DROPPED_COUNTER_NAME).counter().count());
+  }
+
+  @Test
+  void testOverflowWritesThrough() {
+    WebAnalyticEventBuffer buffer = buffer(1, 10, OverflowPolicy.WRITE_THROUGH);
+    WebAnalyticEventData first = event();
+    WebAnalyticEventData second = event();
+    buffer.add(first);
+    buffer.add(second);
+
+    // The event that does not fit is written right away, the buffered one on the next flush
+    assertEquals(List.of(List.of(second)), batches);
+    assertEquals(1, buffer.size());
+    buffer.flush();
+    assertEquals(List.of(List.of(second), List.of(first)), batches);
+  }
+
+  @Test
+  void testFailedWritesAreCounted() {
+    WebAnalyticEventBufferConfiguration config = config(10, 10, OverflowPolicy.DROP_NEWEST);
+    WebAnalyticEventBuffer buffer =
+        new WebAnalyticEventBuffer(
+            events -> {
+              throw new IllegalStateException("Database is down");
+            },
+            config,
+            registry);
+    buffer.add(event());
+    buffer.add(event());
+
+    buffer.flush();
+    assertEquals(0, buffer.size());
+    assertEquals(2, registry.get(WebAnalyticEventBuffer.FAILED_COUNTER_NAME).counter().count());
+  }
+
+  private List<Integer> batchSizes() {
+    List<Integer> sizes = new ArrayList<>();
+    batches.forEach(batch -> sizes.add(batch.size()));
+    return sizes;
+  }
+
+  private WebAnalyticEventBuffer buffer(int capacity, int batchSize, OverflowPolicy overflowPolicy) {
+    return new WebAnalyticEventBuffer(
+        events -> batches.add(new ArrayList<>(events)), config(capacity, batchSize, overflowPolicy), registry);
+  }
+
+  private static WebAnalyticEventBufferConfiguration config(int capacity, int batchSize, OverflowPolicy policy) {
+    WebAnalyticEventBufferConfiguration config = new WebAnalyticEventBufferConfiguration();
+    config.setQueueCapacity(capacity);
+    config.setBatchSize(batchSize);
+    config.setFlushIntervalMillis(50);
+    config.setOverflowPolicy(policy);
+    return config;
+  }
+
+  private static WebAnalyticEventData event() {
+    return new WebAnalyticEventData()
+        .withEventId(UUID.randomUUID())
+        .withEventType(WebAnalyticEventType.PAGE_VIEW)
+        .withTimestamp(System.currentTimeMillis());
+  }
+}
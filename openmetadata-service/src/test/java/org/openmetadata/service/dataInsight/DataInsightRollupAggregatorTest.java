@@ -0,0 +1,159 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.dataInsight;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.analytics.EntityReportData;
+import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.schema.analytics.WebAnalyticUserActivityReportData;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult.DataInsightChartType;
+import org.openmetadata.schema.dataInsight.type.DailyActiveUsers;
+import org.openmetadata.schema.dataInsight.type.MostActiveUsers;
+import org.openmetadata.schema.dataInsight.type.PercentageOfEntitiesWithDescriptionByType;
+import org.openmetadata.schema.dataInsight.type.TotalEntitiesByTier;
+import org.openmetadata.service.util.JsonUtils;
+
+class DataInsightRollupAggregatorTest {
+  private static final long DAY_1 = 1668038400000L; // 2022-11-10T00:00:00Z
+  private static final long DAY_2 = DAY_1 + DailyRollup.DAY_MILLIS;
+  private static final long DAY_4 = DAY_1 + 3 * DailyRollup.DAY_MILLIS;
+
+  @Test
+  void testRollupKeepsLatestRunOfTheDay() throws Exception {
+    long latestRun = DAY_1 + TimeUnit.HOURS.toMillis(2);
+    // The records of a run are not necessarily stamped with the same timestamp
+    DailyRollup rollup =
+        DailyRollup.build(
+            ReportDataType.ENTITY_REPORT_DATA,
+            DAY_1,
+            List.of(
+                entityReportData(DAY_1 + 100, "Table", "Tier.Tier1", "sales", 10, 4),
+                entityReportData(latestRun, "Table", "Tier.Tier1", "sales", 12, 6),
+                entityReportData(latestRun + 5, "Table", "Tier.Tier1", "sales", 8, 2)));
+
+    assertEquals(latestRun + 5, rollup.getTimestamp());
+    assertEquals(2, rollup.getSourceCount());
+    assertEquals(1, rollup.getRows().size());
+    assertEquals(20, rollup.getRows().get(0).getMetric("entityCount"));
+    assertEquals(2, rollup.getRows().get(0).getCount());
+
+    // Rollups are stored as JSON
+    DailyRollup stored = JsonUtils.readValue(JsonUtils.pojoToJson(rollup), DailyRollup.class);
+    assertEquals(8, stored.getRows().get(0).getMetric("completedDescriptions"));
+    assertEquals("Tier.Tier1", stored.getRows().get(0).getDimension("entityTier"));
+  }
+
+  @Test
+  void testEntityChartsWithFilters() throws Exception {
+    List<DailyRollup> rollups =
+        List.of(
+            DailyRollup.build(
+                ReportDataType.ENTITY_REPORT_DATA,
+                DAY_1,
+                List.of(
+                    entityReportData(DAY_1, "Table", "Tier.Tier1", "sales", 10, 5),
+                    entityReportData(DAY_1, "Table", null, "marketing", 30, 3),
+                    entityReportData(DAY_1, "Topic", "Tier.Tier1", "sales", 4, 4))));
+
+    DataInsightChartResult description =
+        DataInsightRollupAggregator.aggregate(
+            DataInsightChartType.PERCENTAGE_OF_ENTITIES_WITH_DESCRIPTION_BY_TYPE, rollups, null, List.of("sales"));
+    assertEquals(2, description.getData().size());
+    PercentageOfEntitiesWithDescriptionByType tables =
+        (PercentageOfEntitiesWithDescriptionByType) description.getData().get(0);
+    assertEquals("Table", tables.getEntityType());
+    assertEquals(DAY_1, tables.getTimestamp());
+    assertEquals(0.5, tables.getCompletedDescriptionFraction());
+
+    DataInsightChartResult tiers =
+        DataInsightRollupAggregator.aggregate(DataInsightChartType.TOTAL_ENTITIES_BY_TIER, rollups, null, null);
+    TotalEntitiesByTier noTier = (TotalEntitiesByTier) tiers.getData().get(1);
+    assertEquals("NoTier", noTier.getEntityTier());
+    assertEquals(30.0 / 44, noTier.getEntityCountFraction());
+  }
+
+  @Test
+  void testUserActivityCharts() throws Exception {
+    List<DailyRollup> rollups =
+        List.of(
+            DailyRollup.build(
+                ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA,
+                DAY_1,
+                List.of(userActivity(DAY_1, "aaron", 2, 100), userActivity(DAY_1, "bob", 5, 50))),
+            DailyRollup.build(
+                ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA,
+                DAY_2,
+                List.of(userActivity(DAY_2, "aaron", 4, 300))),
+            DailyRollup.build(
+                ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA,
+                DAY_4,
+                List.of(userActivity(DAY_4, "bob", 1, 10))));
+
+    DataInsightChartResult dailyActiveUsers =
+        DataInsightRollupAggregator.aggregate(DataInsightChartType.DAILY_ACTIVE_USERS, rollups, null, null);
+    // Days without activity between the first and the last day are reported with no active users
+    assertEquals(4, dailyActiveUsers.getData().size());
+    assertEquals(2, ((DailyActiveUsers) dailyActiveUsers.getData().get(0)).getActiveUsers());
+    assertEquals(0, ((DailyActiveUsers) dailyActiveUsers.getData().get(2)).getActiveUsers());
+
+    DataInsightChartResult mostActive =
+        DataInsightRollupAggregator.aggregate(DataInsightChartType.MOST_ACTIVE_USERS, rollups, null, null);
+    MostActiveUsers first = (MostActiveUsers) mostActive.getData().get(0);
+    assertEquals("aaron", first.getUserName());
+    assertEquals(6, first.getSessions());
+    assertEquals(400.0 / 6, first.getAvgSessionDuration());
+    assertEquals(DAY_2, first.getLastSession());
+  }
+
+  @Test
+  void testDateTimeStringConversion() throws ParseException {
+    DataInsightAggregatorInterface aggregator =
+        DataInsightAggregatorFactory.createDataAggregator(null, DataInsightChartType.DAILY_ACTIVE_USERS);
+    assertEquals(DAY_1, aggregator.convertDatTimeStringToTimestamp("2022-11-10T00:00:00.000Z"));
+  }
+
+  private static ReportData entityReportData(
+      long timestamp, String entityType, String tier, String team, int entityCount, int completedDescriptions) {
+    return new ReportData()
+        .withTimestamp(timestamp)
+        .withReportDataType(ReportDataType.ENTITY_REPORT_DATA)
+        .withData(
+            new EntityReportData()
+                .withEntityType(entityType)
+                .withEntityTier(tier)
+                .withTeam(team)
+                .withEntityCount(entityCount)
+                .withCompletedDescriptions(completedDescriptions));
+  }
+
+  private static ReportData userActivity(long timestamp, String userName, int sessions, int duration) {
+    return new ReportData()
+        .withTimestamp(timestamp)
+        .withReportDataType(ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA)
+        .withData(
+            new WebAnalyticUserActivityReportData()
+                .withUserName(userName)
+                .withTeam("sales")
+                .withTotalSessions(sessions)
+                .withTotalSessionDuration(duration)
+                .withTotalPageView(sessions * 3)
+                .withLastSession(timestamp));
+  }
+}
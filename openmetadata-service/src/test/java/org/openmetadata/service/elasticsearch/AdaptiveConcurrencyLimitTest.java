@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+  private static final long LATENCY_TARGET = 1000;
+
+  @Test
+  void testLimitGrowsAfterRoundOfFastRequests() throws InterruptedException {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 4, LATENCY_TARGET);
+    complete(limit, 2, 10);
+    assertEquals(3, limit.getLimit());
+    complete(limit, 3, 10);
+    assertEquals(4, limit.getLimit());
+    // Never above the maximum
+    complete(limit, 10, 10);
+    assertEquals(4, limit.getLimit());
+  }
+
+  @Test
+  void testLimitShrinksOnSlowAndRejectedRequests() throws InterruptedException {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8, LATENCY_TARGET);
+    complete(limit, 1, LATENCY_TARGET + 1);
+    assertEquals(7, limit.getLimit());
+
+    limit.acquire();
+    limit.onRejected();
+    assertEquals(3, limit.getLimit());
+    limit.acquire();
+    limit.onRejected();
+    limit.acquire();
+    limit.onRejected();
+    // Never below the minimum
+    assertEquals(1, limit.getLimit());
+  }
+
+  @Test
+  void testAcquireWaitsForPermit() throws InterruptedException {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1, LATENCY_TARGET);
+    limit.acquire();
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread waiting =
+        new Thread(
+            () -> {
+              try {
+                limit.acquire();
+                acquired.countDown();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    waiting.start();
+    assertEquals(1, acquired.getCount());
+    limit.onFailure();
+    assertTrue(acquired.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testPartitionIdRanges() {
+    assertArrayEquals(new String[] {"0", "1"}, PartitionedReindexer.getIdRange("0"));
+    assertArrayEquals(new String[] {"9", "a"}, PartitionedReindexer.getIdRange("9"));
+    assertArrayEquals(new String[] {"f", "g"}, PartitionedReindexer.getIdRange("f"));
+  }
+
+  private static void complete(AdaptiveConcurrencyLimit limit, int requests, long latency) throws InterruptedException {
+    for (int i = 0; i < requests; i++) {
+      limit.acquire();
+      limit.onSuccess(latency);
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.analytics.EntityReportData;
+import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.schema.api.services.CreateDatabaseService.DatabaseServiceType;
+import org.openmetadata.schema.api.services.CreateMessagingService.MessagingServiceType;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.entity.data.Topic;
+import org.openmetadata.schema.entity.teams.User;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.MessageSchema;
+import org.openmetadata.schema.type.SchemaType;
+import org.openmetadata.schema.type.TableData;
+import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.service.util.JsonUtils;
+
+class ElasticSearchDocWriterTest {
+
+  @Test
+  void testTableDocument() throws IOException {
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      columns.add(
+          new Column()
+              .withName("column" + i)
+              .withDataType(ColumnDataType.STRUCT)
+              .withDescription("description of column " + i)
+              .withTags(i % 3 == 0 ? List.of(tag("PII.Sensitive")) : null)
+              .withChildren(
+                  List.of(
+                      new Column().withName("child").withDataType(ColumnDataType.INT),
+                      new Column().withName("other child").withDataType(ColumnDataType.STRING))));
+    }
+    Table table =
+        new Table()
+            .withId(UUID.randomUUID())
+            .withName("orders")
+            .withFullyQualifiedName("mysql.shop.public.orders")
+            .withDescription("Orders placed in the shop \u2713")
+            .withColumns(columns)
+            .withTags(List.of(tag("Tier.Tier1"), tag("Business.Sales")))
+            .withService(reference("mysql"))
+            .withDatabase(reference("shop"))
+            .withDatabaseSchema(reference("public"))
+            .withServiceType(DatabaseServiceType.Mysql)
+            .withFollowers(List.of(reference("aaron")))
+            .withVersion(0.3)
+            .withUpdatedAt(1668038400000L)
+            .withSampleData(new TableData().withColumns(List.of("id")).withRows(List.of(List.of(1))))
+            .withChangeDescription(new ChangeDescription().withPreviousVersion(0.2))
+            .withViewDefinition("select * from orders");
+
+    assertEquivalent(new TableIndex(table));
+
+    // Tables without display name, tags or followers
+    table.withTags(null).withFollowers(null).withColumns(null);
+    assertEquivalent(new TableIndex(table));
+  }
+
+  @Test
+  void testTopicDocument() throws IOException {
+    Topic topic =
+        new Topic()
+            .withId(UUID.randomUUID())
+            .withName("orders")
+            .withFullyQualifiedName("kafka.orders")
+            .withService(reference("kafka"))
+            .withServiceType(MessagingServiceType.Kafka)
+            .withPartitions(3)
+            .withMessageSchema(
+                new MessageSchema()
+                    .withSchemaText("{\"type\": \"record\"}")
+                    .withSchemaType(SchemaType.Avro)
+                    .withAdditionalProperty("extra", Map.of("a", 1)));
+    assertEquivalent(new TopicIndex(topic));
+  }
+
+  @Test
+  void testUserAndReportDataDocuments() throws IOException {
+    User user =
+        new User()
+            .withId(UUID.randomUUID())
+            .withName("aaron")
+            .withFullyQualifiedName("aaron")
+            .withEmail("aaron@example.com")
+            .withIsAdmin(false)
+            .withTeams(List.of(reference("sales")))
+            .withFollows(List.of(reference("orders")));
+    assertEquivalent(new UserIndex(user));
+
+    ReportData reportData =
+        new ReportData()
+            .withId(UUID.randomUUID())
+            .withTimestamp(1668038400000L)
+            .withReportDataType(ReportDataType.ENTITY_REPORT_DATA)
+            .withData(new EntityReportData().withEntityType("Table").withEntityCount(10));
+    String json = assertEquivalent(new ReportDataIndexes(reportData));
+    assertTrue(json.startsWith("{\"id\":null,"));
+  }
+
+  @Test
+  void testExcludedFieldsAreReplacedAtTheEnd() throws IOException {
+    Table table = new Table().withId(UUID.randomUUID()).withName("orders").withDescription("orders");
+    ElasticSearchIndex index =
+        new ElasticSearchIndex() {
+          @Override
+          public Object getSource() {
+            return table;
+          }
+
+          @Override
+          public List<String> getExcludedFields() {
+            return List.of("name", "description");
+          }
+
+          @Override
+          public Map<String, Object> buildESFields() {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("entityType", "table");
+            fields.put("name", "ORDERS");
+            fields.put("id", "replaced");
+            return fields;
+          }
+        };
+    String json = assertEquivalent(index);
+    assertEquals(
+        "{\"id\":\"replaced\",\"version\":0.1,\"deleted\":false,\"entityType\":\"table\",\"name\":\"ORDERS\"}", json);
+  }
+
+  /** The document written in a single pass is the same as the serialized map built by the index. */
+  private static String assertEquivalent(ElasticSearchIndex index) throws IOException {
+    String expected = JsonUtils.pojoToJson(index.buildESDoc());
+    String actual = new String(index.buildESDocBytes(), StandardCharsets.UTF_8);
+    assertEquals(expected, actual);
+    return actual;
+  }
+
+  private static TagLabel tag(String tagFQN) {
+    return new TagLabel()
+        .withTagFQN(tagFQN)
+        .withSource(TagLabel.TagSource.TAG)
+        .withLabelType(TagLabel.LabelType.MANUAL)
+        .withState(TagLabel.State.CONFIRMED);
+  }
+
+  private static EntityReference reference(String name) {
+    return new EntityReference().withId(UUID.randomUUID()).withType("entity").withName(name);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SearchResponseCacheTest {
+  private static final String TABLE_INDEX = "table_search_index";
+  private static final String TOPIC_INDEX = "topic_search_index";
+  private SimpleMeterRegistry registry;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    loads.set(0);
+  }
+
+  @Test
+  void testResponseIsCachedUntilIndexIsWritten() throws IOException {
+    SearchResponseCache cache = new SearchResponseCache(100, 60, 0, registry);
+    String key = SearchResponseCache.key("query", TABLE_INDEX, "*", 0, 10);
+
+    assertEquals("response-1", cache.get(TABLE_INDEX, key, this::load));
+    assertEquals("response-1", cache.get(TABLE_INDEX, key, this::load));
+    assertEquals(1, loads.get());
+
+    // A write to another index leaves the response current
+    cache.invalidate(TOPIC_INDEX);
+    assertEquals("response-1", cache.get(TABLE_INDEX, key, this::load));
+
+    cache.invalidate(TABLE_INDEX);
+    assertEquals("response-2", cache.get(TABLE_INDEX, key, this::load));
+
+    assertEquals(2, count("hit"));
+    assertEquals(1, count("miss"));
+    assertEquals(1, count("stale"));
+  }
+
+  @Test
+  void testAliasesAreInvalidatedByAnyWrite() throws IOException {
+    SearchResponseCache cache = new SearchResponseCache(100, 60, 0, registry);
+    String key = SearchResponseCache.key("aggregate", "all", "owner.name", 10);
+
+    cache.get("all", key, this::load);
+    cache.invalidate(TOPIC_INDEX);
+    assertEquals("response-2", cache.get("all", key, this::load));
+
+    String multiKey = SearchResponseCache.key("query", TABLE_INDEX + "," + TOPIC_INDEX);
+    cache.get(TABLE_INDEX + "," + TOPIC_INDEX, multiKey, this::load);
+    cache.invalidate(TOPIC_INDEX);
+    assertEquals("response-4", cache.get(TABLE_INDEX + "," + TOPIC_INDEX, multiKey, this::load));
+  }
+
+  @Test
+  void testResponsesAreNotCachedWithinRefreshGrace() throws IOException {
+    SearchResponseCache cache = new SearchResponseCache(100, 60, 60_000, registry);
+    String key = SearchResponseCache.key("suggest", TABLE_INDEX, "cust");
+
+    cache.invalidate(TABLE_INDEX);
+    cache.get(TABLE_INDEX, key, this::load);
+    cache.get(TABLE_INDEX, key, this::load);
+    assertEquals(2, loads.get());
+
+    // Writes to other indexes do not hold back caching
+    String topicKey = SearchResponseCache.key("suggest", TOPIC_INDEX, "cust");
+    cache.get(TOPIC_INDEX, topicKey, this::load);
+    cache.get(TOPIC_INDEX, topicKey, this::load);
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void testKeyNormalization() {
+    assertEquals(
+        SearchResponseCache.normalizeJson("{\"query\": {\"term\": {\"deleted\": false}}}"),
+        SearchResponseCache.normalizeJson("{\"query\":{\"term\":{\"deleted\":false}}}"));
+    assertEquals("name,owner", SearchResponseCache.normalizeFields(List.of("owner", "name", "owner")));
+    assertEquals("customer", SearchResponseCache.normalizeQuery("  customer "));
+    assertEquals("not json", SearchResponseCache.normalizeJson("not json"));
+  }
+
+  private String load() {
+    return "response-" + loads.incrementAndGet();
+  }
+
+  private double count(String result) {
+    return registry.get(SearchResponseCache.REQUESTS_COUNTER_NAME).tags("result", result).counter().count();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.fernet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.macasaet.fernet.Key;
+import com.macasaet.fernet.StringValidator;
+import com.macasaet.fernet.Token;
+import com.macasaet.fernet.Validator;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.TemporalAmount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FernetTest {
+  private static final String KEY = "jJ/9sz0g0OHxsfxOoSfdFdmk3ysNmPRnH3TUAbz3IHA=";
+  private static final String OTHER_KEY = "ihZpp5gmmDvVsgoOG6OVivKWwC9vd5JQ";
+  private static final Validator<String> VALIDATOR =
+      new StringValidator() {
+        @Override
+        public TemporalAmount getTimeToLive() {
+          return Duration.ofSeconds(Instant.MAX.getEpochSecond());
+        }
+      };
+
+  private final Fernet fernet = Fernet.getInstance();
+
+  @AfterEach
+  void resetKey() {
+    fernet.setFernetKey(KEY);
+  }
+
+  @Test
+  void testEncryptDecrypt() {
+    fernet.setFernetKey(KEY);
+    String token = fernet.encrypt("openmetadata-test");
+    assertTrue(Fernet.isTokenized(token));
+    assertNotEquals(token, fernet.encrypt("openmetadata-test"));
+    assertEquals("openmetadata-test", fernet.decrypt(token));
+    assertEquals("", fernet.decrypt(fernet.encrypt("")));
+    assertEquals("p\u00e4ssw\u00f6rd", fernet.decrypt(fernet.encrypt("p\u00e4ssw\u00f6rd")));
+    assertThrows(IllegalArgumentException.class, () -> fernet.encrypt(token));
+    assertThrows(IllegalArgumentException.class, () -> fernet.decrypt("not-a-token"));
+  }
+
+  @Test
+  void testTokensAreCompatibleWithTheSpec() {
+    fernet.setFernetKey(KEY);
+    Key key = new Key(base64Url(KEY));
+
+    // Tokens generated by the reference implementation are decrypted, and the other way around
+    String referenceToken = Fernet.FERNET_PREFIX + Token.generate(key, "secret").serialise();
+    assertEquals("secret", fernet.decrypt(referenceToken));
+    String token = fernet.encrypt("secret").substring(Fernet.FERNET_PREFIX.length());
+    assertEquals("secret", Token.fromString(token).validateAndDecrypt(key, VALIDATOR));
+  }
+
+  @Test
+  void testKeyRotation() {
+    fernet.setFernetKey(KEY);
+    String oldToken = fernet.encrypt("secret");
+
+    // The new key encrypts, the old one still decrypts the existing tokens
+    String otherKey = base64Url(new Key(new byte[16], new byte[16]).serialise());
+    fernet.setFernetKey(otherKey + "," + KEY);
+    String newToken = fernet.encrypt("secret");
+    assertEquals("secret", fernet.decrypt(oldToken));
+    assertEquals("secret", fernet.decrypt(newToken));
+
+    fernet.setFernetKey(KEY);
+    assertThrows(IllegalArgumentException.class, () -> fernet.decrypt(newToken));
+    assertThrows(IllegalArgumentException.class, () -> fernet.setFernetKey(OTHER_KEY));
+  }
+
+  private static String base64Url(String key) {
+    return key.replace("/", "_").replace("+", "-").replace("=", "");
+  }
+}
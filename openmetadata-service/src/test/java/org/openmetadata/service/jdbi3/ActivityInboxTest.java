@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openmetadata.schema.entity.feed.Thread;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.schema.type.TaskDetails;
+import org.openmetadata.schema.type.TaskStatus;
+import org.openmetadata.schema.type.ThreadType;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.ActivityInboxDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ActivityInboxDAO.Reason;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.service.jdbi3.FeedRepository.PaginationType;
+
+class ActivityInboxTest {
+  private static final UUID ENTITY_ID = UUID.randomUUID();
+
+  private ActivityInboxDAO inboxDAO;
+  private EntityRelationshipDAO relationshipDAO;
+  private ActivityInbox inbox;
+
+  @BeforeEach
+  void setUp() {
+    CollectionDAO dao = mock(CollectionDAO.class);
+    inboxDAO = mock(ActivityInboxDAO.class);
+    relationshipDAO = mock(EntityRelationshipDAO.class);
+    when(dao.activityInboxDAO()).thenReturn(inboxDAO);
+    when(dao.relationshipDAO()).thenReturn(relationshipDAO);
+    inbox = new ActivityInbox(dao);
+  }
+
+  @Test
+  void testReasonBits() {
+    // The bits are stored in the activity_inbox table and used by the migration backfilling it
+    assertEquals(1, Reason.CREATED.getBit());
+    assertEquals(2, Reason.REPLIED.getBit());
+    assertEquals(4, Reason.OWNER.getBit());
+    assertEquals(8, Reason.FOLLOWS.getBit());
+    assertEquals(16, Reason.MENTIONED.getBit());
+    assertEquals(32, Reason.ASSIGNED.getBit());
+    assertEquals(13, Reason.mask(Reason.CREATED, Reason.OWNER, Reason.FOLLOWS));
+  }
+
+  @Test
+  void testAddThread() {
+    UUID creator = UUID.randomUUID();
+    UUID follower = UUID.randomUUID();
+    EntityReference owner = new EntityReference().withId(UUID.randomUUID()).withType(Entity.TEAM);
+    EntityReference assignee = new EntityReference().withId(UUID.randomUUID()).withType(Entity.USER);
+    when(relationshipDAO.findFrom(ENTITY_ID.toString(), Entity.TABLE, Relationship.FOLLOWS.ordinal()))
+        .thenReturn(List.of(EntityRelationshipRecord.builder().id(follower).type(Entity.USER).build()));
+    Thread thread =
+        thread(ThreadType.Task)
+            .withTask(new TaskDetails().withStatus(TaskStatus.Open).withAssignees(List.of(assignee)));
+
+    inbox.addThread(thread, creator, owner);
+
+    verifyAdded(creator, thread, Reason.CREATED);
+    verifyAdded(owner.getId(), thread, Reason.OWNER);
+    verifyAdded(follower, thread, Reason.FOLLOWS);
+    verifyAdded(assignee.getId(), thread, Reason.ASSIGNED);
+  }
+
+  @Test
+  void testAddPostUpdatesThread() {
+    UUID from = UUID.randomUUID();
+    Thread thread = thread(ThreadType.Conversation).withResolved(true).withUpdatedAt(20L);
+
+    inbox.addPost(thread, from, "Looks good");
+
+    InOrder order = inOrder(inboxDAO);
+    order.verify(inboxDAO).updateThread(thread.getId().toString(), 20L, true, null);
+    order.verify(inboxDAO).add(from.toString(), thread.getId().toString(), 2, 20L, ThreadType.Conversation, true, null);
+  }
+
+  @Test
+  void testUpdateAssignees() {
+    EntityReference assignee = new EntityReference().withId(UUID.randomUUID()).withType(Entity.TEAM);
+    Thread thread =
+        thread(ThreadType.Task)
+            .withTask(new TaskDetails().withStatus(TaskStatus.Closed).withAssignees(List.of(assignee)));
+
+    inbox.updateAssignees(thread);
+
+    InOrder order = inOrder(inboxDAO);
+    order.verify(inboxDAO).removeReason(thread.getId().toString(), Reason.ASSIGNED);
+    order
+        .verify(inboxDAO)
+        .add(
+            assignee.getId().toString(),
+            thread.getId().toString(),
+            Reason.ASSIGNED.getBit(),
+            10L,
+            ThreadType.Task,
+            false,
+            TaskStatus.Closed);
+  }
+
+  @Test
+  void testListPages() {
+    List<String> recipients = List.of("user", "team");
+    int reasons = Reason.mask(Reason.OWNER, Reason.CREATED);
+    when(inboxDAO.listBefore(recipients, reasons, null, false, null, 3, 100L))
+        .thenReturn(new ArrayList<>(List.of("t1", "t2", "t3")));
+    when(inboxDAO.listAfter(recipients, reasons, null, false, null, 3, 100L)).thenReturn(List.of("t0", "t-1"));
+
+    // Pages before the cursor are fetched in ascending order and returned latest first
+    assertEquals(
+        List.of("t3", "t2", "t1"), inbox.list(recipients, reasons, null, false, null, 3, 100L, PaginationType.BEFORE));
+    assertEquals(
+        List.of("t0", "t-1"), inbox.list(recipients, reasons, null, false, null, 3, 100L, PaginationType.AFTER));
+  }
+
+  private void verifyAdded(UUID recipientId, Thread thread, Reason reason) {
+    verify(inboxDAO)
+        .add(
+            eq(recipientId.toString()),
+            eq(thread.getId().toString()),
+            eq(reason.getBit()),
+            eq(thread.getUpdatedAt()),
+            eq(thread.getType()),
+            eq(false),
+            eq(thread.getTask() == null ? null : thread.getTask().getStatus()));
+  }
+
+  private static Thread thread(ThreadType type) {
+    return new Thread()
+        .withId(UUID.randomUUID())
+        .withType(type)
+        .withAbout("<#E::table::service.db.schema.orders>")
+        .withEntityId(ENTITY_ID)
+        .withMessage("Please add a description")
+        .withUpdatedAt(10L);
+  }
+}
@@ -0,0 +1,406 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dropwizard.testing.ResourceHelpers;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.CreateSqlObject;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.jdbi.v3.sqlobject.SqlObjects;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.customizer.BindMap;
+import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.QueryPlanExplainer.QueryPlan;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
+import org.openmetadata.service.util.JsonUtils;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+
+/**
+ * Checks that the queries of {@link CollectionDAO} keep using the indexes created by the migrations.
+ *
+ * <p>A synthetic dataset is loaded in the database started for the integration tests, and every query of the DAOs is
+ * explained with sample values for its parameters. The test fails when a query does a full scan or a sort that is not
+ * in the plan recorded for it in src/test/resources/query-plans. The comparison is skipped for a database without a
+ * recorded baseline, such as MySQL until its baseline is committed. The plans are recorded only when running with
+ * -DrecordQueryPlans=true, after reviewing the plans that changed.
+ */
+@Slf4j
+class CollectionDAOQueryPlanTest {
+  private static final int ROWS = 500;
+  private static final String SAMPLE_ID = UUID.randomUUID().toString();
+  private static final Path BASELINE_DIR = Path.of("src", "test", "resources", "query-plans");
+  // A condition defined right after one of these keywords is a bare condition
+  private static final Pattern CONDITION_KEYWORD = Pattern.compile("(?i)\\b(WHERE|AND|OR)$");
+
+  private static ConnectionType connectionType;
+  private static Jdbi jdbi;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // The system properties are provided by maven-surefire for testing with mysql and postgres
+    String jdbcContainerClassName = System.getProperty("jdbcContainerClassName");
+    String jdbcContainerImage = System.getProperty("jdbcContainerImage");
+    JdbcDatabaseContainer<?> sqlContainer =
+        (JdbcDatabaseContainer<?>)
+            Class.forName(jdbcContainerClassName).getConstructor(String.class).newInstance(jdbcContainerImage);
+    sqlContainer.withReuse(true);
+    sqlContainer.withStartupTimeoutSeconds(240);
+    sqlContainer.withConnectTimeoutSeconds(240);
+    sqlContainer.start();
+
+    Flyway flyway =
+        Flyway.configure()
+            .dataSource(sqlContainer.getJdbcUrl(), sqlContainer.getUsername(), sqlContainer.getPassword())
+            .table("DATABASE_CHANGE_LOG")
+            .locations("filesystem:" + ResourceHelpers.resourceFilePath("db/sql/" + sqlContainer.getDriverClassName()))
+            .sqlMigrationPrefix("v")
+            .cleanDisabled(false)
+            .load();
+    flyway.clean();
+    flyway.migrate();
+
+    connectionType = ConnectionType.from(sqlContainer.getDriverClassName());
+    jdbi = Jdbi.create(sqlContainer.getJdbcUrl(), sqlContainer.getUsername(), sqlContainer.getPassword());
+    jdbi.installPlugin(new SqlObjectPlugin());
+    jdbi.getConfig(SqlObjects.class)
+        .setSqlLocator(new ConnectionAwareAnnotationSqlLocator(sqlContainer.getDriverClassName()));
+    loadDataset(jdbi.onDemand(CollectionDAO.class));
+  }
+
+  @Test
+  void test_queryPlansMatchBaseline() throws Exception {
+    List<String> failures = new ArrayList<>();
+    Map<String, QueryPlan> plans = explainQueries(failures);
+    assertTrue(failures.isEmpty(), "Failed to explain queries:\n" + String.join("\n", failures));
+
+    Path baselinePath = BASELINE_DIR.resolve(connectionType.name().toLowerCase(Locale.ROOT) + ".json");
+    if (Boolean.getBoolean("recordQueryPlans")) {
+      Files.createDirectories(BASELINE_DIR);
+      Files.writeString(baselinePath, JsonUtils.pojoToJson(plans, true));
+      LOG.warn("Recorded the plans of {} queries in {}", plans.size(), baselinePath);
+      return;
+    }
+    assumeTrue(
+        Files.exists(baselinePath),
+        "No query plan baseline in " + baselinePath + ", record it with -DrecordQueryPlans=true and commit it");
+
+    Map<String, QueryPlan> baseline =
+        JsonUtils.readValue(Files.readString(baselinePath), new TypeReference<TreeMap<String, QueryPlan>>() {});
+    List<String> regressions = new ArrayList<>();
+    plans.forEach(
+        (query, plan) -> {
+          QueryPlan recorded = baseline.get(query);
+          List<String> problems = new ArrayList<>(plan.getProblems());
+          if (recorded != null) {
+            problems.removeAll(recorded.getProblems());
+            if (!plan.getSteps().equals(recorded.getSteps())) {
+              LOG.info("Plan of {} changed from {} to {}", query, recorded.getSteps(), plan.getSteps());
+            }
+          }
+          if (!problems.isEmpty()) {
+            regressions.add(query + ": " + problems + " in " + plan.getSteps());
+          }
+        });
+    assertTrue(
+        regressions.isEmpty(),
+        "Query plans regressed, run with -DrecordQueryPlans=true to accept them:\n" + String.join("\n", regressions));
+  }
+
+  private static Map<String, QueryPlan> explainQueries(List<String> failures) throws Exception {
+    Map<String, QueryPlan> plans = new TreeMap<>();
+    try (Handle handle = jdbi.open()) {
+      List<String> tables = getTables(handle);
+      QueryPlanExplainer explainer = new QueryPlanExplainer(connectionType);
+      explainer.attach(handle);
+      for (Map.Entry<Class<?>, Object> dao : getDAOs(handle.attach(CollectionDAO.class)).entrySet()) {
+        for (Method method : dao.getKey().getMethods()) {
+          String sql = getQuery(method);
+          if (sql == null) {
+            continue;
+          }
+          String query = getQueryName(dao.getKey(), method);
+          if (!isQueryOfSchema(dao.getValue(), sql, tables)) {
+            LOG.info("Skipping {}, its table is not in the schema of {}", query, connectionType);
+            continue;
+          }
+          try {
+            Object[] args = getArguments(dao.getValue(), method, sql);
+            plans.put(query, explainer.explain(() -> method.invoke(dao.getValue(), args)));
+          } catch (Exception e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            failures.add(query + ": " + cause);
+          }
+        }
+      }
+    }
+    return plans;
+  }
+
+  /** Names of the tables of the schema, in lower case */
+  private static List<String> getTables(Handle handle) {
+    String schema = connectionType == ConnectionType.MYSQL ? "DATABASE()" : "current_schema()";
+    return handle
+        .createQuery("SELECT LOWER(table_name) FROM information_schema.tables WHERE table_schema = " + schema)
+        .mapTo(String.class)
+        .list();
+  }
+
+  /**
+   * Check if the tables used by a query of an entity DAO are in the schema. Some entities have no table in the schema
+   * of one of the databases, and only some tables have a jsonBlob column, which the format conditions are on.
+   */
+  private static boolean isQueryOfSchema(Object dao, String sql, List<String> tables) {
+    if (!(dao instanceof EntityDAO)) {
+      return true;
+    }
+    EntityDAO<?> entityDAO = (EntityDAO<?>) dao;
+    return tables.contains(entityDAO.getTableName().toLowerCase(Locale.ROOT))
+        && (!(sql.contains("jsonBlob") || sql.contains("<formatCondition>")) || entityDAO.supportsBinaryStorage());
+  }
+
+  /** DAOs of the collection, by type */
+  private static Map<Class<?>, Object> getDAOs(CollectionDAO collectionDAO) throws Exception {
+    Map<Class<?>, Object> daos = new LinkedHashMap<>();
+    for (Method method : CollectionDAO.class.getMethods()) {
+      if (method.isAnnotationPresent(CreateSqlObject.class) && !daos.containsKey(method.getReturnType())) {
+        daos.put(method.getReturnType(), method.invoke(collectionDAO));
+      }
+    }
+    return daos;
+  }
+
+  /** SQL of the query run by the method for the connection type, or null when the method does not run a query */
+  private static String getQuery(Method method) {
+    if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+      return null;
+    }
+    for (ConnectionAwareSqlQuery query : method.getAnnotationsByType(ConnectionAwareSqlQuery.class)) {
+      if (query.connectionType() == connectionType) {
+        return query.value();
+      }
+    }
+    SqlQuery query = method.getAnnotation(SqlQuery.class);
+    return query == null ? null : query.value();
+  }
+
+  private static String getQueryName(Class<?> daoClass, Method method) {
+    return daoClass.getSimpleName()
+        + "."
+        + method.getName()
+        + Arrays.stream(method.getParameterTypes())
+            .map(Class::getSimpleName)
+            .collect(Collectors.joining(",", "(", ")"));
+  }
+
+  private static Object[] getArguments(Object dao, Method method, String sql) {
+    EntityDAO<?> entityDAO = dao instanceof EntityDAO ? (EntityDAO<?>) dao : null;
+    Parameter[] parameters = method.getParameters();
+    Object[] args = new Object[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      Parameter parameter = parameters[i];
+      if (parameter.isAnnotationPresent(Define.class)) {
+        args[i] = getDefinition(entityDAO, method, sql, parameter.getAnnotation(Define.class).value(), parameter);
+      } else if (parameter.isAnnotationPresent(Bind.class)) {
+        args[i] = getSample(parameter.getAnnotation(Bind.class).value(), parameter.getType());
+      } else if (parameter.isAnnotationPresent(BindList.class)) {
+        Class<?> elementType =
+            (Class<?>) ((ParameterizedType) parameter.getParameterizedType()).getActualTypeArguments()[0];
+        args[i] = List.of(getSample(parameter.getAnnotation(BindList.class).value(), elementType));
+      } else if (parameter.isAnnotationPresent(BindMap.class)) {
+        args[i] = Map.of();
+      } else {
+        throw new IllegalArgumentException("No sample value for parameter " + parameter);
+      }
+    }
+    return args;
+  }
+
+  private static Object getDefinition(
+      EntityDAO<?> entityDAO, Method method, String sql, String name, Parameter parameter) {
+    if (parameter.getType().isEnum()) {
+      return parameter.getType().getEnumConstants()[0];
+    }
+    if (List.of("table", "nameColumn", "jsonColumns").contains(name)) {
+      if (entityDAO == null) {
+        // The queries of the other DAOs that run on any entity table are listed with the table of tables
+        return name.equals("table") ? "table_entity" : name.equals("nameColumn") ? "fullyQualifiedName" : "json";
+      }
+      return name.equals("table")
+          ? entityDAO.getTableName()
+          : name.equals("nameColumn") ? entityDAO.getNameColumn() : entityDAO.getJsonColumns();
+    }
+    return getCondition(entityDAO, method, sql, name);
+  }
+
+  /** Sample of a condition, with the keyword expected by the place of the condition in the query */
+  private static String getCondition(EntityDAO<?> entityDAO, Method method, String sql, String name) {
+    if (!sql.contains("<" + name + ">")) {
+      return ""; // The condition of the query of the other database
+    }
+    String before = sql.substring(0, sql.indexOf("<" + name + ">")).trim();
+    if (CONDITION_KEYWORD.matcher(before).find()) {
+      return "TRUE";
+    }
+    // The queries shared by all the entities are listed with the conditions of the repositories
+    boolean entityQuery =
+        entityDAO != null && method.getDeclaringClass() == EntityDAO.class && entityDAO.supportsSoftDelete();
+    String fromClause = before.substring(Math.max(0, before.toUpperCase(Locale.ROOT).lastIndexOf("FROM")));
+    if (fromClause.toUpperCase(Locale.ROOT).contains("WHERE")) {
+      return entityQuery ? entityDAO.getCondition(Include.NON_DELETED) : "AND TRUE";
+    }
+    return entityQuery ? new ListFilter(Include.NON_DELETED).getCondition() : "WHERE TRUE";
+  }
+
+  private static Object getSample(String name, Class<?> type) {
+    if (type.isEnum()) {
+      return type.getEnumConstants()[0];
+    }
+    if (type == int.class || type == Integer.class) {
+      return name.equals("limit") ? 10 : 0;
+    }
+    if (type == long.class || type == Long.class) {
+      return System.currentTimeMillis();
+    }
+    if (type == boolean.class || type == Boolean.class) {
+      return false;
+    }
+    if (type != String.class) {
+      throw new IllegalArgumentException("No sample value of " + type.getSimpleName() + " for " + name);
+    }
+    String lowerName = name.toLowerCase(Locale.ROOT);
+    if (lowerName.equals("after") || lowerName.equals("before")) {
+      return "0"; // Cursors are names, ids or row numbers
+    }
+    if (lowerName.endsWith("id") || lowerName.endsWith("ids") || lowerName.equals("token")) {
+      return SAMPLE_ID;
+    }
+    if (lowerName.contains("json") && !lowerName.equals("jsonschema")) {
+      return "{\"id\":\"" + SAMPLE_ID + "\",\"type\":\"team\"}";
+    }
+    if (lowerName.contains("fqn") || lowerName.endsWith("prefix")) {
+      return "service1.entity1";
+    }
+    if (lowerName.equals("pattern")) {
+      return "service1.%";
+    }
+    if (lowerName.contains("type") || lowerName.endsWith("entity")) {
+      return Entity.TABLE;
+    }
+    if (lowerName.contains("date")) {
+      return "2023-01-01";
+    }
+    return "entity1";
+  }
+
+  /** Load entities in every entity table, along with relationships and tag labels between them */
+  private static void loadDataset(CollectionDAO collectionDAO) throws Exception {
+    List<String> tables = jdbi.withHandle(CollectionDAOQueryPlanTest::getTables);
+    for (Object dao : getDAOs(collectionDAO).values()) {
+      if (dao instanceof EntityDAO && isQueryOfSchema(dao, "", tables)) {
+        EntityDAO<?> entityDAO = (EntityDAO<?>) dao;
+        for (int i = 0; i < ROWS; i++) {
+          entityDAO.insert(entityDAO.getTableName(), getDocument(i));
+        }
+      }
+    }
+    for (int i = 0; i < ROWS; i++) {
+      collectionDAO
+          .relationshipDAO()
+          .insert(
+              UUID.randomUUID(),
+              UUID.randomUUID(),
+              Entity.DATABASE_SCHEMA,
+              Entity.TABLE,
+              Relationship.CONTAINS.ordinal());
+      collectionDAO.tagUsageDAO().applyTag(0, "tag" + i % 10 + ".label", "service1.entity" + i, 0, 0);
+    }
+
+    // Refresh the statistics the plans are based on
+    try (Handle handle = jdbi.open()) {
+      if (connectionType == ConnectionType.MYSQL) {
+        for (String table :
+            handle
+                .createQuery("SELECT table_name FROM information_schema.tables WHERE table_schema = DATABASE()")
+                .mapTo(String.class)
+                .list()) {
+          handle.createQuery("ANALYZE TABLE " + table).mapToMap().list();
+        }
+      } else {
+        handle.execute("ANALYZE");
+      }
+    }
+  }
+
+  /** Entity document with the fields the generated columns of all the entity tables are computed from */
+  private static String getDocument(int i) throws Exception {
+    ObjectNode document = JsonUtils.getObjectNode();
+    document.put("id", UUID.randomUUID().toString());
+    document.put("name", "entity" + i);
+    document.put("fullyQualifiedName", "service" + i % 10 + ".entity" + i);
+    document.put("updatedAt", (long) i);
+    document.put("updatedBy", "admin");
+    document.put("deleted", i % 10 == 0);
+    document.put("email", "user" + i + "@example.com");
+    document.put("timestamp", (long) i);
+    for (String field :
+        List.of(
+            "serviceType",
+            "teamType",
+            "category",
+            "status",
+            "entityType",
+            "entityFQN",
+            "webhookType",
+            "alertActionType",
+            "eventType",
+            "dataIndexType")) {
+      document.put(field, field + i % 5);
+    }
+    return JsonUtils.pojoToJson(document);
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.service.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.service.jdbi3.EntityDAO.EntityJsonMapper;
+import org.openmetadata.service.util.JsonUtils;
+
+class EntityStorageCodecTest {
+  @AfterEach
+  void resetCodec() {
+    EntityStorageCodec.initialize(EntityStorageCodec.JSON);
+  }
+
+  @Test
+  void testRoundTrip() throws IOException {
+    String json = JsonUtils.pojoToJson(table(50));
+    byte[] encoded = EntityStorageCodec.SMILE_DEFLATE.encode(json);
+    assertEquals(JsonUtils.readTree(json), JsonUtils.readTree(EntityStorageCodec.decode(encoded)));
+    assertNull(EntityStorageCodec.JSON.encode(json));
+
+    Map<String, Object> indexed = JsonUtils.readValue(EntityStorageCodec.getIndexedJson(json), Map.class);
+    assertEquals(Set.copyOf(EntityStorageCodec.INDEXED_FIELDS), indexed.keySet());
+  }
+
+  @Test
+  void testMapperReadsBothFormats() throws Exception {
+    String json = JsonUtils.pojoToJson(table(2));
+    EntityJsonMapper mapper = new EntityJsonMapper();
+    assertEquals(json, mapper.map(resultSet(json, null), null));
+    String decoded = mapper.map(resultSet("{}", EntityStorageCodec.SMILE_DEFLATE.encode(json)), null);
+    assertEquals(JsonUtils.readTree(json), JsonUtils.readTree(decoded));
+  }
+
+  @Test
+  void testBinaryTablesStoreIndexedJson() throws IOException {
+    TableDAO dao = mock(TableDAO.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+    Table table = table(2);
+
+    EntityStorageCodec.initialize(EntityStorageCodec.SMILE_DEFLATE);
+    dao.insert(table, Map.of(ListFilter.DATABASE_ID_COLUMN, UUID.randomUUID().toString()));
+    verify(dao)
+        .insertWithColumns(
+            eq("table_entity"),
+            eq(EntityStorageCodec.getIndexedJson(JsonUtils.pojoToJson(table))),
+            eq("databaseId, jsonBlob"),
+            eq(":databaseId, :jsonBlob"),
+            any());
+
+    // Switching back to JSON clears the encoded document
+    EntityStorageCodec.initialize(EntityStorageCodec.JSON);
+    dao.update(table);
+    verify(dao)
+        .updateWithColumns(
+            "table_entity", table.getId().toString(), JsonUtils.pojoToJson(table), "jsonBlob = NULL", Map.of());
+  }
+
+  private static Table table(int columnCount) {
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < columnCount; i++) {
+      columns.add(
+          new Column()
+              .withName("column" + i)
+              .withFullyQualifiedName("service.db.schema.table.column" + i)
+              .withDataType(ColumnDataType.VARCHAR)
+              .withDataTypeDisplay("varchar(256)")
+              .withDataLength(256)
+              .withDescription("Description of the column " + i));
+    }
+    return new Table()
+        .withId(UUID.randomUUID())
+        .withName("table")
+        .withFullyQualifiedName("service.db.schema.table")
+        .withUpdatedAt(1L)
+        .withUpdatedBy("admin")
+        .withDeleted(false)
+        .withDatabase(new EntityReference().withId(UUID.randomUUID()).withType("database"))
+        .withColumns(columns);
+  }
+
+  private static ResultSet resultSet(String json, byte[] blob) throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(rs.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(2);
+    when(rs.getString(1)).thenReturn(json);
+    when(rs.getBytes(2)).thenReturn(blob);
+    return rs;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.openmetadata.schema.settings.FqnRenameJob;
+import org.openmetadata.schema.settings.FqnRenameJob.Status;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.FqnRenameDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.FqnRenameDAO.TagUsageRow;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO;
+import org.openmetadata.service.util.JsonUtils;
+
+class FqnRenameEngineTest {
+  private static final String PATTERN = "PII.%";
+  private final FqnRenameDAO dao = mock(FqnRenameDAO.class);
+  private final FqnRenameEngine engine = new FqnRenameEngine(dao, entityType -> "tag", 2);
+
+  @BeforeEach
+  void setUp() {
+    when(dao.updateJob(any())).thenReturn(1);
+  }
+
+  @Test
+  void testSmallHierarchyIsRenamedInline() throws IOException {
+    when(dao.countDescendants("tag", PATTERN, 3)).thenReturn(1);
+    when(dao.listDescendantIds("tag", PATTERN, "", 2)).thenReturn(List.of("id1"));
+    when(dao.listTagUsages(PATTERN, 2)).thenReturn(List.of(row("PII.Email", null))).thenReturn(List.of());
+    when(dao.renameTagUsageChunk(anyList(), anyString(), anyString())).thenReturn(1);
+
+    FqnRenameJob job = engine.rename(Entity.TAG, "PII", "Private");
+    assertEquals(Status.COMPLETED, job.getStatus());
+    assertEquals(1, job.getRenamedEntities());
+    assertEquals(1, job.getRenamedTagUsages());
+    verify(dao).insertJob(argThat(record -> record.getStatus().equals("RUNNING")));
+    // Suffix of the FQN starts with the separator following the old prefix
+    verify(dao).renameEntityChunk(eq("tag"), eq(List.of("id1")), eq("Private"), eq(4), any());
+    verify(dao).renameTagUsageChunk(List.of(row("PII.Email", "Private.Email")), "PII", "Private");
+    verify(dao).updateJob(argThat(record -> record.getStatus().equals("COMPLETED")));
+  }
+
+  @Test
+  void testLargeHierarchyIsRenamedInChunksInTheBackground() throws IOException {
+    when(dao.countDescendants("tag", PATTERN, 3)).thenReturn(3);
+    when(dao.listDescendantIds("tag", PATTERN, "", 2)).thenReturn(List.of("id1", "id2"));
+    when(dao.listDescendantIds("tag", PATTERN, "id2", 2)).thenReturn(List.of("id3"));
+    when(dao.listTagUsages(PATTERN, 2)).thenReturn(List.of());
+
+    FqnRenameJob job = engine.rename(Entity.TAG, "PII", "Private");
+    verify(dao).insertJob(argThat(record -> record.getId().equals(job.getId().toString())));
+    // Not run before the update of the renamed entity is stored
+    verify(dao, never()).listDescendantIds(anyString(), anyString(), anyString(), anyInt());
+
+    engine.submitPendingJobs();
+    verify(dao, timeout(5000)).updateJob(argThat(record -> record.getStatus().equals("COMPLETED")));
+    verify(dao).renameEntityChunk(eq("tag"), eq(List.of("id1", "id2")), eq("Private"), eq(4), any());
+    verify(dao).renameEntityChunk(eq("tag"), eq(List.of("id3")), eq("Private"), eq(4), any());
+    assertEquals(3, job.getRenamedEntities());
+    assertEquals("id3", job.getAfter());
+  }
+
+  @Test
+  void testJobOfFailedUpdateIsDropped() throws IOException {
+    when(dao.countDescendants("tag", PATTERN, 3)).thenReturn(3);
+
+    FqnRenameJob job = engine.rename(Entity.TAG, "PII", "Private");
+    engine.discardPendingJobs();
+    engine.submitPendingJobs();
+    verify(dao).deleteJob(job.getId().toString());
+    verify(dao, never()).listDescendantIds(anyString(), anyString(), anyString(), anyInt());
+  }
+
+  @Test
+  void testUnchangedPrefixIsNotRenamed() throws IOException {
+    assertNull(engine.rename(Entity.TAG, "PII", "PII"));
+    verify(dao, never()).countDescendants(anyString(), anyString(), anyInt());
+    verify(dao, never()).renameTagUsageChunk(anyList(), anyString(), anyString());
+  }
+
+  @Test
+  void testOnlyClaimedJobsAreResumed() throws IOException {
+    FqnRenameJob running = job();
+    FqnRenameJob failed = job();
+    String runningId = running.getId().toString();
+    String failedId = failed.getId().toString();
+    when(dao.listJobs("RUNNING")).thenReturn(List.of(JsonUtils.pojoToJson(running)));
+    when(dao.listJobs("FAILED")).thenReturn(List.of(JsonUtils.pojoToJson(failed)));
+    // The running job is still saved by another server
+    when(dao.claimJob(eq(runningId), anyString(), eq("RUNNING"), eq("FAILED"), anyLong(), anyLong())).thenReturn(0);
+    when(dao.claimJob(eq(failedId), anyString(), eq("RUNNING"), eq("FAILED"), anyLong(), anyLong())).thenReturn(1);
+    when(dao.listDescendantIds("tag", PATTERN, "", 2)).thenReturn(List.of());
+    when(dao.listTagUsages(PATTERN, 2)).thenReturn(List.of());
+
+    engine.resume();
+    verify(dao, timeout(5000))
+        .updateJob(argThat(record -> record.getId().equals(failedId) && record.getStatus().equals("COMPLETED")));
+    verify(dao, never()).updateJob(argThat(record -> record.getId().equals(runningId)));
+  }
+
+  @Test
+  void testJobTakenOverByAnotherServerStops() throws IOException {
+    when(dao.updateJob(any())).thenReturn(0);
+    when(dao.countDescendants("tag", PATTERN, 3)).thenReturn(3);
+    when(dao.listDescendantIds("tag", PATTERN, "", 2)).thenReturn(List.of());
+    when(dao.listTagUsages(PATTERN, 2)).thenReturn(List.of(row("PII.A", null), row("PII.B", null)));
+
+    engine.rename(Entity.TAG, "PII", "Private");
+    engine.submitPendingJobs();
+    verify(dao, timeout(5000)).updateJob(argThat(record -> record.getStatus().equals("FAILED")));
+    verify(dao, times(1)).listTagUsages(PATTERN, 2);
+  }
+
+  @Test
+  void testTagCountsAreMovedForRenamedLabelsOnly() {
+    FqnRenameDAO renameDAO = mock(FqnRenameDAO.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+    TagUsageDAO tagUsageDAO = mock(TagUsageDAO.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+    doReturn(tagUsageDAO).when(renameDAO).tagUsageDAO();
+    List<TagUsageRow> rows =
+        List.of(
+            row("PII.Email", "Private.Email"), row("PII.Phone", "Private.Phone"), row("PII.Email", "Private.Email"));
+    // The second label was removed, and the third one renamed by another server, since they were listed
+    doReturn(new int[] {1, 0, 0}).when(renameDAO).renameTagUsages(rows);
+
+    assertEquals(1, renameDAO.renameTagUsageChunk(rows, "PII", "Private"));
+    verify(tagUsageDAO).updateTagCount(0, "PII.Email", -1);
+    verify(tagUsageDAO).updateTagCount(0, "Private.Email", 1);
+    verify(tagUsageDAO, never()).updateTagCount(eq(0), eq("PII.Phone"), anyInt());
+    verify(tagUsageDAO, never()).updateTagCount(eq(0), eq("Private.Phone"), anyInt());
+  }
+
+  @Test
+  void testPatternEscapesWildcards() {
+    assertEquals("a\\_b\\%c\\\\.%", FqnRenameEngine.getPattern("a_b%c\\"));
+  }
+
+  private static FqnRenameJob job() {
+    FqnRenameJob job = new FqnRenameJob();
+    job.setId(UUID.randomUUID());
+    job.setEntityType(Entity.TAG);
+    job.setOldPrefix("PII");
+    job.setNewPrefix("Private");
+    job.setStatus(Status.RUNNING);
+    return job;
+  }
+
+  private static TagUsageRow row(String tagFQN, String newTagFQN) {
+    return TagUsageRow.builder().source(0).tagFQN(tagFQN).targetFQN("table").newTagFQN(newTagFQN).build();
+  }
+}
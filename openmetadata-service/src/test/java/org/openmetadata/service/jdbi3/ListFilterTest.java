@@ -15,4 +15,22 @@ class ListFilterTest {
     assertEquals("a''b\\_c\\_d", ListFilter.escape("a'b_c_d"));
     assertEquals("a\\_b\\_c\\_d", ListFilter.escape("a_b_c_d"));
   }
+
+  @Test
+  void test_parentConditions() {
+    String id = "6fa7d6ec-3b06-4d6e-9b87-5d3b1a2e1c44";
+    assertEquals(
+        "WHERE deleted = FALSE AND serviceId = '" + id + "'",
+        new ListFilter().addQueryParam(ListFilter.SERVICE_ID_COLUMN, id).getCondition());
+    assertEquals(
+        "WHERE database_schema_entity.deleted = FALSE AND database_schema_entity.databaseId = '" + id + "'",
+        new ListFilter().addQueryParam(ListFilter.DATABASE_ID_COLUMN, id).getCondition("database_schema_entity"));
+    assertEquals(
+        "WHERE table_entity.deleted = FALSE AND table_entity.databaseSchemaId = '" + id + "'",
+        new ListFilter().addQueryParam(ListFilter.DATABASE_SCHEMA_ID_COLUMN, id).getCondition("table_entity"));
+    // Descendants of tags and glossary terms are still matched by their FQN prefix
+    assertEquals(
+        "WHERE deleted = FALSE AND fullyQualifiedName LIKE 'Glossary\\_1.%'",
+        new ListFilter().addQueryParam("parent", "Glossary_1").getCondition());
+  }
 }
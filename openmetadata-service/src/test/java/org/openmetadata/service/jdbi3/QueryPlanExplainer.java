@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.StatementCustomizer;
+import org.jdbi.v3.sqlobject.SqlObjects;
+import org.jdbi.v3.sqlobject.locator.SqlLocator;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Captures the plan of the queries issued by the SQL objects attached to a handle, instead of running them.
+ *
+ * <p>The SQL of each query is prefixed with EXPLAIN, and the plan is read from the result set before it is mapped. On
+ * Postgres, sequential scans and sorts are disabled for the session, so that they only show up in a plan when no index
+ * can serve the query, whatever the size of the dataset.
+ */
+class QueryPlanExplainer implements SqlLocator, StatementCustomizer {
+  private static final String EXPLAINED = "Query explained";
+
+  private final ConnectionType connectionType;
+  private final SqlLocator locator;
+  private QueryPlan plan;
+
+  QueryPlanExplainer(ConnectionType connectionType) {
+    this.connectionType = connectionType;
+    this.locator = new ConnectionAwareAnnotationSqlLocator(connectionType.label);
+  }
+
+  void attach(Handle handle) {
+    // Set up the session before the customizer is added, as it would read a plan from these statements
+    if (connectionType == ConnectionType.POSTGRES) {
+      handle.execute("SET enable_seqscan = off");
+      handle.execute("SET enable_sort = off");
+    }
+    handle.getConfig(SqlObjects.class).setSqlLocator(this);
+    handle.addCustomizer(this);
+  }
+
+  /** Returns the plan of the query issued by the given call to a SQL object */
+  QueryPlan explain(Callable<?> query) throws Exception {
+    plan = null;
+    try {
+      query.call();
+    } catch (Exception e) {
+      if (plan == null) {
+        throw e;
+      }
+    }
+    if (plan == null) {
+      throw new IllegalStateException("No query issued");
+    }
+    return plan;
+  }
+
+  @Override
+  public String locate(Class<?> sqlObjectType, Method method, ConfigRegistry config) {
+    String sql = locator.locate(sqlObjectType, method, config);
+    return connectionType == ConnectionType.MYSQL ? "EXPLAIN " + sql : "EXPLAIN (FORMAT JSON) " + sql;
+  }
+
+  @Override
+  public void afterExecution(PreparedStatement stmt, StatementContext ctx) throws SQLException {
+    ResultSet resultSet = stmt.getResultSet();
+    plan = new QueryPlan();
+    if (connectionType == ConnectionType.MYSQL) {
+      readMySqlPlan(resultSet);
+    } else {
+      readPostgresPlan(resultSet);
+    }
+    // Skip mapping the plan to the result type of the query
+    throw new SQLException(EXPLAINED);
+  }
+
+  private void readMySqlPlan(ResultSet resultSet) throws SQLException {
+    while (resultSet.next()) {
+      String table = resultSet.getString("table");
+      String type = resultSet.getString("type");
+      String key = resultSet.getString("key");
+      String extra = resultSet.getString("Extra");
+      plan.getSteps().add(String.format("%s %s %s (%s)", table, type, key, extra));
+      // Derived tables such as <derived2> hold the rows of a subquery
+      boolean derived = table == null || table.startsWith("<");
+      if ("ALL".equals(type) && !derived) {
+        plan.getProblems().add("full scan of " + table);
+      }
+      if (extra != null && extra.contains("Using filesort")) {
+        plan.getProblems().add("filesort of " + table);
+      }
+    }
+  }
+
+  private void readPostgresPlan(ResultSet resultSet) throws SQLException {
+    resultSet.next();
+    try {
+      readPostgresNode(JsonUtils.readTree(resultSet.getString(1)).get(0).get("Plan"));
+    } catch (Exception e) {
+      throw new SQLException("Failed to read the query plan", e);
+    }
+  }
+
+  private void readPostgresNode(JsonNode node) {
+    String nodeType = node.get("Node Type").asText();
+    String relation = node.path("Relation Name").asText(null);
+    String index = node.path("Index Name").asText(null);
+    plan.getSteps().add(String.format("%s %s %s", nodeType, relation, index));
+    if ("Seq Scan".equals(nodeType)) {
+      plan.getProblems().add("full scan of " + relation);
+    }
+    if (nodeType.endsWith("Sort")) {
+      plan.getProblems().add("sort by " + node.path("Sort Key"));
+    }
+    node.path("Plans").forEach(this::readPostgresNode);
+  }
+
+  /** Steps of the plan of a query, with the full scans and sorts they include */
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  static class QueryPlan {
+    private List<String> steps = new ArrayList<>();
+    private List<String> problems = new ArrayList<>();
+  }
+}
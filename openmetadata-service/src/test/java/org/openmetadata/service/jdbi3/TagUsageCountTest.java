@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO.TagUsageCount;
+
+class TagUsageCountTest {
+  private final TagUsageDAO dao = mock(TagUsageDAO.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+
+  @Test
+  void testApplyTagRollsUpCounts() {
+    when(dao.applyTagInternal(0, "PII.Sensitive.Email", "table", 0, 0)).thenReturn(1);
+    dao.applyTag(0, "PII.Sensitive.Email", "table", 0, 0);
+    verify(dao).updateTagCount(0, "PII.Sensitive.Email", 1);
+    verify(dao).updateTagCount(0, "PII.Sensitive", 1);
+    verify(dao).updateTagCount(0, "PII", 1);
+    verify(dao, never()).deleteUnusedTagCount(anyInt(), anyString());
+  }
+
+  @Test
+  void testAlreadyAppliedTagIsNotCounted() {
+    when(dao.applyTagInternal(0, "PII.Sensitive", "table", 0, 0)).thenReturn(0);
+    dao.applyTag(0, "PII.Sensitive", "table", 0, 0);
+    verify(dao, never()).updateTagCount(anyInt(), anyString(), anyInt());
+  }
+
+  @Test
+  void testDeleteByTargetDeletesUnusedCounts() {
+    when(dao.getUsagesByTarget("table"))
+        .thenReturn(List.of(new TagUsageCount(0, "PII.Sensitive", 1), new TagUsageCount(0, "PII.None", 1)));
+    dao.deleteTagsByTarget("table");
+    verify(dao).deleteTagsByTargetInternal("table");
+    verify(dao).updateTagCount(0, "PII.Sensitive", -1);
+    verify(dao).deleteUnusedTagCount(0, "PII.Sensitive");
+    verify(dao).updateTagCount(0, "PII.None", -1);
+    verify(dao).deleteUnusedTagCount(0, "PII.None");
+    // The changes to the count of the classification are merged into a single update
+    verify(dao).updateTagCount(0, "PII", -2);
+  }
+
+  @Test
+  void testRenameMovesCounts() {
+    when(dao.getUsagesByTag("PII.Sensitive")).thenReturn(List.of(new TagUsageCount(0, "PII.Sensitive", 3)));
+    dao.rename("PII.Sensitive", "PII.Secret");
+
+    verify(dao).renameInternal("PII.Sensitive", "PII.Secret");
+    verify(dao).updateTagCount(0, "PII.Sensitive", -3);
+    verify(dao).deleteUnusedTagCount(0, "PII.Sensitive");
+    verify(dao).updateTagCount(0, "PII.Secret", 3);
+    // The count of the classification does not change when a tag moves within it
+    verify(dao, never()).updateTagCount(eq(0), eq("PII"), anyInt());
+  }
+
+  @Test
+  void testDeleteByPrefixRemovesCountsFromParents() {
+    when(dao.getUsagesByTagPrefix(0, "PII.Sensitive"))
+        .thenReturn(List.of(new TagUsageCount(0, "PII.Sensitive.Email", 2)));
+    dao.deleteTagLabelsByPrefix(0, "PII.Sensitive");
+
+    verify(dao).deleteTagLabelsByPrefixInternal(0, "PII.Sensitive");
+    verify(dao).updateTagCount(0, "PII.Sensitive.Email", -2);
+    verify(dao).updateTagCount(0, "PII.Sensitive", -2);
+    verify(dao).updateTagCount(0, "PII", -2);
+    verify(dao).deleteTagCountsByPrefix(0, "PII.Sensitive");
+  }
+
+  @Test
+  void testCountsAreReadWithSingleQuery() {
+    List<String> fqns = List.of("PII", "PII.Sensitive", "PII.NonSensitive", "Tier.Tier1");
+    when(dao.listTagCounts(0, fqns))
+        .thenReturn(List.of(new TagUsageCount(0, "PII", 6), new TagUsageCount(0, "PII.Sensitive", 5)));
+
+    Map<String, Integer> counts = dao.getTagCounts(0, fqns);
+    assertEquals(Map.of("PII", 6, "PII.Sensitive", 5, "PII.NonSensitive", 0, "Tier.Tier1", 0), counts);
+    verify(dao, times(1)).listTagCounts(anyInt(), anyList());
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.jdbi.v3.sqlobject.Handler;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
+
+class SqlObjectMetricsDecoratorTest {
+  private SimpleMeterRegistry registry;
+  private SqlObjectMetricsDecorator decorator;
+
+  interface SampleDAO {
+    @SqlQuery("SELECT json FROM sample")
+    List<String> listAll();
+
+    @SqlUpdate("DELETE FROM sample")
+    int deleteAll();
+
+    default List<String> listTwice() {
+      return listAll();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    decorator = new SqlObjectMetricsDecorator(registry, ConnectionType.MYSQL);
+  }
+
+  @Test
+  void testQueryMethodIsTimed() throws Exception {
+    Handler base = (target, args, handle) -> List.of("a", "b", "c");
+    Handler handler = decorator.decorateHandler(base, SampleDAO.class, SampleDAO.class.getMethod("listAll"));
+    handler.invoke(null, new Object[0], null);
+    handler.invoke(null, new Object[0], null);
+
+    Timer timer =
+        registry
+            .get(SqlObjectMetricsDecorator.TIMER_NAME)
+            .tags("dao", "SampleDAO", "method", "listAll", "connectionType", "mysql")
+            .timer();
+    assertEquals(2, timer.count());
+    DistributionSummary rows = registry.get(SqlObjectMetricsDecorator.ROWS_NAME).tags("method", "listAll").summary();
+    assertEquals(6, rows.totalAmount());
+  }
+
+  @Test
+  void testUpdateMethodRecordsAffectedRows() throws Exception {
+    Handler base = (target, args, handle) -> 42;
+    Handler handler = decorator.decorateHandler(base, SampleDAO.class, SampleDAO.class.getMethod("deleteAll"));
+    handler.invoke(null, new Object[0], null);
+
+    DistributionSummary rows = registry.get(SqlObjectMetricsDecorator.ROWS_NAME).tags("method", "deleteAll").summary();
+    assertEquals(42, rows.totalAmount());
+  }
+
+  @Test
+  void testDefaultMethodIsNotDecorated() throws Exception {
+    Handler base = (target, args, handle) -> null;
+    assertSame(base, decorator.decorateHandler(base, SampleDAO.class, SampleDAO.class.getMethod("listTwice")));
+    assertNull(registry.find(SqlObjectMetricsDecorator.TIMER_NAME).tags("method", "listTwice").timer());
+  }
+
+  @Test
+  void testQueriesAreCountedPerRequest() throws Exception {
+    RequestQueryCounter counter = new RequestQueryCounter(registry);
+    Handler base = (target, args, handle) -> List.of();
+    Handler handler = decorator.decorateHandler(base, SampleDAO.class, SampleDAO.class.getMethod("listAll"));
+
+    counter.filter(null);
+    for (int i = 0; i < 3; i++) {
+      handler.invoke(null, new Object[0], null);
+    }
+    assertEquals(3, RequestQueryCounter.current());
+  }
+}
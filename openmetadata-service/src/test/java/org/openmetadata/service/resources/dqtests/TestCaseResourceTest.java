@@ -40,6 +40,7 @@ import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.openmetadata.schema.api.data.CreateTable;
 import org.openmetadata.schema.api.tests.CreateTestCase;
+import org.openmetadata.schema.entity.data.Table;
 import org.openmetadata.schema.tests.TestCase;
 import org.openmetadata.schema.tests.TestCaseParameterValue;
 import org.openmetadata.schema.tests.TestSuite;
@@ -348,6 +349,60 @@ public class TestCaseResourceTest extends EntityResourceTest<TestCase, CreateTes
     verifyTestCaseResults(testCaseResults, testCase1ResultList, 4);
   }
 
+  @Test
+  void get_latestTestCaseResults_200(TestInfo test) throws IOException, ParseException {
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    CreateTable tableReq =
+        tableResourceTest
+            .createRequest(test)
+            .withDatabaseSchema(DATABASE_SCHEMA_REFERENCE)
+            .withColumns(
+                List.of(
+                    new Column()
+                        .withName(C1)
+                        .withDisplayName("c1")
+                        .withDataType(ColumnDataType.VARCHAR)
+                        .withDataLength(10)));
+    Table table = tableResourceTest.createEntity(tableReq, ADMIN_AUTH_HEADERS);
+    String tableLink = String.format("<#E::table::%s>", table.getFullyQualifiedName());
+    String columnLink = String.format("<#E::table::%s::columns::%s>", table.getFullyQualifiedName(), C1);
+    TestCase tableTest = createEntity(createRequest(test, 1).withEntityLink(tableLink), ADMIN_AUTH_HEADERS);
+    TestCase columnTest = createEntity(createRequest(test, 2).withEntityLink(columnLink), ADMIN_AUTH_HEADERS);
+
+    // Results are added out of order, the latest result is the one with the latest timestamp
+    putTestCaseResult(
+        tableTest.getFullyQualifiedName(), result(TestCaseStatus.Success, "2021-09-10"), ADMIN_AUTH_HEADERS);
+    putTestCaseResult(
+        tableTest.getFullyQualifiedName(), result(TestCaseStatus.Failed, "2021-09-09"), ADMIN_AUTH_HEADERS);
+    putTestCaseResult(
+        columnTest.getFullyQualifiedName(), result(TestCaseStatus.Failed, "2021-09-09"), ADMIN_AUTH_HEADERS);
+
+    // The tests of the table include the tests of its columns
+    LatestTestCaseResults latestResults = getLatestTestCaseResults(null, tableLink, ADMIN_AUTH_HEADERS);
+    assertEquals(2, latestResults.getTotal());
+    assertEquals(1, latestResults.getStatusCounts().get(TestCaseStatus.Success));
+    assertEquals(1, latestResults.getStatusCounts().get(TestCaseStatus.Failed));
+    assertEquals(TestUtils.dateToTimestamp("2021-09-10"), getLatestResult(latestResults, tableTest).getTimestamp());
+
+    // Deleting the latest result makes the previous one the latest
+    deleteTestCaseResult(
+        tableTest.getFullyQualifiedName(), TestUtils.dateToTimestamp("2021-09-10"), ADMIN_AUTH_HEADERS);
+    latestResults = getLatestTestCaseResults(TEST_SUITE1.getId(), null, ADMIN_AUTH_HEADERS);
+    assertEquals(TestCaseStatus.Failed, getLatestResult(latestResults, tableTest).getTestCaseStatus());
+    assertEquals(TestCaseStatus.Failed, getLatestResult(latestResults, columnTest).getTestCaseStatus());
+
+    // Deleted test cases are not listed
+    deleteEntity(columnTest.getId(), ADMIN_AUTH_HEADERS);
+    latestResults = getLatestTestCaseResults(null, tableLink, ADMIN_AUTH_HEADERS);
+    assertEquals(1, latestResults.getTotal());
+    assertEquals(1, latestResults.getStatusCounts().get(TestCaseStatus.Failed));
+
+    assertResponse(
+        () -> getLatestTestCaseResults(null, null, ADMIN_AUTH_HEADERS),
+        BAD_REQUEST,
+        "Exactly one of testSuiteId and entityLink must be given");
+  }
+
   @Test
   @Order(1)
   void put_testCase_list_200(TestInfo test) throws IOException {
@@ -481,6 +536,29 @@ public class TestCaseResourceTest extends EntityResourceTest<TestCase, CreateTes
     return TestUtils.get(target, TestCaseResource.TestCaseResultList.class, authHeaders);
   }
 
+  public LatestTestCaseResults getLatestTestCaseResults(
+      UUID testSuiteId, String entityLink, Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = getCollection().path("/latestResults");
+    target = testSuiteId != null ? target.queryParam("testSuiteId", testSuiteId) : target;
+    target = entityLink != null ? target.queryParam("entityLink", entityLink) : target;
+    return TestUtils.get(target, LatestTestCaseResults.class, authHeaders);
+  }
+
+  private static TestCaseResult getLatestResult(LatestTestCaseResults latestResults, TestCase testCase) {
+    return latestResults.getData().stream()
+        .filter(result -> result.getTestCaseId().equals(testCase.getId()))
+        .findFirst()
+        .orElseThrow()
+        .getTestCaseResult();
+  }
+
+  private static TestCaseResult result(TestCaseStatus status, String date) throws ParseException {
+    return new TestCaseResult()
+        .withResult("result")
+        .withTestCaseStatus(status)
+        .withTimestamp(TestUtils.dateToTimestamp(date));
+  }
+
   public ResultList<TestCase> getTestCases(
       Integer limit, String fields, String link, Boolean includeAll, Map<String, String> authHeaders)
       throws HttpResponseException {
@@ -56,6 +56,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.json.JsonPatch;
 import javax.ws.rs.client.WebTarget;
@@ -308,6 +309,16 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     assertEquals(userThreadCount, listThreadsCount(USER_LINK, userAuthHeaders).getTotalCount());
     assertEquals(tableDescriptionThreadCount, getThreadCount(TABLE_DESCRIPTION_LINK, userAuthHeaders));
     assertEquals(tableColumnDescriptionThreadCount, getThreadCount(TABLE_COLUMN_LINK, userAuthHeaders));
+
+    // Test the /api/v1/feed/count/entities API, which counts the threads about the entities and their fields
+    String table2Link = String.format("<#E::table::%s>", TABLE2.getFullyQualifiedName());
+    ThreadCount entityCounts = listEntityThreadsCount(List.of(TABLE_LINK, table2Link), userAuthHeaders);
+    assertEquals(2, entityCounts.getCounts().size());
+    assertEquals(TABLE_LINK, entityCounts.getCounts().get(0).getEntityLink());
+    assertEquals(tableThreadCount, entityCounts.getCounts().get(0).getCount());
+    assertEquals(
+        listThreads(table2Link, null, userAuthHeaders).getPaging().getTotal(),
+        entityCounts.getCounts().get(1).getCount());
   }
 
   @Test
@@ -848,6 +859,39 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     assertEquals(POST_COUNT, postList.getData().size());
   }
 
+  @Test
+  void get_postsWithPagination_200() throws HttpResponseException {
+    Thread thread = createAndCheck(create(), AUTH_HEADERS);
+    int POST_COUNT = 7;
+    for (int i = 0; i < POST_COUNT; i++) {
+      thread = addPostAndCheck(thread, createPost("message" + i), AUTH_HEADERS);
+    }
+    String threadId = thread.getId().toString();
+
+    // Page forward through the posts in chronological order
+    PostList page = listPosts(threadId, 3, null, null, AUTH_HEADERS);
+    assertNull(page.getPaging().getBefore());
+    assertEquals(POST_COUNT, page.getPaging().getTotal());
+    List<String> messages = getMessages(page);
+    while (page.getPaging().getAfter() != null) {
+      page = listPosts(threadId, 3, null, page.getPaging().getAfter(), AUTH_HEADERS);
+      page.getData().forEach(post -> messages.add(post.getMessage()));
+    }
+    assertEquals(1, page.getData().size());
+    assertEquals(getMessages(new PostList(thread.getPosts())), messages);
+
+    // Page back from the last page
+    page = listPosts(threadId, 3, page.getPaging().getBefore(), null, AUTH_HEADERS);
+    assertEquals(List.of("message3", "message4", "message5"), getMessages(page));
+    page = listPosts(threadId, 3, page.getPaging().getBefore(), null, AUTH_HEADERS);
+    assertEquals(List.of("message0", "message1", "message2"), getMessages(page));
+    assertNull(page.getPaging().getBefore());
+  }
+
+  private static List<String> getMessages(PostList postList) {
+    return postList.getData().stream().map(Post::getMessage).collect(Collectors.toList());
+  }
+
   @Test
   void patch_thread_200() throws IOException {
     // create a thread
@@ -1495,6 +1539,16 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     return TestUtils.get(target, PostList.class, authHeaders);
   }
 
+  public static PostList listPosts(
+      String threadId, Integer limit, String before, String after, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = getResource(String.format("feed/%s/posts", threadId));
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = before != null ? target.queryParam("before", before) : target;
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, PostList.class, authHeaders);
+  }
+
   public static ThreadCount listThreadsCount(String entityLink, Map<String, String> authHeaders)
       throws HttpResponseException {
     WebTarget target = getResource("feed/count");
@@ -1503,6 +1557,16 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     return TestUtils.get(target, ThreadCount.class, authHeaders);
   }
 
+  public static ThreadCount listEntityThreadsCount(List<String> entityLinks, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = getResource("feed/count/entities");
+    for (String entityLink : entityLinks) {
+      target = target.queryParam("entityLink", entityLink);
+    }
+    target = target.queryParam("type", ThreadType.Conversation);
+    return TestUtils.get(target, ThreadCount.class, authHeaders);
+  }
+
   public static ThreadCount listTasksCount(String entityLink, TaskStatus taskStatus, Map<String, String> authHeaders)
       throws HttpResponseException {
     WebTarget target = getResource("feed/count");
@@ -17,6 +17,7 @@ import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.service.Entity.FIELD_OWNER;
 import static org.openmetadata.service.util.EntityUtil.fieldAdded;
@@ -33,7 +34,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Predicate;
+import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response.Status;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.client.HttpResponseException;
@@ -50,6 +53,8 @@ import org.openmetadata.schema.api.services.ingestionPipelines.CreateIngestionPi
 import org.openmetadata.schema.entity.services.DatabaseService;
 import org.openmetadata.schema.entity.services.ingestionPipelines.AirflowConfig;
 import org.openmetadata.schema.entity.services.ingestionPipelines.IngestionPipeline;
+import org.openmetadata.schema.entity.services.ingestionPipelines.PipelineStatus;
+import org.openmetadata.schema.entity.services.ingestionPipelines.PipelineStatusType;
 import org.openmetadata.schema.entity.services.ingestionPipelines.PipelineType;
 import org.openmetadata.schema.metadataIngestion.DashboardServiceMetadataPipeline;
 import org.openmetadata.schema.metadataIngestion.DatabaseServiceMetadataPipeline;
@@ -569,6 +574,38 @@ public class IngestionPipelineResourceTest extends EntityResourceTest<IngestionP
     assertTrue(actualSnowflakePipelines.stream().anyMatch(isPipelineBigquery3));
   }
 
+  @Test
+  void put_pipelineStatus_latestStatus_200(TestInfo test) throws IOException {
+    IngestionPipeline ingestion = createEntity(createRequest(test), ADMIN_AUTH_HEADERS);
+    String fields = "pipelineStatuses";
+    assertNull(getEntity(ingestion.getId(), fields, ADMIN_AUTH_HEADERS).getPipelineStatuses());
+
+    PipelineStatus running = pipelineStatus(PipelineStatusType.RUNNING, 2000L);
+    putPipelineStatus(ingestion, running);
+    assertEquals(running, getEntity(ingestion.getId(), fields, ADMIN_AUTH_HEADERS).getPipelineStatuses());
+
+    // The status of an earlier run reported late does not replace the latest status
+    putPipelineStatus(ingestion, pipelineStatus(PipelineStatusType.FAILED, 1000L));
+    assertEquals(running, getEntity(ingestion.getId(), fields, ADMIN_AUTH_HEADERS).getPipelineStatuses());
+
+    // Updating the status of the latest run does
+    PipelineStatus success = running.withPipelineState(PipelineStatusType.SUCCESS).withEndDate(3000L);
+    putPipelineStatus(ingestion, success);
+    assertEquals(
+        success, getEntityByName(ingestion.getFullyQualifiedName(), fields, ADMIN_AUTH_HEADERS).getPipelineStatuses());
+
+    // Listing reads the latest statuses of all the pipelines of the page at once
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("fields", fields);
+    queryParams.put("service", ingestion.getService().getName());
+    IngestionPipeline listed =
+        listEntities(queryParams, 1000, null, null, ADMIN_AUTH_HEADERS).getData().stream()
+            .filter(p -> p.getId().equals(ingestion.getId()))
+            .findFirst()
+            .orElseThrow();
+    assertEquals(success, listed.getPipelineStatuses());
+  }
+
   @Test
   void put_IngestionPipelineUpdate_200(TestInfo test) throws IOException {
     CreateIngestionPipeline request =
@@ -613,6 +650,20 @@ public class IngestionPipelineResourceTest extends EntityResourceTest<IngestionP
         actualDbtS3Config.getDbtSecurityConfig().getAwsSecretAccessKey());
   }
 
+  private void putPipelineStatus(IngestionPipeline ingestion, PipelineStatus pipelineStatus)
+      throws HttpResponseException {
+    WebTarget target = getCollection().path("/" + ingestion.getFullyQualifiedName() + "/pipelineStatus");
+    TestUtils.put(target, pipelineStatus, Status.CREATED, ADMIN_AUTH_HEADERS);
+  }
+
+  private static PipelineStatus pipelineStatus(PipelineStatusType state, long timestamp) {
+    return new PipelineStatus()
+        .withRunId(UUID.randomUUID().toString())
+        .withPipelineState(state)
+        .withStartDate(timestamp)
+        .withTimestamp(timestamp);
+  }
+
   private IngestionPipeline updateIngestionPipeline(CreateIngestionPipeline create, Map<String, String> authHeaders)
       throws HttpResponseException {
     return TestUtils.put(getCollection(), create, IngestionPipeline.class, Status.OK, authHeaders);
@@ -0,0 +1,222 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.resources.tags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.Entity.CLASSIFICATION;
+import static org.openmetadata.service.Entity.GLOSSARY;
+import static org.openmetadata.service.Entity.GLOSSARY_TERM;
+import static org.openmetadata.service.Entity.TAG;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.classification.Classification;
+import org.openmetadata.schema.entity.classification.Tag;
+import org.openmetadata.schema.entity.data.Glossary;
+import org.openmetadata.schema.entity.data.GlossaryTerm;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.schema.type.TagLabel.TagSource;
+import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.service.util.JsonUtils;
+
+class TagLabelCacheTest {
+  private final List<String> loaded = new ArrayList<>();
+
+  private final TagLabelCache cache =
+      new TagLabelCache(
+          (entityType, fqn) -> {
+            loaded.add(fqn);
+            if (fqn.equals("Remote.Tag")) {
+              return new Tag().withName("Tag").withFullyQualifiedName(fqn).withDescription("remote");
+            }
+            throw new EntityNotFoundException(fqn);
+          });
+
+  @Test
+  void testChangesUpdateDictionaryAndVersion() {
+    cache.put(CLASSIFICATION, new Classification().withName("PII").withMutuallyExclusive(true));
+    cache.put(TAG, tag("PII.Sensitive", "sensitive"));
+    long version = cache.getVersion();
+
+    assertEquals("sensitive", cache.getDescription(label("PII.Sensitive", TagSource.TAG)));
+    assertTrue(cache.mutuallyExclusive(label("PII.Sensitive", TagSource.TAG)));
+
+    // Storing an unchanged entity is not a change
+    cache.put(TAG, tag("PII.Sensitive", "sensitive"));
+    assertEquals(version, cache.getVersion());
+
+    cache.put(TAG, tag("PII.Sensitive", "updated"));
+    assertEquals("updated", cache.getDescription(label("PII.Sensitive", TagSource.TAG)));
+    assertEquals(version + 1, cache.getVersion());
+    assertTrue(loaded.isEmpty());
+  }
+
+  @Test
+  void testRenameDropsChildren() {
+    cache.put(CLASSIFICATION, new Classification().withName("PII").withMutuallyExclusive(true));
+    cache.put(TAG, tag("PII.Sensitive", "sensitive"));
+    cache.put(TAG, tag("PII.Sensitive.Email", "email"));
+    cache.put(TAG, tag("PII2.Other", "other"));
+
+    // The children may still be renamed in the background, they are loaded again on their next use
+    cache.rename(CLASSIFICATION, "PII", "Private");
+    assertEquals(2, cache.size());
+    assertEquals("other", cache.getDescription(label("PII2.Other", TagSource.TAG)));
+    assertThrows(EntityNotFoundException.class, () -> cache.getDescription(label("Private.Sensitive", TagSource.TAG)));
+    assertEquals(List.of("Private.Sensitive"), loaded);
+
+    cache.put(TAG, tag("Private.Sensitive", "sensitive"));
+    assertTrue(cache.mutuallyExclusive(label("Private.Sensitive", TagSource.TAG)));
+    cache.put(TAG, tag("Private.Sensitive.Email", "email"));
+    cache.removeDescendants(TAG, "Private.Sensitive");
+    assertEquals(3, cache.size());
+  }
+
+  @Test
+  void testDeleteRemovesChildren() {
+    cache.put(GLOSSARY, new Glossary().withName("Business").withMutuallyExclusive(true));
+    cache.put(GLOSSARY_TERM, term("Business.Revenue", "revenue"));
+    cache.put(GLOSSARY_TERM, term("Business.Revenue.Net", "net"));
+    assertTrue(cache.mutuallyExclusive(label("Business.Revenue", TagSource.GLOSSARY)));
+    assertFalse(cache.mutuallyExclusive(label("Business.Revenue.Net", TagSource.GLOSSARY)));
+
+    // Soft deleted terms are removed
+    cache.put(GLOSSARY_TERM, term("Business.Revenue.Net", "net").withDeleted(true));
+    assertThrows(
+        EntityNotFoundException.class, () -> cache.getDescription(label("Business.Revenue.Net", TagSource.GLOSSARY)));
+
+    cache.put(GLOSSARY_TERM, term("Business.Revenue.Net", "net"));
+    cache.remove(GLOSSARY, "Business");
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void testMissLoadsFromDatabase() {
+    long version = cache.getVersion();
+    assertEquals("remote", cache.getDescription(label("Remote.Tag", TagSource.TAG)));
+    assertEquals("remote", cache.getDescription(label("Remote.Tag", TagSource.TAG)));
+    assertEquals(List.of("Remote.Tag"), loaded);
+    assertEquals(version + 1, cache.getVersion());
+  }
+
+  @Test
+  void testRefreshDropsEntriesChangedByOtherServers() throws IOException {
+    cache.put(CLASSIFICATION, new Classification().withName("PII"));
+    cache.put(TAG, tag("PII.Sensitive", "sensitive"));
+    cache.put(GLOSSARY, new Glossary().withName("Business"));
+    cache.put(GLOSSARY_TERM, term("Business.Revenue", "revenue"));
+    ChangeEventDAO dao = mock(ChangeEventDAO.class);
+
+    // An update of a classification drops its tags
+    when(dao.listByEntityTypes(anyList(), anyLong()))
+        .thenReturn(List.of(event(CLASSIFICATION, "PII", change("description", "old"))));
+    cache.refresh(dao);
+    assertEquals(2, cache.size());
+    assertThrows(EntityNotFoundException.class, () -> cache.getDescription(label("PII.Sensitive", TagSource.TAG)));
+
+    // Dropping entries that are already gone is not a change
+    long version = cache.getVersion();
+    cache.refresh(dao);
+    assertEquals(version, cache.getVersion());
+
+    // A rename drops the entries under the previous name only
+    cache.put(GLOSSARY_TERM, term("Business.Revenue.Net", "net"));
+    cache.put(GLOSSARY_TERM, term("Business.Cost", "cost"));
+    when(dao.listByEntityTypes(anyList(), anyLong()))
+        .thenReturn(List.of(event(GLOSSARY_TERM, "Business.Income", change("name", "Revenue"))));
+    cache.refresh(dao);
+    assertEquals(2, cache.size());
+    assertEquals(List.of("PII.Sensitive"), loaded);
+  }
+
+  @Test
+  void testRefreshDropsEntriesUnderPreviousParent() throws IOException {
+    cache.put(TAG, tag("PII.Sensitive", "sensitive"));
+    cache.put(TAG, tag("PII.Sensitive.Email", "email"));
+    cache.put(TAG, tag("PII.Other", "other"));
+    ChangeEventDAO dao = mock(ChangeEventDAO.class);
+
+    // PII.Sensitive moved under PII.Other
+    String oldParent = JsonUtils.pojoToJson(new EntityReference().withFullyQualifiedName("PII"));
+    String newParent = JsonUtils.pojoToJson(new EntityReference().withFullyQualifiedName("PII.Other"));
+    FieldChange parentChange = new FieldChange().withName("parent").withOldValue(oldParent).withNewValue(newParent);
+    when(dao.listByEntityTypes(anyList(), anyLong()))
+        .thenReturn(List.of(event(TAG, "PII.Other.Sensitive", parentChange)));
+    cache.refresh(dao);
+    assertEquals(1, cache.size());
+    assertEquals("other", cache.getDescription(label("PII.Other", TagSource.TAG)));
+
+    // Moved to another classification, the previous parent is not known and the tags are dropped altogether
+    cache.put(TAG, tag("PII.Sensitive", "sensitive"));
+    when(dao.listByEntityTypes(anyList(), anyLong()))
+        .thenReturn(List.of(event(TAG, "Tier.Sensitive", change("Classification", "{}"))));
+    cache.refresh(dao);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void testRefreshReadsEventsAfterLastOneProcessed() throws IOException {
+    ChangeEventDAO dao = mock(ChangeEventDAO.class);
+    String event = event(TAG, "PII.Sensitive", change("description", "old"));
+    long eventTime = JsonUtils.readValue(event, ChangeEvent.class).getTimestamp();
+    when(dao.listByEntityTypes(anyList(), anyLong())).thenReturn(List.of(event)).thenReturn(List.of());
+
+    cache.refresh(dao);
+    cache.refresh(dao);
+    verify(dao).listByEntityTypes(anyList(), eq(eventTime));
+  }
+
+  private static FieldChange change(String field, String oldValue) {
+    return new FieldChange().withName(field).withOldValue(oldValue).withNewValue("new");
+  }
+
+  private static String event(String entityType, String fqn, FieldChange fieldChange) throws IOException {
+    ChangeDescription change = new ChangeDescription().withFieldsUpdated(List.of(fieldChange));
+    return JsonUtils.pojoToJson(
+        new ChangeEvent()
+            .withEventType(EventType.ENTITY_UPDATED)
+            .withEntityType(entityType)
+            .withEntityFullyQualifiedName(fqn)
+            .withChangeDescription(change)
+            .withTimestamp(System.currentTimeMillis() + 1000));
+  }
+
+  private static Tag tag(String fqn, String description) {
+    return new Tag().withName(fqn).withFullyQualifiedName(fqn).withDescription(description);
+  }
+
+  private static GlossaryTerm term(String fqn, String description) {
+    return new GlossaryTerm().withName(fqn).withFullyQualifiedName(fqn).withDescription(description);
+  }
+
+  private static TagLabel label(String fqn, TagSource source) {
+    return new TagLabel().withTagFQN(fqn).withSource(source);
+  }
+}
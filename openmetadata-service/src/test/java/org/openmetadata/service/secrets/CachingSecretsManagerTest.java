@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.secrets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.security.secrets.SecretsManagerProvider;
+import org.openmetadata.service.exception.SecretsManagerException;
+import org.openmetadata.service.fernet.Fernet;
+
+class CachingSecretsManagerTest {
+  private static final String SECRET = "/openmetadata/database/mysql/password";
+
+  private SlowSecretsManager store;
+  private FakeTicker ticker;
+  private CachingSecretsManager secretsManager;
+
+  @BeforeEach
+  void setUp() {
+    Fernet.getInstance().setFernetKey("jJ/9sz0g0OHxsfxOoSfdFdmk3ysNmPRnH3TUAbz3IHA=");
+    store = new SlowSecretsManager();
+    ticker = new FakeTicker();
+    SecretsCacheConfiguration config = new SecretsCacheConfiguration();
+    config.setTtlSeconds(300);
+    config.setRefreshAfterSeconds(240);
+    config.setNegativeTtlSeconds(30);
+    secretsManager = new CachingSecretsManager(store, config, ticker, MoreExecutors.directExecutor());
+  }
+
+  @Test
+  void testSecretIsReadOnceWithinTtl() {
+    store.getSecretsMap().put(SECRET, "password");
+
+    assertEquals("password", secretsManager.getSecret(SECRET));
+    assertEquals("password", secretsManager.getSecret(SECRET));
+    assertTrue(secretsManager.existSecret(SECRET));
+    assertEquals(1, store.reads.get());
+
+    // Expired secrets are read again
+    ticker.advance(301);
+    assertEquals("password", secretsManager.getSecret(SECRET));
+    assertEquals(2, store.reads.get());
+  }
+
+  @Test
+  void testSecretIsRefreshedAheadOfExpiry() {
+    store.getSecretsMap().put(SECRET, "password");
+    assertEquals("password", secretsManager.getSecret(SECRET));
+
+    // Changed in the store by another server
+    store.getSecretsMap().put(SECRET, "new-password");
+    ticker.advance(120);
+    assertEquals("password", secretsManager.getSecret(SECRET));
+
+    ticker.advance(130);
+    assertEquals("new-password", secretsManager.getSecret(SECRET));
+    assertEquals(2, store.reads.get());
+  }
+
+  @Test
+  void testMissingSecretIsCached() {
+    assertFalse(secretsManager.existSecret(SECRET));
+    assertThrows(SecretsManagerException.class, () -> secretsManager.getSecret(SECRET));
+    assertEquals(1, store.reads.get());
+
+    ticker.advance(31);
+    assertFalse(secretsManager.existSecret(SECRET));
+    assertEquals(2, store.reads.get());
+  }
+
+  @Test
+  void testFailedReadIsNotCached() {
+    store.getSecretsMap().put(SECRET, "password");
+    store.failure = new IllegalStateException("Rate exceeded");
+
+    assertThrows(SecretsManagerException.class, () -> secretsManager.getSecret(SECRET));
+    assertEquals(1, store.reads.get());
+
+    // Only secrets reported as not found by the store are remembered as missing
+    store.failure = null;
+    assertEquals("password", secretsManager.getSecret(SECRET));
+    assertEquals(2, store.reads.get());
+  }
+
+  @Test
+  void testUpsertReplacesCachedSecret() {
+    assertFalse(secretsManager.existSecret(SECRET));
+
+    // Storing a secret remembered as missing makes it readable without reading the store
+    secretsManager.upsertSecret(SECRET, "password");
+    assertEquals("password", store.getSecretsMap().get(SECRET));
+    assertEquals("password", secretsManager.getSecret(SECRET));
+    assertEquals(1, store.reads.get());
+
+    secretsManager.upsertSecret(SECRET, "new-password");
+    assertEquals("new-password", store.getSecretsMap().get(SECRET));
+    assertEquals("new-password", secretsManager.getSecret(SECRET));
+    assertEquals(2, store.writes.get());
+
+    // The cached value may be stale, so storing it again still reaches the store
+    store.getSecretsMap().put(SECRET, "changed-elsewhere");
+    secretsManager.upsertSecret(SECRET, "new-password");
+    assertEquals("new-password", store.getSecretsMap().get(SECRET));
+    assertEquals(3, store.writes.get());
+    assertEquals(1, store.reads.get());
+  }
+
+  @Test
+  void testStoreValueUsesTheSecretIdsOfTheDelegate() {
+    assertEquals(SecretsManagerProvider.IN_MEMORY, secretsManager.getSecretsManagerProvider());
+    assertEquals(
+        "secret:/openmetadata/database/mysql/password",
+        secretsManager.storeValue("Password", "password", "/openmetadata/database/mysql"));
+    assertEquals("password", store.getSecretsMap().get(SECRET));
+  }
+
+  /** In-memory store adding latency to every call, as an external secrets manager would */
+  static class SlowSecretsManager extends InMemorySecretsManager {
+    private static final long LATENCY_MILLIS = 5;
+    final AtomicInteger reads = new AtomicInteger();
+    final AtomicInteger writes = new AtomicInteger();
+    volatile RuntimeException failure;
+
+    SlowSecretsManager() {
+      super("openmetadata");
+    }
+
+    @Override
+    void storeSecret(String secretName, String secretValue) {
+      pause();
+      writes.incrementAndGet();
+      super.storeSecret(secretName, secretValue);
+    }
+
+    @Override
+    String getSecret(String secretName) {
+      pause();
+      reads.incrementAndGet();
+      if (failure != null) {
+        throw failure;
+      }
+      return super.getSecret(secretName);
+    }
+
+    private static void pause() {
+      try {
+        Thread.sleep(LATENCY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  static class FakeTicker extends Ticker {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+
+    void advance(long seconds) {
+      nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+  }
+}
@@ -17,6 +17,8 @@ import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.openmetadata.schema.api.services.CreateDatabaseService;
 import org.openmetadata.schema.api.services.CreateMlModelService;
 import org.openmetadata.schema.entity.services.ServiceType;
+import org.openmetadata.schema.entity.services.ingestionPipelines.IngestionPipeline;
+import org.openmetadata.schema.entity.services.ingestionPipelines.PipelineType;
+import org.openmetadata.schema.metadataIngestion.DbtPipeline;
+import org.openmetadata.schema.metadataIngestion.SourceConfig;
+import org.openmetadata.schema.metadataIngestion.dbtconfig.DbtS3Config;
 import org.openmetadata.schema.security.secrets.SecretsManagerProvider;
 import org.openmetadata.schema.services.connections.database.MysqlConnection;
 import org.openmetadata.schema.services.connections.mlmodel.SklearnConnection;
@@ -75,6 +82,15 @@ public class NoopSecretsManagerTest {
     testEncryptDecryptServiceConnectionWithoutPassword(DECRYPT);
   }
 
+  @Test
+  void testDecryptIngestionPipelines() {
+    List<IngestionPipeline> pipelines =
+        secretsManager.decryptIngestionPipelines(List.of(dbtPipeline(ENCRYPTED_VALUE), dbtPipeline("plain")));
+
+    assertEquals(DECRYPTED_VALUE, getAwsSecretAccessKey(pipelines.get(0)));
+    assertEquals("plain", getAwsSecretAccessKey(pipelines.get(1)));
+  }
+
   @Test
   void testReturnsExpectedSecretManagerProvider() {
     assertEquals(SecretsManagerProvider.NOOP, secretsManager.getSecretsManagerProvider());
@@ -105,4 +121,21 @@ public class NoopSecretsManagerTest {
     assertEquals(decrypt ? decryptedValue : encryptedValue, ((MysqlConnection) actualConfig).getPassword());
     assertNotSame(mysqlConnection, actualConfig);
   }
+
+  private static IngestionPipeline dbtPipeline(String awsSecretAccessKey) {
+    return new IngestionPipeline()
+        .withName("my-pipeline")
+        .withPipelineType(PipelineType.DBT)
+        .withSourceConfig(
+            new SourceConfig()
+                .withConfig(
+                    Map.of(
+                        "dbtConfigSource",
+                        Map.of("dbtSecurityConfig", Map.of("awsSecretAccessKey", awsSecretAccessKey)))));
+  }
+
+  private static String getAwsSecretAccessKey(IngestionPipeline pipeline) {
+    DbtPipeline dbtPipeline = (DbtPipeline) pipeline.getSourceConfig().getConfig();
+    return ((DbtS3Config) dbtPipeline.getDbtConfigSource()).getDbtSecurityConfig().getAwsSecretAccessKey();
+  }
 }
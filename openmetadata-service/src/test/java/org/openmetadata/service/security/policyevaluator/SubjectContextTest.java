@@ -14,12 +14,16 @@ package org.openmetadata.service.security.policyevaluator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import lombok.NonNull;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -41,6 +45,7 @@ import org.openmetadata.service.jdbi3.RoleRepository;
 import org.openmetadata.service.jdbi3.TeamRepository;
 import org.openmetadata.service.jdbi3.UserRepository;
 import org.openmetadata.service.security.policyevaluator.SubjectContext.PolicyContext;
+import org.openmetadata.service.util.JsonUtils;
 
 public class SubjectContextTest {
   private static List<Role> team1Roles;
@@ -192,6 +197,54 @@ public class SubjectContextTest {
     assertPolicyIterator(list, actualPolicyIterator);
   }
 
+  @Test
+  void testRolesForTeamsAndInvalidation() {
+    // Roles of team111 followed by the roles inherited from team11, team1 and team12, each listed once
+    List<EntityReference> expectedRoles = new ArrayList<>(toEntityReferences(team111Roles));
+    expectedRoles.addAll(toEntityReferences(team11Roles));
+    expectedRoles.addAll(toEntityReferences(team1Roles));
+    expectedRoles.addAll(toEntityReferences(team12Roles));
+    assertEquals(expectedRoles, SubjectCache.getInstance().getRolesForTeams(List.of(team111.getEntityReference())));
+    assertEquals(expectedRoles, SubjectCache.getInstance().getRolesForTeams(user.getTeams()));
+
+    // Updating a team of the hierarchy evicts the users under it
+    SubjectContext subjectContext = SubjectCache.getInstance().getSubjectContext(user.getName());
+    assertTrue(subjectContext.getTeamIds().contains(team1.getId()));
+    SubjectCache.getInstance().invalidateTeam(team1.getId());
+    assertNull(SubjectCache.USER_CACHE.getIfPresent(user.getName()));
+    assertNull(SubjectCache.TEAM_CACHE.getIfPresent(team1.getId()));
+
+    SubjectCache.TEAM_CACHE.put(team1.getId(), team1);
+    SubjectCache.USER_CACHE.put(user.getName(), new SubjectContext(user));
+    assertEquals(expectedRoles, SubjectCache.getInstance().getRolesForTeams(user.getTeams()));
+  }
+
+  @Test
+  void testTeamRefreshDropsChangedRoles() throws Exception {
+    SubjectCache.getInstance().getRolesForTeams(List.of(team11.getEntityReference()));
+    List<EntityReference> roles = SubjectCache.TEAM_ROLES_CACHE.getIfPresent(team11.getId());
+    assertNotNull(roles);
+
+    // Refreshing a team left unchanged keeps the roles computed from it
+    Team unchanged = JsonUtils.readValue(JsonUtils.pojoToJson(team1), Team.class);
+    teamLoader(unchanged).reload(team1.getId(), team1).get();
+    assertSame(roles, SubjectCache.TEAM_ROLES_CACHE.getIfPresent(team11.getId()));
+
+    // Refreshing a team whose roles were changed by another server drops the roles of the teams under it
+    Team changed = JsonUtils.readValue(JsonUtils.pojoToJson(team1), Team.class).withDefaultRoles(List.of());
+    teamLoader(changed).reload(team1.getId(), team1).get();
+    assertNull(SubjectCache.TEAM_ROLES_CACHE.getIfPresent(team11.getId()));
+  }
+
+  private static SubjectCache.TeamLoader teamLoader(Team team) {
+    return new SubjectCache.TeamLoader() {
+      @Override
+      public Team load(@NonNull UUID teamId) {
+        return team;
+      }
+    };
+  }
+
   private static List<Role> getRoles(String prefix, int count) {
     // Create roles with 3 policies each and each policy with 3 rules
     List<Role> roles = new ArrayList<>(count);
@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.util.CacheRegistry.CacheInfo;
+
+class CacheRegistryTest {
+  private SimpleMeterRegistry meterRegistry;
+  private CacheRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    registry = new CacheRegistry(() -> meterRegistry);
+  }
+
+  @Test
+  void testStatisticsArePublished() throws ExecutionException {
+    LoadingCache<String, String> cache = CacheBuilder.newBuilder().recordStats().build(CacheLoader.from(k -> "v" + k));
+    registry.register("users", cache);
+
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+    CacheInfo info = registry.get("users");
+    assertEquals(2, info.getSize());
+    assertEquals(3, info.getRequestCount());
+    assertEquals(1, info.getHitCount());
+    assertEquals(2, info.getMissCount());
+    assertEquals(2, info.getLoadSuccessCount());
+    assertEquals(1, hits("users"));
+  }
+
+  @Test
+  void testInvalidate() {
+    Cache<UUID, String> cache = CacheBuilder.newBuilder().recordStats().build();
+    UUID id = UUID.randomUUID();
+    cache.put(id, "team");
+    cache.put(UUID.randomUUID(), "other");
+    registry.register("teams", cache, UUID::fromString);
+
+    assertTrue(registry.invalidate("teams", id.toString()));
+    assertFalse(registry.invalidate("teams", id.toString()));
+    assertNull(cache.getIfPresent(id));
+    assertThrows(IllegalArgumentException.class, () -> registry.invalidate("teams", "not-an-id"));
+
+    assertEquals(1, registry.invalidateAll("teams"));
+    assertEquals(0, cache.size());
+    assertThrows(EntityNotFoundException.class, () -> registry.invalidateAll("unknown"));
+    assertThrows(EntityNotFoundException.class, () -> registry.get("unknown"));
+  }
+
+  @Test
+  void testRegisteringAgainReplacesTheCache() {
+    Cache<String, String> first = CacheBuilder.newBuilder().recordStats().build();
+    Cache<String, String> second = CacheBuilder.newBuilder().recordStats().build();
+    registry.register("settings", first);
+    registry.register("policies", CacheBuilder.newBuilder().recordStats().build());
+    first.getIfPresent("a");
+    registry.register("settings", second);
+    second.put("a", "b");
+    second.getIfPresent("a");
+
+    List<String> names = registry.list().stream().map(CacheInfo::getName).collect(Collectors.toList());
+    assertEquals(List.of("policies", "settings"), names);
+    assertEquals(1, registry.get("settings").getSize());
+    assertEquals(1, hits("settings"));
+  }
+
+  private double hits(String cacheName) {
+    FunctionCounter counter =
+        meterRegistry.get("cache.gets").tag(CacheRegistry.CACHE_TAG, cacheName).tag("result", "hit").functionCounter();
+    return counter.count();
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EmailOutboxRecord;
+
+class EmailOutboxTest {
+  private CollectionDAO.EmailOutboxDAO dao;
+  private SimpleMeterRegistry registry;
+  private final List<EmailOutboxRecord> sentMails = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    dao = mock(CollectionDAO.EmailOutboxDAO.class);
+    registry = new SimpleMeterRegistry();
+    sentMails.clear();
+    // Every email is claimed unless a test claims it for another server
+    when(dao.claim(anyList(), anyLong(), anyLong())).thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  @Test
+  void testDueEmailsAreSentAndDeleted() {
+    EmailOutboxRecord first = record("1", "a@open-metadata.org", 0);
+    EmailOutboxRecord second = record("2", "b@open-metadata.org", 0);
+    when(dao.listDue(anyLong(), anyInt())).thenReturn(List.of(first, second));
+
+    EmailOutbox outbox = outbox(false, List.of());
+    assertEquals(2, outbox.dispatch());
+
+    assertEquals(List.of(first, second), sentMails);
+    verify(dao).claim(eq(List.of("1", "2")), anyLong(), anyLong());
+    verify(dao).delete(List.of("1", "2"));
+    assertEquals(2, registry.get(EmailOutbox.SENT_COUNTER_NAME).counter().count());
+    assertEquals(2, registry.get(EmailOutbox.LAG_TIMER_NAME).timer().count());
+  }
+
+  @Test
+  void testDigestMergesEmailsOfReceiver() {
+    EmailOutboxRecord due = record("1", "a@open-metadata.org", 0);
+    EmailOutboxRecord pending = record("2", "a@open-metadata.org", 0);
+    when(dao.listDue(anyLong(), anyInt())).thenReturn(List.of(due));
+    when(dao.listByRecipients(eq(List.of("a@open-metadata.org")), anyLong())).thenReturn(List.of(due, pending));
+
+    EmailOutbox outbox = outbox(true, List.of());
+    outbox.dispatch();
+
+    assertEquals(1, sentMails.size());
+    assertEquals("2 notifications", sentMails.get(0).getSubject());
+    assertEquals("content-1<hr/>content-2", sentMails.get(0).getContent());
+    verify(dao).delete(List.of("1", "2"));
+  }
+
+  @Test
+  void testEmailsClaimedByAnotherServerAreNotSent() {
+    EmailOutboxRecord first = record("1", "a@open-metadata.org", 0);
+    EmailOutboxRecord second = record("2", "b@open-metadata.org", 0);
+    when(dao.listDue(anyLong(), anyInt())).thenReturn(List.of(first, second));
+    when(dao.claim(eq(List.of("1", "2")), anyLong(), anyLong())).thenReturn(List.of("2"));
+
+    EmailOutbox outbox = outbox(false, List.of());
+    assertEquals(2, outbox.dispatch());
+
+    assertEquals(List.of(second), sentMails);
+    verify(dao).delete(List.of("2"));
+    assertEquals(1, registry.get(EmailOutbox.SENT_COUNTER_NAME).counter().count());
+  }
+
+  @Test
+  void testFailedEmailsAreRetriedThenDropped() {
+    EmailOutboxRecord retry = record("1", "a@open-metadata.org", 0);
+    EmailOutboxRecord expired = record("2", "b@open-metadata.org", EmailOutbox.MAX_ATTEMPTS - 1);
+    when(dao.listDue(anyLong(), anyInt())).thenReturn(List.of(retry, expired));
+
+    EmailOutbox outbox = outbox(false, List.of(retry, expired));
+    outbox.dispatch();
+
+    verify(dao).delete(List.of("2"));
+    verify(dao, never()).delete(List.of("1", "2"));
+    assertEquals(2, registry.get(EmailOutbox.FAILED_COUNTER_NAME).counter().count());
+    assertEquals(1, registry.get(EmailOutbox.DROPPED_COUNTER_NAME).counter().count());
+    assertEquals(0, registry.get(EmailOutbox.SENT_COUNTER_NAME).counter().count());
+  }
+
+  private EmailOutbox outbox(boolean digest, List<EmailOutboxRecord> failures) {
+    return new EmailOutbox(
+        dao,
+        mails -> {
+          sentMails.addAll(mails);
+          List<EmailOutboxRecord> failed = new ArrayList<>();
+          mails.stream().filter(failures::contains).forEach(failed::add);
+          return failed;
+        },
+        count -> count + " notifications",
+        digest,
+        60_000,
+        registry);
+  }
+
+  private static EmailOutboxRecord record(String id, String recipient, int attempts) {
+    return EmailOutboxRecord.builder()
+        .id(id)
+        .recipient(recipient)
+        .subject("subject-" + id)
+        .content("content-" + id)
+        .createdAt(System.currentTimeMillis() - 1000)
+        .attempts(attempts)
+        .nextAttemptAt(System.currentTimeMillis())
+        .build();
+  }
+}